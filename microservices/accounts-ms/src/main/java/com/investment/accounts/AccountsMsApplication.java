@@ -3,9 +3,11 @@ package com.investment.accounts;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ConfigurationPropertiesScan(basePackages = "com.investment.accounts.configuration")
+@EnableScheduling
 public class AccountsMsApplication {
     public static void main(String[] args) {
         SpringApplication.run(AccountsMsApplication.class, args);
@@ -0,0 +1,108 @@
+package com.investment.accounts.adjustment;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Factores de ajuste acumulados de un instrumento, calculados una vez a partir de sus eventos
+ * corporativos. Una barra con ts anterior a una fecha ex se multiplica por el producto de los
+ * factores de todos los eventos posteriores a ella; los productos quedan precalculados por tramo
+ * entre fechas ex, así ajustar una barra es una búsqueda binaria y dos multiplicaciones. Inmutable.
+ * Las fechas ex se toman a las 00:00 UTC.
+ */
+public final class PriceAdjustmentSchedule {
+
+    public static final PriceAdjustmentSchedule NONE = compile(List.of());
+
+    private static final MathContext MC = new MathContext(20, RoundingMode.HALF_EVEN);
+
+    private final long[] exStarts;             // epoch millis de cada fecha ex, ascendente
+    private final BigDecimal[] priceFactors;   // [i]: barras con ts < exStarts[i] (y >= exStarts[i-1]); [n] = 1
+    private final BigDecimal[] volumeFactors;
+
+    private PriceAdjustmentSchedule(long[] exStarts, BigDecimal[] priceFactors, BigDecimal[] volumeFactors) {
+        this.exStarts = exStarts;
+        this.priceFactors = priceFactors;
+        this.volumeFactors = volumeFactors;
+    }
+
+    /** Los ajustes de una misma fecha ex se combinan multiplicando sus factores. */
+    public static PriceAdjustmentSchedule compile(Collection<Adjustment> adjustments) {
+        TreeMap<LocalDate, BigDecimal[]> byDate = new TreeMap<>();
+        for (Adjustment a : adjustments) {
+            byDate.merge(a.exDate(), new BigDecimal[]{a.priceFactor(), a.volumeFactor()},
+                    (x, y) -> new BigDecimal[]{x[0].multiply(y[0], MC), x[1].multiply(y[1], MC)});
+        }
+
+        int n = byDate.size();
+        long[] starts = new long[n];
+        BigDecimal[] price = new BigDecimal[n + 1];
+        BigDecimal[] volume = new BigDecimal[n + 1];
+        price[n] = BigDecimal.ONE;
+        volume[n] = BigDecimal.ONE;
+        int i = 0;
+        for (Map.Entry<LocalDate, BigDecimal[]> e : byDate.entrySet()) {
+            starts[i++] = e.getKey().atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        }
+        // De atrás hacia adelante: cada tramo acumula los eventos que vienen después
+        BigDecimal[][] factors = byDate.values().toArray(BigDecimal[][]::new);
+        for (int k = n - 1; k >= 0; k--) {
+            price[k] = price[k + 1].multiply(factors[k][0], MC);
+            volume[k] = volume[k + 1].multiply(factors[k][1], MC);
+        }
+        return new PriceAdjustmentSchedule(starts, price, volume);
+    }
+
+    public BigDecimal priceFactor(Instant ts) {
+        return priceFactors[segment(ts)];
+    }
+
+    public BigDecimal volumeFactor(Instant ts) {
+        return volumeFactors[segment(ts)];
+    }
+
+    public int size() {
+        return exStarts.length;
+    }
+
+    // Primer evento con fecha ex posterior a ts (upper bound)
+    private int segment(Instant ts) {
+        long t = ts.toEpochMilli();
+        int lo = 0;
+        int hi = exStarts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (exStarts[mid] <= t) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Factores de un evento sobre las barras anteriores a su fecha ex. */
+    public record Adjustment(LocalDate exDate, BigDecimal priceFactor, BigDecimal volumeFactor) {
+
+        /** Split, contrasplit o dividendo en acciones: precio / ratio y volumen * ratio. */
+        public static Adjustment ofRatio(LocalDate exDate, BigDecimal ratio) {
+            return new Adjustment(exDate, BigDecimal.ONE.divide(ratio, MC), ratio);
+        }
+
+        /** Dividendo en efectivo: (cierre previo - dividendo) / cierre previo; el volumen no cambia. */
+        public static Adjustment ofCashDividend(LocalDate exDate, BigDecimal amount, BigDecimal previousClose) {
+            if (previousClose == null || previousClose.compareTo(amount) <= 0) {
+                return new Adjustment(exDate, BigDecimal.ONE, BigDecimal.ONE); // sin cierre previo útil no se ajusta
+            }
+            return new Adjustment(exDate, previousClose.subtract(amount).divide(previousClose, MC), BigDecimal.ONE);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.investment.accounts.cache;
+
+import com.investment.accounts.configuration.FxProperties;
+import com.investment.accounts.model.FxRatePointModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Última tasa conocida por par. La ingesta la actualiza en cada tick, así las conversiones
+ * no leen la base mientras fluyan ticks; lo cargado desde la base vence a los {@code cacheTtl}
+ * (con varias instancias cada una solo recibe los ticks de sus particiones).
+ */
+@Component
+@RequiredArgsConstructor
+public class FxRateCache {
+
+    private final FxProperties properties;
+
+    private final ConcurrentHashMap<Pair, Entry> latest = new ConcurrentHashMap<>();
+
+    /** Null si no hay tasa o si venció. */
+    public FxRatePointModel get(UUID fromCurrencyId, UUID toCurrencyId) {
+        Entry e = latest.get(new Pair(fromCurrencyId, toCurrencyId));
+        if (e == null || System.nanoTime() - e.storedAt() > properties.cacheTtl().toNanos()) {
+            return null;
+        }
+        return e.point();
+    }
+
+    /** Se queda con la tasa más reciente por ts; un tick atrasado no pisa uno nuevo. */
+    public void put(UUID fromCurrencyId, UUID toCurrencyId, FxRatePointModel point) {
+        latest.merge(new Pair(fromCurrencyId, toCurrencyId), new Entry(point, System.nanoTime()),
+                (current, next) -> next.point().ts().isBefore(current.point().ts())
+                        ? new Entry(current.point(), next.storedAt()) // sigue siendo la última: se renueva
+                        : next);
+    }
+
+    public void clear() {
+        latest.clear();
+    }
+
+    private record Pair(UUID from, UUID to) {}
+
+    private record Entry(FxRatePointModel point, long storedAt) {}
+}
@@ -0,0 +1,171 @@
+package com.investment.accounts.cache;
+
+import com.investment.accounts.model.FxLatestRateModel;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.model.LastPriceModel;
+import com.investment.accounts.model.ListingRefModel;
+import com.investment.accounts.snapshot.MarketDataSnapshot;
+import com.investment.accounts.snapshot.MarketDataSnapshot.Contents;
+import com.investment.accounts.snapshot.MarketDataSnapshot.Watermarks;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumentos, listados, últimas tasas FX y últimos precios en memoria. La base es el snapshot
+ * mapeado (se lee sin copiar) y encima van solo los cambios posteriores a su watermark, que
+ * llegan por las cargas incrementales; al instalar un snapshot nuevo se descartan los cambios
+ * que ya contiene.
+ */
+@Component
+public class MarketDataCache {
+
+    private volatile MarketDataSnapshot base = MarketDataSnapshot.EMPTY;
+    private volatile Watermarks watermarks = Watermarks.INITIAL;
+
+    private final ConcurrentHashMap<UUID, InstrumentRefModel> instruments = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ListingKey, ListingRefModel> listings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<PairKey, FxLatestRateModel> fxRates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, LastPriceModel> prices = new ConcurrentHashMap<>();
+
+    public MarketDataSnapshot base() {
+        return base;
+    }
+
+    public Watermarks watermarks() {
+        return watermarks;
+    }
+
+    /** Reemplaza la base; los cambios en memoria iguales a lo que trae el snapshot dejan de hacer falta. */
+    public synchronized void install(MarketDataSnapshot snapshot) {
+        base = snapshot;
+        watermarks = watermarks.max(snapshot.watermarks());
+        // remove(key, value): un cambio más nuevo aplicado mientras se escribía el snapshot se conserva
+        instruments.forEach((id, i) -> {
+            if (i.equals(snapshot.instrument(id))) {
+                instruments.remove(id, i);
+            }
+        });
+        listings.forEach((key, l) -> {
+            if (snapshot.listings(key.instrumentId()).contains(l)) {
+                listings.remove(key, l);
+            }
+        });
+        fxRates.forEach((key, f) -> {
+            if (f.equals(snapshot.fxRate(key.from(), key.to()))) {
+                fxRates.remove(key, f);
+            }
+        });
+        prices.forEach((id, p) -> {
+            if (p.equals(snapshot.lastPrice(id))) {
+                prices.remove(id, p);
+            }
+        });
+    }
+
+    /** Aplica cambios leídos de la base de datos; tasas y precios solo avanzan (gana el ts más nuevo). */
+    public synchronized void apply(Collection<InstrumentRefModel> changedInstruments,
+                                   Collection<ListingRefModel> changedListings,
+                                   Collection<FxLatestRateModel> latestRates,
+                                   Collection<LastPriceModel> latestPrices,
+                                   Watermarks reached) {
+        changedInstruments.forEach(i -> instruments.put(i.id(), i));
+        changedListings.forEach(l -> listings.put(new ListingKey(l.instrumentId(), l.exchangeId()), l));
+        for (FxLatestRateModel f : latestRates) {
+            FxLatestRateModel current = fxRate(f.fromCurrencyId(), f.toCurrencyId());
+            if (current == null || !f.ts().isBefore(current.ts())) {
+                fxRates.put(new PairKey(f.fromCurrencyId(), f.toCurrencyId()), f);
+            }
+        }
+        for (LastPriceModel p : latestPrices) {
+            LastPriceModel current = lastPrice(p.instrumentId());
+            if (current == null || !p.ts().isBefore(current.ts())) {
+                prices.put(p.instrumentId(), p);
+            }
+        }
+        watermarks = watermarks.max(reached);
+    }
+
+    public InstrumentRefModel instrument(UUID id) {
+        InstrumentRefModel changed = instruments.get(id);
+        return changed != null ? changed : base.instrument(id);
+    }
+
+    public List<ListingRefModel> listings(UUID instrumentId) {
+        List<ListingRefModel> result = new ArrayList<>(base.listings(instrumentId));
+        if (!listings.isEmpty()) {
+            result.replaceAll(l -> listings.getOrDefault(new ListingKey(instrumentId, l.exchangeId()), l));
+            listings.forEach((key, l) -> {
+                if (key.instrumentId().equals(instrumentId) && !result.contains(l)) {
+                    result.add(l);
+                }
+            });
+        }
+        return result;
+    }
+
+    public FxLatestRateModel fxRate(UUID fromCurrencyId, UUID toCurrencyId) {
+        FxLatestRateModel changed = fxRates.get(new PairKey(fromCurrencyId, toCurrencyId));
+        return changed != null ? changed : base.fxRate(fromCurrencyId, toCurrencyId);
+    }
+
+    public LastPriceModel lastPrice(UUID instrumentId) {
+        LastPriceModel changed = prices.get(instrumentId);
+        return changed != null ? changed : base.lastPrice(instrumentId);
+    }
+
+    public List<InstrumentRefModel> instruments() {
+        MarketDataSnapshot snapshot = base;
+        List<InstrumentRefModel> result = new ArrayList<>(snapshot.instrumentCount() + instruments.size());
+        snapshot.forEachInstrument(i -> {
+            if (!instruments.containsKey(i.id())) {
+                result.add(i);
+            }
+        });
+        result.addAll(instruments.values());
+        return result;
+    }
+
+    public List<FxLatestRateModel> fxRates() {
+        MarketDataSnapshot snapshot = base;
+        List<FxLatestRateModel> result = new ArrayList<>(snapshot.fxRateCount() + fxRates.size());
+        snapshot.forEachFxRate(f -> {
+            if (!fxRates.containsKey(new PairKey(f.fromCurrencyId(), f.toCurrencyId()))) {
+                result.add(f);
+            }
+        });
+        result.addAll(fxRates.values());
+        return result;
+    }
+
+    /** Base más cambios, para escribir el próximo snapshot sin volver a leer las tablas. */
+    public synchronized Contents contents() {
+        MarketDataSnapshot snapshot = base;
+        List<ListingRefModel> allListings = new ArrayList<>(snapshot.listingCount() + listings.size());
+        snapshot.forEachListing(l -> {
+            if (!listings.containsKey(new ListingKey(l.instrumentId(), l.exchangeId()))) {
+                allListings.add(l);
+            }
+        });
+        allListings.addAll(listings.values());
+
+        List<LastPriceModel> allPrices = new ArrayList<>(snapshot.priceCount() + prices.size());
+        snapshot.forEachPrice(p -> {
+            if (!prices.containsKey(p.instrumentId())) {
+                allPrices.add(p);
+            }
+        });
+        allPrices.addAll(prices.values());
+        return new Contents(instruments(), allListings, fxRates(), allPrices, watermarks);
+    }
+
+    /** Cantidad de cambios en memoria todavía no volcados a un snapshot. */
+    public int pendingChanges() {
+        return instruments.size() + listings.size() + fxRates.size() + prices.size();
+    }
+
+    private record ListingKey(UUID instrumentId, UUID exchangeId) {}
+
+    private record PairKey(UUID from, UUID to) {}
+}
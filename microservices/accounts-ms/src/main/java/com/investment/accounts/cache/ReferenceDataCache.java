@@ -0,0 +1,133 @@
+package com.investment.accounts.cache;
+
+import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.repository.CurrencyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de existencia de cuentas y del catálogo de monedas para el alta masiva.
+ * Las cuentas se validan por lotes (solo los ids que faltan van a la base); las monedas
+ * son pocas y se cargan enteras, recargando ante un id o código desconocido a lo sumo una vez
+ * por chunk ({@link #currencyResolver()}) y recordando por un rato los que siguen sin existir.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final AccountRepository accountRepository;
+    private final CurrencyRepository currencyRepository;
+
+    // Un id o código inexistente no vuelve a recargar el catálogo hasta pasado este tiempo
+    private static final long MISS_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final Set<UUID> knownAccounts = ConcurrentHashMap.newKeySet();
+    private volatile Currencies currencies;
+
+    /** Devuelve el subconjunto de {@code accountIds} que existe. */
+    public Set<UUID> existingAccounts(Collection<UUID> accountIds) {
+        Set<UUID> result = new HashSet<>();
+        Set<UUID> missing = new LinkedHashSet<>();
+        for (UUID id : accountIds) {
+            if (id == null) {
+                continue;
+            }
+            if (knownAccounts.contains(id)) {
+                result.add(id);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<UUID> found = accountRepository.findExistingIds(missing);
+            knownAccounts.addAll(found);
+            result.addAll(found);
+        }
+        return result;
+    }
+
+    public void forgetAccount(UUID accountId) {
+        knownAccounts.remove(accountId);
+    }
+
+    /** Resuelve la moneda por id o, si no viene, por código; null si no existe. */
+    public UUID resolveCurrency(UUID currencyId, String code) {
+        return currencyResolver().resolve(currencyId, code);
+    }
+
+    /**
+     * Resolutor para un chunk: recarga el catálogo a lo sumo una vez en toda su vida, por más
+     * filas con moneda desconocida que traiga el chunk.
+     */
+    public CurrencyResolver currencyResolver() {
+        return new CurrencyResolver() {
+            private boolean reloaded;
+
+            @Override
+            public UUID resolve(UUID currencyId, String code) {
+                if (currencyId == null && code == null) {
+                    return null;
+                }
+                Currencies c = currencies();
+                UUID resolved = lookup(c, currencyId, code);
+                if (resolved != null || reloaded || c.knownMissing(currencyId, code)) {
+                    return resolved;
+                }
+                // moneda nueva desde la última carga: una recarga y, si sigue sin estar, se recuerda
+                reloaded = true;
+                currencies = null;
+                c = currencies();
+                resolved = lookup(c, currencyId, code);
+                if (resolved == null) {
+                    c.misses().add(currencyId != null ? currencyId : normalize(code));
+                }
+                return resolved;
+            }
+        };
+    }
+
+    private static UUID lookup(Currencies c, UUID currencyId, String code) {
+        if (currencyId != null) {
+            return c.ids().contains(currencyId) ? currencyId : null;
+        }
+        return code == null ? null : c.byCode().get(normalize(code));
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private Currencies currencies() {
+        Currencies c = currencies;
+        if (c == null) {
+            Set<UUID> ids = new HashSet<>();
+            Map<String, UUID> byCode = new HashMap<>();
+            for (CurrencyEntity e : currencyRepository.findAll()) {
+                ids.add(e.getId());
+                byCode.put(e.getCode().toUpperCase(Locale.ROOT), e.getId());
+            }
+            c = new Currencies(Set.copyOf(ids), Map.copyOf(byCode), ConcurrentHashMap.newKeySet(), System.nanoTime());
+            currencies = c;
+        }
+        return c;
+    }
+
+    /** Resuelve monedas por id o código; ver {@link #currencyResolver()}. */
+    public interface CurrencyResolver {
+        UUID resolve(UUID currencyId, String code);
+    }
+
+    // misses: ids/códigos que una recarga ya confirmó inexistentes; valen MISS_TTL desde la carga
+    private record Currencies(Set<UUID> ids, Map<String, UUID> byCode, Set<Object> misses, long loadedAt) {
+
+        boolean knownMissing(UUID currencyId, String code) {
+            return System.nanoTime() - loadedAt < MISS_TTL_NANOS
+                    && misses.contains(currencyId != null ? currencyId : normalize(code));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.investment.accounts.calendar;
+
+import com.investment.common.exception.BadRequestException;
+
+import java.time.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Calendario de negociación precalculado de un mercado para un horizonte de fechas.
+ * Las sesiones quedan como intervalos [open, close) en epoch millis ordenados y sin
+ * solaparse, y los días hábiles como epoch days ordenados: toda consulta es una búsqueda
+ * binaria, sin volver a aplicar reglas de zona horaria. Inmutable.
+ */
+public final class TradingCalendar {
+
+    private final UUID exchangeId;
+    private final ZoneId zone;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long[] opens;
+    private final long[] closes;
+    private final long[] businessDays;
+
+    private TradingCalendar(UUID exchangeId, ZoneId zone, LocalDate from, LocalDate to,
+                            long[] opens, long[] closes, long[] businessDays) {
+        this.exchangeId = exchangeId;
+        this.zone = zone;
+        this.from = from;
+        this.to = to;
+        this.opens = opens;
+        this.closes = closes;
+        this.businessDays = businessDays;
+    }
+
+    /**
+     * Expande sesiones semanales y feriados sobre {@code [from, to]}. Un feriado con cierre
+     * anticipado recorta las sesiones del día; sin cierre anticipado el día no es hábil.
+     */
+    public static TradingCalendar compile(UUID exchangeId, ZoneId zone, LocalDate from, LocalDate to,
+                                          Collection<Session> sessions, Map<LocalDate, Holiday> holidays) {
+        Session[][] byDay = new Session[7][];
+        for (DayOfWeek d : DayOfWeek.values()) {
+            byDay[d.ordinal()] = sessions.stream()
+                    .filter(s -> s.dayOfWeek() == d)
+                    .sorted((a, b) -> a.open().compareTo(b.open()))
+                    .toArray(Session[]::new);
+        }
+
+        int days = (int) (to.toEpochDay() - from.toEpochDay() + 1);
+        long[] opens = new long[days * 2];
+        long[] closes = new long[days * 2];
+        long[] business = new long[days];
+        int n = 0;
+        int b = 0;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            Holiday holiday = holidays.get(d);
+            if (holiday != null && holiday.earlyClose() == null) {
+                continue;
+            }
+            boolean traded = false;
+            for (Session s : byDay[d.getDayOfWeek().ordinal()]) {
+                boolean overnight = !s.close().isAfter(s.open());
+                LocalDateTime close = overnight ? d.plusDays(1).atTime(s.close()) : d.atTime(s.close());
+                if (holiday != null && d.atTime(holiday.earlyClose()).isBefore(close)) {
+                    close = d.atTime(holiday.earlyClose());
+                }
+                long open = ZonedDateTime.of(d, s.open(), zone).toInstant().toEpochMilli();
+                long end = close.atZone(zone).toInstant().toEpochMilli();
+                if (end <= open || (n > 0 && open < closes[n - 1])) {
+                    continue; // sesión vacía por el cierre anticipado, o solapada con la anterior
+                }
+                if (n == opens.length) {
+                    opens = Arrays.copyOf(opens, n * 2);
+                    closes = Arrays.copyOf(closes, n * 2);
+                }
+                opens[n] = open;
+                closes[n] = end;
+                n++;
+                traded = true;
+            }
+            if (traded) {
+                business[b++] = d.toEpochDay();
+            }
+        }
+        return new TradingCalendar(exchangeId, zone, from, to,
+                Arrays.copyOf(opens, n), Arrays.copyOf(closes, n), Arrays.copyOf(business, b));
+    }
+
+    public UUID exchangeId() {
+        return exchangeId;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public LocalDate from() {
+        return from;
+    }
+
+    public LocalDate to() {
+        return to;
+    }
+
+    public int sessionCount() {
+        return opens.length;
+    }
+
+    public boolean isOpen(Instant at) {
+        int i = sessionAtOrBefore(at.toEpochMilli());
+        return i >= 0 && at.toEpochMilli() < closes[i];
+    }
+
+    /** Apertura de la primera sesión que empieza en {@code at} o después; null fuera del horizonte. */
+    public Instant nextOpen(Instant at) {
+        int i = Arrays.binarySearch(opens, at.toEpochMilli());
+        int next = i >= 0 ? i : -i - 1;
+        return next < opens.length ? Instant.ofEpochMilli(opens[next]) : null;
+    }
+
+    /** Cierre de la sesión en curso o, si está cerrado, de la próxima; null fuera del horizonte. */
+    public Instant nextClose(Instant at) {
+        long t = at.toEpochMilli();
+        int i = sessionAtOrBefore(t);
+        if (i >= 0 && t < closes[i]) {
+            return Instant.ofEpochMilli(closes[i]);
+        }
+        return i + 1 < closes.length ? Instant.ofEpochMilli(closes[i + 1]) : null;
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        checkHorizon(date);
+        return Arrays.binarySearch(businessDays, date.toEpochDay()) >= 0;
+    }
+
+    /**
+     * T+n en días hábiles. Si {@code date} no es hábil se cuenta desde el hábil anterior
+     * (n &gt; 0) o el siguiente (n &lt; 0); con n = 0 se corre al siguiente hábil.
+     */
+    public LocalDate addBusinessDays(LocalDate date, int n) {
+        checkHorizon(date);
+        int i = Arrays.binarySearch(businessDays, date.toEpochDay());
+        int target;
+        if (i >= 0) {
+            target = i + n;
+        } else {
+            int insertion = -i - 1;
+            target = n > 0 ? insertion - 1 + n : insertion + n;
+        }
+        if (target < 0 || target >= businessDays.length) {
+            throw new BadRequestException("T" + (n >= 0 ? "+" : "") + n + " from " + date
+                    + " falls outside the calendar horizon " + from + ".." + to);
+        }
+        return LocalDate.ofEpochDay(businessDays[target]);
+    }
+
+    private int sessionAtOrBefore(long t) {
+        int i = Arrays.binarySearch(opens, t);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private void checkHorizon(LocalDate date) {
+        if (date.isBefore(from) || date.isAfter(to)) {
+            throw new BadRequestException("Date " + date + " outside the calendar horizon " + from + ".." + to);
+        }
+    }
+
+    /** Sesión semanal en hora local del mercado; close &lt;= open significa que cierra al día siguiente. */
+    public record Session(DayOfWeek dayOfWeek, LocalTime open, LocalTime close) {}
+
+    public record Holiday(LocalDate date, LocalTime earlyClose, String name) {}
+}
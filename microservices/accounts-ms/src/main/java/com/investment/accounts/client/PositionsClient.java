@@ -0,0 +1,35 @@
+package com.investment.accounts.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/** Posiciones abiertas de un lote de cuentas (GET /v1/positions/accounts de positions-ms). */
+@Component
+public class PositionsClient {
+
+    private static final ParameterizedTypeReference<List<PositionRef>> POSITIONS = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    public PositionsClient(@Qualifier("positionsRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    public List<PositionRef> findByAccounts(Collection<UUID> accountIds) {
+        List<PositionRef> positions = restClient.get()
+                .uri(uri -> uri.path("/v1/positions/accounts").queryParam("accountIds", accountIds).build())
+                .retrieve()
+                .body(POSITIONS);
+        return positions == null ? List.of() : positions;
+    }
+
+    // Solo los campos que usa el riesgo; el resto del payload se ignora
+    public record PositionRef(UUID accountId, UUID instrumentId, BigDecimal quantity) {}
+}
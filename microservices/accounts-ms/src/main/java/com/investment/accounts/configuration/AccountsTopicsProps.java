@@ -5,5 +5,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "app.kafka.topics")
 public record AccountsTopicsProps(
         String tradeExecuted,
-        String positionsRecalculateRequested
-) {}
\ No newline at end of file
+        String positionsRecalculateRequested,
+        String cashMovementsRequested,
+        String fxRateTicks,
+        String corporateActions
+) {}
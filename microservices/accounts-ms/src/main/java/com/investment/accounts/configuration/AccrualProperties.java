@@ -0,0 +1,36 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Parámetros del devengo diario de intereses y comisiones. {@code claimTimeout}: una partición RUNNING
+ * sin checkpoint en ese tiempo se da por abandonada (worker caído) y otro la puede reclamar.
+ */
+@ConfigurationProperties(prefix = "app.accruals")
+public record AccrualProperties(
+        Integer partitions,
+        Integer workers,
+        Integer chunkSize,
+        Integer dayCountBasis,
+        Duration claimTimeout
+) {
+    public AccrualProperties {
+        if (partitions == null || partitions <= 0) {
+            partitions = 64;
+        }
+        if (workers == null || workers <= 0) {
+            workers = 8;
+        }
+        if (chunkSize == null || chunkSize <= 0) {
+            chunkSize = 1_000;
+        }
+        if (dayCountBasis == null || dayCountBasis <= 0) {
+            dayCountBasis = 365;
+        }
+        if (claimTimeout == null || claimTimeout.isZero() || claimTimeout.isNegative()) {
+            claimTimeout = Duration.ofMinutes(10);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Parámetros del ledger de poder de compra y de su journal. */
+@ConfigurationProperties(prefix = "app.buying-power")
+public record BuyingPowerProperties(
+        Integer lockStripes,
+        Duration journalFlushInterval,
+        Integer journalBatchSize,
+        Duration journalCommitTimeout,
+        Duration idleEviction
+) {
+    public BuyingPowerProperties {
+        if (lockStripes == null || lockStripes <= 0) {
+            lockStripes = 256;
+        }
+        if (journalFlushInterval == null || journalFlushInterval.isNegative() || journalFlushInterval.isZero()) {
+            journalFlushInterval = Duration.ofMillis(5);
+        }
+        if (journalBatchSize == null || journalBatchSize <= 0) {
+            journalBatchSize = 500;
+        }
+        if (journalCommitTimeout == null || journalCommitTimeout.isNegative() || journalCommitTimeout.isZero()) {
+            journalCommitTimeout = Duration.ofSeconds(5);
+        }
+        if (idleEviction == null || idleEviction.isNegative() || idleEviction.isZero()) {
+            idleEviction = Duration.ofMinutes(30);
+        }
+    }
+}
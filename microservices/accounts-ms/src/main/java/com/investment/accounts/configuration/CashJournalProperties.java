@@ -0,0 +1,34 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Journal de caja: shards (un escritor y una conexión por shard), tope de asientos por commit y
+ * ventana hacia atrás en la que, al arrancar, se buscan movimientos completados sin asentar.
+ * {@code maxCommitAttempts}: intentos ante un error no transitorio antes de partir el lote y
+ * apartar el asiento que lo rompe.
+ */
+@ConfigurationProperties(prefix = "app.cash-journal")
+public record CashJournalProperties(
+        Integer shards,
+        Integer maxBatchSize,
+        Duration recoveryLookback,
+        Integer maxCommitAttempts
+) {
+    public CashJournalProperties {
+        if (shards == null || shards <= 0) {
+            shards = 4;
+        }
+        if (maxBatchSize == null || maxBatchSize <= 0) {
+            maxBatchSize = 5_000;
+        }
+        if (recoveryLookback == null || recoveryLookback.isNegative()) {
+            recoveryLookback = Duration.ofDays(2);
+        }
+        if (maxCommitAttempts == null || maxCommitAttempts <= 0) {
+            maxCommitAttempts = 3;
+        }
+    }
+}
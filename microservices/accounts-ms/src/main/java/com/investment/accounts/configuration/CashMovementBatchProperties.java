@@ -0,0 +1,23 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Parámetros del alta masiva de movimientos de efectivo. */
+@ConfigurationProperties(prefix = "app.cash-movements")
+public record CashMovementBatchProperties(
+        Integer chunkSize,
+        Integer maxRequestSize,
+        Integer maxReportedErrors
+) {
+    public CashMovementBatchProperties {
+        if (chunkSize == null || chunkSize <= 0) {
+            chunkSize = 1_000;
+        }
+        if (maxRequestSize == null || maxRequestSize <= 0) {
+            maxRequestSize = 100_000;
+        }
+        if (maxReportedErrors == null || maxReportedErrors < 0) {
+            maxReportedErrors = 100;
+        }
+    }
+}
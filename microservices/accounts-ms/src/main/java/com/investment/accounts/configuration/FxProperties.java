@@ -0,0 +1,39 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Conversión FX masiva e ingesta de ticks.
+ * pointLookups: hasta cuántas fechas asOf distintas por par se resuelven con una consulta puntual
+ * cada una; por encima se trae el tramo de la serie una sola vez y se busca en memoria.
+ * barInterval: los ticks de un par se conflan a una fila por intervalo (el último tick del intervalo).
+ * cacheTtl: vigencia de la última tasa en memoria si no llegan ticks que la refresquen.
+ */
+@ConfigurationProperties(prefix = "app.fx")
+public record FxProperties(
+        Integer maxBatchSize,
+        Integer pointLookups,
+        Duration barInterval,
+        Duration flushInterval,
+        Duration cacheTtl
+) {
+    public FxProperties {
+        if (maxBatchSize == null || maxBatchSize <= 0) {
+            maxBatchSize = 50_000;
+        }
+        if (pointLookups == null || pointLookups < 0) {
+            pointLookups = 8;
+        }
+        if (barInterval == null || barInterval.isNegative() || barInterval.isZero()) {
+            barInterval = Duration.ofSeconds(1);
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            flushInterval = Duration.ofSeconds(1);
+        }
+        if (cacheTtl == null || cacheTtl.isNegative() || cacheTtl.isZero()) {
+            cacheTtl = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Búsqueda de instrumentos en memoria.
+ * maxScan: tope de entradas recorridas por nivel de coincidencia, para que un prefijo muy corto
+ * o un trigrama muy común no conviertan la consulta en un recorrido del universo completo.
+ */
+@ConfigurationProperties(prefix = "app.instrument-search")
+public record InstrumentSearchProperties(
+        Integer defaultLimit,
+        Integer maxLimit,
+        Integer maxScan
+) {
+    public InstrumentSearchProperties {
+        if (defaultLimit == null || defaultLimit <= 0) {
+            defaultLimit = 10;
+        }
+        if (maxLimit == null || maxLimit < defaultLimit) {
+            maxLimit = Math.max(50, defaultLimit);
+        }
+        if (maxScan == null || maxScan <= 0) {
+            maxScan = 20_000;
+        }
+    }
+}
@@ -9,8 +9,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -63,4 +66,27 @@ public class KafkaConfig {
         factory.setBatchListener(false); // cambia a true si vas a consumir en lotes
         return factory;
     }
-}
\ No newline at end of file
+
+    // Consumer de Strings por lotes (alta masiva de movimientos). Si el listener lanza, el lote se
+    // reintenta con backoff y, agotados los intentos, cada record va a <topic>-dlt en vez de perderse
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchStringListenerContainerFactory(
+            KafkaProperties properties) {
+        Map<String, Object> config = new HashMap<>(properties.buildConsumerProperties());
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.putIfAbsent(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1000);
+        ConcurrentKafkaListenerContainerFactory<String, String> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(config));
+        factory.setBatchListener(true);
+
+        // Template propio de Strings: el de la app serializa a JSON y re-encomillaría el payload
+        Map<String, Object> dltConfig = new HashMap<>(properties.buildProducerProperties());
+        KafkaTemplate<String, String> deadLetters = new KafkaTemplate<>(
+                new DefaultKafkaProducerFactory<>(dltConfig, new StringSerializer(), new StringSerializer()));
+        factory.setCommonErrorHandler(new DefaultErrorHandler(
+                new DeadLetterPublishingRecoverer(deadLetters), new FixedBackOff(1_000L, 5)));
+        return factory;
+    }
+}
@@ -0,0 +1,25 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Snapshot de market data: archivo donde se escribe y margen con el que se relee hacia atrás
+ * desde cada watermark (filas con ts viejo que se insertan tarde, relojes de distintos escritores).
+ */
+@ConfigurationProperties(prefix = "app.market-data")
+public record MarketDataSnapshotProperties(
+        Path file,
+        Duration deltaOverlap
+) {
+    public MarketDataSnapshotProperties {
+        if (file == null) {
+            file = Path.of("data", "market-data.snapshot");
+        }
+        if (deltaOverlap == null || deltaOverlap.isNegative()) {
+            deltaOverlap = Duration.ofMinutes(5);
+        }
+    }
+}
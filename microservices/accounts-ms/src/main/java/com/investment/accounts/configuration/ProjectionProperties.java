@@ -0,0 +1,59 @@
+package com.investment.accounts.configuration;
+
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Proyección Monte Carlo de carteras: límites de caminos y años, pasos por año, precisión de los
+ * percentiles y retorno esperado anual por tipo de instrumento (la volatilidad y la correlación
+ * salen de la historia de precios; la media histórica de una ventana corta no sirve como drift).
+ */
+@ConfigurationProperties(prefix = "app.projection")
+public record ProjectionProperties(
+        Integer defaultPaths,
+        Integer maxPaths,
+        Integer defaultHorizonYears,
+        Integer maxHorizonYears,
+        Integer stepsPerYear,
+        Double relativeAccuracy,
+        Integer chunkSize,
+        Integer parallelism,
+        Map<InstrumentTypeEnum, Double> expectedReturns,
+        Double defaultExpectedReturn
+) {
+    public ProjectionProperties {
+        if (defaultPaths == null || defaultPaths <= 0) {
+            defaultPaths = 10_000;
+        }
+        if (maxPaths == null || maxPaths <= 0) {
+            maxPaths = 200_000;
+        }
+        if (defaultHorizonYears == null || defaultHorizonYears <= 0) {
+            defaultHorizonYears = 30;
+        }
+        if (maxHorizonYears == null || maxHorizonYears <= 0) {
+            maxHorizonYears = 60;
+        }
+        if (stepsPerYear == null || stepsPerYear <= 0) {
+            stepsPerYear = 12;
+        }
+        if (relativeAccuracy == null || relativeAccuracy <= 0 || relativeAccuracy >= 0.1) {
+            relativeAccuracy = 0.005;
+        }
+        if (chunkSize == null || chunkSize <= 0) {
+            chunkSize = 2_048;
+        }
+        if (parallelism == null || parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        if (expectedReturns == null) {
+            expectedReturns = new EnumMap<>(Map.of(InstrumentTypeEnum.STOCK, 0.07, InstrumentTypeEnum.BOND, 0.035));
+        }
+        if (defaultExpectedReturn == null) {
+            defaultExpectedReturn = 0.04;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Cuánto tiempo se puede consultar un job de recálculo por portfolio después de terminar. */
+@ConfigurationProperties(prefix = "app.recalculation-jobs")
+public record RecalculationJobProperties(
+        Duration retention
+) {
+    public RecalculationJobProperties {
+        if (retention == null || retention.isNegative() || retention.isZero()) {
+            retention = Duration.ofHours(1);
+        }
+    }
+}
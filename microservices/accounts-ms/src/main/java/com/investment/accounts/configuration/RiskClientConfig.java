@@ -0,0 +1,74 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/** Cliente HTTP hacia positions-ms para la corrida de riesgo. */
+@Configuration
+public class RiskClientConfig {
+
+    // Registro client_credentials de spring.security.oauth2.client (token propio del servicio)
+    static final String SERVICE_REGISTRATION = "accounts-service";
+
+    /**
+     * Emite y renueva el token de servicio fuera de un request HTTP (jobs programados): guarda el
+     * token en el {@link OAuth2AuthorizedClientService} y pide otro recién cuando vence.
+     */
+    @Bean
+    OAuth2AuthorizedClientManager serviceAuthorizedClientManager(ClientRegistrationRepository registrations,
+                                                                 OAuth2AuthorizedClientService authorizedClients) {
+        AuthorizedClientServiceOAuth2AuthorizedClientManager manager =
+                new AuthorizedClientServiceOAuth2AuthorizedClientManager(registrations, authorizedClients);
+        manager.setAuthorizedClientProvider(OAuth2AuthorizedClientProviderBuilder.builder()
+                .clientCredentials()
+                .build());
+        return manager;
+    }
+
+    @Bean
+    RestClient positionsRestClient(RestClient.Builder builder, RiskProperties properties,
+                                   OAuth2AuthorizedClientManager serviceAuthorizedClientManager) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(properties.positionsTimeout());
+        return builder.clone()
+                .baseUrl(properties.positionsBaseUrl())
+                .requestFactory(factory)
+                .requestInterceptor((request, body, execution) -> {
+                    // Corrida lanzada por API: se reenvía el JWT del llamador; la nocturna usa el token de servicio
+                    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                    String token = authentication instanceof JwtAuthenticationToken jwt
+                            ? jwt.getToken().getTokenValue()
+                            : serviceToken(serviceAuthorizedClientManager);
+                    request.getHeaders().setBearerAuth(token);
+                    return execution.execute(request, body);
+                })
+                .build();
+    }
+
+    private static String serviceToken(OAuth2AuthorizedClientManager manager) {
+        OAuth2AuthorizedClient client = manager.authorize(OAuth2AuthorizeRequest
+                .withClientRegistrationId(SERVICE_REGISTRATION)
+                .principal("accounts-ms")
+                .build());
+        if (client == null) {
+            throw new IllegalStateException("No service token for registration " + SERVICE_REGISTRATION);
+        }
+        return client.getAccessToken().getTokenValue();
+    }
+}
@@ -0,0 +1,54 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Corrida de riesgo por cartera: ventana de retornos diarios, nivel de confianza y horizonte del
+ * VaR, moneda base de las exposiciones, benchmark para la beta (opcional) y dónde leer posiciones.
+ */
+@ConfigurationProperties(prefix = "app.risk")
+public record RiskProperties(
+        Integer lookbackDays,
+        Double confidence,
+        Integer horizonDays,
+        String baseCurrency,
+        UUID benchmarkInstrumentId,
+        Integer parallelism,
+        Integer covarianceCacheSize,
+        String positionsBaseUrl,
+        Duration positionsTimeout,
+        Integer positionsBatchSize
+) {
+    public RiskProperties {
+        if (lookbackDays == null || lookbackDays < 20) {
+            lookbackDays = 250;
+        }
+        if (confidence == null || confidence <= 0.5 || confidence >= 1) {
+            confidence = 0.99;
+        }
+        if (horizonDays == null || horizonDays <= 0) {
+            horizonDays = 1;
+        }
+        if (baseCurrency == null || baseCurrency.isBlank()) {
+            baseCurrency = "USD";
+        }
+        if (parallelism == null || parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        if (covarianceCacheSize == null || covarianceCacheSize <= 0) {
+            covarianceCacheSize = 1_024;
+        }
+        if (positionsBaseUrl == null || positionsBaseUrl.isBlank()) {
+            positionsBaseUrl = "http://localhost:8083";
+        }
+        if (positionsTimeout == null || !positionsTimeout.isPositive()) {
+            positionsTimeout = Duration.ofSeconds(10);
+        }
+        if (positionsBatchSize == null || positionsBatchSize <= 0) {
+            positionsBatchSize = 100; // ids en query string: debajo del límite de 8 KB de la URL
+        }
+    }
+}
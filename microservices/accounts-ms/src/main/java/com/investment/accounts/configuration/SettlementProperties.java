@@ -0,0 +1,19 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Liquidación neta T+n de trades contra caja. */
+@ConfigurationProperties(prefix = "app.settlement")
+public record SettlementProperties(
+        Integer cycleDays,
+        Integer chunkSize
+) {
+    public SettlementProperties {
+        if (cycleDays == null || cycleDays < 0) {
+            cycleDays = 1; // T+1 si el evento no trae settlementDate
+        }
+        if (chunkSize == null || chunkSize <= 0) {
+            chunkSize = 1_000;
+        }
+    }
+}
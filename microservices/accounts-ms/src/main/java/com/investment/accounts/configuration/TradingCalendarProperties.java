@@ -0,0 +1,19 @@
+package com.investment.accounts.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Horizonte (en años calendario completos) sobre el que se precalculan los calendarios de mercado. */
+@ConfigurationProperties(prefix = "app.calendar")
+public record TradingCalendarProperties(
+        Integer yearsBack,
+        Integer yearsForward
+) {
+    public TradingCalendarProperties {
+        if (yearsBack == null || yearsBack < 0) {
+            yearsBack = 1;
+        }
+        if (yearsForward == null || yearsForward < 1) {
+            yearsForward = 5;
+        }
+    }
+}
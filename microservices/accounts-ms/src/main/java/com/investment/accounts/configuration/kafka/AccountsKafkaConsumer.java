@@ -0,0 +1,68 @@
+package com.investment.accounts.configuration.kafka;
+
+import com.investment.accounts.configuration.AccountsTopicsProps;
+import com.investment.accounts.service.CashMovementBatchService;
+import com.investment.accounts.service.FxIngestionService;
+import com.investment.accounts.service.SettlementBatchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountsKafkaConsumer {
+
+    private final AccountsTopicsProps topics;
+    private final CashMovementBatchService cashMovementBatchService;
+    private final SettlementBatchService settlementBatchService;
+    private final FxIngestionService fxIngestionService;
+
+    // Listener por lotes: cada poll de Kafka se escribe como un único batch JDBC. Partición y offset
+    // identifican cada mensaje entre reintentos (clave de idempotencia si el productor no manda una)
+    @KafkaListener(
+            topics = "${app.kafka.topics.cash-movements-requested}",
+            groupId = "${spring.kafka.consumer.group-id:accounts-ms}",
+            containerFactory = "batchStringListenerContainerFactory"
+    )
+    public void handleCashMovements(List<String> messages,
+                                    @Header(KafkaHeaders.RECEIVED_PARTITION) List<Integer> partitions,
+                                    @Header(KafkaHeaders.OFFSET) List<Long> offsets) {
+        String topic = topics.cashMovementsRequested();
+        log.debug("Received {} cash movement messages on topic '{}'", messages.size(), topic);
+        List<String> origins = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            origins.add(topic + "-" + partitions.get(i) + "@" + offsets.get(i));
+        }
+        cashMovementBatchService.processCashMovements(messages, origins);
+    }
+
+    // Trades ejecutados: se netean por fecha valor, cuenta y moneda; si falla la escritura
+    // la excepción sube y el contenedor reintenta el lote (la acumulación es idempotente)
+    @KafkaListener(
+            topics = "${app.kafka.topics.trade-executed}",
+            groupId = "${spring.kafka.consumer.group-id:accounts-ms}",
+            containerFactory = "batchStringListenerContainerFactory"
+    )
+    public void handleTradesExecuted(List<String> messages) {
+        log.debug("Received {} trade executed messages on topic '{}'", messages.size(), topics.tradeExecuted());
+        settlementBatchService.processTradesExecuted(messages);
+    }
+
+    // Ticks FX: la caché de tasas se actualiza en el acto; a fx_rates llegan conflados por intervalo
+    @KafkaListener(
+            topics = "${app.kafka.topics.fx-rate-ticks}",
+            groupId = "${spring.kafka.consumer.group-id:accounts-ms}",
+            containerFactory = "batchStringListenerContainerFactory"
+    )
+    public void handleFxRateTicks(List<String> messages) {
+        log.debug("Received {} FX tick messages on topic '{}'", messages.size(), topics.fxRateTicks());
+        fxIngestionService.processTicks(messages);
+    }
+}
@@ -1,27 +1,42 @@
 package com.investment.accounts.controller;
 
 import com.investment.accounts.dto.AccountRequestDto;
+import com.investment.accounts.dto.AccountBalanceResponseDto;
 import com.investment.accounts.dto.AccountResponseDto;
+import com.investment.accounts.dto.BulkMovementResponseDto;
+import com.investment.accounts.dto.CashMovementRequestDto;
 import com.investment.accounts.dto.CashMovementResponseDto;
+import com.investment.accounts.dto.ExternalFlowDto;
+import com.investment.accounts.dto.RecalculationJobResponseDto;
 import com.investment.accounts.model.AccountModel;
 import com.investment.accounts.model.CashMovementModel;
 import com.investment.accounts.service.AccountService;
 import com.investment.accounts.service.AccountsEventProducer;
+import com.investment.accounts.service.CashMovementBatchService;
+import com.investment.accounts.service.PositionsRecalculationService;
 import com.investment.accounts.service.SettlementService;
+import com.investment.accounts.service.StatementService;
 import com.investment.accounts.utils.DateTimeUtils;
 import com.investment.accounts.utils.MoneyUtils;
 import com.investment.accounts.utils.NumberUtils;
 import com.investment.accounts.utils.enums.CashMovementStatusEnum;
 import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.accounts.utils.enums.StatementFormatEnum;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -32,6 +47,9 @@ public class AccountsController {
     private final AccountService accountService;
     private final AccountsEventProducer accountsEventProducer;
     private final SettlementService settlementService;
+    private final CashMovementBatchService cashMovementBatchService;
+    private final StatementService statementService;
+    private final PositionsRecalculationService positionsRecalculationService;
 
     // ===== CRUD principal =====
 
@@ -63,6 +81,12 @@ public class AccountsController {
         return ResponseEntity.ok(page);
     }
 
+    // Todas las cuentas de un portfolio (la valuación consolidada de portfolios-ms las pide en una sola llamada)
+    @GetMapping("/portfolios/{portfolioId}")
+    public ResponseEntity<List<AccountResponseDto>> getByPortfolio(@PathVariable UUID portfolioId) {
+        return ResponseEntity.ok(accountService.getByPortfolio(portfolioId).stream().map(this::toDto).toList());
+    }
+
     @DeleteMapping("/{id}")
     @Transactional
     public ResponseEntity<Void> delete(@PathVariable UUID id) {
@@ -92,6 +116,18 @@ public class AccountsController {
         return ResponseEntity.accepted().build();
     }
 
+    /** Un evento por cuenta del portfolio, publicados en un solo lote; el job informa los acks. */
+    @PostMapping("/portfolios/{portfolioId}/events/positions-recalculate")
+    public ResponseEntity<RecalculationJobResponseDto> publishPortfolioPositionsRecalculateRequested(
+            @PathVariable UUID portfolioId) {
+        return ResponseEntity.accepted().body(positionsRecalculationService.requestForPortfolio(portfolioId));
+    }
+
+    @GetMapping("/recalculation-jobs/{jobId}")
+    public ResponseEntity<RecalculationJobResponseDto> getRecalculationJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(positionsRecalculationService.getJob(jobId));
+    }
+
     // ===== Movimientos de efectivo & balance =====
 
     /**
@@ -145,6 +181,55 @@ public class AccountsController {
         return ResponseEntity.ok(settlementService.getBalance(id));
     }
 
+    /** Saldos corridos por moneda (sin sumar la historia de movimientos). */
+    @GetMapping("/{id}/balances")
+    public ResponseEntity<List<AccountBalanceResponseDto>> getBalances(@PathVariable UUID id) {
+        return ResponseEntity.ok(cashMovementBatchService.getBalances(id));
+    }
+
+    /**
+     * Alta masiva (dividendos, intereses de fin de mes...). Los movimientos inválidos
+     * se rechazan uno a uno sin abortar el resto.
+     */
+    @PostMapping("/movements/bulk")
+    public ResponseEntity<BulkMovementResponseDto> registerMovements(@RequestBody List<CashMovementRequestDto> body) {
+        return ResponseEntity.ok(cashMovementBatchService.registerAll(body));
+    }
+
+    /**
+     * Extracto de movimientos completados con saldo corrido, leído por cursor y escrito
+     * directo a la respuesta (CSV, NDJSON o PDF): memoria constante sin importar el volumen.
+     */
+    @GetMapping("/{id}/statement")
+    public ResponseEntity<StreamingResponseBody> getStatement(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") StatementFormatEnum format
+    ) {
+        statementService.validate(id, from, to);
+        StreamingResponseBody body = out -> statementService.writeStatement(id, from, to, format, out);
+        String fileName = "statement-" + id + "-" + from + "-" + to + "." + format.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(switch (format) {
+                    case CSV -> new MediaType("text", "csv");
+                    case NDJSON -> MediaType.APPLICATION_NDJSON;
+                    case PDF -> MediaType.APPLICATION_PDF;
+                })
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    /** Depósitos y retiros netos por día y moneda de la cartera: insumo de la medición de rentabilidad. */
+    @GetMapping("/portfolios/{portfolioId}/external-flows")
+    public ResponseEntity<List<ExternalFlowDto>> getExternalFlows(
+            @PathVariable UUID portfolioId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(statementService.externalFlows(portfolioId, from, to));
+    }
+
     // ====== mappers ======
     private AccountModel mapToModel(AccountRequestDto dto, UUID idOrNull) {
         // Usa NumberUtils para limpiar el accountNumber
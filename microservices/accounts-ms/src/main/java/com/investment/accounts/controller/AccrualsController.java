@@ -0,0 +1,31 @@
+package com.investment.accounts.controller;
+
+import com.investment.accounts.dto.AccrualRunResponseDto;
+import com.investment.accounts.service.AccrualService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/accruals")
+@RequiredArgsConstructor
+public class AccrualsController {
+
+    private final AccrualService accrualService;
+
+    /** Lanza (o reanuda) el devengo de una fecha; normalmente lo corre el scheduler nocturno. */
+    @PostMapping("/{date}/run")
+    public ResponseEntity<AccrualRunResponseDto> run(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(accrualService.run(date));
+    }
+
+    @GetMapping("/{date}")
+    public ResponseEntity<AccrualRunResponseDto> status(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(accrualService.status(date));
+    }
+}
@@ -0,0 +1,45 @@
+package com.investment.accounts.controller;
+
+import com.investment.accounts.dto.BuyingPowerResponseDto;
+import com.investment.accounts.dto.ReservationRequestDto;
+import com.investment.accounts.service.BuyingPowerService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/buying-power")
+@RequiredArgsConstructor
+public class BuyingPowerController {
+
+    private final BuyingPowerService buyingPowerService;
+
+    @GetMapping("/{accountId}/{currencyId}")
+    public ResponseEntity<BuyingPowerResponseDto> get(@PathVariable UUID accountId, @PathVariable UUID currencyId) {
+        return ResponseEntity.ok(buyingPowerService.get(accountId, currencyId));
+    }
+
+    /** Reserva previa a aceptar una orden; 422 si no hay disponible suficiente. */
+    @PostMapping("/reservations")
+    public ResponseEntity<BuyingPowerResponseDto> reserve(@Valid @RequestBody ReservationRequestDto body) {
+        return ResponseEntity.ok(buyingPowerService.reserve(body));
+    }
+
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<BuyingPowerResponseDto> release(@PathVariable UUID reservationId,
+                                                          @RequestParam(required = false) BigDecimal amount) {
+        return ResponseEntity.ok(buyingPowerService.release(reservationId, amount));
+    }
+
+    /** Débito del trade ejecutado; deja de restar del disponible cuando se liquida el trade. */
+    @PostMapping("/reservations/{reservationId}/consume")
+    public ResponseEntity<BuyingPowerResponseDto> consume(@PathVariable UUID reservationId,
+                                                          @RequestParam UUID tradeId,
+                                                          @RequestParam BigDecimal amount) {
+        return ResponseEntity.ok(buyingPowerService.consume(reservationId, tradeId, amount));
+    }
+}
@@ -0,0 +1,28 @@
+package com.investment.accounts.controller;
+
+import com.investment.accounts.dto.CashJournalRebuildResponseDto;
+import com.investment.accounts.service.CashJournalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.OffsetDateTime;
+
+@RestController
+@RequestMapping("/api/cash-journal")
+@RequiredArgsConstructor
+public class CashJournalController {
+
+    private final CashJournalService cashJournalService;
+
+    /**
+     * Asienta lo que haya quedado sin asiento y recalcula todos los saldos desde el journal.
+     * Sin {@code since} revisa todo el histórico de movimientos.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<CashJournalRebuildResponseDto> rebuild(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since) {
+        return ResponseEntity.ok(cashJournalService.rebuild(since));
+    }
+}
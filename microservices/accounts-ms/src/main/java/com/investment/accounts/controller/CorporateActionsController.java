@@ -0,0 +1,50 @@
+package com.investment.accounts.controller;
+
+import com.investment.accounts.dto.AdjustedPriceDto;
+import com.investment.accounts.dto.CorporateActionRequestDto;
+import com.investment.accounts.dto.CorporateActionResponseDto;
+import com.investment.accounts.service.CorporateActionService;
+import com.investment.accounts.utils.DateTimeUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/refdata")
+@RequiredArgsConstructor
+public class CorporateActionsController {
+
+    private final CorporateActionService corporateActionService;
+
+    @PostMapping("/corporate-actions")
+    public ResponseEntity<CorporateActionResponseDto> record(@RequestBody CorporateActionRequestDto request) {
+        return ResponseEntity.ok(corporateActionService.record(request));
+    }
+
+    @GetMapping("/corporate-actions")
+    public ResponseEntity<List<CorporateActionResponseDto>> findByInstrument(@RequestParam UUID instrumentId) {
+        return ResponseEntity.ok(corporateActionService.findByInstrument(instrumentId));
+    }
+
+    /** Procesa los eventos con fecha ex hasta {@code date} (hoy por defecto); normalmente lo corre el scheduler. */
+    @PostMapping("/corporate-actions/process")
+    public ResponseEntity<Integer> processDue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(corporateActionService.processDue(
+                date != null ? date : DateTimeUtils.now().toLocalDate()));
+    }
+
+    // Serie diaria ajustada por splits y dividendos; [from, to] en días UTC
+    @GetMapping("/prices/adjusted")
+    public ResponseEntity<List<AdjustedPriceDto>> adjustedPrices(
+            @RequestParam UUID instrumentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(corporateActionService.adjustedPrices(instrumentId, from, to));
+    }
+}
@@ -1,9 +1,21 @@
 package com.investment.accounts.controller;
 
+import com.investment.accounts.dto.FxConversionItemDto;
+import com.investment.accounts.dto.FxConversionResultDto;
+import com.investment.accounts.dto.FxTickDto;
+import com.investment.accounts.dto.FxTickIngestResponseDto;
+import com.investment.accounts.dto.InstrumentSearchResultDto;
+import com.investment.accounts.dto.InstrumentRefDto;
+import com.investment.accounts.dto.LastPriceDto;
+import com.investment.accounts.dto.MarketDataSnapshotResponseDto;
 import com.investment.accounts.entity.*;
+import com.investment.accounts.service.FxIngestionService;
 import com.investment.accounts.service.FxService;
+import com.investment.accounts.service.InstrumentSearchService;
+import com.investment.accounts.service.MarketDataService;
 import com.investment.accounts.service.PricingService;
 import com.investment.accounts.utils.MoneyUtils;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
 import com.investment.accounts.utils.NumberUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,6 +24,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,7 +34,10 @@ import java.util.UUID;
 public class RefDataController {
 
     private final FxService fxService;
+    private final FxIngestionService fxIngestionService;
     private final PricingService pricingService;
+    private final InstrumentSearchService instrumentSearchService;
+    private final MarketDataService marketDataService;
 
     // ===== Currencies & FX =====
 
@@ -71,6 +87,18 @@ public class RefDataController {
         return ResponseEntity.ok(MoneyUtils.normalize(result));
     }
 
+    // Lote de conversiones (asOf opcional por ítem); la respuesta conserva el orden de entrada
+    @PostMapping("/fx/convert/bulk")
+    public ResponseEntity<List<FxConversionResultDto>> convertAll(@RequestBody List<FxConversionItemDto> items) {
+        return ResponseEntity.ok(fxService.convertAll(items));
+    }
+
+    // Ingesta de ticks: 202 porque la persistencia en fx_rates es diferida (conflada por intervalo)
+    @PostMapping("/fx/ticks")
+    public ResponseEntity<FxTickIngestResponseDto> ingestTicks(@RequestBody List<FxTickDto> ticks) {
+        return ResponseEntity.accepted().body(fxIngestionService.ingest(ticks));
+    }
+
     // ===== Instruments & Prices =====
 
     @GetMapping("/instruments")
@@ -85,6 +113,28 @@ public class RefDataController {
         return ResponseEntity.ok(pricingService.getInstruments(pageable));
     }
 
+    // Type-ahead sobre símbolo y nombre, servido desde el índice en memoria
+    @GetMapping("/instruments/search")
+    public ResponseEntity<List<InstrumentSearchResultDto>> searchInstruments(
+            @RequestParam String q,
+            @RequestParam(required = false) InstrumentTypeEnum type,
+            @RequestParam(defaultValue = "false") boolean includeInactive,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(instrumentSearchService.search(q, type, includeInactive, limit));
+    }
+
+    @PostMapping("/instruments/search/refresh")
+    public ResponseEntity<Integer> refreshInstrumentSearch() {
+        return ResponseEntity.ok(instrumentSearchService.refresh());
+    }
+
+    // Referencia de muchos instrumentos en una llamada (tipo y moneda), servida desde memoria
+    @PostMapping("/instruments/bulk")
+    public ResponseEntity<List<InstrumentRefDto>> getInstrumentRefs(@RequestBody List<UUID> instrumentIds) {
+        return ResponseEntity.ok(marketDataService.instruments(instrumentIds));
+    }
+
     @GetMapping("/instruments/{id}")
     public ResponseEntity<Optional<InstrumentEntity>> getInstrumentById(@PathVariable UUID id) {
         return ResponseEntity.of(Optional.ofNullable(pricingService.getInstrumentById(id)));
@@ -105,6 +155,16 @@ public class RefDataController {
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/prices/last/bulk")
+    public ResponseEntity<List<LastPriceDto>> getLastPrices(@RequestBody List<UUID> instrumentIds) {
+        return ResponseEntity.ok(marketDataService.lastPrices(instrumentIds));
+    }
+
+    @PostMapping("/market-data/snapshot")
+    public ResponseEntity<MarketDataSnapshotResponseDto> writeMarketDataSnapshot() {
+        return ResponseEntity.ok(marketDataService.writeSnapshot());
+    }
+
     // ===== Exchanges, Listings, Brokers =====
 
     @GetMapping("/exchanges")
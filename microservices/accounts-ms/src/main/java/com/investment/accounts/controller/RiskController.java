@@ -0,0 +1,46 @@
+package com.investment.accounts.controller;
+
+import com.investment.accounts.dto.PortfolioRiskResponseDto;
+import com.investment.accounts.dto.ProjectionRequestDto;
+import com.investment.accounts.dto.ProjectionResponseDto;
+import com.investment.accounts.dto.RiskRunResponseDto;
+import com.investment.accounts.service.ProjectionService;
+import com.investment.accounts.service.RiskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/risk")
+@RequiredArgsConstructor
+public class RiskController {
+
+    private final RiskService riskService;
+    private final ProjectionService projectionService;
+
+    /** Corre el riesgo de todas las carteras a una fecha; normalmente lo corre el scheduler nocturno. */
+    @PostMapping("/runs")
+    public ResponseEntity<RiskRunResponseDto> run(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(riskService.run(asOf));
+    }
+
+    @GetMapping("/portfolios/{portfolioId}")
+    public ResponseEntity<PortfolioRiskResponseDto> get(
+            @PathVariable UUID portfolioId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(riskService.get(portfolioId, asOf));
+    }
+
+    /** Proyección Monte Carlo de las posiciones actuales; sin body usa los valores por defecto. */
+    @PostMapping("/portfolios/{portfolioId}/projections")
+    public ResponseEntity<ProjectionResponseDto> project(
+            @PathVariable UUID portfolioId,
+            @RequestBody(required = false) ProjectionRequestDto body) {
+        return ResponseEntity.ok(projectionService.project(portfolioId, body));
+    }
+}
@@ -0,0 +1,25 @@
+package com.investment.accounts.controller;
+
+import com.investment.accounts.dto.SettlementRunResponseDto;
+import com.investment.accounts.service.SettlementBatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/settlements")
+@RequiredArgsConstructor
+public class SettlementsController {
+
+    private final SettlementBatchService settlementBatchService;
+
+    /** Liquida los buckets con fecha valor hasta {@code date}; normalmente lo corre el scheduler. */
+    @PostMapping("/{date}/run")
+    public ResponseEntity<SettlementRunResponseDto> run(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(settlementBatchService.settle(date));
+    }
+}
@@ -0,0 +1,46 @@
+package com.investment.accounts.controller;
+
+import com.investment.accounts.dto.CalendarImportResponseDto;
+import com.investment.accounts.dto.MarketStatusResponseDto;
+import com.investment.accounts.service.TradingCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/calendars")
+@RequiredArgsConstructor
+public class TradingCalendarController {
+
+    private final TradingCalendarService calendarService;
+
+    /** Abierto/cerrado en un instante (por defecto ahora) y próximas apertura y cierre. */
+    @GetMapping("/{exchangeId}/status")
+    public ResponseEntity<MarketStatusResponseDto> status(
+            @PathVariable UUID exchangeId,
+            @RequestParam(required = false) Instant at) {
+        return ResponseEntity.ok(calendarService.status(exchangeId, at));
+    }
+
+    /** T+n en días hábiles del mercado. */
+    @GetMapping("/{exchangeId}/business-days")
+    public ResponseEntity<LocalDate> addBusinessDays(
+            @PathVariable UUID exchangeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam int days) {
+        return ResponseEntity.ok(calendarService.addBusinessDays(exchangeId, from, days));
+    }
+
+    /** Carga masiva de archivos de calendario (CSV); reemplaza los mercados incluidos. */
+    @PostMapping(value = "/import", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<CalendarImportResponseDto> importCalendars(@RequestBody String body) throws IOException {
+        return ResponseEntity.ok(calendarService.importCalendars(new StringReader(body)));
+    }
+}
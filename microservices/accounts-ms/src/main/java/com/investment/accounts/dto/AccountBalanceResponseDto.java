@@ -0,0 +1,13 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Saldo corrido de una cuenta en una moneda. */
+public record AccountBalanceResponseDto(
+        UUID accountId,
+        UUID currencyId,
+        BigDecimal balance,
+        OffsetDateTime updatedAt
+) {}
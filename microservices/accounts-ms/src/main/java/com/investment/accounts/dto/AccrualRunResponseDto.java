@@ -0,0 +1,13 @@
+package com.investment.accounts.dto;
+
+import java.time.LocalDate;
+
+/** Resumen de una corrida de devengo (acumulado de todas sus ejecuciones). */
+public record AccrualRunResponseDto(
+        LocalDate accrualDate,
+        int partitions,
+        int done,
+        int failed,
+        long processedAccounts,
+        long postedMovements
+) {}
@@ -0,0 +1,15 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+// priceFactor = 1 para las barras posteriores al último evento
+public record AdjustedPriceDto(
+        OffsetDateTime ts,
+        BigDecimal open,
+        BigDecimal high,
+        BigDecimal low,
+        BigDecimal close,
+        BigDecimal volume,
+        BigDecimal priceFactor
+) {}
@@ -0,0 +1,13 @@
+package com.investment.accounts.dto;
+
+import java.util.List;
+
+/** Resultado del alta masiva; {@code rejected} se recorta a los primeros N errores. */
+public record BulkMovementResponseDto(
+        int received,
+        int inserted,
+        int rejectedCount,
+        List<Rejected> rejected
+) {
+    public record Rejected(int index, String reason) {}
+}
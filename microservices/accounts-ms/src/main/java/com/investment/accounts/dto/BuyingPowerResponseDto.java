@@ -0,0 +1,14 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Poder de compra de una cuenta en una moneda. */
+public record BuyingPowerResponseDto(
+        UUID accountId,
+        UUID currencyId,
+        BigDecimal balance,
+        BigDecimal reserved,
+        BigDecimal consumed,
+        BigDecimal available
+) {}
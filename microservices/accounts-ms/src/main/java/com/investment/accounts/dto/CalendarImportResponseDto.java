@@ -0,0 +1,9 @@
+package com.investment.accounts.dto;
+
+import java.util.List;
+
+public record CalendarImportResponseDto(
+        List<String> exchanges,
+        int sessions,
+        int holidays
+) {}
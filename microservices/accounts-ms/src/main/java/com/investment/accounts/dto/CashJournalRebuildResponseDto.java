@@ -0,0 +1,8 @@
+package com.investment.accounts.dto;
+
+/** Resultado de reconstruir saldos desde el journal de caja. */
+public record CashJournalRebuildResponseDto(
+        long repostedMovements,
+        int correctedBalances,
+        long pendingEntries
+) {}
@@ -0,0 +1,28 @@
+package com.investment.accounts.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Movimiento de efectivo para alta masiva; la moneda va por id o por código. {@code requestId} es la
+ * clave de idempotencia: un movimiento con un requestId ya registrado no se vuelve a insertar.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CashMovementRequestDto(
+        UUID requestId,
+        UUID accountId,
+        UUID currencyId,
+        String currencyCode,
+        BigDecimal amount,
+        CashMovementTypeEnum type,
+        OffsetDateTime date,
+        String note
+) {
+    public CashMovementRequestDto withRequestId(UUID requestId) {
+        return new CashMovementRequestDto(requestId, accountId, currencyId, currencyCode, amount, type, date, note);
+    }
+}
@@ -0,0 +1,16 @@
+package com.investment.accounts.dto;
+
+import com.investment.accounts.utils.enums.CorporateActionTypeEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Evento para positions-ms: solo eventos que cambian cantidades (splits y dividendos en acciones)
+public record CorporateActionEventDto(
+        UUID actionId,
+        UUID instrumentId,
+        CorporateActionTypeEnum type,
+        LocalDate exDate,
+        BigDecimal ratio
+) {}
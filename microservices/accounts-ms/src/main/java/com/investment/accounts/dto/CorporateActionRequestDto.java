@@ -0,0 +1,16 @@
+package com.investment.accounts.dto;
+
+import com.investment.accounts.utils.enums.CorporateActionTypeEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// ratio para splits y dividendos en acciones; cashAmount (por acción) para dividendos en efectivo
+public record CorporateActionRequestDto(
+        UUID instrumentId,
+        CorporateActionTypeEnum type,
+        LocalDate exDate,
+        BigDecimal ratio,
+        BigDecimal cashAmount
+) {}
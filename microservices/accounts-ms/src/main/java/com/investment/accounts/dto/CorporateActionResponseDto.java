@@ -0,0 +1,20 @@
+package com.investment.accounts.dto;
+
+import com.investment.accounts.utils.enums.CorporateActionStatusEnum;
+import com.investment.accounts.utils.enums.CorporateActionTypeEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record CorporateActionResponseDto(
+        UUID id,
+        UUID instrumentId,
+        CorporateActionTypeEnum type,
+        LocalDate exDate,
+        BigDecimal ratio,
+        BigDecimal cashAmount,
+        CorporateActionStatusEnum status,
+        OffsetDateTime processedAt
+) {}
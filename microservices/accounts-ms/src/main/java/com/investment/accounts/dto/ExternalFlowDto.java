@@ -0,0 +1,12 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Flujo externo neto (depósitos - retiros) de un día UTC y una moneda; positivo = entra dinero
+public record ExternalFlowDto(
+        LocalDate date,
+        UUID currencyId,
+        BigDecimal amount
+) {}
@@ -0,0 +1,13 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// asOf null = última tasa disponible
+public record FxConversionItemDto(
+        BigDecimal amount,
+        UUID fromCurrencyId,
+        UUID toCurrencyId,
+        OffsetDateTime asOf
+) {}
@@ -0,0 +1,15 @@
+package com.investment.accounts.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+// error != null => el ítem no se pudo convertir (el resto del lote sí)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FxConversionResultDto(
+        BigDecimal amount,
+        BigDecimal rate,
+        OffsetDateTime rateTs,
+        String error
+) {}
@@ -0,0 +1,15 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// Las monedas pueden venir por id o por código; ts null = hora de recepción
+public record FxTickDto(
+        UUID fromCurrencyId,
+        String fromCurrencyCode,
+        UUID toCurrencyId,
+        String toCurrencyCode,
+        BigDecimal rate,
+        OffsetDateTime ts
+) {}
@@ -0,0 +1,13 @@
+package com.investment.accounts.dto;
+
+import java.util.List;
+
+/** Resultado de la ingesta de ticks; {@code rejected} se recorta a los primeros N errores. */
+public record FxTickIngestResponseDto(
+        int received,
+        int accepted,
+        int rejectedCount,
+        List<Rejected> rejected
+) {
+    public record Rejected(int index, String reason) {}
+}
@@ -0,0 +1,16 @@
+package com.investment.accounts.dto;
+
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+
+import java.util.UUID;
+
+/** Datos de referencia de un instrumento para valuar posiciones (tipo y moneda de cotización). */
+public record InstrumentRefDto(
+        UUID id,
+        String symbol,
+        String name,
+        InstrumentTypeEnum type,
+        InstrumentStatusEnum status,
+        UUID currencyId
+) {}
@@ -0,0 +1,16 @@
+package com.investment.accounts.dto;
+
+import com.investment.accounts.utils.enums.InstrumentMatchEnum;
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+
+import java.util.UUID;
+
+public record InstrumentSearchResultDto(
+        UUID id,
+        String symbol,
+        String name,
+        InstrumentTypeEnum type,
+        InstrumentStatusEnum status,
+        InstrumentMatchEnum match
+) {}
@@ -0,0 +1,12 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Último cierre conocido de un instrumento, servido desde memoria. */
+public record LastPriceDto(
+        UUID instrumentId,
+        BigDecimal close,
+        OffsetDateTime ts
+) {}
@@ -0,0 +1,14 @@
+package com.investment.accounts.dto;
+
+import java.time.OffsetDateTime;
+
+/** Resultado de escribir el snapshot de market data. */
+public record MarketDataSnapshotResponseDto(
+        String file,
+        long bytes,
+        int instruments,
+        int listings,
+        int fxRates,
+        int prices,
+        OffsetDateTime createdAt
+) {}
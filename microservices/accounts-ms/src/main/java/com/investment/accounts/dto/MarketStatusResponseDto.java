@@ -0,0 +1,12 @@
+package com.investment.accounts.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record MarketStatusResponseDto(
+        UUID exchangeId,
+        Instant at,
+        boolean open,
+        Instant nextOpen,
+        Instant nextClose
+) {}
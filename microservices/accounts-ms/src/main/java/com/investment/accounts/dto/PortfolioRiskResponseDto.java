@@ -0,0 +1,25 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// pérdidas en positivo, en la moneda de currencyId; null = sin exposición valuable
+public record PortfolioRiskResponseDto(
+        UUID portfolioId,
+        LocalDate asOfDate,
+        UUID currencyId,
+        BigDecimal marketValue,
+        int positions,
+        int unpricedPositions,
+        int observations,
+        BigDecimal confidence,
+        int horizonDays,
+        BigDecimal historicalVar,
+        BigDecimal historicalCvar,
+        BigDecimal parametricVar,
+        BigDecimal volatility,
+        BigDecimal beta,
+        OffsetDateTime computedAt
+) {}
@@ -0,0 +1,19 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Parámetros de una proyección Monte Carlo; todos opcionales.
+ * annualContribution negativo = retiro anual. percentiles en (0, 100). seed fija los caminos.
+ */
+public record ProjectionRequestDto(
+        Integer horizonYears,
+        Integer paths,
+        BigDecimal annualContribution,
+        BigDecimal goalAmount,
+        List<Double> percentiles,
+        UUID currencyId,
+        Long seed
+) {}
@@ -0,0 +1,29 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bandas de valor proyectado al cierre de cada año, en la moneda de currencyId. Los percentiles
+ * tienen error relativo acotado por relativeAccuracy; goalProbability es null sin objetivo.
+ */
+public record ProjectionResponseDto(
+        UUID portfolioId,
+        UUID currencyId,
+        LocalDate priceHistoryAsOf,
+        int observations,
+        BigDecimal initialValue,
+        int positions,
+        int unpricedPositions,
+        int horizonYears,
+        int paths,
+        BigDecimal annualContribution,
+        BigDecimal goalAmount,
+        BigDecimal goalProbability,
+        double relativeAccuracy,
+        List<Double> percentiles,
+        List<ProjectionYearDto> years,
+        long durationMs
+) {}
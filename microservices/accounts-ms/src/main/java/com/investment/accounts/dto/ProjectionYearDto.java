@@ -0,0 +1,11 @@
+package com.investment.accounts.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// values alineados con ProjectionResponseDto.percentiles
+public record ProjectionYearDto(
+        int year,
+        BigDecimal mean,
+        List<BigDecimal> values
+) {}
@@ -0,0 +1,18 @@
+package com.investment.accounts.dto;
+
+import com.investment.accounts.utils.enums.RecalculationJobStatusEnum;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Avance de un pedido de recálculo de posiciones para todas las cuentas de un portfolio. */
+public record RecalculationJobResponseDto(
+        UUID jobId,
+        UUID portfolioId,
+        RecalculationJobStatusEnum status,
+        int accounts,
+        int published,
+        int failed,
+        OffsetDateTime requestedAt,
+        OffsetDateTime completedAt
+) {}
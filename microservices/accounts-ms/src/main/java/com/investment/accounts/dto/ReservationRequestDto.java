@@ -0,0 +1,15 @@
+package com.investment.accounts.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Solicitud de reserva de efectivo; {@code reservationId} suele ser el id de la orden. */
+public record ReservationRequestDto(
+        @NotNull UUID reservationId,
+        @NotNull UUID accountId,
+        @NotNull UUID currencyId,
+        @NotNull @Positive BigDecimal amount
+) {}
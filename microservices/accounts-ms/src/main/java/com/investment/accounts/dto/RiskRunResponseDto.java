@@ -0,0 +1,17 @@
+package com.investment.accounts.dto;
+
+import java.time.LocalDate;
+
+/** Resumen de una corrida de riesgo; {@code skipped} = carteras sin posiciones leídas o con error. */
+public record RiskRunResponseDto(
+        LocalDate asOfDate,
+        LocalDate lastCloseDate,
+        int portfolios,
+        int computed,
+        int skipped,
+        int instruments,
+        int observations,
+        long covarianceCacheHits,
+        long covarianceCacheMisses,
+        long durationMs
+) {}
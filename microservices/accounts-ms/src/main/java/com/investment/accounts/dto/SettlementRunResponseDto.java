@@ -0,0 +1,10 @@
+package com.investment.accounts.dto;
+
+import java.time.LocalDate;
+
+public record SettlementRunResponseDto(
+        LocalDate settlementDate,
+        int buckets,
+        long trades,
+        int postedMovements
+) {}
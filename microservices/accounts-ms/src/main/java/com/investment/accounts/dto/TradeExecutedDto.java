@@ -0,0 +1,24 @@
+package com.investment.accounts.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.investment.accounts.utils.enums.SideEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Evento trade-executed publicado por orders-ms (ExecutionResponseDto); solo los campos que liquidan caja. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TradeExecutedDto(
+        UUID id,
+        UUID instrumentId,
+        UUID accountId,
+        SideEnum side,
+        BigDecimal quantity,
+        BigDecimal price,
+        BigDecimal fees,
+        BigDecimal taxes,
+        OffsetDateTime executedAt,
+        LocalDate settlementDate
+) {}
@@ -0,0 +1,46 @@
+package com.investment.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Saldo corrido por cuenta y moneda. Se actualiza en el mismo lote que inserta los
+ * movimientos, así leer el saldo no requiere sumar toda la historia.
+ */
+@Entity
+@Table(name = "account_balances", schema = "accounts")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "balance", precision = 28, scale = 10, nullable = false)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "account_id", nullable = false)
+        private UUID accountId;
+
+        @Column(name = "currency_id", nullable = false)
+        private UUID currencyId;
+    }
+}
@@ -16,6 +16,10 @@ import java.util.UUID;
                         name = "uq_accounts_broker_accnum_currency",
                         columnNames = {"broker_id", "account_number", "currency_id"}
                 )
+        },
+        indexes = {
+                // Fan-out por portfolio: todas las cuentas de un portfolio en una sola lectura del índice
+                @Index(name = "ix_accounts_portfolio", columnList = "portfolio_id, account_id")
         }
 )
 @Getter
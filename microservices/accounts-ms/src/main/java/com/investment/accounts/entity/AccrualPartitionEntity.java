@@ -0,0 +1,68 @@
+package com.investment.accounts.entity;
+
+import com.investment.accounts.utils.enums.AccrualPartitionStatusEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint de una partición del devengo diario. {@code lastAccountId} avanza en la misma
+ * transacción que escribe los movimientos del chunk, así un reinicio retoma sin duplicar.
+ * {@code version} cerca la partición: si otro worker la reclamó, el chunk del anterior no commitea.
+ */
+@Entity
+@Table(name = "accrual_partitions", schema = "accounts")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccrualPartitionEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "lower_bound", nullable = false)
+    private UUID lowerBound;  // exclusivo
+
+    @Column(name = "upper_bound", nullable = false)
+    private UUID upperBound;  // inclusivo
+
+    @Column(name = "last_account_id")
+    private UUID lastAccountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private AccrualPartitionStatusEnum status;
+
+    @Column(name = "processed_accounts", nullable = false)
+    private long processedAccounts;
+
+    @Column(name = "posted_movements", nullable = false)
+    private long postedMovements;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "accrual_date", nullable = false)
+        private LocalDate accrualDate;
+
+        @Column(name = "partition_no", nullable = false)
+        private int partitionNo;
+    }
+}
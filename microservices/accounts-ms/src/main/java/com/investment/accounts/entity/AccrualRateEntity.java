@@ -0,0 +1,45 @@
+package com.investment.accounts.entity;
+
+import com.investment.accounts.utils.enums.AccountTypeEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Tabla de tasas anuales por tipo de cuenta y moneda.
+ * interest: se abona sobre saldo positivo; fee: se cobra sobre saldo positivo (custodia).
+ */
+@Entity
+@Table(
+        name = "accrual_rates",
+        schema = "accounts",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_accrual_rates_type_currency", columnNames = {"account_type", "currency_id"})
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccrualRateEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "accrual_rate_id")
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "account_type", length = 16, nullable = false)
+    private AccountTypeEnum accountType;
+
+    @Column(name = "currency_id", nullable = false)
+    private UUID currencyId;
+
+    @Column(name = "interest_rate", precision = 12, scale = 8, nullable = false)
+    private BigDecimal interestRate; // anual, 0.0350 = 3.5%
+
+    @Column(name = "fee_rate", precision = 12, scale = 8, nullable = false)
+    private BigDecimal feeRate;      // anual
+}
@@ -3,6 +3,8 @@ package com.investment.accounts.entity;
 import com.investment.accounts.utils.enums.BrokerStatusEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
@@ -17,6 +19,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "catalog.brokers")
 @Table(
         name = "brokers",
         schema = "accounts",
@@ -9,7 +9,12 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "cash_movements", schema = "accounts")
+@Table(
+        name = "cash_movements",
+        schema = "accounts",
+        indexes = @Index(name = "ix_cash_movements_account_date", columnList = "account_id, date"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_cash_movements_request", columnNames = "request_id")
+)
 @Getter
 @Setter
 @Builder
@@ -45,4 +50,8 @@ public class CashMovementEntity {
 
     @Column(name = "note")
     private String note;
+
+    // Clave de idempotencia del alta masiva: un reintento del mismo lote no duplica el movimiento
+    @Column(name = "request_id")
+    private UUID requestId;
 }
\ No newline at end of file
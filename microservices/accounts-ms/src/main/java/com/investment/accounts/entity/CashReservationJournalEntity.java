@@ -0,0 +1,60 @@
+package com.investment.accounts.entity;
+
+import com.investment.accounts.utils.enums.ReservationOpEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Entrada del journal de reservas de efectivo. Es append-only: el estado de cada reserva
+ * se reconstruye sumando RESERVE y restando RELEASE/CONSUME. Cada CONSUME lleva el trade que lo
+ * originó y queda "consumido" hasta que la liquidación de ese trade anota su SETTLE.
+ */
+@Entity
+@Table(
+        name = "cash_reservation_journal",
+        schema = "accounts",
+        indexes = {
+                @Index(name = "ix_cash_reservation_journal_account_currency",
+                        columnList = "account_id, currency_id, reservation_id"),
+                @Index(name = "ix_cash_reservation_journal_trade", columnList = "trade_id, op")
+        }
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashReservationJournalEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "entry_id")
+    private UUID id;
+
+    @Column(name = "reservation_id", nullable = false)
+    private UUID reservationId;
+
+    // Ids planos (sin asociaciones) para que el insert en lote no cargue cuentas ni monedas
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "currency_id", nullable = false)
+    private UUID currencyId;
+
+    // Solo en CONSUME/SETTLE: vincula el débito con su liquidación
+    @Column(name = "trade_id")
+    private UUID tradeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "op", length = 16, nullable = false)
+    private ReservationOpEnum op; // RESERVE, RELEASE, CONSUME, SETTLE
+
+    @Column(name = "amount", precision = 28, scale = 10, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "recorded_at", nullable = false)
+    private OffsetDateTime recordedAt;
+}
@@ -0,0 +1,69 @@
+package com.investment.accounts.entity;
+
+import com.investment.accounts.utils.enums.CorporateActionStatusEnum;
+import com.investment.accounts.utils.enums.CorporateActionTypeEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Tabla: accounts.corporate_actions
+ * ratio: acciones nuevas por cada acción vieja (split 2x1 = 2, contrasplit 1x10 = 0.1,
+ * dividendo en acciones del 5% = 1.05). cash_amount: dividendo en efectivo por acción.
+ * status pasa a PROCESSED cuando llega la fecha ex y se publicó el evento para posiciones.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "corporate_actions",
+        schema = "accounts",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uq_corporate_actions_instrument_type_date",
+                        columnNames = {"instrument_id", "type", "ex_date"})
+        },
+        indexes = {
+                @Index(name = "ix_corporate_actions_status_date", columnList = "status, ex_date")
+        }
+)
+public class CorporateActionEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "corporate_action_id", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "instrument_id", nullable = false, updatable = false)
+    private UUID instrumentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20, updatable = false)
+    private CorporateActionTypeEnum type;
+
+    @Column(name = "ex_date", nullable = false, updatable = false)
+    private LocalDate exDate;
+
+    // NN salvo en dividendos en efectivo
+    @Column(name = "ratio", precision = 20, scale = 10, updatable = false)
+    private BigDecimal ratio;
+
+    @Column(name = "cash_amount", precision = 18, scale = 6, updatable = false)
+    private BigDecimal cashAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private CorporateActionStatusEnum status;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private OffsetDateTime processedAt;
+}
@@ -2,6 +2,8 @@ package com.investment.accounts.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
@@ -11,6 +13,8 @@ import java.util.UUID;
  * Unique: code
  * name: NOT NULL
  * symbol: opcional (según diagrama)
+ * Caché L2 READ_ONLY: la app nunca modifica monedas; los cambios hechos por fuera
+ * se ven al vencer el TTL de la región (ehcache.xml).
  */
 @Getter
 @Setter
@@ -18,6 +22,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "catalog.currencies")
 @Table(
         name = "currencies",
         schema = "accounts",
@@ -0,0 +1,48 @@
+package com.investment.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Tabla: accounts.exchange_holidays
+ * PK compuesta: exchange_id + holiday_date
+ * early_close null = mercado cerrado todo el día; con valor = cierre anticipado (hora local).
+ */
+@Entity
+@Table(name = "exchange_holidays", schema = "accounts")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeHolidayEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "early_close")
+    private LocalTime earlyClose;
+
+    @Column(name = "name", length = 120)
+    private String name;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "exchange_id", nullable = false)
+        private UUID exchangeId;
+
+        @Column(name = "holiday_date", nullable = false)
+        private LocalDate date;
+    }
+}
@@ -3,7 +3,10 @@ package com.investment.accounts.entity;
 import com.investment.accounts.utils.enums.ListingStatusEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 /**
@@ -26,6 +29,10 @@ import java.util.UUID;
                         name = "uq_exchange_listing_exchange_localticker",
                         columnNames = {"exchange_id", "local_ticker"}
                 )
+        },
+        indexes = {
+                // Carga incremental del snapshot de market data (cambios desde su watermark)
+                @Index(name = "ix_exchange_listing_updated_at", columnList = "updated_at")
         }
 )
 public class ExchangeListingEntity {
@@ -51,6 +58,11 @@ public class ExchangeListingEntity {
     @Column(name = "status", nullable = false, length = 20)
     private ListingStatusEnum status;
 
+    // NN; el default cubre los altas hechas por fuera de la app
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false, columnDefinition = "timestamptz default now()")
+    private OffsetDateTime updatedAt;
+
     /**
      * ID embebido para PK compuesta (instrument_id + exchange_id)
      */
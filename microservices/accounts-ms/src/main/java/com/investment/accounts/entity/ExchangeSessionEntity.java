@@ -0,0 +1,45 @@
+package com.investment.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Tabla: accounts.exchange_sessions
+ * Sesión regular de un mercado para un día de la semana, en hora local del mercado.
+ * Puede haber varias por día (p. ej. pausa de mediodía).
+ */
+@Entity
+@Table(
+        name = "exchange_sessions",
+        schema = "accounts",
+        indexes = @Index(name = "ix_exchange_sessions_exchange", columnList = "exchange_id")
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeSessionEntity {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "exchange_session_id", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "exchange_id", nullable = false)
+    private UUID exchangeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "open_time", nullable = false)
+    private LocalTime openTime;
+
+    @Column(name = "close_time", nullable = false)
+    private LocalTime closeTime;
+}
@@ -4,7 +4,11 @@ import com.investment.accounts.utils.enums.InstrumentStatusEnum;
 import com.investment.accounts.utils.enums.InstrumentTypeEnum;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Getter
@@ -14,11 +18,17 @@ import java.util.UUID;
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "catalog.instruments")
 @Table(
         name = "instruments",
         schema = "accounts",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_instruments_symbol", columnNames = "symbol")
+        },
+        indexes = {
+                // Carga incremental del snapshot de market data (cambios desde su watermark)
+                @Index(name = "ix_instruments_updated_at", columnList = "updated_at")
         }
 )
 public class InstrumentEntity {
@@ -46,4 +56,9 @@ public class InstrumentEntity {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "currency_id", nullable = false)
     private CurrencyEntity currency;
-}
\ No newline at end of file
+
+    // NN; el default cubre los altas hechas por fuera de la app
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false, columnDefinition = "timestamptz default now()")
+    private OffsetDateTime updatedAt;
+}
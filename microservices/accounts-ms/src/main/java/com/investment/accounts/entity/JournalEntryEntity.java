@@ -0,0 +1,88 @@
+package com.investment.accounts.entity;
+
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.accounts.utils.enums.LedgerBookEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Tabla: accounts.journal_entries (append-only, nunca se actualiza ni se borra)
+ * Partida doble en una fila: {@code amount} (siempre positivo) sale de debit_book y entra en credit_book.
+ * PK: shard + seq; cada shard numera sus asientos sin huecos y una cuenta siempre cae en el mismo shard.
+ * Los saldos (accounts.account_balances) y los extractos son proyecciones de esta tabla.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "journal_entries",
+        schema = "accounts",
+        indexes = {
+                // Extractos: asientos de una cuenta por fecha valor
+                @Index(name = "ix_journal_entries_account_value_date", columnList = "account_id, value_date"),
+                // Recuperación: movimientos completados que todavía no tienen asiento
+                @Index(name = "ix_journal_entries_tx", columnList = "tx_id")
+        }
+)
+public class JournalEntryEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    // cash_movement_id que origina el asiento
+    @Column(name = "tx_id", nullable = false, updatable = false)
+    private UUID txId;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "currency_id", nullable = false, updatable = false)
+    private UUID currencyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "debit_book", nullable = false, length = 16, updatable = false)
+    private LedgerBookEnum debitBook;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "credit_book", nullable = false, length = 16, updatable = false)
+    private LedgerBookEnum creditBook;
+
+    @Column(name = "amount", nullable = false, precision = 28, scale = 10, updatable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 24, updatable = false)
+    private CashMovementTypeEnum type;
+
+    @Column(name = "value_date", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime valueDate;
+
+    @Column(name = "posted_at", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime postedAt;
+
+    @Column(name = "note", updatable = false)
+    private String note;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "shard", nullable = false)
+        private Integer shard;
+
+        @Column(name = "seq", nullable = false)
+        private Long seq;
+    }
+}
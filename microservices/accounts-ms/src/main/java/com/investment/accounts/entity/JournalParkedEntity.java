@@ -0,0 +1,37 @@
+package com.investment.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Tabla: accounts.journal_parked
+ * Movimientos completados cuyo asiento falla de forma persistente (p. ej. una FK o un tipo sin
+ * contrapartida). Se apartan para no bloquear el shard; la recuperación del arranque y el rebuild
+ * los vuelven a intentar sin importar su fecha y la fila se borra cuando el asiento entra.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "journal_parked", schema = "accounts")
+public class JournalParkedEntity {
+
+    // cash_movement_id sin asiento
+    @Id
+    @Column(name = "tx_id", nullable = false, updatable = false)
+    private UUID txId;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "parked_at", nullable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime parkedAt;
+}
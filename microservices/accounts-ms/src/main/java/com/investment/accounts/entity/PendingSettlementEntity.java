@@ -0,0 +1,67 @@
+package com.investment.accounts.entity;
+
+import com.investment.accounts.utils.enums.SettlementStatusEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Tabla: accounts.pending_settlements
+ * Bucket de liquidación: neto de compras y ventas por fecha valor, cuenta y moneda.
+ * settled_amount es lo ya posteado; un trade tardío reabre el bucket y solo se postea la diferencia.
+ */
+@Entity
+@Table(
+        name = "pending_settlements",
+        schema = "accounts",
+        indexes = @Index(name = "ix_pending_settlements_status_date", columnList = "status, settlement_date")
+)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingSettlementEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "net_amount", precision = 28, scale = 10, nullable = false)
+    private BigDecimal netAmount;
+
+    @Column(name = "settled_amount", precision = 28, scale = 10, nullable = false)
+    private BigDecimal settledAmount;
+
+    @Column(name = "trade_count", nullable = false)
+    private long tradeCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private SettlementStatusEnum status;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "settlement_date", nullable = false)
+        private LocalDate settlementDate;
+
+        @Column(name = "account_id", nullable = false)
+        private UUID accountId;
+
+        @Column(name = "currency_id", nullable = false)
+        private UUID currencyId;
+    }
+}
@@ -0,0 +1,80 @@
+package com.investment.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Cifras de riesgo de una cartera a una fecha, en la moneda base de la corrida. Las pérdidas
+ * (VaR, CVaR) van en positivo; las cifras quedan en null si la cartera no tiene exposición valuable.
+ */
+@Entity
+@Table(name = "portfolio_risk", schema = "accounts")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioRiskEntity {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "currency_id", nullable = false)
+    private UUID currencyId;
+
+    @Column(name = "market_value", precision = 24, scale = 2, nullable = false)
+    private BigDecimal marketValue;
+
+    @Column(name = "positions", nullable = false)
+    private int positions;
+
+    @Column(name = "unpriced_positions", nullable = false)
+    private int unpricedPositions;
+
+    @Column(name = "observations", nullable = false)
+    private int observations;
+
+    @Column(name = "confidence", precision = 6, scale = 4, nullable = false)
+    private BigDecimal confidence;
+
+    @Column(name = "horizon_days", nullable = false)
+    private int horizonDays;
+
+    @Column(name = "historical_var", precision = 24, scale = 2)
+    private BigDecimal historicalVar;
+
+    @Column(name = "historical_cvar", precision = 24, scale = 2)
+    private BigDecimal historicalCvar;
+
+    @Column(name = "parametric_var", precision = 24, scale = 2)
+    private BigDecimal parametricVar;
+
+    @Column(name = "volatility", precision = 12, scale = 6)
+    private BigDecimal volatility;      // anualizada
+
+    @Column(name = "beta", precision = 12, scale = 6)
+    private BigDecimal beta;
+
+    @Column(name = "computed_at", nullable = false)
+    private OffsetDateTime computedAt;
+
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+
+        @Column(name = "portfolio_id", nullable = false)
+        private UUID portfolioId;
+
+        @Column(name = "as_of_date", nullable = false)
+        private LocalDate asOfDate;
+    }
+}
@@ -14,7 +14,14 @@ import java.util.UUID;
 @AllArgsConstructor
 @EqualsAndHashCode(of = "id")
 @Entity
-@Table(name = "prices", schema = "accounts")
+@Table(
+        name = "prices",
+        schema = "accounts",
+        indexes = {
+                // Últimos precios desde el watermark del snapshot de market data (la PK empieza por instrument_id)
+                @Index(name = "ix_prices_ts", columnList = "ts")
+        }
+)
 public class PriceEntity {
 
     @EmbeddedId
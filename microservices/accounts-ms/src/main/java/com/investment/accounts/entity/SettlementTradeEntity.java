@@ -0,0 +1,43 @@
+package com.investment.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Tabla: accounts.settlement_trades
+ * Un registro por trade recibido: hace idempotente la acumulación en los buckets
+ * aunque Kafka reentregue el evento.
+ */
+@Entity
+@Table(name = "settlement_trades", schema = "accounts")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementTradeEntity {
+
+    @Id
+    @Column(name = "trade_id", nullable = false, updatable = false)
+    private UUID tradeId;
+
+    @Column(name = "settlement_date", nullable = false)
+    private LocalDate settlementDate;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "currency_id", nullable = false)
+    private UUID currencyId;
+
+    @Column(name = "amount", precision = 28, scale = 10, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "received_at", nullable = false)
+    private OffsetDateTime receivedAt;
+}
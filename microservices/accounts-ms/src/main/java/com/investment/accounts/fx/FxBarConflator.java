@@ -0,0 +1,120 @@
+package com.investment.accounts.fx;
+
+import com.investment.accounts.configuration.FxProperties;
+import com.investment.accounts.model.FxRatePointModel;
+import com.investment.accounts.repository.FxRateBatchRepository;
+import com.investment.accounts.repository.FxRateBatchRepository.FxRateRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflación de ticks FX: por par e intervalo ({@code barInterval}) solo sobrevive el último tick,
+ * y un único escritor inserta por lotes las barras cuyo intervalo ya cerró. La fila lleva el ts
+ * real del tick, así las consultas "vigente a asOf" nunca ven una tasa posterior a asOf.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FxBarConflator {
+
+    // Orden estable de los upserts: evita deadlocks entre instancias que escriben el mismo par
+    private static final Comparator<FxRateRow> ROW_ORDER = Comparator.comparing(FxRateRow::fromCurrencyId)
+            .thenComparing(FxRateRow::toCurrencyId)
+            .thenComparing(FxRateRow::ts);
+
+    private final FxRateBatchRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final FxProperties properties;
+
+    private final ConcurrentHashMap<BarKey, FxRatePointModel> open = new ConcurrentHashMap<>();
+    private ScheduledExecutorService writer;
+
+    @PostConstruct
+    void start() {
+        writer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("fx-bar-writer").daemon().factory());
+        long period = properties.flushInterval().toMillis();
+        writer.scheduleWithFixedDelay(() -> safeFlush(false), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        safeFlush(true); // las barras abiertas también: no se pierde la última tasa al apagar
+    }
+
+    public void offer(UUID fromCurrencyId, UUID toCurrencyId, FxRatePointModel tick) {
+        long bar = Math.floorDiv(tick.ts().toInstant().toEpochMilli(), properties.barInterval().toMillis());
+        open.merge(new BarKey(fromCurrencyId, toCurrencyId, bar), tick, FxBarConflator::latest);
+    }
+
+    public int pendingCount() {
+        return open.size();
+    }
+
+    /**
+     * Escribe las barras cerradas ({@code all} = también las abiertas) en una transacción;
+     * si falla se devuelven al buffer y se reintentan en el próximo ciclo.
+     */
+    public synchronized int flush(boolean all) {
+        long currentBar = Math.floorDiv(System.currentTimeMillis(), properties.barInterval().toMillis());
+        Map<BarKey, FxRatePointModel> taken = new HashMap<>();
+        for (Map.Entry<BarKey, FxRatePointModel> e : open.entrySet()) {
+            // remove(k, v): si entró un tick entre la lectura y el remove, la barra espera al próximo ciclo
+            if ((all || e.getKey().bar() < currentBar) && open.remove(e.getKey(), e.getValue())) {
+                taken.put(e.getKey(), e.getValue());
+            }
+        }
+        if (taken.isEmpty()) {
+            return 0;
+        }
+
+        List<FxRateRow> rows = new ArrayList<>(taken.size());
+        taken.forEach((k, p) -> rows.add(new FxRateRow(p.ts(), k.fromCurrencyId(), k.toCurrencyId(), p.rate())));
+        rows.sort(ROW_ORDER);
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.upsertRates(rows));
+        } catch (RuntimeException e) {
+            taken.forEach((k, p) -> open.merge(k, p, FxBarConflator::latest));
+            throw e;
+        }
+        return rows.size();
+    }
+
+    private void safeFlush(boolean all) {
+        try {
+            flush(all);
+        } catch (Exception e) {
+            log.error("FX bar flush failed ({} pending): {}", open.size(), e.getMessage(), e);
+        }
+    }
+
+    // Empate de ts: gana el que llegó después
+    private static FxRatePointModel latest(FxRatePointModel current, FxRatePointModel next) {
+        return next.ts().isBefore(current.ts()) ? current : next;
+    }
+
+    private record BarKey(UUID fromCurrencyId, UUID toCurrencyId, long bar) {}
+}
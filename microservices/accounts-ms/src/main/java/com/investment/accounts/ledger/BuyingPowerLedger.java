@@ -0,0 +1,442 @@
+package com.investment.accounts.ledger;
+
+import com.investment.accounts.configuration.BuyingPowerProperties;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.entity.CashReservationJournalEntity;
+import com.investment.accounts.model.OpenReservationModel;
+import com.investment.accounts.model.UnsettledConsumptionModel;
+import com.investment.accounts.repository.CashMovementRepository;
+import com.investment.accounts.repository.CashReservationJournalRepository;
+import com.investment.accounts.repository.SettlementBucketRepository.SettledConsumption;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.accounts.utils.enums.ReservationOpEnum;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.common.exception.NotFoundException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ledger en memoria del poder de compra por cuenta y moneda.
+ * <p>
+ * Los importes se llevan en centavos ({@code long}) y cada par cuenta/moneda se protege con uno de
+ * {@code lockStripes} locks, de modo que reservas sobre cuentas distintas no compiten entre sí.
+ * Cada operación se anota en el {@link ReservationJournal} dentro del mismo lock y se confirma
+ * recién cuando su lote commitea (esperando fuera del lock, para que el group commit junte
+ * operaciones). El par se reconstruye desde movimientos + journal la primera vez que se usa.
+ * <p>
+ * Los movimientos de efectivo se suman tras su commit. Mientras la transacción que los inserta
+ * está en vuelo sus ids quedan anotados por par, y una carga que ocurra en ese intervalo los
+ * excluye de la suma: así el movimiento entra exactamente una vez, sea cual sea el orden entre
+ * el commit, la carga y el hook. Los pares sin reservas ni consumos que llevan
+ * {@code idleEviction} sin usarse se descartan y se vuelven a cargar si hacen falta.
+ * <p>
+ * Lo consumido se lleva por trade: cuando la liquidación del trade postea su movimiento, el saldo
+ * ya refleja el débito y {@link #applySettled} lo descuenta de consumido para no restarlo dos veces.
+ * <p>
+ * Supone una sola instancia escritora por cuenta (particionado por cuenta si se escala).
+ */
+@Component
+public class BuyingPowerLedger {
+
+    private static final int SCALE = 2; // misma escala que MoneyUtils
+    private static final CompletableFuture<Void> COMMITTED = CompletableFuture.completedFuture(null);
+
+    private final CashMovementRepository movementRepository;
+    private final CashReservationJournalRepository journalRepository;
+    private final ReservationJournal journal;
+    private final ReentrantLock[] stripes;
+    private final long commitTimeoutMillis;
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<Key, Balance> balances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Reservation> reservations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Consumption> consumptions = new ConcurrentHashMap<>(); // por tradeId
+    private final ConcurrentHashMap<Key, Set<UUID>> inFlight = new ConcurrentHashMap<>(); // movimientos sin commit
+
+    public BuyingPowerLedger(CashMovementRepository movementRepository,
+                             CashReservationJournalRepository journalRepository,
+                             ReservationJournal journal,
+                             BuyingPowerProperties properties) {
+        this.movementRepository = movementRepository;
+        this.journalRepository = journalRepository;
+        this.journal = journal;
+        this.commitTimeoutMillis = properties.journalCommitTimeout().toMillis();
+        this.idleNanos = properties.idleEviction().toNanos();
+        this.stripes = new ReentrantLock[properties.lockStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Snapshot snapshot(UUID accountId, UUID currencyId) {
+        Key key = new Key(accountId, currencyId);
+        ReentrantLock lock = stripe(key);
+        lock.lock();
+        try {
+            return balance(key).snapshot(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserva {@code cents} si el disponible alcanza. Es idempotente por {@code reservationId}:
+     * repetir la misma reserva devuelve el estado actual sin volver a descontar (y espera a que la
+     * original esté commiteada, por si el primer intento venció esperándola).
+     */
+    public Snapshot reserve(UUID reservationId, UUID accountId, UUID currencyId, long cents) {
+        requirePositive(cents);
+        Key key = new Key(accountId, currencyId);
+        ReentrantLock lock = stripe(key);
+        Snapshot snapshot;
+        CompletableFuture<Void> committed;
+        lock.lock();
+        try {
+            Balance b = balance(key);
+            Reservation existing = reservations.get(reservationId);
+            if (existing != null) {
+                if (!existing.key.equals(key)) {
+                    throw new BadRequestException("Reservation " + reservationId + " belongs to another account/currency");
+                }
+                snapshot = b.snapshot(key);
+                committed = existing.committed;
+            } else {
+                if (b.available() < cents) {
+                    throw new BusinessException("Insufficient buying power: available "
+                            + fromCents(b.available()) + ", requested " + fromCents(cents));
+                }
+                b.reserved += cents;
+                committed = journal(reservationId, key, ReservationOpEnum.RESERVE, cents, null);
+                b.lastWrite = committed;
+                reservations.put(reservationId, new Reservation(key, cents, committed));
+                snapshot = b.snapshot(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return awaitCommitted(committed, snapshot);
+    }
+
+    /** Libera la reserva (o parte de ella si {@code cents} no es null). */
+    public Snapshot release(UUID reservationId, Long cents) {
+        return settle(reservationId, cents, ReservationOpEnum.RELEASE, null);
+    }
+
+    /**
+     * Convierte parte de la reserva en débito del trade {@code tradeId} al ejecutarse la orden.
+     * Es idempotente por trade: repetirlo devuelve el estado actual sin volver a consumir.
+     */
+    public Snapshot consume(UUID reservationId, UUID tradeId, long cents) {
+        requirePositive(cents);
+        if (tradeId == null) {
+            throw new BadRequestException("tradeId is required");
+        }
+        Consumption existing = consumptions.get(tradeId);
+        if (existing != null) {
+            return awaitCommitted(existing.committed, snapshot(existing.key.accountId, existing.key.currencyId));
+        }
+        return settle(reservationId, cents, ReservationOpEnum.CONSUME, tradeId);
+    }
+
+    /**
+     * Descuenta de consumido los trades cuya liquidación ya posteó el movimiento (que baja el saldo
+     * por su cuenta); con transacción activa, tras el commit. Un trade que no está en memoria se
+     * ignora: su par se cargará de la base ya con el SETTLE aplicado.
+     */
+    public void applySettled(List<SettledConsumption> settled) {
+        if (settled.isEmpty()) {
+            return;
+        }
+        Runnable action = () -> {
+            for (SettledConsumption s : settled) {
+                Key key = new Key(s.accountId(), s.currencyId());
+                ReentrantLock lock = stripe(key);
+                lock.lock();
+                try {
+                    Consumption c = consumptions.remove(s.tradeId());
+                    Balance b = balances.get(key);
+                    if (c != null && b != null) {
+                        b.consumed -= c.cents;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Refleja movimientos de efectivo completados; con transacción activa, tras el commit. Hasta
+     * entonces sus ids quedan en vuelo y una carga del par no los cuenta (los suma el hook).
+     */
+    public void applyMovements(List<CashMovementEntity> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        Map<Key, Long> cents = new HashMap<>();
+        Map<Key, Set<UUID>> ids = new HashMap<>();
+        for (CashMovementEntity m : movements) {
+            Key key = new Key(m.getAccountId().getId(), m.getCurrency().getId());
+            cents.merge(key, toCents(m.getAmount()), Long::sum);
+            ids.computeIfAbsent(key, k -> new HashSet<>()).add(m.getId());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cents.forEach((key, delta) -> apply(key, delta, Set.of()));
+            return;
+        }
+        ids.forEach((key, movementIds) -> {
+            ReentrantLock lock = stripe(key);
+            lock.lock();
+            try {
+                inFlight.computeIfAbsent(key, k -> new HashSet<>()).addAll(movementIds);
+            } finally {
+                lock.unlock();
+            }
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // con rollback solo se sacan de vuelo: la base nunca los tuvo
+                cents.forEach((key, delta) ->
+                        apply(key, status == STATUS_COMMITTED ? delta : 0, ids.get(key)));
+            }
+        });
+    }
+
+    /**
+     * Descarta los pares sin reservas, consumos ni movimientos en vuelo que no se usan hace
+     * {@code idleEviction}; se vuelven a cargar de la base la próxima vez. Devuelve cuántos salieron.
+     */
+    @Scheduled(cron = "${app.buying-power.eviction-cron:0 * * * * *}", zone = "UTC")
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Key key : balances.keySet()) {
+            ReentrantLock lock = stripe(key);
+            lock.lock();
+            try {
+                Balance b = balances.get(key);
+                if (b != null && !inFlight.containsKey(key) && b.idle(now, idleNanos)) {
+                    balances.remove(key);
+                    evicted++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return evicted;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    // --- helpers (siempre con el lock del stripe tomado) ---
+
+    private Snapshot settle(UUID reservationId, Long cents, ReservationOpEnum op, UUID tradeId) {
+        Reservation r = reservations.get(reservationId);
+        if (r == null) {
+            throw new NotFoundException("Reservation not found: " + reservationId);
+        }
+        ReentrantLock lock = stripe(r.key);
+        Snapshot snapshot;
+        CompletableFuture<Void> committed;
+        lock.lock();
+        try {
+            Balance b = balance(r.key);
+            // Mismo trade consumido en paralelo: el otro ya lo anotó (mismo stripe que la reserva)
+            Consumption existing = tradeId == null ? null : consumptions.get(tradeId);
+            if (existing != null) {
+                committed = existing.committed;
+            } else {
+                // Re-lectura bajo lock: otra operación pudo cerrar la reserva mientras esperábamos
+                if (reservations.get(reservationId) != r) {
+                    throw new NotFoundException("Reservation not found: " + reservationId);
+                }
+                long amount = cents == null ? r.remaining : cents;
+                requirePositive(amount);
+                if (amount > r.remaining) {
+                    throw new BusinessException("Amount exceeds reservation: remaining " + fromCents(r.remaining));
+                }
+                r.remaining -= amount;
+                b.reserved -= amount;
+                if (r.remaining == 0) {
+                    reservations.remove(reservationId);
+                }
+                committed = journal(reservationId, r.key, op, amount, tradeId);
+                b.lastWrite = committed;
+                if (op == ReservationOpEnum.CONSUME) {
+                    b.consumed += amount;
+                    consumptions.put(tradeId, new Consumption(r.key, amount, committed));
+                }
+            }
+            snapshot = b.snapshot(r.key);
+        } finally {
+            lock.unlock();
+        }
+        return awaitCommitted(committed, snapshot);
+    }
+
+    private void apply(Key key, long cents, Set<UUID> movementIds) {
+        ReentrantLock lock = stripe(key);
+        lock.lock();
+        try {
+            Set<UUID> pending = inFlight.get(key);
+            if (pending != null && pending.removeAll(movementIds) && pending.isEmpty()) {
+                inFlight.remove(key);
+            }
+            // Si el par no está cargado, lo leerá de la base ya con el movimiento incluido; si se
+            // cargó antes del commit o con el movimiento en vuelo, la suma no lo tenía
+            Balance b = balances.get(key);
+            if (b != null) {
+                b.balance += cents;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Balance balance(Key key) {
+        Balance b = balances.get(key);
+        if (b == null) {
+            b = load(key);
+            balances.put(key, b);
+        }
+        b.lastUsed = System.nanoTime();
+        return b;
+    }
+
+    private Balance load(Key key) {
+        Balance b = new Balance();
+        Set<UUID> pending = inFlight.get(key);
+        b.balance = toCents(pending == null
+                ? movementRepository.sumCompletedAmount(key.accountId, key.currencyId)
+                : movementRepository.sumCompletedAmountExcluding(key.accountId, key.currencyId, Set.copyOf(pending)));
+        for (UnsettledConsumptionModel unsettled : journalRepository.findUnsettledConsumptions(key.accountId, key.currencyId)) {
+            long cents = toCents(unsettled.amount());
+            consumptions.put(unsettled.tradeId(), new Consumption(key, cents, COMMITTED));
+            b.consumed += cents;
+        }
+        for (OpenReservationModel open : journalRepository.findOpenReservations(key.accountId, key.currencyId)) {
+            long remaining = toCents(open.remaining());
+            reservations.put(open.reservationId(), new Reservation(key, remaining, COMMITTED));
+            b.reserved += remaining;
+        }
+        return b;
+    }
+
+    private CompletableFuture<Void> journal(UUID reservationId, Key key, ReservationOpEnum op, long cents,
+                                            UUID tradeId) {
+        return journal.append(CashReservationJournalEntity.builder()
+                .reservationId(reservationId)
+                .tradeId(tradeId)
+                .accountId(key.accountId)
+                .currencyId(key.currencyId)
+                .op(op)
+                .amount(fromCents(cents))
+                .recordedAt(DateTimeUtils.now())
+                .build());
+    }
+
+    /**
+     * Espera el commit de la entrada sin tener el lock. Si vence, la operación ya está aplicada en
+     * memoria y encolada: se informa el error y la entrada igual se escribirá en el próximo lote.
+     */
+    private Snapshot awaitCommitted(CompletableFuture<Void> committed, Snapshot snapshot) {
+        try {
+            committed.get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+            return snapshot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for reservation journal commit", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Reservation journal commit not confirmed", e);
+        }
+    }
+
+    private ReentrantLock stripe(Key key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private static void requirePositive(long cents) {
+        if (cents <= 0) {
+            throw new BadRequestException("Amount must be greater than 0");
+        }
+    }
+
+    /** Estado del par cuenta/moneda en centavos; disponible = saldo - reservado - consumido. */
+    public record Snapshot(UUID accountId, UUID currencyId, long balance, long reserved, long consumed) {
+        public long available() {
+            return balance - reserved - consumed;
+        }
+    }
+
+    private record Key(UUID accountId, UUID currencyId) {}
+
+    private static final class Balance {
+        long balance;
+        long reserved;
+        long consumed; // débitos de trades ejecutados cuyo movimiento de liquidación aún no posteó
+        long lastUsed;
+        CompletableFuture<Void> lastWrite = COMMITTED; // última entrada del journal de este par
+
+        long available() {
+            return balance - reserved - consumed;
+        }
+
+        // nada que la base no reconstruya igual: sin reservas, sin consumos y con el journal al día
+        boolean idle(long now, long idleNanos) {
+            return reserved == 0 && consumed == 0 && lastWrite.isDone() && now - lastUsed >= idleNanos;
+        }
+
+        Snapshot snapshot(Key key) {
+            return new Snapshot(key.accountId, key.currencyId, balance, reserved, consumed);
+        }
+    }
+
+    private record Consumption(Key key, long cents, CompletableFuture<Void> committed) {}
+
+    private static final class Reservation {
+        final Key key;
+        final CompletableFuture<Void> committed; // commit del RESERVE original
+        long remaining;
+
+        Reservation(Key key, long remaining, CompletableFuture<Void> committed) {
+            this.key = key;
+            this.remaining = remaining;
+            this.committed = committed;
+        }
+    }
+}
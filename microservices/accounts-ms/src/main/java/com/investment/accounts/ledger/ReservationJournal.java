@@ -0,0 +1,116 @@
+package com.investment.accounts.ledger;
+
+import com.investment.accounts.configuration.BuyingPowerProperties;
+import com.investment.accounts.entity.CashReservationJournalEntity;
+import com.investment.accounts.repository.CashReservationJournalRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Journal de reservas con group commit: las operaciones se encolan en memoria y un único escritor
+ * las inserta por lotes (una transacción por lote), así cada reserva no paga su propio round trip.
+ * Es write-ahead: {@link #append} devuelve un future que se completa recién cuando commitea el lote
+ * que contiene la entrada, y el ledger no confirma la operación hasta entonces. Una caída solo
+ * pierde operaciones que todavía no se habían confirmado.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationJournal {
+
+    private final CashReservationJournalRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final BuyingPowerProperties properties;
+
+    private final ConcurrentLinkedDeque<Entry> pending = new ConcurrentLinkedDeque<>();
+    private ScheduledExecutorService writer;
+
+    @PostConstruct
+    void start() {
+        writer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("reservation-journal").daemon().factory());
+        long period = properties.journalFlushInterval().toMillis();
+        writer.scheduleWithFixedDelay(this::safeFlush, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                writer.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        safeFlush(); // lo que quede en cola antes de apagar
+        // Si la base no respondió, nadie debe quedar esperando una confirmación que no llegará
+        Entry left;
+        while ((left = pending.pollFirst()) != null) {
+            left.committed().completeExceptionally(new IllegalStateException("Reservation journal stopped"));
+        }
+    }
+
+    /** Encola la entrada; el future se completa cuando el lote que la contiene está commiteado. */
+    public CompletableFuture<Void> append(CashReservationJournalEntity entry) {
+        Entry e = new Entry(entry, new CompletableFuture<>());
+        pending.addLast(e);
+        return e.committed();
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Vacía la cola en lotes y confirma cada lote al commitear. Si un lote falla se devuelve a la
+     * cabeza y se reintenta en el próximo ciclo; sus futures siguen pendientes hasta entonces.
+     */
+    public synchronized int flush() {
+        int written = 0;
+        int batchSize = properties.journalBatchSize();
+        while (!pending.isEmpty()) {
+            List<Entry> batch = new ArrayList<>(batchSize);
+            Entry next;
+            while (batch.size() < batchSize && (next = pending.pollFirst()) != null) {
+                batch.add(next);
+            }
+            try {
+                List<CashReservationJournalEntity> rows = batch.stream().map(Entry::row).toList();
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(rows));
+                written += batch.size();
+                batch.forEach(b -> b.committed().complete(null));
+            } catch (RuntimeException e) {
+                ListIterator<Entry> it = batch.listIterator(batch.size());
+                while (it.hasPrevious()) {
+                    pending.addFirst(it.previous());
+                }
+                throw e;
+            }
+        }
+        return written;
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Reservation journal flush failed ({} pending): {}", pending.size(), e.getMessage(), e);
+        }
+    }
+
+    private record Entry(CashReservationJournalEntity row, CompletableFuture<Void> committed) {}
+}
@@ -0,0 +1,11 @@
+package com.investment.accounts.model;
+
+import com.investment.accounts.utils.enums.AccountTypeEnum;
+
+import java.util.UUID;
+
+/** Proyección mínima de cuenta (id + tipo) para procesos batch. */
+public record AccountRefModel(
+        UUID id,
+        AccountTypeEnum type
+) {}
@@ -0,0 +1,13 @@
+package com.investment.accounts.model;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Última tasa conocida de un par FX. */
+public record FxLatestRateModel(UUID fromCurrencyId, UUID toCurrencyId, OffsetDateTime ts, BigDecimal rate) {
+
+    public FxRatePointModel toPoint() {
+        return new FxRatePointModel(ts, rate);
+    }
+}
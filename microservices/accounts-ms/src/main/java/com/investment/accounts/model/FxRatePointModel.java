@@ -0,0 +1,7 @@
+package com.investment.accounts.model;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/** Punto de la serie de un par FX: solo ts y tasa, sin hidratar la entidad. */
+public record FxRatePointModel(OffsetDateTime ts, BigDecimal rate) {}
@@ -0,0 +1,20 @@
+package com.investment.accounts.model;
+
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+
+import java.util.UUID;
+
+/** Instrumento del snapshot de market data (sin entidad ni asociaciones lazy). */
+public record InstrumentRefModel(
+        UUID id,
+        String symbol,
+        String name,
+        InstrumentTypeEnum type,
+        InstrumentStatusEnum status,
+        UUID currencyId
+) {
+    public InstrumentSearchModel toSearchModel() {
+        return new InstrumentSearchModel(id, symbol, name, type, status);
+    }
+}
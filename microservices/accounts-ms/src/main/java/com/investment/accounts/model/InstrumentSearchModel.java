@@ -0,0 +1,15 @@
+package com.investment.accounts.model;
+
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+
+import java.util.UUID;
+
+/** Proyección de instrumento para el índice de búsqueda (sin moneda ni entidad). */
+public record InstrumentSearchModel(
+        UUID id,
+        String symbol,
+        String name,
+        InstrumentTypeEnum type,
+        InstrumentStatusEnum status
+) {}
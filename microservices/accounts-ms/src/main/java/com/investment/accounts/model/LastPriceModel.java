@@ -0,0 +1,8 @@
+package com.investment.accounts.model;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Cierre de la última barra de un instrumento. */
+public record LastPriceModel(UUID instrumentId, OffsetDateTime ts, BigDecimal close) {}
@@ -0,0 +1,16 @@
+package com.investment.accounts.model;
+
+import com.investment.accounts.utils.enums.ListingStatusEnum;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/** Listado de un instrumento en un mercado, tal como lo guarda el snapshot de market data. */
+public record ListingRefModel(
+        UUID instrumentId,
+        UUID exchangeId,
+        String localTicker,
+        UUID tradeCurrencyId,
+        LocalDate listingDate,
+        ListingStatusEnum status
+) {}
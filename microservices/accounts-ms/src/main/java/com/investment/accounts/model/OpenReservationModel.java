@@ -0,0 +1,10 @@
+package com.investment.accounts.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Reserva con importe pendiente, reconstruida desde el journal. */
+public record OpenReservationModel(
+        UUID reservationId,
+        BigDecimal remaining
+) {}
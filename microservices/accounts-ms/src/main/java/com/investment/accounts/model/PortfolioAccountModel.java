@@ -0,0 +1,9 @@
+package com.investment.accounts.model;
+
+import java.util.UUID;
+
+/** Par cartera-cuenta para procesos batch que agrupan por cartera. */
+public record PortfolioAccountModel(
+        UUID portfolioId,
+        UUID accountId
+) {}
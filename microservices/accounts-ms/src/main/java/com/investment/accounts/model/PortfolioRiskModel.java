@@ -0,0 +1,22 @@
+package com.investment.accounts.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/** Resultado del cálculo de riesgo de una cartera; NaN = cifra no disponible. */
+public record PortfolioRiskModel(
+        UUID portfolioId,
+        LocalDate asOfDate,
+        UUID currencyId,
+        double marketValue,
+        int positions,
+        int unpricedPositions,
+        int observations,
+        double confidence,
+        int horizonDays,
+        double historicalVar,
+        double historicalCvar,
+        double parametricVar,
+        double volatility,
+        double beta
+) {}
@@ -0,0 +1,14 @@
+package com.investment.accounts.model;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/** Barra OHLCV sin hidratar la entidad (ni su instrumento). */
+public record PriceBarModel(
+        OffsetDateTime ts,
+        BigDecimal open,
+        BigDecimal high,
+        BigDecimal low,
+        BigDecimal close,
+        BigDecimal volume
+) {}
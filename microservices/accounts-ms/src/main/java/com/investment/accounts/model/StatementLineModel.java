@@ -0,0 +1,18 @@
+package com.investment.accounts.model;
+
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Línea de extracto: movimiento completado más el saldo corrido de su moneda. */
+public record StatementLineModel(
+        UUID id,
+        OffsetDateTime date,
+        CashMovementTypeEnum type,
+        String currencyCode,
+        BigDecimal amount,
+        BigDecimal balance,
+        String note
+) {}
@@ -0,0 +1,10 @@
+package com.investment.accounts.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Débito de un trade consumido de una reserva cuyo movimiento de liquidación aún no posteó. */
+public record UnsettledConsumptionModel(
+        UUID tradeId,
+        BigDecimal amount
+) {}
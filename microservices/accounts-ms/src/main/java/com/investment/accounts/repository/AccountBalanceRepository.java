@@ -0,0 +1,28 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.AccountBalanceEntity;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountBalanceRepository extends JpaRepository<AccountBalanceEntity, AccountBalanceEntity.Key> {
+
+    @Query("""
+         select b
+         from AccountBalanceEntity b
+         where b.id.accountId = :accountId
+         """)
+    List<AccountBalanceEntity> findAllByAccountId(@Param("accountId") UUID accountId);
+
+    @Query("""
+         select b
+         from AccountBalanceEntity b
+         where b.id.accountId in :accountIds
+         """)
+    List<AccountBalanceEntity> findAllByAccountIdIn(@Param("accountIds") Collection<UUID> accountIds);
+}
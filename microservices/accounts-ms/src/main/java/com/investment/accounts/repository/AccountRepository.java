@@ -1,12 +1,70 @@
 package com.investment.accounts.repository;
 
 import com.investment.accounts.entity.AccountEntity;
+import com.investment.accounts.model.AccountRefModel;
+import com.investment.accounts.model.PortfolioAccountModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AccountRepository extends JpaRepository<AccountEntity, UUID> {
-    // CRUD clásico (sin adicionales por ahora)
-}
\ No newline at end of file
+
+    // broker y currency en el mismo select: AccountModel.fromEntity no dispara 2 queries por fila
+    @Override
+    @EntityGraph(attributePaths = {"broker", "currency"})
+    Page<AccountEntity> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"broker", "currency"})
+    Optional<AccountEntity> findById(UUID id);
+
+    // Solo ids: validar existencia en lote sin hidratar entidades
+    @Query("select a.id from AccountEntity a where a.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = {"broker", "currency"})
+    List<AccountEntity> findAllByPortfolioIdOrderById(UUID portfolioId);
+
+    // Solo ids, por ix_accounts_portfolio (index-only scan)
+    @Query("select a.id from AccountEntity a where a.portfolioId = :portfolioId order by a.id")
+    List<UUID> findIdsByPortfolioId(@Param("portfolioId") UUID portfolioId);
+
+    @Query("""
+         select a.id
+         from AccountEntity a
+         where a.portfolioId = :portfolioId
+           and a.status = com.investment.accounts.utils.enums.AccountStatusEnum.ACTIVE
+         order by a.id
+         """)
+    List<UUID> findActiveIdsByPortfolioId(@Param("portfolioId") UUID portfolioId);
+
+    // Cuentas activas de todas las carteras, agrupables por portfolio_id (ix_accounts_portfolio)
+    @Query("""
+         select new com.investment.accounts.model.PortfolioAccountModel(a.portfolioId, a.id)
+         from AccountEntity a
+         where a.status = com.investment.accounts.utils.enums.AccountStatusEnum.ACTIVE
+         order by a.portfolioId, a.id
+         """)
+    List<PortfolioAccountModel> findActivePortfolioAccounts();
+
+    // Keyset sobre la PK dentro de un rango de partición: (after, upper]
+    @Query("""
+         select new com.investment.accounts.model.AccountRefModel(a.id, a.type)
+         from AccountEntity a
+         where a.status = com.investment.accounts.utils.enums.AccountStatusEnum.ACTIVE
+           and a.id > :after and a.id <= :upper
+         order by a.id
+         """)
+    List<AccountRefModel> findActiveInRange(@Param("after") UUID after, @Param("upper") UUID upper, Limit limit);
+}
@@ -0,0 +1,53 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.AccrualPartitionEntity;
+import com.investment.accounts.utils.enums.AccrualPartitionStatusEnum;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccrualPartitionRepository extends JpaRepository<AccrualPartitionEntity, AccrualPartitionEntity.Key> {
+
+    @Query("""
+         select p
+         from AccrualPartitionEntity p
+         where p.id.accrualDate = :date
+         order by p.id.partitionNo
+         """)
+    List<AccrualPartitionEntity> findAllByAccrualDate(@Param("date") LocalDate date);
+
+    /**
+     * Reclama la partición con compare-and-set: solo una réplica (o corrida manual) la pasa de
+     * PENDING/FAILED, o de RUNNING abandonada, a RUNNING. Devuelve 1 si el reclamo ganó.
+     */
+    @Modifying
+    @Query("""
+         update AccrualPartitionEntity p
+         set p.status = :running, p.updatedAt = :now, p.version = p.version + 1
+         where p.id = :id
+           and (p.status in :claimable or (p.status = :running and p.updatedAt < :staleBefore))
+         """)
+    int claim(@Param("id") AccrualPartitionEntity.Key id,
+              @Param("running") AccrualPartitionStatusEnum running,
+              @Param("claimable") List<AccrualPartitionStatusEnum> claimable,
+              @Param("now") OffsetDateTime now,
+              @Param("staleBefore") OffsetDateTime staleBefore);
+
+    /** Marca FAILED solo si la partición sigue siendo de este worker (misma versión). */
+    @Modifying
+    @Query("""
+         update AccrualPartitionEntity p
+         set p.status = :failed, p.updatedAt = :now, p.version = p.version + 1
+         where p.id = :id and p.version = :version
+         """)
+    int markFailed(@Param("id") AccrualPartitionEntity.Key id,
+                   @Param("version") long version,
+                   @Param("failed") AccrualPartitionStatusEnum failed,
+                   @Param("now") OffsetDateTime now);
+}
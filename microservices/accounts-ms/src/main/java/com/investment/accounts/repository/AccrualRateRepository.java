@@ -0,0 +1,12 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.AccrualRateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface AccrualRateRepository extends JpaRepository<AccrualRateEntity, UUID> {
+    // CRUD: la tabla es chica y se lee entera al inicio de cada corrida
+}
@@ -0,0 +1,90 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.CashMovementEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Escrituras masivas por JDBC. Con {@code reWriteBatchedInserts} del driver de Postgres,
+ * cada {@code batchUpdate} viaja como un único INSERT multi-fila.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CashMovementBatchRepository {
+
+    // Un request_id repetido no inserta nada (los null nunca chocan)
+    private static final String INSERT_MOVEMENT = """
+            insert into accounts.cash_movements
+                (cash_movement_id, account_id, currency_id, amount, type, status, date, note, request_id)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (request_id) do nothing
+            """;
+
+    private static final String SELECT_EXISTING = """
+            select cash_movement_id from accounts.cash_movements where cash_movement_id = any(?)
+            """;
+
+    // Suma el delta al saldo existente o crea la fila
+    private static final String UPSERT_BALANCE = """
+            insert into accounts.account_balances (account_id, currency_id, balance, updated_at)
+            values (?, ?, ?, ?)
+            on conflict (account_id, currency_id)
+            do update set balance = accounts.account_balances.balance + excluded.balance,
+                          updated_at = excluded.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Las entidades solo aportan columnas; account/currency pueden ser referencias sin cargar. */
+    public void insertMovements(List<CashMovementEntity> movements) {
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT, movements, movements.size(), (ps, m) -> {
+            ps.setObject(1, m.getId());
+            ps.setObject(2, m.getAccountId().getId());
+            ps.setObject(3, m.getCurrency().getId());
+            ps.setBigDecimal(4, m.getAmount());
+            ps.setString(5, m.getType().name());
+            ps.setString(6, m.getStatus().name());
+            ps.setObject(7, m.getDate(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setString(8, m.getNote());
+            ps.setObject(9, m.getRequestId(), Types.OTHER);
+        });
+    }
+
+    /**
+     * Inserta y devuelve solo los movimientos que entraron: los de un request_id ya registrado se
+     * saltan. Los ids son nuevos, así que los que aparecen en la tabla son exactamente los insertados
+     * (con reWriteBatchedInserts el driver no informa filas por sentencia).
+     */
+    public List<CashMovementEntity> insertNewMovements(List<CashMovementEntity> movements) {
+        insertMovements(movements);
+        Set<UUID> landed = new HashSet<>(jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SELECT_EXISTING);
+            ps.setArray(1, con.createArrayOf("uuid", movements.stream().map(CashMovementEntity::getId).toArray()));
+            return ps;
+        }, (rs, i) -> rs.getObject(1, UUID.class)));
+        return landed.size() == movements.size()
+                ? movements
+                : movements.stream().filter(m -> landed.contains(m.getId())).toList();
+    }
+
+    public void addToBalances(List<BalanceDelta> deltas, OffsetDateTime at) {
+        jdbcTemplate.batchUpdate(UPSERT_BALANCE, deltas, deltas.size(), (ps, d) -> {
+            ps.setObject(1, d.accountId());
+            ps.setObject(2, d.currencyId());
+            ps.setBigDecimal(3, d.amount());
+            ps.setTimestamp(4, Timestamp.from(at.toInstant()));
+        });
+    }
+
+    public record BalanceDelta(UUID accountId, UUID currencyId, BigDecimal amount) {}
+}
@@ -2,6 +2,7 @@ package com.investment.accounts.repository;
 
 import com.investment.accounts.entity.CashMovementEntity;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,10 +14,17 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CashMovementRepository extends JpaRepository<CashMovementEntity, UUID> {
 
-    @Query("""
+    // currency por fetch join; de la cuenta solo se lee el id, que ya está en la FK
+    @Query(value = """
          select c
          from CashMovementEntity c
-         where c.accountId = :accountId
+         join fetch c.currency
+         where c.accountId.id = :accountId
+         """,
+           countQuery = """
+         select count(c)
+         from CashMovementEntity c
+         where c.accountId.id = :accountId
          """)
     Page<CashMovementEntity> findAllByAccountId(@Param("accountId") UUID accountId, Pageable pageable);
 
@@ -26,4 +34,26 @@ public interface CashMovementRepository extends JpaRepository<CashMovementEntity
          where c.accountId = :accountId
          """)
     BigDecimal sumAmountByAccountId(@Param("accountId") UUID accountId);
+
+    @Query("""
+         select coalesce(sum(c.amount), 0)
+         from CashMovementEntity c
+         where c.accountId.id = :accountId
+           and c.currency.id = :currencyId
+           and c.status = com.investment.accounts.utils.enums.CashMovementStatusEnum.COMPLETED
+         """)
+    BigDecimal sumCompletedAmount(@Param("accountId") UUID accountId, @Param("currencyId") UUID currencyId);
+
+    // igual que sumCompletedAmount pero sin los movimientos que el ledger todavía tiene en vuelo
+    @Query("""
+         select coalesce(sum(c.amount), 0)
+         from CashMovementEntity c
+         where c.accountId.id = :accountId
+           and c.currency.id = :currencyId
+           and c.status = com.investment.accounts.utils.enums.CashMovementStatusEnum.COMPLETED
+           and c.id not in :excluded
+         """)
+    BigDecimal sumCompletedAmountExcluding(@Param("accountId") UUID accountId,
+                                           @Param("currencyId") UUID currencyId,
+                                           @Param("excluded") Collection<UUID> excluded);
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.CashReservationJournalEntity;
+import com.investment.accounts.model.OpenReservationModel;
+import com.investment.accounts.model.UnsettledConsumptionModel;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CashReservationJournalRepository extends JpaRepository<CashReservationJournalEntity, UUID> {
+
+    @Query("""
+         select new com.investment.accounts.model.OpenReservationModel(
+             j.reservationId,
+             sum(case when j.op = com.investment.accounts.utils.enums.ReservationOpEnum.RESERVE
+                      then j.amount else -j.amount end))
+         from CashReservationJournalEntity j
+         where j.accountId = :accountId and j.currencyId = :currencyId
+           and j.op <> com.investment.accounts.utils.enums.ReservationOpEnum.SETTLE
+         group by j.reservationId
+         having sum(case when j.op = com.investment.accounts.utils.enums.ReservationOpEnum.RESERVE
+                         then j.amount else -j.amount end) > 0
+         """)
+    List<OpenReservationModel> findOpenReservations(@Param("accountId") UUID accountId,
+                                                    @Param("currencyId") UUID currencyId);
+
+    // Débitos por trade sin SETTLE: los ya liquidados están en el saldo vía el movimiento
+    @Query("""
+         select new com.investment.accounts.model.UnsettledConsumptionModel(
+             j.tradeId,
+             sum(case when j.op = com.investment.accounts.utils.enums.ReservationOpEnum.CONSUME
+                      then j.amount else -j.amount end))
+         from CashReservationJournalEntity j
+         where j.accountId = :accountId and j.currencyId = :currencyId and j.tradeId is not null
+           and j.op in (com.investment.accounts.utils.enums.ReservationOpEnum.CONSUME,
+                        com.investment.accounts.utils.enums.ReservationOpEnum.SETTLE)
+         group by j.tradeId
+         having sum(case when j.op = com.investment.accounts.utils.enums.ReservationOpEnum.CONSUME
+                         then j.amount else -j.amount end) > 0
+         """)
+    List<UnsettledConsumptionModel> findUnsettledConsumptions(@Param("accountId") UUID accountId,
+                                                              @Param("currencyId") UUID currencyId);
+}
@@ -0,0 +1,37 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.CorporateActionEntity;
+import com.investment.accounts.utils.enums.CorporateActionStatusEnum;
+import com.investment.accounts.utils.enums.CorporateActionTypeEnum;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CorporateActionRepository extends JpaRepository<CorporateActionEntity, UUID> {
+
+    List<CorporateActionEntity> findAllByInstrumentIdOrderByExDate(UUID instrumentId);
+
+    boolean existsByInstrumentIdAndTypeAndExDate(UUID instrumentId, CorporateActionTypeEnum type, LocalDate exDate);
+
+    // Eventos vencidos; skip locked (-2) para que dos instancias no publiquen el mismo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+         select c
+         from CorporateActionEntity c
+         where c.status = :status and c.exDate <= :upTo
+         order by c.exDate, c.id
+         """)
+    List<CorporateActionEntity> lockDue(@Param("status") CorporateActionStatusEnum status,
+                                        @Param("upTo") LocalDate upTo);
+}
@@ -1,12 +1,21 @@
 package com.investment.accounts.repository;
 
 import com.investment.accounts.entity.CurrencyEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface CurrencyRepository extends JpaRepository<CurrencyEntity, UUID> {
-    // CRUD
-}
\ No newline at end of file
+    // CRUD; findById sale de la caché L2
+
+    // catálogo completo (búsqueda por código, ReferenceDataCache): query cache, se invalida al tocar la tabla
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CurrencyEntity> findAll();
+}
@@ -0,0 +1,25 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.ExchangeHolidayEntity;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExchangeHolidayRepository extends JpaRepository<ExchangeHolidayEntity, ExchangeHolidayEntity.Key> {
+
+    @Query("""
+         select h
+         from ExchangeHolidayEntity h
+         where h.id.exchangeId = :exchangeId
+         """)
+    List<ExchangeHolidayEntity> findAllByExchangeId(@Param("exchangeId") UUID exchangeId);
+
+    @Modifying
+    @Query("delete from ExchangeHolidayEntity h where h.id.exchangeId = :exchangeId")
+    int deleteAllByExchangeId(@Param("exchangeId") UUID exchangeId);
+}
@@ -4,6 +4,7 @@ import com.investment.accounts.entity.ExchangeListingEntity;
 import com.investment.accounts.entity.ExchangeListingEntity.ExchangeListingId;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
@@ -13,5 +14,6 @@ public interface ExchangeListingRepository extends JpaRepository<ExchangeListing
 
     Optional<ExchangeListingEntity> findByIdExchangeIdAndLocalTicker(UUID exchangeId, String localTicker);
 
+    @EntityGraph(attributePaths = "tradeCurrency")
     Page<ExchangeListingEntity> findByIdInstrumentId(UUID instrumentId, Pageable pageable);
 }
\ No newline at end of file
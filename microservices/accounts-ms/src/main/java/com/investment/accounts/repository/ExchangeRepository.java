@@ -3,8 +3,11 @@ package com.investment.accounts.repository;
 import com.investment.accounts.entity.ExchangeEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ExchangeRepository extends JpaRepository<ExchangeEntity, UUID> {
     // CRUD
-}
\ No newline at end of file
+
+    Optional<ExchangeEntity> findByCode(String code); // code es UNIQUE
+}
@@ -0,0 +1,20 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.ExchangeSessionEntity;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExchangeSessionRepository extends JpaRepository<ExchangeSessionEntity, UUID> {
+
+    List<ExchangeSessionEntity> findAllByExchangeId(UUID exchangeId);
+
+    @Modifying
+    @Query("delete from ExchangeSessionEntity s where s.exchangeId = :exchangeId")
+    int deleteAllByExchangeId(@Param("exchangeId") UUID exchangeId);
+}
@@ -0,0 +1,41 @@
+package com.investment.accounts.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Alta masiva de tasas FX por JDBC: evita hidratar la PK compuesta y las dos asociaciones
+ * lazy de {@code FxRateEntity} por cada fila.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FxRateBatchRepository {
+
+    // Reescribir una barra ya persistida (tick tardío del mismo ts) deja la última tasa
+    private static final String UPSERT_RATE = """
+            insert into accounts.fx_rates (ts, from_currency_id, to_currency_id, rate)
+            values (?, ?, ?, ?)
+            on conflict (ts, from_currency_id, to_currency_id)
+            do update set rate = excluded.rate
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsertRates(List<FxRateRow> rows) {
+        jdbcTemplate.batchUpdate(UPSERT_RATE, rows, rows.size(), (ps, r) -> {
+            ps.setObject(1, r.ts(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(2, r.fromCurrencyId());
+            ps.setObject(3, r.toCurrencyId());
+            ps.setBigDecimal(4, r.rate());
+        });
+    }
+
+    public record FxRateRow(OffsetDateTime ts, UUID fromCurrencyId, UUID toCurrencyId, BigDecimal rate) {}
+}
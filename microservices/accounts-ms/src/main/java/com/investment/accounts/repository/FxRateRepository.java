@@ -2,10 +2,17 @@ package com.investment.accounts.repository;
 
 import com.investment.accounts.entity.FxRateEntity;
 import com.investment.accounts.entity.FxRateEntity.FxRateId;
+import com.investment.accounts.model.FxRatePointModel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,7 +21,33 @@ public interface FxRateRepository extends JpaRepository<FxRateEntity, FxRateId>
     Optional<FxRateEntity> findTopByFromCurrencyIdAndToCurrencyIdOrderByIdTsDesc(UUID fromCurrencyId,
                                                                                UUID toCurrencyId);
 
+    @EntityGraph(attributePaths = {"fromCurrency", "toCurrency"})
     Page<FxRateEntity> findAllByFromCurrencyIdAndToCurrencyId(UUID fromCurrencyId,
                                                               UUID toCurrencyId,
                                                               Pageable pageable);
-}
\ No newline at end of file
+
+    // Tasas vigentes a una fecha: la más reciente con ts <= asOf (Limit.of(1) para una sola)
+    @Query("""
+         select new com.investment.accounts.model.FxRatePointModel(r.id.ts, r.rate)
+         from FxRateEntity r
+         where r.id.fromCurrencyId = :fromId and r.id.toCurrencyId = :toId and r.id.ts <= :asOf
+         order by r.id.ts desc
+         """)
+    List<FxRatePointModel> findLatestAtOrBefore(@Param("fromId") UUID fromCurrencyId,
+                                                @Param("toId") UUID toCurrencyId,
+                                                @Param("asOf") OffsetDateTime asOf,
+                                                Limit limit);
+
+    // Tramo de la serie de un par, ascendente por ts
+    @Query("""
+         select new com.investment.accounts.model.FxRatePointModel(r.id.ts, r.rate)
+         from FxRateEntity r
+         where r.id.fromCurrencyId = :fromId and r.id.toCurrencyId = :toId
+           and r.id.ts between :fromTs and :toTs
+         order by r.id.ts
+         """)
+    List<FxRatePointModel> findSeries(@Param("fromId") UUID fromCurrencyId,
+                                      @Param("toId") UUID toCurrencyId,
+                                      @Param("fromTs") OffsetDateTime fromTs,
+                                      @Param("toTs") OffsetDateTime toTs);
+}
@@ -1,12 +1,25 @@
 package com.investment.accounts.repository;
 
 import com.investment.accounts.entity.InstrumentEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 import java.util.UUID;
 
 public interface InstrumentRepository extends JpaRepository<InstrumentEntity, UUID> {
 
+    // la moneda viaja en el JSON del listado: se trae en el mismo select
+    @Override
+    @EntityGraph(attributePaths = "currency")
+    Page<InstrumentEntity> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "currency")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<InstrumentEntity> findBySymbol(String symbol); // symbol es UNIQUE
 }
\ No newline at end of file
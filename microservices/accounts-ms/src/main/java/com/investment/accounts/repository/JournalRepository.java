@@ -0,0 +1,212 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.accounts.utils.enums.LedgerBookEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Journal de caja por JDBC: solo inserts (batch multi-fila con {@code reWriteBatchedInserts})
+ * y lecturas para recuperar movimientos sin asentar y reconstruir los saldos.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JournalRepository {
+
+    private static final String INSERT_ENTRY = """
+            insert into accounts.journal_entries
+                (shard, seq, tx_id, account_id, currency_id, debit_book, credit_book, amount, type, value_date, posted_at, note)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Espacio de claves propio para no chocar con otros advisory locks de la base
+    private static final int SHARD_LOCK_NAMESPACE = 0x4A524E4C; // "JRNL"
+
+    // Se libera solo con el commit/rollback: serializa la numeración del shard entre réplicas
+    private static final String LOCK_SHARD = """
+            select pg_advisory_xact_lock(?, ?)
+            """;
+
+    private static final String MAX_SEQ = """
+            select coalesce(max(seq), 0) from accounts.journal_entries where shard = ?
+            """;
+
+    private static final String ANY_ENTRY = """
+            select exists (select 1 from accounts.journal_entries)
+            """;
+
+    // Movimientos completados que no tienen asiento (since null = todo el histórico; los apartados
+    // entran sea cual sea su fecha), por keyset sobre (date, cash_movement_id)
+    private static final String UNPOSTED = """
+            select m.cash_movement_id, m.account_id, m.currency_id, m.amount, m.type, m.date, m.note
+            from accounts.cash_movements m
+            where m.status = 'COMPLETED'
+              and (cast(? as timestamptz) is null or m.date >= ?
+                   or exists (select 1 from accounts.journal_parked p where p.tx_id = m.cash_movement_id))
+              and (cast(? as timestamptz) is null or (m.date, m.cash_movement_id) > (?, ?))
+              and not exists (select 1 from accounts.journal_entries j where j.tx_id = m.cash_movement_id)
+            order by m.date, m.cash_movement_id
+            limit ?
+            """;
+
+    private static final String PARK = """
+            insert into accounts.journal_parked (tx_id, shard, error, parked_at)
+            values (?, ?, ?, ?)
+            on conflict (tx_id) do update set shard = excluded.shard, error = excluded.error,
+                                              parked_at = excluded.parked_at
+            """;
+
+    private static final String UNPARK = """
+            delete from accounts.journal_parked where tx_id = any(?)
+            """;
+
+    private static final String POSTED_TX_IDS = """
+            select distinct tx_id from accounts.journal_entries where tx_id = any(?)
+            """;
+
+    // Proyección completa: el saldo de cada par es la suma de sus patas CLIENT_CASH
+    private static final String REBUILD_BALANCES = """
+            insert into accounts.account_balances (account_id, currency_id, balance, updated_at)
+            select j.account_id, j.currency_id,
+                   sum(case when j.credit_book = 'CLIENT_CASH' then j.amount else -j.amount end), ?
+            from accounts.journal_entries j
+            where j.credit_book = 'CLIENT_CASH' or j.debit_book = 'CLIENT_CASH'
+            group by j.account_id, j.currency_id
+            on conflict (account_id, currency_id)
+            do update set balance = excluded.balance, updated_at = excluded.updated_at
+            where accounts.account_balances.balance <> excluded.balance
+            """;
+
+    // Pares con saldo pero sin ningún asiento
+    private static final String ZERO_ORPHAN_BALANCES = """
+            update accounts.account_balances b set balance = 0, updated_at = ?
+            where b.balance <> 0
+              and not exists (select 1 from accounts.journal_entries j
+                              where j.account_id = b.account_id and j.currency_id = b.currency_id)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Bloquea la numeración del shard hasta el fin de la transacción en curso. */
+    public void lockShard(int shard) {
+        jdbcTemplate.queryForList(LOCK_SHARD, SHARD_LOCK_NAMESPACE, shard);
+    }
+
+    public long maxSeq(int shard) {
+        Long max = jdbcTemplate.queryForObject(MAX_SEQ, Long.class, shard);
+        return max == null ? 0L : max;
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(ANY_ENTRY, Boolean.class));
+    }
+
+    public void insertEntries(List<EntryRow> entries) {
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, entries.size(), (ps, e) -> {
+            ps.setInt(1, e.shard());
+            ps.setLong(2, e.seq());
+            ps.setObject(3, e.txId());
+            ps.setObject(4, e.accountId());
+            ps.setObject(5, e.currencyId());
+            ps.setString(6, e.debitBook().name());
+            ps.setString(7, e.creditBook().name());
+            ps.setBigDecimal(8, e.amount());
+            ps.setString(9, e.type().name());
+            ps.setObject(10, e.valueDate(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setTimestamp(11, Timestamp.from(e.postedAt().toInstant()));
+            ps.setString(12, e.note());
+        });
+    }
+
+    /** Una página de movimientos sin asiento posteriores a {@code after} (null = desde el principio). */
+    public List<UnpostedMovement> findUnposted(OffsetDateTime since, UnpostedMovement after, int limit) {
+        OffsetDateTime afterDate = after != null ? after.date() : null;
+        return jdbcTemplate.query(UNPOSTED, ps -> {
+            ps.setObject(1, since, Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(2, since, Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(3, afterDate, Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(4, afterDate, Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(5, after != null ? after.id() : null, Types.OTHER);
+            ps.setInt(6, limit);
+        }, (rs, i) -> new UnpostedMovement(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, UUID.class),
+                rs.getBigDecimal(4),
+                CashMovementTypeEnum.valueOf(rs.getString(5)),
+                rs.getObject(6, OffsetDateTime.class),
+                rs.getString(7)));
+    }
+
+    /** Aparta un movimiento cuyo asiento no se puede commitear; la recuperación lo reintenta. */
+    public void park(UUID txId, int shard, String error, OffsetDateTime at) {
+        jdbcTemplate.update(PARK, ps -> {
+            ps.setObject(1, txId);
+            ps.setInt(2, shard);
+            ps.setString(3, error.length() > 1000 ? error.substring(0, 1000) : error);
+            ps.setTimestamp(4, Timestamp.from(at.toInstant()));
+        });
+    }
+
+    public void unpark(Collection<UUID> txIds) {
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(UNPARK);
+            ps.setArray(1, con.createArrayOf("uuid", txIds.toArray()));
+            return ps;
+        });
+    }
+
+    /** De los tx_id dados, los que ya tienen asiento. */
+    public Set<UUID> findPostedTxIds(Collection<UUID> txIds) {
+        if (txIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<UUID> result = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(POSTED_TX_IDS);
+            ps.setArray(1, con.createArrayOf("uuid", txIds.toArray()));
+            return ps;
+        }, rs -> {
+            result.add(rs.getObject(1, UUID.class));
+        });
+        return result;
+    }
+
+    /** Recalcula todos los saldos desde el journal; devuelve cuántas filas cambiaron. */
+    public int rebuildBalances(OffsetDateTime at) {
+        Timestamp ts = Timestamp.from(at.toInstant());
+        return jdbcTemplate.update(REBUILD_BALANCES, ts) + jdbcTemplate.update(ZERO_ORPHAN_BALANCES, ts);
+    }
+
+    public record EntryRow(
+            int shard,
+            long seq,
+            UUID txId,
+            UUID accountId,
+            UUID currencyId,
+            LedgerBookEnum debitBook,
+            LedgerBookEnum creditBook,
+            BigDecimal amount,
+            CashMovementTypeEnum type,
+            OffsetDateTime valueDate,
+            OffsetDateTime postedAt,
+            String note
+    ) {}
+
+    public record UnpostedMovement(
+            UUID id,
+            UUID accountId,
+            UUID currencyId,
+            BigDecimal amount,
+            CashMovementTypeEnum type,
+            OffsetDateTime date,
+            String note
+    ) {}
+}
@@ -0,0 +1,130 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.model.FxLatestRateModel;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.model.LastPriceModel;
+import com.investment.accounts.model.ListingRefModel;
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+import com.investment.accounts.utils.enums.ListingStatusEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cambios de market data posteriores a un watermark, por JDBC y por cursor. Sin watermark
+ * (arranque sin snapshot) son la carga completa. Cada consulta entrega también la marca
+ * máxima vista, que pasa a ser el watermark de la próxima.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MarketDataDeltaRepository {
+
+    private static final int FETCH_SIZE = 5_000;
+
+    private static final String INSTRUMENTS = """
+            select instrument_id, symbol, name, type, status, currency_id, updated_at
+            from accounts.instruments
+            where updated_at > ?
+            """;
+
+    private static final String LISTINGS = """
+            select instrument_id, exchange_id, local_ticker, trade_currency_id, listing_date, status, updated_at
+            from accounts.exchange_listing
+            where updated_at > ?
+            """;
+
+    // La PK (ts, from, to) resuelve el rango; distinct on deja la última fila de cada par
+    private static final String FX_RATES = """
+            select distinct on (from_currency_id, to_currency_id) from_currency_id, to_currency_id, ts, rate
+            from accounts.fx_rates
+            where ts > ?
+            order by from_currency_id, to_currency_id, ts desc
+            """;
+
+    private static final String PRICES = """
+            select distinct on (instrument_id) instrument_id, ts, close
+            from accounts.prices
+            where ts > ?
+            order by instrument_id, ts desc
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public Delta<InstrumentRefModel> instrumentsSince(OffsetDateTime since) {
+        return query(INSTRUMENTS, since, 7, (rs, i) -> new InstrumentRefModel(
+                rs.getObject(1, UUID.class),
+                rs.getString(2),
+                rs.getString(3),
+                InstrumentTypeEnum.valueOf(rs.getString(4)),
+                InstrumentStatusEnum.valueOf(rs.getString(5)),
+                rs.getObject(6, UUID.class)));
+    }
+
+    @Transactional(readOnly = true)
+    public Delta<ListingRefModel> listingsSince(OffsetDateTime since) {
+        return query(LISTINGS, since, 7, (rs, i) -> new ListingRefModel(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                rs.getObject(4, UUID.class),
+                rs.getObject(5, LocalDate.class),
+                ListingStatusEnum.valueOf(rs.getString(6))));
+    }
+
+    @Transactional(readOnly = true)
+    public Delta<FxLatestRateModel> fxRatesSince(OffsetDateTime since) {
+        return query(FX_RATES, since, 3, (rs, i) -> new FxLatestRateModel(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                utc(rs, 3),
+                rs.getBigDecimal(4)));
+    }
+
+    @Transactional(readOnly = true)
+    public Delta<LastPriceModel> pricesSince(OffsetDateTime since) {
+        return query(PRICES, since, 2, (rs, i) -> new LastPriceModel(
+                rs.getObject(1, UUID.class),
+                utc(rs, 2),
+                rs.getBigDecimal(3)));
+    }
+
+    private <T> Delta<T> query(String sql, OffsetDateTime since, int markColumn, RowMapper<T> mapper) {
+        OffsetDateTime[] max = {since};
+        List<T> rows = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, since, Types.TIMESTAMP_WITH_TIMEZONE);
+            return ps;
+        }, (rs, i) -> {
+            track(max, utc(rs, markColumn));
+            return mapper.mapRow(rs, i);
+        });
+        return new Delta<>(rows, max[0]);
+    }
+
+    private static void track(OffsetDateTime[] max, OffsetDateTime mark) {
+        if (mark.isAfter(max[0])) {
+            max[0] = mark;
+        }
+    }
+
+    private static OffsetDateTime utc(ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, OffsetDateTime.class).withOffsetSameInstant(ZoneOffset.UTC);
+    }
+
+    /** Filas cambiadas y la marca (updated_at o ts) más alta entre ellas. */
+    public record Delta<T>(List<T> rows, OffsetDateTime watermark) {}
+}
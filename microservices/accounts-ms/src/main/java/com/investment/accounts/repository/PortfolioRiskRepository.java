@@ -0,0 +1,13 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.entity.PortfolioRiskEntity;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PortfolioRiskRepository extends JpaRepository<PortfolioRiskEntity, PortfolioRiskEntity.Key> {
+
+    Optional<PortfolioRiskEntity> findFirstByIdPortfolioIdOrderByIdAsOfDateDesc(UUID portfolioId);
+}
@@ -2,10 +2,16 @@ package com.investment.accounts.repository;
 
 import com.investment.accounts.entity.PriceEntity;
 import com.investment.accounts.entity.PriceEntity.PriceId;
+import com.investment.accounts.model.PriceBarModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,5 +19,20 @@ public interface PriceRepository extends JpaRepository<PriceEntity, PriceId> {
 
     Optional<PriceEntity> findTopByIdInstrumentIdOrderByIdTsDesc(UUID instrumentId);
 
+    // Último precio antes de un instante (cierre previo a la fecha ex de un dividendo)
+    Optional<PriceEntity> findTopByIdInstrumentIdAndIdTsLessThanOrderByIdTsDesc(UUID instrumentId, OffsetDateTime before);
+
+    @EntityGraph(attributePaths = "instrument")
     Page<PriceEntity> findByIdInstrumentId(UUID instrumentId, Pageable pageable);
-}
\ No newline at end of file
+
+    // Serie cruda [from, to) en orden cronológico
+    @Query("""
+         select new com.investment.accounts.model.PriceBarModel(p.id.ts, p.open, p.high, p.low, p.close, p.volume)
+         from PriceEntity p
+         where p.id.instrumentId = :instrumentId and p.id.ts >= :from and p.id.ts < :to
+         order by p.id.ts
+         """)
+    List<PriceBarModel> findBars(@Param("instrumentId") UUID instrumentId,
+                                 @Param("from") OffsetDateTime from,
+                                 @Param("to") OffsetDateTime to);
+}
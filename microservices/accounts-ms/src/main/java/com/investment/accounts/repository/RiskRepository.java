@@ -0,0 +1,134 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.model.PortfolioRiskModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lecturas de cierres diarios para el riesgo y escritura de resultados, por JDBC: la corrida
+ * nocturna lee miles de series y escribe una fila por cartera, sin pasar por entidades.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RiskRepository {
+
+    private static final int FETCH_SIZE = 5_000;
+    private static final int BATCH_SIZE = 500;
+
+    // Días con al menos un cierre (UTC), los más recientes primero
+    private static final String TRADING_DAYS = """
+            select d from (
+                select distinct cast(p.ts at time zone 'UTC' as date) as d
+                from accounts.prices p
+                where p.ts >= ? and p.ts < ?
+            ) days
+            order by d desc
+            limit ?
+            """;
+
+    // Último cierre de cada día por instrumento
+    private static final String DAILY_CLOSES = """
+            select distinct on (p.instrument_id, cast(p.ts at time zone 'UTC' as date))
+                   p.instrument_id, cast(p.ts at time zone 'UTC' as date), p.close
+            from accounts.prices p
+            where p.instrument_id = any(?) and p.ts >= ? and p.ts < ?
+            order by p.instrument_id, cast(p.ts at time zone 'UTC' as date), p.ts desc
+            """;
+
+    private static final String UPSERT_RESULT = """
+            insert into accounts.portfolio_risk (portfolio_id, as_of_date, currency_id, market_value, positions,
+                unpriced_positions, observations, confidence, horizon_days, historical_var, historical_cvar,
+                parametric_var, volatility, beta, computed_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            on conflict (portfolio_id, as_of_date) do update set
+                currency_id = excluded.currency_id, market_value = excluded.market_value,
+                positions = excluded.positions, unpriced_positions = excluded.unpriced_positions,
+                observations = excluded.observations, confidence = excluded.confidence,
+                horizon_days = excluded.horizon_days, historical_var = excluded.historical_var,
+                historical_cvar = excluded.historical_cvar, parametric_var = excluded.parametric_var,
+                volatility = excluded.volatility, beta = excluded.beta, computed_at = excluded.computed_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Hasta {@code limit} días de cierre en {@code [from, to]}, en orden ascendente. */
+    public List<LocalDate> tradingDays(LocalDate from, LocalDate to, int limit) {
+        List<LocalDate> days = new ArrayList<>(jdbcTemplate.query(TRADING_DAYS,
+                (rs, i) -> rs.getObject(1, LocalDate.class),
+                startOfDay(from), startOfDay(to.plusDays(1)), limit));
+        Collections.reverse(days);
+        return days;
+    }
+
+    /** Cierres diarios de {@code [from, to]} por cursor, agrupados por instrumento y en orden de fecha. */
+    public void dailyCloses(Collection<UUID> instrumentIds, LocalDate from, LocalDate to, CloseHandler handler) {
+        if (instrumentIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(DAILY_CLOSES);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setArray(1, con.createArrayOf("uuid", instrumentIds.toArray()));
+            ps.setObject(2, startOfDay(from), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(3, startOfDay(to.plusDays(1)), Types.TIMESTAMP_WITH_TIMEZONE);
+            return ps;
+        }, rs -> {
+            handler.accept(rs.getObject(1, UUID.class), rs.getObject(2, LocalDate.class), rs.getDouble(3));
+        });
+    }
+
+    public void upsertResults(List<PortfolioRiskModel> results, OffsetDateTime computedAt) {
+        Timestamp at = Timestamp.from(computedAt.toInstant());
+        for (int from = 0; from < results.size(); from += BATCH_SIZE) {
+            List<PortfolioRiskModel> chunk = results.subList(from, Math.min(results.size(), from + BATCH_SIZE));
+            jdbcTemplate.batchUpdate(UPSERT_RESULT, chunk, chunk.size(), (ps, r) -> {
+                ps.setObject(1, r.portfolioId());
+                ps.setObject(2, r.asOfDate());
+                ps.setObject(3, r.currencyId());
+                ps.setBigDecimal(4, money(r.marketValue()));
+                ps.setInt(5, r.positions());
+                ps.setInt(6, r.unpricedPositions());
+                ps.setInt(7, r.observations());
+                ps.setBigDecimal(8, decimal(r.confidence(), 4));
+                ps.setInt(9, r.horizonDays());
+                ps.setBigDecimal(10, money(r.historicalVar()));
+                ps.setBigDecimal(11, money(r.historicalCvar()));
+                ps.setBigDecimal(12, money(r.parametricVar()));
+                ps.setBigDecimal(13, decimal(r.volatility(), 6));
+                ps.setBigDecimal(14, decimal(r.beta(), 6));
+                ps.setTimestamp(15, at);
+            });
+        }
+    }
+
+    private static OffsetDateTime startOfDay(LocalDate date) {
+        return date.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+
+    private static BigDecimal money(double value) {
+        return decimal(value, 2);
+    }
+
+    private static BigDecimal decimal(double value, int scale) {
+        return Double.isFinite(value) ? BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_EVEN) : null;
+    }
+
+    @FunctionalInterface
+    public interface CloseHandler {
+        void accept(UUID instrumentId, LocalDate day, double close);
+    }
+}
@@ -0,0 +1,165 @@
+package com.investment.accounts.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Buckets de liquidación neta por JDBC. Cada lote de trades se acumula en un solo
+ * statement: los trades se registran (idempotente por trade_id) y solo los nuevos
+ * suman a su bucket (fecha valor, cuenta, moneda).
+ */
+@Repository
+@RequiredArgsConstructor
+public class SettlementBucketRepository {
+
+    private static final String ACCUMULATE = """
+            with legs as (
+                select *
+                from unnest(?::uuid[], ?::date[], ?::uuid[], ?::uuid[], ?::numeric[])
+                     as l(trade_id, settlement_date, account_id, currency_id, amount)
+            ), fresh as (
+                insert into accounts.settlement_trades
+                    (trade_id, settlement_date, account_id, currency_id, amount, received_at)
+                select trade_id, settlement_date, account_id, currency_id, amount, ?
+                from legs
+                on conflict (trade_id) do nothing
+                returning settlement_date, account_id, currency_id, amount
+            )
+            insert into accounts.pending_settlements
+                (settlement_date, account_id, currency_id, net_amount, settled_amount, trade_count, status, updated_at)
+            select settlement_date, account_id, currency_id, sum(amount), 0, count(*), 'PENDING', ?
+            from fresh
+            group by settlement_date, account_id, currency_id
+            order by settlement_date, account_id, currency_id
+            on conflict (settlement_date, account_id, currency_id)
+            do update set net_amount = accounts.pending_settlements.net_amount + excluded.net_amount,
+                          trade_count = accounts.pending_settlements.trade_count + excluded.trade_count,
+                          status = 'PENDING',
+                          updated_at = excluded.updated_at
+            """;
+
+    // skip locked: dos corridas simultáneas se reparten los buckets en vez de bloquearse
+    private static final String LOCK_DUE = """
+            select settlement_date, account_id, currency_id, net_amount - settled_amount, trade_count
+            from accounts.pending_settlements
+            where status = 'PENDING' and settlement_date <= ?
+            order by settlement_date, account_id, currency_id
+            limit ?
+            for update skip locked
+            """;
+
+    private static final String MARK_SETTLED = """
+            update accounts.pending_settlements
+            set settled_amount = settled_amount + ?, status = 'SETTLED', updated_at = ?
+            where settlement_date = ? and account_id = ? and currency_id = ?
+            """;
+
+    // Los CONSUME de los trades de cada bucket posteado quedan saldados en el journal de reservas
+    private static final String SETTLE_CONSUMED = """
+            with buckets as (
+                select *
+                from unnest(?::date[], ?::uuid[], ?::uuid[]) as b(settlement_date, account_id, currency_id)
+            ), consumed as (
+                select c.reservation_id, c.trade_id, c.account_id, c.currency_id, c.amount
+                from buckets b
+                join accounts.settlement_trades t
+                  on t.settlement_date = b.settlement_date
+                 and t.account_id = b.account_id
+                 and t.currency_id = b.currency_id
+                join accounts.cash_reservation_journal c on c.trade_id = t.trade_id and c.op = 'CONSUME'
+                where not exists (select 1 from accounts.cash_reservation_journal s
+                                  where s.trade_id = c.trade_id and s.op = 'SETTLE')
+            )
+            insert into accounts.cash_reservation_journal
+                (entry_id, reservation_id, trade_id, account_id, currency_id, op, amount, recorded_at)
+            select gen_random_uuid(), reservation_id, trade_id, account_id, currency_id, 'SETTLE', amount, ?
+            from consumed
+            returning trade_id, account_id, currency_id, amount
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** @return buckets creados o actualizados (los trades ya vistos no cuentan). */
+    public int accumulate(List<SettlementLeg> legs, OffsetDateTime at) {
+        if (legs.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(ACCUMULATE);
+            ps.setArray(1, con.createArrayOf("uuid", legs.stream().map(SettlementLeg::tradeId).toArray()));
+            ps.setArray(2, con.createArrayOf("date",
+                    legs.stream().map(l -> Date.valueOf(l.settlementDate())).toArray()));
+            ps.setArray(3, con.createArrayOf("uuid", legs.stream().map(SettlementLeg::accountId).toArray()));
+            ps.setArray(4, con.createArrayOf("uuid", legs.stream().map(SettlementLeg::currencyId).toArray()));
+            ps.setArray(5, con.createArrayOf("numeric", legs.stream().map(SettlementLeg::amount).toArray()));
+            ps.setTimestamp(6, Timestamp.from(at.toInstant()));
+            ps.setTimestamp(7, Timestamp.from(at.toInstant()));
+            return ps;
+        });
+    }
+
+    /** Bloquea hasta {@code limit} buckets vencidos; debe llamarse dentro de una transacción. */
+    public List<SettlementBucket> lockDue(LocalDate upTo, int limit) {
+        return jdbcTemplate.query(LOCK_DUE, (rs, i) -> new SettlementBucket(
+                rs.getObject(1, LocalDate.class),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, UUID.class),
+                rs.getBigDecimal(4),
+                rs.getLong(5)), Date.valueOf(upTo), limit);
+    }
+
+    /** {@code posted}: los buckets bloqueados con el importe efectivamente posteado. */
+    public void markSettled(List<SettlementBucket> posted, OffsetDateTime at) {
+        Timestamp ts = Timestamp.from(at.toInstant());
+        jdbcTemplate.batchUpdate(MARK_SETTLED, posted, posted.size(), (ps, b) -> {
+            ps.setBigDecimal(1, b.amount());
+            ps.setTimestamp(2, ts);
+            ps.setDate(3, Date.valueOf(b.settlementDate()));
+            ps.setObject(4, b.accountId());
+            ps.setObject(5, b.currencyId());
+        });
+    }
+
+    /**
+     * Anota SETTLE para los débitos consumidos de los trades de {@code buckets}, en la misma
+     * transacción que postea su movimiento. Idempotente: un trade ya saldado no se repite.
+     */
+    public List<SettledConsumption> settleConsumptions(List<SettlementBucket> buckets, OffsetDateTime at) {
+        if (buckets.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SETTLE_CONSUMED);
+            ps.setArray(1, con.createArrayOf("date",
+                    buckets.stream().map(b -> Date.valueOf(b.settlementDate())).toArray()));
+            ps.setArray(2, con.createArrayOf("uuid", buckets.stream().map(SettlementBucket::accountId).toArray()));
+            ps.setArray(3, con.createArrayOf("uuid", buckets.stream().map(SettlementBucket::currencyId).toArray()));
+            ps.setTimestamp(4, Timestamp.from(at.toInstant()));
+            return ps;
+        }, (rs, i) -> new SettledConsumption(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getObject(3, UUID.class),
+                rs.getBigDecimal(4)));
+    }
+
+    /** Importe con signo de un trade: negativo para compras, positivo para ventas. */
+    public record SettlementLeg(UUID tradeId, LocalDate settlementDate, UUID accountId, UUID currencyId,
+                                BigDecimal amount) {}
+
+    /** Bucket pendiente; amount es lo que falta postear (neto menos lo ya liquidado). */
+    public record SettlementBucket(LocalDate settlementDate, UUID accountId, UUID currencyId,
+                                   BigDecimal amount, long tradeCount) {}
+
+    /** Débito consumido de un trade que acaba de liquidarse. */
+    public record SettledConsumption(UUID tradeId, UUID accountId, UUID currencyId, BigDecimal amount) {}
+}
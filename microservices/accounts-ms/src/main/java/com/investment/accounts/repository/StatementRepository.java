@@ -0,0 +1,111 @@
+package com.investment.accounts.repository;
+
+import com.investment.accounts.dto.ExternalFlowDto;
+import com.investment.accounts.model.StatementLineModel;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Lecturas del extracto directo por JDBC: sin entidades ni asociaciones lazy, y con
+ * fetch size para que Postgres devuelva las filas por cursor (requiere transacción abierta).
+ * El extracto es una proyección del journal de caja: solo las patas CLIENT_CASH de la cuenta,
+ * con signo (crédito positivo, débito negativo).
+ */
+@Repository
+@RequiredArgsConstructor
+public class StatementRepository {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final String OPENING_BALANCES = """
+            select c.code,
+                   coalesce(sum(case when j.credit_book = 'CLIENT_CASH' then j.amount else -j.amount end), 0) as balance
+            from accounts.journal_entries j
+            join accounts.currencies c on c.currency_id = j.currency_id
+            where j.account_id = ? and j.value_date < ?
+              and (j.credit_book = 'CLIENT_CASH' or j.debit_book = 'CLIENT_CASH')
+            group by c.code
+            """;
+
+    private static final String MOVEMENTS = """
+            select j.tx_id, j.value_date, j.type, c.code,
+                   case when j.credit_book = 'CLIENT_CASH' then j.amount else -j.amount end, j.note
+            from accounts.journal_entries j
+            join accounts.currencies c on c.currency_id = j.currency_id
+            where j.account_id = ? and j.value_date >= ? and j.value_date < ?
+              and (j.credit_book = 'CLIENT_CASH' or j.debit_book = 'CLIENT_CASH')
+            order by j.value_date, j.shard, j.seq
+            """;
+
+    // Aportes y retiros de todas las cuentas de la cartera, netos por día UTC y moneda
+    private static final String EXTERNAL_FLOWS = """
+            select cast(j.value_date at time zone 'UTC' as date), j.currency_id,
+                   sum(case when j.credit_book = 'CLIENT_CASH' then j.amount else -j.amount end)
+            from accounts.journal_entries j
+            join accounts.accounts a on a.account_id = j.account_id
+            where a.portfolio_id = ? and j.value_date >= ? and j.value_date < ?
+              and j.type in ('DEPOSIT', 'WITHDRAWAL')
+              and (j.credit_book = 'CLIENT_CASH' or j.debit_book = 'CLIENT_CASH')
+            group by 1, 2
+            order by 1, 2
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<String, BigDecimal> openingBalances(UUID accountId, OffsetDateTime before) {
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        jdbcTemplate.query(OPENING_BALANCES, ps -> {
+            ps.setObject(1, accountId);
+            ps.setObject(2, before, Types.TIMESTAMP_WITH_TIMEZONE);
+        }, rs -> {
+            result.put(rs.getString(1), rs.getBigDecimal(2));
+        });
+        return result;
+    }
+
+    /**
+     * Movimientos del rango {@code [from, to)} en orden cronológico. El saldo de la línea
+     * queda en null: lo calcula quien consume el stream. Hay que cerrar el stream.
+     */
+    public Stream<StatementLineModel> streamMovements(UUID accountId, OffsetDateTime from, OffsetDateTime to) {
+        return jdbcTemplate.queryForStream(con -> {
+            var ps = con.prepareStatement(MOVEMENTS);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setObject(1, accountId);
+            ps.setObject(2, from, Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(3, to, Types.TIMESTAMP_WITH_TIMEZONE);
+            return ps;
+        }, (rs, i) -> new StatementLineModel(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, OffsetDateTime.class),
+                CashMovementTypeEnum.valueOf(rs.getString(3)),
+                rs.getString(4),
+                rs.getBigDecimal(5),
+                null,
+                rs.getString(6)));
+    }
+
+    /** Flujos externos netos del rango {@code [from, to)}, en orden de fecha. */
+    public List<ExternalFlowDto> externalFlows(UUID portfolioId, OffsetDateTime from, OffsetDateTime to) {
+        return jdbcTemplate.query(EXTERNAL_FLOWS, ps -> {
+            ps.setObject(1, portfolioId);
+            ps.setObject(2, from, Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(3, to, Types.TIMESTAMP_WITH_TIMEZONE);
+        }, (rs, i) -> new ExternalFlowDto(
+                rs.getObject(1, LocalDate.class),
+                rs.getObject(2, UUID.class),
+                rs.getBigDecimal(3)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.investment.accounts.risk;
+
+import com.investment.accounts.configuration.RiskProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Matrices de covarianza por universo de instrumentos y fecha, LRU acotado. Muchas carteras
+ * comparten universo (modelos, fondos espejo): la covarianza se calcula una vez por universo.
+ */
+@Component
+public class CovarianceCache {
+
+    private final Map<Key, double[]> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CovarianceCache(RiskProperties properties) {
+        int maxEntries = properties.covarianceCacheSize();
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, double[]> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Covarianza de {@code rows} (filas de {@code instrumentIds}, ya ordenados). Dos hilos con el
+     * mismo universo pueden calcularla a la vez; el resultado es el mismo y el cálculo no toma el lock.
+     */
+    public double[] get(ReturnMatrix matrix, UUID[] instrumentIds, int[] rows) {
+        Key key = new Key(matrix.asOf(), matrix.observations(), List.of(instrumentIds));
+        double[] cov = cache.get(key);
+        if (cov != null) {
+            hits.incrementAndGet();
+            return cov;
+        }
+        misses.incrementAndGet();
+        cov = RiskMath.covariance(matrix, rows);
+        cache.put(key, cov);
+        return cov;
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private record Key(LocalDate asOf, int observations, List<UUID> universe) {}
+}
@@ -0,0 +1,116 @@
+package com.investment.accounts.risk;
+
+import com.investment.accounts.cache.MarketDataCache;
+import com.investment.accounts.client.PositionsClient;
+import com.investment.accounts.client.PositionsClient.PositionRef;
+import com.investment.accounts.configuration.RiskProperties;
+import com.investment.accounts.dto.FxConversionItemDto;
+import com.investment.accounts.dto.FxConversionResultDto;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.model.LastPriceModel;
+import com.investment.accounts.service.FxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Posiciones de positions-ms a exposiciones en moneda base: cantidades netas por cartera e
+ * instrumento, valuadas al último cierre y convertidas con una tasa por moneda.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExposureLoader {
+
+    private final PositionsClient positionsClient;
+    private final MarketDataCache marketDataCache;
+    private final FxService fxService;
+    private final RiskProperties properties;
+
+    /**
+     * Cantidades netas por cartera e instrumento. Un lote que falla deja afuera a todas sus
+     * carteras (quedan en {@code failed}): con posiciones incompletas el riesgo saldría subestimado.
+     */
+    public Map<UUID, Map<UUID, BigDecimal>> holdings(Map<UUID, UUID> portfolioByAccount, Set<UUID> failed) {
+        Map<UUID, Map<UUID, BigDecimal>> holdings = new HashMap<>();
+        List<UUID> accountIds = new ArrayList<>(portfolioByAccount.keySet());
+        int batchSize = properties.positionsBatchSize();
+        for (int i = 0; i < accountIds.size(); i += batchSize) {
+            List<UUID> batch = accountIds.subList(i, Math.min(accountIds.size(), i + batchSize));
+            List<PositionRef> positions;
+            try {
+                positions = positionsClient.findByAccounts(batch);
+            } catch (RestClientException e) {
+                log.warn("Positions batch of {} accounts failed: {}", batch.size(), e.getMessage());
+                batch.forEach(accountId -> failed.add(portfolioByAccount.get(accountId)));
+                continue;
+            }
+            for (PositionRef p : positions) {
+                UUID portfolioId = portfolioByAccount.get(p.accountId());
+                if (portfolioId != null && p.instrumentId() != null && p.quantity() != null) {
+                    holdings.computeIfAbsent(portfolioId, k -> new HashMap<>())
+                            .merge(p.instrumentId(), p.quantity(), BigDecimal::add);
+                }
+            }
+        }
+        return holdings;
+    }
+
+    /** Tasa de cada moneda de instrumento a la moneda base, convertida una sola vez por moneda. */
+    public Map<UUID, Double> ratesToBase(Set<UUID> instrumentIds, UUID baseCurrencyId) {
+        List<UUID> currencies = instrumentIds.stream()
+                .map(marketDataCache::instrument)
+                .filter(Objects::nonNull)
+                .map(InstrumentRefModel::currencyId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<UUID, Double> rates = new HashMap<>();
+        List<FxConversionItemDto> items = currencies.stream()
+                .map(c -> new FxConversionItemDto(BigDecimal.ONE, c, baseCurrencyId, null))
+                .toList();
+        List<FxConversionResultDto> results = items.isEmpty() ? List.of() : fxService.convertAll(items);
+        for (int i = 0; i < currencies.size(); i++) {
+            FxConversionResultDto r = results.get(i);
+            if (r.error() == null && r.rate() != null) {
+                rates.put(currencies.get(i), r.rate().doubleValue());
+            } else {
+                log.warn("No FX rate from {} to the risk base currency: {}", currencies.get(i), r.error());
+            }
+        }
+        return rates;
+    }
+
+    /** Posiciones sin precio, sin tasa o sin cierres en la ventana cuentan como no valuables. */
+    public PortfolioExposure exposure(UUID portfolioId, Map<UUID, BigDecimal> holding, ReturnMatrix matrix,
+                                      Map<UUID, Double> rates) {
+        List<UUID> ids = holding.entrySet().stream()
+                .filter(e -> e.getValue().signum() != 0)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        UUID[] priced = new UUID[ids.size()];
+        double[] values = new double[ids.size()];
+        int k = 0;
+        double marketValue = 0;
+        for (UUID id : ids) {
+            InstrumentRefModel instrument = marketDataCache.instrument(id);
+            LastPriceModel price = marketDataCache.lastPrice(id);
+            Double rate = instrument == null ? null : rates.get(instrument.currencyId());
+            if (price == null || price.close() == null || rate == null || matrix.row(id) < 0) {
+                continue;
+            }
+            double value = holding.get(id).doubleValue() * price.close().doubleValue() * rate;
+            priced[k] = id;
+            values[k] = value;
+            marketValue += value;
+            k++;
+        }
+        return new PortfolioExposure(portfolioId, Arrays.copyOf(priced, k), Arrays.copyOf(values, k),
+                marketValue, ids.size(), ids.size() - k);
+    }
+}
@@ -0,0 +1,16 @@
+package com.investment.accounts.risk;
+
+import java.util.UUID;
+
+/**
+ * Exposiciones de una cartera en moneda base, una por instrumento valuable. {@code instrumentIds}
+ * va ordenado: el mismo conjunto de instrumentos da la misma clave de covarianza.
+ */
+public record PortfolioExposure(
+        UUID portfolioId,
+        UUID[] instrumentIds,
+        double[] exposures,
+        double marketValue,
+        int positions,
+        int unpricedPositions
+) {}
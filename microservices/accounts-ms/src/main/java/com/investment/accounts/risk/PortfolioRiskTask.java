@@ -0,0 +1,52 @@
+package com.investment.accounts.risk;
+
+import com.investment.accounts.model.PortfolioRiskModel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Reparte las carteras en mitades hasta {@link #THRESHOLD} y calcula cada tramo en el hilo que lo
+ * toma; el work-stealing del pool compensa carteras de tamaños muy distintos. Cada resultado va a
+ * su posición de {@code out}; una cartera que falla queda en null y no corta la corrida.
+ */
+@Slf4j
+class PortfolioRiskTask extends RecursiveAction {
+
+    static final int THRESHOLD = 8;
+
+    private final List<PortfolioExposure> portfolios;
+    private final int from;
+    private final int to;
+    private final PortfolioRiskModel[] out;
+    private final Function<PortfolioExposure, PortfolioRiskModel> compute;
+
+    PortfolioRiskTask(List<PortfolioExposure> portfolios, int from, int to, PortfolioRiskModel[] out,
+                      Function<PortfolioExposure, PortfolioRiskModel> compute) {
+        this.portfolios = portfolios;
+        this.from = from;
+        this.to = to;
+        this.out = out;
+        this.compute = compute;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                PortfolioExposure p = portfolios.get(i);
+                try {
+                    out[i] = compute.apply(p);
+                } catch (RuntimeException e) {
+                    log.error("Risk computation failed for portfolio {}: {}", p.portfolioId(), e.getMessage(), e);
+                }
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new PortfolioRiskTask(portfolios, from, mid, out, compute),
+                new PortfolioRiskTask(portfolios, mid, to, out, compute));
+    }
+}
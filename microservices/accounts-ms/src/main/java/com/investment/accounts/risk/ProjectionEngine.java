@@ -0,0 +1,192 @@
+package com.investment.accounts.risk;
+
+import com.investment.accounts.configuration.ProjectionProperties;
+import com.investment.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo de caminos de valor de una cartera buy-and-hold con aportes periódicos.
+ * <p>
+ * Cada paso, cada instrumento crece {@code exp(μ_i dt - σ_i² dt / 2 + x_i)} con {@code x = L z}:
+ * {@code z} normales independientes y {@code L} el Cholesky de la covarianza diaria escalada al
+ * paso, así los instrumentos se mueven correlacionados. Los caminos se reparten en tramos fijos;
+ * cada tramo tiene su propio {@link SplittableRandom} (partido de la semilla en orden, así el
+ * resultado con semilla no depende de qué hilo corre qué tramo) y sus propios sketches de
+ * cuantiles por año. Ningún camino se guarda: al final se combinan los sketches.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProjectionEngine {
+
+    private final ProjectionProperties properties;
+
+    public Result simulate(Scenario scenario) {
+        int k = scenario.values().length;
+        // sin aportes, el producto de los pasos de un año es lognormal con la covarianza anual:
+        // un paso por año da exactamente la misma distribución en cada cierre de año
+        int steps = scenario.annualContribution() == 0 ? 1 : properties.stepsPerYear();
+        double dt = 1.0 / steps;
+
+        double[] covStep = scenario.dailyCovariance().clone();
+        double scale = RiskMath.TRADING_DAYS_PER_YEAR * dt;
+        for (int i = 0; i < covStep.length; i++) {
+            covStep[i] *= scale;
+        }
+        double[] chol = RiskMath.cholesky(covStep, k);
+        double[] drift = new double[k];
+        double total = 0;
+        for (int i = 0; i < k; i++) {
+            // media geométrica ajustada: E[crecimiento anual] = 1 + retorno esperado
+            drift[i] = Math.log1p(scenario.expectedReturns()[i]) * dt - 0.5 * covStep[i * k + i];
+            total += scenario.values()[i];
+        }
+        double[] weights = new double[k];
+        for (int i = 0; i < k; i++) {
+            weights[i] = scenario.values()[i] / total;
+        }
+        Step step = new Step(k, scenario.years(), steps, chol, drift, weights, scenario.values(),
+                scenario.annualContribution() / steps, scenario.goal());
+
+        SplittableRandom root = scenario.seed() == null ? new SplittableRandom() : new SplittableRandom(scenario.seed());
+        List<Callable<Result>> chunks = new ArrayList<>();
+        for (int from = 0; from < scenario.paths(); from += properties.chunkSize()) {
+            int n = Math.min(properties.chunkSize(), scenario.paths() - from);
+            SplittableRandom random = root.split();
+            chunks.add(() -> simulateChunk(step, n, random));
+        }
+
+        Result result = new Result(sketches(scenario.years()), 0);
+        ForkJoinPool pool = new ForkJoinPool(properties.parallelism());
+        try {
+            for (Future<Result> f : pool.invokeAll(chunks)) {
+                result = result.merge(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("Projection interrupted");
+        } catch (ExecutionException e) {
+            throw new BusinessException("Projection failed: " + e.getCause().getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    private Result simulateChunk(Step s, int paths, SplittableRandom random) {
+        int k = s.k();
+        double[] chol = s.chol();
+        double[] drift = s.drift();
+        QuantileSketch[] byYear = sketches(s.years());
+        double[] v = new double[k];
+        double[] z = new double[k];
+        long goalHits = 0;
+        for (int p = 0; p < paths; p++) {
+            System.arraycopy(s.initial(), 0, v, 0, k);
+            double total = 0;
+            for (int year = 0; year < s.years(); year++) {
+                for (int t = 0; t < s.stepsPerYear(); t++) {
+                    for (int i = 0; i < k; i++) {
+                        z[i] = random.nextGaussian();
+                    }
+                    total = 0;
+                    for (int i = 0; i < k; i++) {
+                        double x = 0;
+                        int row = i * k;
+                        for (int j = 0; j <= i; j++) {
+                            x += chol[row + j] * z[j];
+                        }
+                        v[i] *= Math.exp(drift[i] + x);
+                        total += v[i];
+                    }
+                    total = contribute(s, v, total);
+                }
+                byYear[year].add(total);
+            }
+            if (total >= s.goal()) {
+                goalHits++;
+            }
+        }
+        return new Result(byYear, goalHits);
+    }
+
+    /**
+     * Aporte (o retiro) del paso, repartido en proporción al valor actual de cada instrumento.
+     * Un retiro que deja la cartera en cero o negativo la agota: queda en cero.
+     */
+    private static double contribute(Step s, double[] v, double total) {
+        double contribution = s.contribution();
+        if (contribution == 0) {
+            return total;
+        }
+        double target = total + contribution;
+        if (target <= 0) {
+            Arrays.fill(v, 0);
+            return 0;
+        }
+        if (total > 0) {
+            double f = target / total;
+            for (int i = 0; i < v.length; i++) {
+                v[i] *= f;
+            }
+        } else {
+            for (int i = 0; i < v.length; i++) {
+                v[i] = target * s.weights()[i];
+            }
+        }
+        return target;
+    }
+
+    private QuantileSketch[] sketches(int years) {
+        QuantileSketch[] sketches = new QuantileSketch[years];
+        for (int y = 0; y < years; y++) {
+            sketches[y] = new QuantileSketch(properties.relativeAccuracy());
+        }
+        return sketches;
+    }
+
+    /**
+     * @param values           valor actual por instrumento, en moneda base
+     * @param expectedReturns  retorno esperado anual por instrumento
+     * @param dailyCovariance  covarianza de retornos diarios (k x k, por filas)
+     * @param goal             objetivo de valor final; NaN = sin objetivo
+     * @param seed             null = no reproducible
+     */
+    public record Scenario(
+            double[] values,
+            double[] expectedReturns,
+            double[] dailyCovariance,
+            int years,
+            int paths,
+            double annualContribution,
+            double goal,
+            Long seed
+    ) {}
+
+    /** Valor de la cartera al cierre de cada año ({@code byYear[0]} = año 1) y caminos que llegan al objetivo. */
+    public record Result(QuantileSketch[] byYear, long goalHits) {
+
+        Result merge(Result other) {
+            for (int y = 0; y < byYear.length; y++) {
+                byYear[y].merge(other.byYear[y]);
+            }
+            return new Result(byYear, goalHits + other.goalHits);
+        }
+
+        public long paths() {
+            return byYear.length == 0 ? 0 : byYear[0].count();
+        }
+    }
+
+    private record Step(int k, int years, int stepsPerYear, double[] chol, double[] drift, double[] weights,
+                        double[] initial, double contribution, double goal) {}
+}
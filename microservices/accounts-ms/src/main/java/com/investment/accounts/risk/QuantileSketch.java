@@ -0,0 +1,124 @@
+package com.investment.accounts.risk;
+
+/**
+ * Sketch de cuantiles con error relativo acotado (estilo DDSketch): cada valor suma 1 a su cubeta
+ * logarítmica {@code (γ^(i-1), γ^i]}, con {@code γ = (1 + α) / (1 - α)}, y cualquier cuantil sale
+ * con error relativo ≤ α sin guardar los valores. La memoria depende del rango (≈ 1 / α cubetas por
+ * cada factor e), no de la cantidad de valores. Dos sketches con el mismo α se combinan sumando
+ * cuentas, así cada hilo llena el suyo y se juntan al final. No es thread-safe.
+ */
+public final class QuantileSketch {
+
+    /** Por debajo de esto (incluidos ceros y negativos) el valor va a la cubeta de cero. */
+    static final double MIN_INDEXABLE = 1e-6;
+
+    private final double alpha;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];    // counts[j] = cubeta offset + j
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.alpha = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value < MIN_INDEXABLE) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureCapacity(index);
+        counts[index - offset]++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.alpha != alpha) {
+            throw new IllegalArgumentException("Sketches with different accuracy cannot be merged");
+        }
+        if (other.count == 0) {
+            return;
+        }
+        for (int j = 0; j < other.counts.length; j++) {
+            if (other.counts[j] != 0) {
+                ensureCapacity(other.offset + j);
+                counts[other.offset + j - offset] += other.counts[j];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Valor del cuantil {@code q} (0..1) con error relativo ≤ α; los valores de la cubeta de cero
+     * se informan como 0. NaN si el sketch está vacío.
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int j = 0; j < counts.length; j++) {
+            seen += counts[j];
+            if (seen > rank) {
+                // punto de la cubeta con error relativo ≤ α respecto de cualquier valor que contenga
+                double value = 2 * Math.pow(gamma, offset + j) / (gamma + 1);
+                return Math.max(Math.min(value, max), Math.max(min, MIN_INDEXABLE));
+            }
+        }
+        return max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[64];
+            offset = index - 32;
+            return;
+        }
+        int from = Math.min(offset, index);
+        int to = Math.max(offset + counts.length, index + 1);
+        if (from == offset && to == offset + counts.length) {
+            return;
+        }
+        // crece al menos al doble para amortizar, hacia el lado que hace falta
+        int length = Math.max(to - from, counts.length * 2);
+        int newOffset = from < offset ? to - length : from;
+        long[] grown = new long[length];
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+}
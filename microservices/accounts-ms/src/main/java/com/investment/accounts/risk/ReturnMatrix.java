@@ -0,0 +1,111 @@
+package com.investment.accounts.risk;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Retornos diarios simples de un universo de instrumentos sobre un eje común de días de cierre.
+ * <p>
+ * Todo vive en un único {@code double[]} por filas: el instrumento {@code i} ocupa
+ * {@code [i * observations, (i + 1) * observations)}, así recorrer una fila es lectura secuencial.
+ * Inmutable; {@link #with(Map)} devuelve una matriz nueva con filas agregadas al final.
+ */
+public final class ReturnMatrix {
+
+    private final LocalDate[] days;             // cierres; days.length = observations + 1
+    private final int observations;
+    private final Map<UUID, Integer> rows;
+    private final Set<UUID> unpriced;           // pedidos sin ningún cierre: no se vuelven a consultar
+    private final double[] returns;
+
+    private ReturnMatrix(LocalDate[] days, Map<UUID, Integer> rows, Set<UUID> unpriced, double[] returns) {
+        this.days = days;
+        this.observations = Math.max(0, days.length - 1);
+        this.rows = rows;
+        this.unpriced = unpriced;
+        this.returns = returns;
+    }
+
+    public static ReturnMatrix empty(LocalDate[] days) {
+        return new ReturnMatrix(days.clone(), Map.of(), Set.of(), new double[0]);
+    }
+
+    /**
+     * Agrega instrumentos a partir de sus cierres alineados a {@link #days()} (NaN = sin cierre ese día).
+     * Los huecos repiten el último cierre (retorno 0) y los días previos al primer cierre también
+     * cuentan como retorno 0; un instrumento sin ningún cierre queda como no valuable.
+     */
+    public ReturnMatrix with(Map<UUID, double[]> closes) {
+        Map<UUID, Integer> newRows = new HashMap<>(rows);
+        Set<UUID> newUnpriced = new HashSet<>(unpriced);
+        List<double[]> added = new ArrayList<>();
+        for (Map.Entry<UUID, double[]> e : closes.entrySet()) {
+            if (newRows.containsKey(e.getKey()) || newUnpriced.contains(e.getKey())) {
+                continue;
+            }
+            double[] row = toReturns(e.getValue());
+            if (row == null) {
+                newUnpriced.add(e.getKey());
+            } else {
+                newRows.put(e.getKey(), rows.size() + added.size());
+                added.add(row);
+            }
+        }
+        double[] data = Arrays.copyOf(returns, returns.length + added.size() * observations);
+        for (int i = 0; i < added.size(); i++) {
+            System.arraycopy(added.get(i), 0, data, returns.length + i * observations, observations);
+        }
+        return new ReturnMatrix(days, Map.copyOf(newRows), Set.copyOf(newUnpriced), data);
+    }
+
+    private double[] toReturns(double[] closes) {
+        if (closes.length != days.length) {
+            throw new IllegalArgumentException("closes must be aligned to the day axis");
+        }
+        double[] row = new double[observations];
+        double last = Double.NaN;
+        for (int t = 0; t < closes.length; t++) {
+            double c = closes[t];
+            if (Double.isNaN(c) || c <= 0) {
+                continue; // hueco: retorno 0 (ya inicializado)
+            }
+            if (t > 0 && !Double.isNaN(last)) {
+                row[t - 1] = c / last - 1;
+            }
+            last = c;
+        }
+        return Double.isNaN(last) ? null : row;
+    }
+
+    public LocalDate asOf() {
+        return days.length == 0 ? null : days[days.length - 1];
+    }
+
+    public LocalDate[] days() {
+        return days.clone();
+    }
+
+    public int observations() {
+        return observations;
+    }
+
+    /** Fila del instrumento, o -1 si no está (o no tiene cierres). */
+    public int row(UUID instrumentId) {
+        Integer row = rows.get(instrumentId);
+        return row == null ? -1 : row;
+    }
+
+    /** Ya consultado: con fila o sabido sin cierres. */
+    public boolean knows(UUID instrumentId) {
+        return rows.containsKey(instrumentId) || unpriced.contains(instrumentId);
+    }
+
+    public int offset(int row) {
+        return row * observations;
+    }
+
+    /** Datos crudos (no copiar en los bucles de cálculo); no modificar. */
+    double[] data() {
+        return returns;
+    }
+}
@@ -0,0 +1,71 @@
+package com.investment.accounts.risk;
+
+import com.investment.accounts.configuration.RiskProperties;
+import com.investment.accounts.repository.RiskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Matriz de retornos de la última fecha pedida. Se arma una vez por fecha y crece a medida que
+ * aparecen instrumentos nuevos: solo se leen de {@code prices} los que la matriz todavía no conoce.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReturnMatrixCache {
+
+    private static final int LOAD_CHUNK = 1_000;
+    private static final int SEED_DAYS = 10;     // para tener el cierre previo al primer día del eje
+
+    private final RiskRepository riskRepository;
+    private final RiskProperties properties;
+
+    private LocalDate cachedAsOf;                // guardados por this
+    private ReturnMatrix matrix;
+
+    public synchronized ReturnMatrix get(LocalDate asOf, Collection<UUID> instrumentIds) {
+        if (matrix == null || !asOf.equals(cachedAsOf)) {
+            int lookback = properties.lookbackDays();
+            // días hábiles a corridos con margen para feriados
+            LocalDate from = asOf.minusDays(lookback * 7L / 5 + 30);
+            List<LocalDate> days = riskRepository.tradingDays(from, asOf, lookback + 1);
+            matrix = ReturnMatrix.empty(days.toArray(LocalDate[]::new));
+            cachedAsOf = asOf;
+        }
+        if (matrix.observations() == 0) {
+            return matrix;
+        }
+        List<UUID> missing = instrumentIds.stream().distinct().filter(id -> !matrix.knows(id)).toList();
+        for (int i = 0; i < missing.size(); i += LOAD_CHUNK) {
+            matrix = matrix.with(loadCloses(missing.subList(i, Math.min(missing.size(), i + LOAD_CHUNK))));
+        }
+        return matrix;
+    }
+
+    /** Cierres alineados al eje de la matriz; un cierre anterior al eje cubre el primer día. */
+    private Map<UUID, double[]> loadCloses(List<UUID> ids) {
+        LocalDate[] days = matrix.days();
+        Map<LocalDate, Integer> index = new HashMap<>(days.length * 2);
+        for (int t = 0; t < days.length; t++) {
+            index.put(days[t], t);
+        }
+        Map<UUID, double[]> closes = new HashMap<>(ids.size() * 2);
+        for (UUID id : ids) {
+            double[] row = new double[days.length];
+            Arrays.fill(row, Double.NaN);
+            closes.put(id, row);
+        }
+        riskRepository.dailyCloses(ids, days[0].minusDays(SEED_DAYS), days[days.length - 1], (id, day, close) -> {
+            double[] row = closes.get(id);
+            Integer t = index.get(day);
+            if (t != null) {
+                row[t] = close;
+            } else if (day.isBefore(days[0])) {
+                row[0] = close; // vienen en orden de fecha: queda el último previo, y el del día 0 lo pisa
+            }
+        });
+        return closes;
+    }
+}
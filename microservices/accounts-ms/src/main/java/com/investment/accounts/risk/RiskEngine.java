@@ -0,0 +1,90 @@
+package com.investment.accounts.risk;
+
+import com.investment.accounts.configuration.RiskProperties;
+import com.investment.accounts.model.PortfolioRiskModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Cálculo de riesgo de muchas carteras sobre una misma matriz de retornos: simulación histórica,
+ * VaR paramétrico con la covarianza del universo de la cartera, volatilidad anualizada y beta.
+ */
+@Component
+@RequiredArgsConstructor
+public class RiskEngine {
+
+    private final CovarianceCache covarianceCache;
+    private final RiskProperties properties;
+
+    /**
+     * Calcula todas las carteras en un {@link ForkJoinPool} propio (no el común: la corrida es larga
+     * y CPU-bound). El array devuelto sigue el orden de {@code portfolios}; null = cartera que falló.
+     */
+    public PortfolioRiskModel[] computeAll(List<PortfolioExposure> portfolios, ReturnMatrix matrix,
+                                           LocalDate asOf, UUID currencyId) {
+        PortfolioRiskModel[] out = new PortfolioRiskModel[portfolios.size()];
+        if (portfolios.isEmpty()) {
+            return out;
+        }
+        double[] benchmark = benchmarkReturns(matrix);
+        ForkJoinPool pool = new ForkJoinPool(properties.parallelism());
+        try {
+            pool.invoke(new PortfolioRiskTask(portfolios, 0, portfolios.size(), out,
+                    p -> compute(p, matrix, benchmark, asOf, currencyId)));
+        } finally {
+            pool.shutdown();
+        }
+        return out;
+    }
+
+    PortfolioRiskModel compute(PortfolioExposure p, ReturnMatrix matrix, double[] benchmark,
+                               LocalDate asOf, UUID currencyId) {
+        double confidence = properties.confidence();
+        int horizon = properties.horizonDays();
+        int n = matrix.observations();
+        if (p.instrumentIds().length == 0 || n < 2 || p.marketValue() == 0) {
+            return new PortfolioRiskModel(p.portfolioId(), asOf, currencyId, p.marketValue(), p.positions(),
+                    p.unpricedPositions(), n, confidence, horizon,
+                    Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        }
+
+        int[] rows = new int[p.instrumentIds().length];
+        for (int a = 0; a < rows.length; a++) {
+            rows[a] = matrix.row(p.instrumentIds()[a]);
+        }
+        double[] pnl = RiskMath.pnl(matrix, rows, p.exposures());
+        double[] historical = RiskMath.historicalVar(pnl, confidence, horizon);
+        double[] cov = covarianceCache.get(matrix, p.instrumentIds(), rows);
+        double parametric = RiskMath.parametricVar(cov, p.exposures(), confidence, horizon);
+
+        // retornos de la cartera: P&L sobre el valor actual (la composición se toma constante)
+        double mv = p.marketValue();
+        double[] returns = new double[n];
+        for (int t = 0; t < n; t++) {
+            returns[t] = pnl[t] / mv;
+        }
+        double volatility = RiskMath.stdev(returns) * Math.sqrt(RiskMath.TRADING_DAYS_PER_YEAR);
+        double beta = benchmark == null ? Double.NaN : RiskMath.beta(returns, benchmark);
+
+        return new PortfolioRiskModel(p.portfolioId(), asOf, currencyId, mv, p.positions(),
+                p.unpricedPositions(), n, confidence, horizon,
+                historical[0], historical[1], parametric, volatility, beta);
+    }
+
+    /** Serie del benchmark configurado, o null si no hay benchmark o no tiene cierres. */
+    private double[] benchmarkReturns(ReturnMatrix matrix) {
+        UUID benchmarkId = properties.benchmarkInstrumentId();
+        int row = benchmarkId == null ? -1 : matrix.row(benchmarkId);
+        if (row < 0) {
+            return null;
+        }
+        double[] series = new double[matrix.observations()];
+        System.arraycopy(matrix.data(), matrix.offset(row), series, 0, series.length);
+        return series;
+    }
+}
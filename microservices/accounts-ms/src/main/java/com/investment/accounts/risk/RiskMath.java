@@ -0,0 +1,199 @@
+package com.investment.accounts.risk;
+
+import java.util.Arrays;
+
+/**
+ * Aritmética de riesgo sobre arrays primitivos. Las pérdidas se informan como números positivos;
+ * los horizontes de más de un día escalan por raíz del tiempo.
+ */
+public final class RiskMath {
+
+    public static final int TRADING_DAYS_PER_YEAR = 252;
+
+    private RiskMath() {
+    }
+
+    /** Covarianza muestral (k x k, por filas) de las filas indicadas de la matriz. */
+    public static double[] covariance(ReturnMatrix matrix, int[] rows) {
+        int k = rows.length;
+        int n = matrix.observations();
+        double[] data = matrix.data();
+
+        // se centra cada fila una sola vez: el doble bucle queda en productos escalares contiguos
+        double[] centered = new double[k * n];
+        for (int a = 0; a < k; a++) {
+            int src = matrix.offset(rows[a]);
+            double mean = 0;
+            for (int t = 0; t < n; t++) {
+                mean += data[src + t];
+            }
+            mean /= n;
+            for (int t = 0; t < n; t++) {
+                centered[a * n + t] = data[src + t] - mean;
+            }
+        }
+
+        double[] cov = new double[k * k];
+        for (int a = 0; a < k; a++) {
+            for (int b = a; b < k; b++) {
+                double sum = 0;
+                int oa = a * n;
+                int ob = b * n;
+                for (int t = 0; t < n; t++) {
+                    sum += centered[oa + t] * centered[ob + t];
+                }
+                double c = n > 1 ? sum / (n - 1) : 0;
+                cov[a * k + b] = c;
+                cov[b * k + a] = c;
+            }
+        }
+        return cov;
+    }
+
+    /** P&L diario simulado de la cartera: exposiciones actuales por los retornos de cada día. */
+    public static double[] pnl(ReturnMatrix matrix, int[] rows, double[] exposures) {
+        int n = matrix.observations();
+        double[] data = matrix.data();
+        double[] pnl = new double[n];
+        for (int a = 0; a < rows.length; a++) {
+            int src = matrix.offset(rows[a]);
+            double w = exposures[a];
+            for (int t = 0; t < n; t++) {
+                pnl[t] += w * data[src + t];
+            }
+        }
+        return pnl;
+    }
+
+    /**
+     * VaR y CVaR por simulación histórica: el cuantil {@code 1 - confidence} de la distribución
+     * de P&L y el promedio de los escenarios en esa cola.
+     */
+    public static double[] historicalVar(double[] pnl, double confidence, int horizonDays) {
+        if (pnl.length == 0) {
+            return new double[]{Double.NaN, Double.NaN};
+        }
+        double[] sorted = pnl.clone();
+        Arrays.sort(sorted);
+        // escenarios en la cola: floor((1 - c) * n), al menos uno (el epsilon absorbe 0.05 * 100 = 5.000...04)
+        int tail = Math.max(1, Math.min(sorted.length, (int) Math.floor((1 - confidence) * sorted.length + 1e-9)));
+        double sum = 0;
+        for (int i = 0; i < tail; i++) {
+            sum += sorted[i];
+        }
+        double scale = Math.sqrt(horizonDays);
+        return new double[]{-sorted[tail - 1] * scale, -(sum / tail) * scale};
+    }
+
+    /** VaR paramétrico (delta-normal, media cero): z * sqrt(w' S w). */
+    public static double parametricVar(double[] cov, double[] exposures, double confidence, int horizonDays) {
+        int k = exposures.length;
+        double variance = 0;
+        for (int a = 0; a < k; a++) {
+            double row = 0;
+            for (int b = 0; b < k; b++) {
+                row += cov[a * k + b] * exposures[b];
+            }
+            variance += exposures[a] * row;
+        }
+        return inverseNormal(confidence) * Math.sqrt(Math.max(0, variance)) * Math.sqrt(horizonDays);
+    }
+
+    /**
+     * Factor de Cholesky {@code L} (k x k, triangular inferior, por filas) con {@code L L' = cov}.
+     * Tolera matrices semidefinidas (instrumentos colineales, menos observaciones que instrumentos):
+     * un pivote no positivo anula esa columna en vez de fallar.
+     */
+    public static double[] cholesky(double[] cov, int k) {
+        double[] l = new double[k * k];
+        for (int j = 0; j < k; j++) {
+            double d = cov[j * k + j];
+            for (int m = 0; m < j; m++) {
+                d -= l[j * k + m] * l[j * k + m];
+            }
+            if (d <= 1e-12 * Math.max(1e-300, cov[j * k + j])) {
+                continue; // columna dependiente de las anteriores: queda en cero
+            }
+            double pivot = Math.sqrt(d);
+            l[j * k + j] = pivot;
+            for (int i = j + 1; i < k; i++) {
+                double s = cov[i * k + j];
+                for (int m = 0; m < j; m++) {
+                    s -= l[i * k + m] * l[j * k + m];
+                }
+                l[i * k + j] = s / pivot;
+            }
+        }
+        return l;
+    }
+
+    public static double stdev(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = 0;
+        for (double v : values) {
+            mean += v;
+        }
+        mean /= n;
+        double sum = 0;
+        for (double v : values) {
+            sum += (v - mean) * (v - mean);
+        }
+        return Math.sqrt(sum / (n - 1));
+    }
+
+    /** Beta de la serie respecto del benchmark: cov(x, b) / var(b). NaN si el benchmark no varía. */
+    public static double beta(double[] x, double[] benchmark) {
+        int n = Math.min(x.length, benchmark.length);
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mx = 0;
+        double mb = 0;
+        for (int t = 0; t < n; t++) {
+            mx += x[t];
+            mb += benchmark[t];
+        }
+        mx /= n;
+        mb /= n;
+        double cov = 0;
+        double var = 0;
+        for (int t = 0; t < n; t++) {
+            cov += (x[t] - mx) * (benchmark[t] - mb);
+            var += (benchmark[t] - mb) * (benchmark[t] - mb);
+        }
+        return var == 0 ? Double.NaN : cov / var;
+    }
+
+    /** Inversa de la normal estándar (Acklam, error relativo ~1e-9). */
+    public static double inverseNormal(double p) {
+        if (p <= 0 || p >= 1) {
+            throw new IllegalArgumentException("p must be in (0, 1)");
+        }
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+}
@@ -0,0 +1,308 @@
+package com.investment.accounts.search;
+
+import com.investment.accounts.model.InstrumentSearchModel;
+import com.investment.accounts.utils.enums.InstrumentMatchEnum;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Índice de búsqueda de instrumentos en memoria. Inmutable: al refrescar se construye uno nuevo
+ * y se reemplaza la referencia, así las búsquedas nunca esperan a la carga.
+ * Prefijos: símbolos y palabras del nombre normalizados en arrays ordenados; todas las claves
+ * con un prefijo forman un rango contiguo que se ubica con una búsqueda binaria (el recorrido de
+ * un trie, sin un nodo por carácter). Subcadenas: postings por trigrama de símbolo y nombre; los
+ * candidatos salen de intersecar las listas empezando por la más corta y se verifican contra el texto.
+ */
+public final class InstrumentSearchIndex {
+
+    public static final InstrumentSearchIndex EMPTY = build(List.of());
+
+    private final InstrumentSearchModel[] docs;
+    private final String[] symbolKeys;
+    private final int[] symbolDocs;
+    private final String[] wordKeys;
+    private final int[] wordDocs;
+    private final Map<Long, int[]> trigrams;
+
+    private InstrumentSearchIndex(InstrumentSearchModel[] docs, String[] symbolKeys, int[] symbolDocs,
+                                  String[] wordKeys, int[] wordDocs, Map<Long, int[]> trigrams) {
+        this.docs = docs;
+        this.symbolKeys = symbolKeys;
+        this.symbolDocs = symbolDocs;
+        this.wordKeys = wordKeys;
+        this.wordDocs = wordDocs;
+        this.trigrams = trigrams;
+    }
+
+    /** El orden de entrada es el de desempate dentro de cada nivel (la carga viene ordenada por símbolo). */
+    public static InstrumentSearchIndex build(List<InstrumentSearchModel> instruments) {
+        InstrumentSearchModel[] docs = instruments.toArray(InstrumentSearchModel[]::new);
+
+        List<Key> symbols = new ArrayList<>(docs.length);
+        List<Key> words = new ArrayList<>(docs.length * 3);
+        Map<String, String> shared = new HashMap<>(); // "INC", "CORP", "ETF"...: una sola instancia
+        GramTable grams = new GramTable(1 << 16);
+        for (int doc = 0; doc < docs.length; doc++) {
+            String symbol = normalize(docs[doc].symbol());
+            String name = normalize(docs[doc].name());
+            symbols.add(new Key(symbol, doc));
+            for (String word : new LinkedHashSet<>(splitWords(name))) {
+                words.add(new Key(shared.computeIfAbsent(word, w -> w), doc));
+            }
+            addTrigrams(grams, symbol, doc);
+            addTrigrams(grams, name, doc);
+        }
+
+        Map<Long, int[]> postings = grams.toPostings();
+
+        Key[] symbolOrder = symbols.toArray(Key[]::new);
+        Key[] wordOrder = words.toArray(Key[]::new);
+        Arrays.parallelSort(symbolOrder, Key.ORDER);
+        Arrays.parallelSort(wordOrder, Key.ORDER);
+        return new InstrumentSearchIndex(docs,
+                Arrays.stream(symbolOrder).map(Key::key).toArray(String[]::new),
+                Arrays.stream(symbolOrder).mapToInt(Key::doc).toArray(),
+                Arrays.stream(wordOrder).map(Key::key).toArray(String[]::new),
+                Arrays.stream(wordOrder).mapToInt(Key::doc).toArray(),
+                postings);
+    }
+
+    public int size() {
+        return docs.length;
+    }
+
+    /**
+     * Coincidencias por relevancia: símbolo exacto, prefijo de símbolo, prefijo de una palabra
+     * del nombre y, con 3+ caracteres, subcadena. Cada nivel recorre como mucho {@code maxScan} entradas.
+     */
+    public List<Hit> search(String query, int limit, int maxScan, Predicate<InstrumentSearchModel> filter) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Collector out = new Collector(limit, filter);
+
+        int scanned = 0;
+        for (int i = lowerBound(symbolKeys, q); i < symbolKeys.length && !out.full() && scanned++ < maxScan; i++) {
+            if (!symbolKeys[i].startsWith(q)) {
+                break;
+            }
+            out.add(symbolDocs[i], symbolKeys[i].length() == q.length()
+                    ? InstrumentMatchEnum.EXACT : InstrumentMatchEnum.SYMBOL_PREFIX);
+        }
+
+        scanned = 0;
+        for (int i = lowerBound(wordKeys, q); i < wordKeys.length && !out.full() && scanned++ < maxScan; i++) {
+            if (!wordKeys[i].startsWith(q)) {
+                break;
+            }
+            out.add(wordDocs[i], InstrumentMatchEnum.NAME_PREFIX);
+        }
+
+        if (!out.full() && q.length() >= 3) {
+            substring(q, maxScan, out);
+        }
+        return out.hits;
+    }
+
+    private void substring(String q, int maxScan, Collector out) {
+        long[] queryGrams = new long[q.length() - 2];
+        for (int i = 0; i < queryGrams.length; i++) {
+            queryGrams[i] = trigram(q, i);
+        }
+        int[][] lists = new int[queryGrams.length][];
+        for (int i = 0; i < queryGrams.length; i++) {
+            lists[i] = trigrams.get(queryGrams[i]);
+            if (lists[i] == null) {
+                return; // un trigrama que no existe en el universo: no hay subcadena posible
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(l -> l.length));
+
+        int scanned = 0;
+        candidates:
+        for (int doc : lists[0]) {
+            if (out.full() || scanned++ >= maxScan) {
+                return;
+            }
+            for (int k = 1; k < lists.length; k++) {
+                if (Arrays.binarySearch(lists[k], doc) < 0) {
+                    continue candidates;
+                }
+            }
+            // los trigramas no garantizan contigüidad: se verifica contra el texto
+            if (containsIgnoreCase(docs[doc].symbol(), q) || containsIgnoreCase(docs[doc].name(), q)) {
+                out.add(doc, InstrumentMatchEnum.SUBSTRING);
+            }
+        }
+    }
+
+    // --- helpers ---
+
+    static String normalize(String s) {
+        return s == null ? "" : s.strip().toUpperCase(Locale.ROOT);
+    }
+
+    private static List<String> splitWords(String s) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= s.length(); i++) {
+            boolean inWord = i < s.length() && Character.isLetterOrDigit(s.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(s.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static void addTrigrams(GramTable grams, String s, int doc) {
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            grams.get(trigram(s, i)).addIfLast(doc);
+        }
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static int lowerBound(String[] keys, String q) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(q) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static boolean containsIgnoreCase(String text, String q) {
+        if (text == null) {
+            return false;
+        }
+        for (int i = 0; i + q.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, q, 0, q.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Hit(InstrumentSearchModel instrument, InstrumentMatchEnum match) {}
+
+    private record Key(String key, int doc) {
+        static final Comparator<Key> ORDER = Comparator.comparing(Key::key).thenComparingInt(Key::doc);
+    }
+
+    /** Acumula hits sin repetir documento; el primer nivel que lo encuentra es su relevancia. */
+    private final class Collector {
+        final List<Hit> hits;
+        final Set<Integer> seen = new HashSet<>();
+        final int limit;
+        final Predicate<InstrumentSearchModel> filter;
+
+        Collector(int limit, Predicate<InstrumentSearchModel> filter) {
+            this.hits = new ArrayList<>(limit);
+            this.limit = limit;
+            this.filter = filter;
+        }
+
+        boolean full() {
+            return hits.size() >= limit;
+        }
+
+        void add(int doc, InstrumentMatchEnum match) {
+            if (filter.test(docs[doc]) && seen.add(doc)) {
+                hits.add(new Hit(docs[doc], match));
+            }
+        }
+    }
+
+    /**
+     * Tabla de trigramas para la construcción: direccionamiento abierto sobre long[], sin boxing
+     * por cada trigrama de cada documento (decenas de millones con un universo de 1M).
+     */
+    private static final class GramTable {
+        long[] keys;
+        IntList[] lists;
+        int size;
+
+        GramTable(int capacity) {
+            keys = new long[capacity];
+            lists = new IntList[capacity];
+        }
+
+        IntList get(long gram) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(gram * 0x9E3779B97F4A7C15L) & mask;
+            while (lists[slot] != null) {
+                if (keys[slot] == gram) {
+                    return lists[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size * 2 >= keys.length) {
+                grow();
+                return get(gram);
+            }
+            keys[slot] = gram;
+            size++;
+            return lists[slot] = new IntList();
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            IntList[] oldLists = lists;
+            keys = new long[oldKeys.length * 2];
+            lists = new IntList[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldLists[i] != null) {
+                    int slot = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+                    while (lists[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    lists[slot] = oldLists[i];
+                }
+            }
+        }
+
+        Map<Long, int[]> toPostings() {
+            Map<Long, int[]> postings = new HashMap<>(size * 2);
+            for (int i = 0; i < keys.length; i++) {
+                if (lists[i] != null) {
+                    postings.put(keys[i], lists[i].toArray());
+                }
+            }
+            return postings;
+        }
+    }
+
+    /** Lista de ints creciente sin boxing; los docs llegan en orden, basta mirar el último. */
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void addIfLast(int v) {
+            if (size > 0 && values[size - 1] == v) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.investment.accounts.model.AccountModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,6 +14,7 @@ public interface AccountService {
     AccountModel create(AccountModel account);
     Optional<AccountModel> getById(UUID accountId);
     Page<AccountModel> getAll(Pageable pageable);
+    List<AccountModel> getByPortfolio(UUID portfolioId);
     AccountModel update(AccountModel account);
     void delete(UUID accountId);
 
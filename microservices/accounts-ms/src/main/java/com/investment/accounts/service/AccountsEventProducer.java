@@ -1,8 +1,21 @@
 package com.investment.accounts.service;
 
+import com.investment.accounts.dto.CorporateActionEventDto;
+
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 public interface AccountsEventProducer {
     // Evento Kafka para pedir recálculo de posiciones de una cuenta
     void publishPositionsRecalculateRequested(UUID accountId);
+
+    // Mismo evento para muchas cuentas: se envían todos sin esperar acks (el producer los agrupa por partición);
+    // onAck recibe cada cuenta con su error (null si llegó) y el future se completa con el último ack
+    CompletableFuture<Void> publishPositionsRecalculateRequested(List<UUID> accountIds, BiConsumer<UUID, Throwable> onAck);
+
+    // Split/dividendo en acciones con fecha ex vencida: positions-ms ajusta posiciones y lotes.
+    // El future se completa con el ack del broker (o falla): quien llama decide si lo da por enviado
+    CompletableFuture<?> publishCorporateAction(CorporateActionEventDto event);
 }
\ No newline at end of file
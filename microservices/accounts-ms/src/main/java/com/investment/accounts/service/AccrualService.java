@@ -0,0 +1,13 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.AccrualRunResponseDto;
+
+import java.time.LocalDate;
+
+public interface AccrualService {
+
+    // reanudable: las particiones DONE de la fecha no se vuelven a procesar
+    AccrualRunResponseDto run(LocalDate accrualDate);
+
+    AccrualRunResponseDto status(LocalDate accrualDate);
+}
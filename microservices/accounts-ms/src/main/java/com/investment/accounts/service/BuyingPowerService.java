@@ -0,0 +1,19 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.BuyingPowerResponseDto;
+import com.investment.accounts.dto.ReservationRequestDto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface BuyingPowerService {
+
+    BuyingPowerResponseDto get(UUID accountId, UUID currencyId);
+
+    BuyingPowerResponseDto reserve(ReservationRequestDto request);
+
+    // amount null = libera todo lo pendiente
+    BuyingPowerResponseDto release(UUID reservationId, BigDecimal amount);
+
+    BuyingPowerResponseDto consume(UUID reservationId, UUID tradeId, BigDecimal amount);
+}
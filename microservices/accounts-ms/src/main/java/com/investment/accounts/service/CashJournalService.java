@@ -0,0 +1,11 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.CashJournalRebuildResponseDto;
+
+import java.time.OffsetDateTime;
+
+public interface CashJournalService {
+
+    // asienta los movimientos completados sin asiento (fecha valor >= since; null = todo) y recalcula los saldos
+    CashJournalRebuildResponseDto rebuild(OffsetDateTime since);
+}
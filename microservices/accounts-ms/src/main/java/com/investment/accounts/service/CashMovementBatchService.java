@@ -0,0 +1,21 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.AccountBalanceResponseDto;
+import com.investment.accounts.dto.BulkMovementResponseDto;
+import com.investment.accounts.dto.CashMovementRequestDto;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CashMovementBatchService {
+
+    // un round trip por chunk para movimientos y otro para saldos
+    BulkMovementResponseDto registerAll(List<CashMovementRequestDto> movements);
+
+    // mensajes crudos de Kafka: un movimiento o un array de movimientos por mensaje; origins trae
+    // topic-partición@offset de cada mensaje, de donde sale el requestId si el productor no lo manda.
+    // Si la escritura falla la excepción sube: el contenedor reintenta el lote o lo manda a la DLT
+    void processCashMovements(List<String> messages, List<String> origins);
+
+    List<AccountBalanceResponseDto> getBalances(UUID accountId);
+}
@@ -0,0 +1,26 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.adjustment.PriceAdjustmentSchedule;
+import com.investment.accounts.dto.AdjustedPriceDto;
+import com.investment.accounts.dto.CorporateActionRequestDto;
+import com.investment.accounts.dto.CorporateActionResponseDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface CorporateActionService {
+
+    CorporateActionResponseDto record(CorporateActionRequestDto request);
+
+    List<CorporateActionResponseDto> findByInstrument(UUID instrumentId);
+
+    // factores acumulados del instrumento, calculados una vez y cacheados hasta el próximo evento
+    PriceAdjustmentSchedule schedule(UUID instrumentId);
+
+    // serie [from, to] (días UTC) ajustada por splits y dividendos
+    List<AdjustedPriceDto> adjustedPrices(UUID instrumentId, LocalDate from, LocalDate to);
+
+    // publica los eventos con fecha ex vencida y marca PROCESSED los que el broker confirmó; devuelve cuántos
+    int processDue(LocalDate upTo);
+}
@@ -0,0 +1,15 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.FxTickDto;
+import com.investment.accounts.dto.FxTickIngestResponseDto;
+
+import java.util.List;
+
+public interface FxIngestionService {
+
+    // cada tick actualiza la caché de tasas al instante; a la base va conflado por intervalo
+    FxTickIngestResponseDto ingest(List<FxTickDto> ticks);
+
+    // mensajes crudos de Kafka: un tick o un array de ticks por mensaje
+    void processTicks(List<String> messages);
+}
@@ -1,11 +1,14 @@
 package com.investment.accounts.service;
 
+import com.investment.accounts.dto.FxConversionItemDto;
+import com.investment.accounts.dto.FxConversionResultDto;
 import com.investment.accounts.entity.CurrencyEntity;
 import com.investment.accounts.entity.FxRateEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,4 +24,7 @@ public interface FxService {
 
     // Conveniencia de dominio (usará FxUtils en la impl)
     BigDecimal convert(BigDecimal amount, UUID fromCurrencyId, UUID toCurrencyId);
-}
\ No newline at end of file
+
+    // Conversión masiva: cada par se resuelve una vez; resultados en el mismo orden que los ítems
+    List<FxConversionResultDto> convertAll(List<FxConversionItemDto> items);
+}
@@ -0,0 +1,15 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.InstrumentSearchResultDto;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+
+import java.util.List;
+
+public interface InstrumentSearchService {
+
+    // type-ahead sobre símbolo y nombre; por defecto solo instrumentos ACTIVE
+    List<InstrumentSearchResultDto> search(String query, InstrumentTypeEnum type, boolean includeInactive, Integer limit);
+
+    // reconstruye el índice desde la cache de market data; devuelve cuántos instrumentos indexó
+    int refresh();
+}
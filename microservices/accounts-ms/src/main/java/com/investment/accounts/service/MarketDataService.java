@@ -0,0 +1,27 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.InstrumentRefDto;
+import com.investment.accounts.dto.LastPriceDto;
+import com.investment.accounts.dto.MarketDataSnapshotResponseDto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface MarketDataService {
+
+    // mapea el snapshot (si hay uno válido) y completa con los cambios posteriores a su watermark
+    void load();
+
+    // trae de Postgres lo cambiado desde el último watermark; devuelve cuántas filas aplicó
+    int refreshDeltas();
+
+    // vuelca snapshot + cambios a un archivo nuevo y lo instala como base
+    MarketDataSnapshotResponseDto writeSnapshot();
+
+    // últimos cierres servidos desde memoria; los instrumentos sin precio no aparecen
+    List<LastPriceDto> lastPrices(Collection<UUID> instrumentIds);
+
+    // tipo y moneda de cotización de cada instrumento, desde memoria; los desconocidos no aparecen
+    List<InstrumentRefDto> instruments(Collection<UUID> instrumentIds);
+}
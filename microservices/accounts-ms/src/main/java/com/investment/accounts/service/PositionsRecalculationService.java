@@ -0,0 +1,13 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.RecalculationJobResponseDto;
+
+import java.util.UUID;
+
+public interface PositionsRecalculationService {
+
+    // publica un pedido de recálculo por cada cuenta del portfolio; devuelve el job para seguir los acks
+    RecalculationJobResponseDto requestForPortfolio(UUID portfolioId);
+
+    RecalculationJobResponseDto getJob(UUID jobId);
+}
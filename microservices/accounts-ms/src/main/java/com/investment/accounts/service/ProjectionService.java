@@ -0,0 +1,12 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.ProjectionRequestDto;
+import com.investment.accounts.dto.ProjectionResponseDto;
+
+import java.util.UUID;
+
+public interface ProjectionService {
+
+    // posiciones actuales de las cuentas activas de la cartera, proyectadas buy-and-hold
+    ProjectionResponseDto project(UUID portfolioId, ProjectionRequestDto request);
+}
@@ -0,0 +1,16 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.PortfolioRiskResponseDto;
+import com.investment.accounts.dto.RiskRunResponseDto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface RiskService {
+
+    // recalcula todas las carteras activas; una fecha ya corrida se sobreescribe
+    RiskRunResponseDto run(LocalDate asOfDate);
+
+    // asOfDate null = último cálculo disponible
+    PortfolioRiskResponseDto get(UUID portfolioId, LocalDate asOfDate);
+}
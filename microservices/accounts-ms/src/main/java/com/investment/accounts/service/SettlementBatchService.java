@@ -0,0 +1,15 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.SettlementRunResponseDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SettlementBatchService {
+
+    // mensajes crudos trade-executed: se netean en buckets (fecha valor, cuenta, moneda)
+    void processTradesExecuted(List<String> messages);
+
+    // postea un movimiento neto por bucket vencido hasta la fecha (incluida)
+    SettlementRunResponseDto settle(LocalDate settlementDate);
+}
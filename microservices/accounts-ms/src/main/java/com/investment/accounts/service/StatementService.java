@@ -0,0 +1,23 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.dto.ExternalFlowDto;
+import com.investment.accounts.utils.enums.StatementFormatEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface StatementService {
+
+    // se llama antes de empezar a escribir: una vez comprometida la respuesta ya no hay 4xx posible
+    void validate(UUID accountId, LocalDate from, LocalDate to);
+
+    // movimientos completados de [from, to] (UTC) con saldo corrido por moneda, en memoria constante
+    void writeStatement(UUID accountId, LocalDate from, LocalDate to, StatementFormatEnum format, OutputStream out)
+            throws IOException;
+
+    // depósitos y retiros netos por día y moneda de todas las cuentas de la cartera, [from, to] (UTC)
+    List<ExternalFlowDto> externalFlows(UUID portfolioId, LocalDate from, LocalDate to);
+}
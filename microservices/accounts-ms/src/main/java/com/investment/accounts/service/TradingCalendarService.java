@@ -0,0 +1,26 @@
+package com.investment.accounts.service;
+
+import com.investment.accounts.calendar.TradingCalendar;
+import com.investment.accounts.dto.CalendarImportResponseDto;
+import com.investment.accounts.dto.MarketStatusResponseDto;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface TradingCalendarService {
+
+    // calendario precalculado (se compila una vez por mercado y año)
+    TradingCalendar get(UUID exchangeId);
+
+    boolean isOpen(UUID exchangeId, Instant at);
+
+    MarketStatusResponseDto status(UUID exchangeId, Instant at);
+
+    LocalDate addBusinessDays(UUID exchangeId, LocalDate date, int days);
+
+    // archivo CSV "codigo,SESSION|HOLIDAY,...": reemplaza sesiones y feriados de cada mercado del archivo
+    CalendarImportResponseDto importCalendars(Reader csv) throws IOException;
+}
@@ -17,6 +17,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -61,6 +62,14 @@ public class AccountServiceImpl implements AccountService {
         return accountRepository.findAll(pageable).map(AccountModel::fromEntity);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccountModel> getByPortfolio(UUID portfolioId) {
+        return accountRepository.findAllByPortfolioIdOrderById(portfolioId).stream()
+                .map(AccountModel::fromEntity)
+                .toList();
+    }
+
     @Override
     @Transactional
     public AccountModel update(AccountModel account) {
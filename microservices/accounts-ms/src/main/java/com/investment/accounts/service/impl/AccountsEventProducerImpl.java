@@ -1,12 +1,16 @@
 package com.investment.accounts.service.impl;
 
 import com.investment.accounts.configuration.AccountsTopicsProps;
+import com.investment.accounts.dto.CorporateActionEventDto;
 import com.investment.accounts.service.AccountsEventProducer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 @Service
 @RequiredArgsConstructor
@@ -19,4 +23,29 @@ public class AccountsEventProducerImpl implements AccountsEventProducer {
     public void publishPositionsRecalculateRequested(UUID accountId) {
         kafkaTemplate.send(topics.positionsRecalculateRequested(), accountId.toString(), accountId);
     }
+
+    @Override
+    public CompletableFuture<Void> publishPositionsRecalculateRequested(List<UUID> accountIds,
+                                                                        BiConsumer<UUID, Throwable> onAck) {
+        String topic = topics.positionsRecalculateRequested();
+        CompletableFuture<?>[] acks = new CompletableFuture<?>[accountIds.size()];
+        for (int i = 0; i < acks.length; i++) {
+            UUID accountId = accountIds.get(i);
+            CompletableFuture<?> ack;
+            try {
+                // send no bloquea: los records quedan en el buffer del producer y viajan en lotes por partición
+                ack = kafkaTemplate.send(topic, accountId.toString(), accountId);
+            } catch (RuntimeException e) {
+                ack = CompletableFuture.failedFuture(e); // p. ej. buffer lleno: cuenta como fallido, no corta el resto
+            }
+            acks[i] = ack.whenComplete((result, error) -> onAck.accept(accountId, error));
+        }
+        return CompletableFuture.allOf(acks);
+    }
+
+    @Override
+    public CompletableFuture<?> publishCorporateAction(CorporateActionEventDto event) {
+        // clave = instrumento: los eventos de un mismo instrumento llegan en orden
+        return kafkaTemplate.send(topics.corporateActions(), event.instrumentId().toString(), event);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.configuration.AccrualProperties;
+import com.investment.accounts.dto.AccrualRunResponseDto;
+import com.investment.accounts.entity.AccountBalanceEntity;
+import com.investment.accounts.entity.AccountEntity;
+import com.investment.accounts.entity.AccrualPartitionEntity;
+import com.investment.accounts.entity.AccrualRateEntity;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.model.AccountRefModel;
+import com.investment.accounts.repository.AccountBalanceRepository;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.repository.AccrualPartitionRepository;
+import com.investment.accounts.repository.AccrualRateRepository;
+import com.investment.accounts.repository.CashMovementBatchRepository;
+import com.investment.accounts.service.AccrualService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.accounts.utils.MoneyUtils;
+import com.investment.accounts.utils.UuidRangeUtils;
+import com.investment.accounts.utils.enums.AccountTypeEnum;
+import com.investment.accounts.utils.enums.AccrualPartitionStatusEnum;
+import com.investment.accounts.utils.enums.CashMovementStatusEnum;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Devengo diario de intereses y comisiones sobre el saldo corrido.
+ * <p>
+ * El espacio de ids de cuenta se parte en rangos fijos ({@link UuidRangeUtils}); cada worker toma
+ * una partición y la recorre por keyset sobre la PK. Cada chunk escribe sus movimientos en lote
+ * y avanza el checkpoint de la partición en la misma transacción.
+ * <p>
+ * El job corre en todas las réplicas y también se puede lanzar a mano: antes de procesar una
+ * partición se reclama con compare-and-set sobre su estado, y cada chunk commitea con la versión
+ * del reclamo, así dos workers nunca devengan la misma partición.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccrualServiceImpl implements AccrualService {
+
+    private static final MathContext MC = MathContext.DECIMAL64;
+    private static final List<AccrualPartitionStatusEnum> CLAIMABLE =
+            List.of(AccrualPartitionStatusEnum.PENDING, AccrualPartitionStatusEnum.FAILED);
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceRepository balanceRepository;
+    private final AccrualRateRepository rateRepository;
+    private final AccrualPartitionRepository partitionRepository;
+    private final CashMovementBatchRepository batchRepository;
+    private final BuyingPowerLedger buyingPowerLedger;
+    private final CashJournal cashJournal;
+    private final AccrualProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${app.accruals.cron:0 15 1 * * *}", zone = "UTC")
+    public void runNightly() {
+        LocalDate accrualDate = DateTimeUtils.now().toLocalDate().minusDays(1);
+        try {
+            AccrualRunResponseDto result = run(accrualDate);
+            log.info("Nightly accrual {} finished: {}", accrualDate, result);
+        } catch (Exception e) {
+            log.error("Nightly accrual {} failed: {}", accrualDate, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public AccrualRunResponseDto run(LocalDate accrualDate) {
+        if (accrualDate == null || accrualDate.isAfter(DateTimeUtils.now().toLocalDate())) {
+            throw new BadRequestException("accrualDate is required and cannot be in the future");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("An accrual run is already in progress");
+        }
+        try {
+            Map<RateKey, AccrualRateEntity> rates = loadRates();
+            List<AccrualPartitionEntity> pending = preparePartitions(accrualDate).stream()
+                    .filter(p -> p.getStatus() != AccrualPartitionStatusEnum.DONE)
+                    .toList();
+
+            ExecutorService pool = Executors.newFixedThreadPool(properties.workers(),
+                    Thread.ofPlatform().name("accrual-", 0).factory());
+            try {
+                List<Future<?>> futures = new ArrayList<>(pending.size());
+                for (AccrualPartitionEntity partition : pending) {
+                    futures.add(pool.submit(() -> claimAndRun(partition.getId(), rates)));
+                }
+                for (Future<?> f : futures) {
+                    try {
+                        f.get();
+                    } catch (ExecutionException e) {
+                        // ya quedó FAILED con su checkpoint; la próxima corrida la retoma
+                        log.error("Accrual partition failed: {}", e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException("Accrual run interrupted");
+            } finally {
+                pool.shutdownNow();
+            }
+            return status(accrualDate);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public AccrualRunResponseDto status(LocalDate accrualDate) {
+        List<AccrualPartitionEntity> partitions = partitionRepository.findAllByAccrualDate(accrualDate);
+        int done = 0;
+        int failed = 0;
+        long accounts = 0;
+        long movements = 0;
+        for (AccrualPartitionEntity p : partitions) {
+            if (p.getStatus() == AccrualPartitionStatusEnum.DONE) done++;
+            if (p.getStatus() == AccrualPartitionStatusEnum.FAILED) failed++;
+            accounts += p.getProcessedAccounts();
+            movements += p.getPostedMovements();
+        }
+        return new AccrualRunResponseDto(accrualDate, partitions.size(), done, failed, accounts, movements);
+    }
+
+    // --- helpers ---
+
+    private List<AccrualPartitionEntity> preparePartitions(LocalDate accrualDate) {
+        List<AccrualPartitionEntity> existing = partitionRepository.findAllByAccrualDate(accrualDate);
+        if (!existing.isEmpty()) {
+            return existing; // reinicio: se respetan el número de particiones y los checkpoints originales
+        }
+        OffsetDateTime now = DateTimeUtils.now();
+        List<UUID[]> ranges = UuidRangeUtils.split(properties.partitions());
+        List<AccrualPartitionEntity> created = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            created.add(AccrualPartitionEntity.builder()
+                    .id(new AccrualPartitionEntity.Key(accrualDate, i))
+                    .lowerBound(ranges.get(i)[0])
+                    .upperBound(ranges.get(i)[1])
+                    .status(AccrualPartitionStatusEnum.PENDING)
+                    .updatedAt(now)
+                    .build());
+        }
+        return partitionRepository.saveAll(created);
+    }
+
+    private void claimAndRun(AccrualPartitionEntity.Key id, Map<RateKey, AccrualRateEntity> rates) {
+        OffsetDateTime now = DateTimeUtils.now();
+        AccrualPartitionEntity claimed = transactionTemplate.execute(status ->
+                partitionRepository.claim(id, AccrualPartitionStatusEnum.RUNNING, CLAIMABLE, now,
+                        now.minus(properties.claimTimeout())) == 1
+                        ? partitionRepository.findById(id).orElse(null)
+                        : null);
+        if (claimed == null) {
+            log.info("Accrual partition {} of {} is done or owned by another worker, skipping",
+                    id.getPartitionNo(), id.getAccrualDate());
+            return;
+        }
+        runPartition(claimed, rates);
+    }
+
+    private void runPartition(AccrualPartitionEntity partition, Map<RateKey, AccrualRateEntity> rates) {
+        LocalDate date = partition.getId().getAccrualDate();
+        OffsetDateTime movementDate = date.atStartOfDay().atOffset(ZoneOffset.UTC);
+        AccrualPartitionEntity p = partition;
+        // Versión del último checkpoint commiteado: processChunk modifica la entidad antes de saber si commitea
+        long committedVersion = p.getVersion();
+        try {
+            boolean more = true;
+            while (more) {
+                AccrualPartitionEntity current = p;
+                ChunkResult r = transactionTemplate.execute(status -> processChunk(current, rates, movementDate));
+                p = r.partition();
+                committedVersion = p.getVersion();
+                more = r.more();
+            }
+        } catch (RuntimeException e) {
+            // Sin pisar el checkpoint: si otro worker la reclamó (versión distinta) no se toca
+            long version = committedVersion;
+            Integer marked = transactionTemplate.execute(status -> partitionRepository.markFailed(
+                    partition.getId(), version, AccrualPartitionStatusEnum.FAILED, DateTimeUtils.now()));
+            if (marked == null || marked == 0) {
+                log.warn("Accrual partition {} was claimed by another worker", partition.getId().getPartitionNo());
+            }
+            throw e;
+        }
+    }
+
+    private ChunkResult processChunk(AccrualPartitionEntity p, Map<RateKey, AccrualRateEntity> rates,
+                                     OffsetDateTime movementDate) {
+        UUID after = p.getLastAccountId() != null ? p.getLastAccountId() : p.getLowerBound();
+        List<AccountRefModel> accounts =
+                accountRepository.findActiveInRange(after, p.getUpperBound(), Limit.of(properties.chunkSize()));
+
+        List<CashMovementEntity> movements = new ArrayList<>();
+        if (!accounts.isEmpty()) {
+            Map<UUID, AccountTypeEnum> types = new HashMap<>(accounts.size() * 2);
+            accounts.forEach(a -> types.put(a.id(), a.type()));
+            for (AccountBalanceEntity b : balanceRepository.findAllByAccountIdIn(types.keySet())) {
+                UUID accountId = b.getId().getAccountId();
+                UUID currencyId = b.getId().getCurrencyId();
+                AccrualRateEntity rate = rates.get(new RateKey(types.get(accountId), currencyId));
+                if (rate == null || b.getBalance() == null || b.getBalance().signum() <= 0) {
+                    continue;
+                }
+                BigDecimal interest = accrue(b.getBalance(), rate.getInterestRate());
+                BigDecimal fee = accrue(b.getBalance(), rate.getFeeRate()).negate();
+                if (interest.signum() != 0) {
+                    movements.add(movement(accountId, currencyId, interest, CashMovementTypeEnum.INTEREST, movementDate));
+                }
+                if (fee.signum() != 0) {
+                    movements.add(movement(accountId, currencyId, fee, CashMovementTypeEnum.FEE, movementDate));
+                }
+            }
+        }
+
+        OffsetDateTime now = DateTimeUtils.now();
+        if (!movements.isEmpty()) {
+            // el saldo persistido lo proyecta el journal tras el commit de la partición
+            batchRepository.insertMovements(movements);
+            cashJournal.post(movements);
+            buyingPowerLedger.applyMovements(movements);
+        }
+
+        boolean more = accounts.size() == properties.chunkSize();
+        if (!accounts.isEmpty()) {
+            p.setLastAccountId(accounts.getLast().id());
+        }
+        p.setProcessedAccounts(p.getProcessedAccounts() + accounts.size());
+        p.setPostedMovements(p.getPostedMovements() + movements.size());
+        p.setStatus(more ? AccrualPartitionStatusEnum.RUNNING : AccrualPartitionStatusEnum.DONE);
+        p.setUpdatedAt(now);
+        return new ChunkResult(partitionRepository.save(p), more);
+    }
+
+    private BigDecimal accrue(BigDecimal balance, BigDecimal annualRate) {
+        if (annualRate == null || annualRate.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        // Importes por debajo del centavo se redondean a cero y no generan movimiento
+        return MoneyUtils.normalize(balance.multiply(annualRate, MC)
+                .divide(BigDecimal.valueOf(properties.dayCountBasis()), MC));
+    }
+
+    private static CashMovementEntity movement(UUID accountId, UUID currencyId, BigDecimal amount,
+                                               CashMovementTypeEnum type, OffsetDateTime date) {
+        return CashMovementEntity.builder()
+                .id(UUID.randomUUID())
+                .accountId(AccountEntity.builder().id(accountId).build())
+                .currency(CurrencyEntity.builder().id(currencyId).build())
+                .amount(amount)
+                .type(type)
+                .status(CashMovementStatusEnum.COMPLETED)
+                .date(date)
+                .note("Daily " + type.name().toLowerCase(Locale.ROOT) + " accrual " + date.toLocalDate())
+                .build();
+    }
+
+    private Map<RateKey, AccrualRateEntity> loadRates() {
+        Map<RateKey, AccrualRateEntity> rates = new HashMap<>();
+        for (AccrualRateEntity r : rateRepository.findAll()) {
+            rates.put(new RateKey(r.getAccountType(), r.getCurrencyId()), r);
+        }
+        return rates;
+    }
+
+    private record RateKey(AccountTypeEnum type, UUID currencyId) {}
+
+    private record ChunkResult(AccrualPartitionEntity partition, boolean more) {}
+}
@@ -0,0 +1,72 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.dto.BuyingPowerResponseDto;
+import com.investment.accounts.dto.ReservationRequestDto;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.service.BuyingPowerService;
+import com.investment.common.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.investment.accounts.ledger.BuyingPowerLedger.fromCents;
+import static com.investment.accounts.ledger.BuyingPowerLedger.toCents;
+
+/**
+ * Fachada del ledger de poder de compra. No es transaccional: el camino caliente
+ * (reserva previa a aceptar una orden) toca memoria y espera el group commit del journal.
+ */
+@Service
+@RequiredArgsConstructor
+public class BuyingPowerServiceImpl implements BuyingPowerService {
+
+    private final BuyingPowerLedger ledger;
+
+    @Override
+    public BuyingPowerResponseDto get(UUID accountId, UUID currencyId) {
+        if (accountId == null || currencyId == null) {
+            throw new BadRequestException("accountId and currencyId are required");
+        }
+        return toDto(ledger.snapshot(accountId, currencyId));
+    }
+
+    @Override
+    public BuyingPowerResponseDto reserve(ReservationRequestDto request) {
+        if (request == null || request.reservationId() == null
+                || request.accountId() == null || request.currencyId() == null) {
+            throw new BadRequestException("reservationId, accountId and currencyId are required");
+        }
+        return toDto(ledger.reserve(request.reservationId(), request.accountId(), request.currencyId(),
+                cents(request.amount())));
+    }
+
+    @Override
+    public BuyingPowerResponseDto release(UUID reservationId, BigDecimal amount) {
+        return toDto(ledger.release(reservationId, amount == null ? null : cents(amount)));
+    }
+
+    @Override
+    public BuyingPowerResponseDto consume(UUID reservationId, UUID tradeId, BigDecimal amount) {
+        return toDto(ledger.consume(reservationId, tradeId, cents(amount)));
+    }
+
+    private static long cents(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new BadRequestException("Amount must be greater than 0");
+        }
+        return toCents(amount);
+    }
+
+    private static BuyingPowerResponseDto toDto(BuyingPowerLedger.Snapshot s) {
+        return new BuyingPowerResponseDto(
+                s.accountId(),
+                s.currencyId(),
+                fromCents(s.balance()),
+                fromCents(s.reserved()),
+                fromCents(s.consumed()),
+                fromCents(s.available())
+        );
+    }
+}
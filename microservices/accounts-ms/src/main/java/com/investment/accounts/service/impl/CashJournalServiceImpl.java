@@ -0,0 +1,29 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.dto.CashJournalRebuildResponseDto;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.service.CashJournalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CashJournalServiceImpl implements CashJournalService {
+
+    private final CashJournal cashJournal;
+
+    @Override
+    public CashJournalRebuildResponseDto rebuild(OffsetDateTime since) {
+        // pasa por los escritores, por páginas: misma numeración por shard y sin duplicar lo ya asentado
+        long reposted = cashJournal.recoverSince(since);
+        int corrected = cashJournal.rebuildBalances();
+        log.info("Cash journal rebuild since {}: {} movements re-posted, {} balances corrected",
+                since, reposted, corrected);
+        return new CashJournalRebuildResponseDto(reposted, corrected,
+                cashJournal.pendingCount());
+    }
+}
@@ -0,0 +1,202 @@
+package com.investment.accounts.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.accounts.cache.ReferenceDataCache;
+import com.investment.accounts.configuration.CashMovementBatchProperties;
+import com.investment.accounts.dto.AccountBalanceResponseDto;
+import com.investment.accounts.dto.BulkMovementResponseDto;
+import com.investment.accounts.dto.CashMovementRequestDto;
+import com.investment.accounts.entity.AccountEntity;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.repository.AccountBalanceRepository;
+import com.investment.accounts.repository.CashMovementBatchRepository;
+import com.investment.accounts.service.CashMovementBatchService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.accounts.utils.MoneyUtils;
+import com.investment.accounts.utils.NumberUtils;
+import com.investment.accounts.utils.enums.CashMovementStatusEnum;
+import com.investment.common.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CashMovementBatchServiceImpl implements CashMovementBatchService {
+
+    private final CashMovementBatchRepository batchRepository;
+    private final AccountBalanceRepository balanceRepository;
+    private final ReferenceDataCache referenceData;
+    private final BuyingPowerLedger buyingPowerLedger;
+    private final CashJournal cashJournal;
+    private final CashMovementBatchProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public BulkMovementResponseDto registerAll(List<CashMovementRequestDto> movements) {
+        if (movements == null || movements.isEmpty()) {
+            throw new BadRequestException("movements cannot be empty");
+        }
+        if (movements.size() > properties.maxRequestSize()) {
+            throw new BadRequestException("Too many movements: max " + properties.maxRequestSize());
+        }
+
+        List<BulkMovementResponseDto.Rejected> rejected = new ArrayList<>();
+        int[] rejectedCount = {0};
+        int inserted = 0;
+        int chunkSize = properties.chunkSize();
+        // Una transacción por chunk: una corrida de fin de mes no mantiene abierta una transacción gigante
+        for (int from = 0; from < movements.size(); from += chunkSize) {
+            List<CashMovementRequestDto> chunk = movements.subList(from, Math.min(from + chunkSize, movements.size()));
+            int offset = from;
+            Integer written = transactionTemplate.execute(status -> writeChunk(chunk, offset, (index, reason) -> {
+                rejectedCount[0]++;
+                if (rejected.size() < properties.maxReportedErrors()) {
+                    rejected.add(new BulkMovementResponseDto.Rejected(index, reason));
+                }
+            }));
+            inserted += written == null ? 0 : written;
+        }
+        return new BulkMovementResponseDto(movements.size(), inserted, rejectedCount[0], rejected);
+    }
+
+    @Override
+    public void processCashMovements(List<String> messages, List<String> origins) {
+        List<CashMovementRequestDto> movements = new ArrayList<>(messages.size());
+        for (int m = 0; m < messages.size(); m++) {
+            try {
+                JsonNode node = objectMapper.readTree(messages.get(m));
+                Iterable<JsonNode> items = node.isArray() ? node : List.of(node);
+                int i = 0;
+                for (JsonNode item : items) {
+                    CashMovementRequestDto movement = objectMapper.treeToValue(item, CashMovementRequestDto.class);
+                    if (movement != null && movement.requestId() == null) {
+                        // Sin clave del productor: la posición en el topic es estable entre reintentos
+                        movement = movement.withRequestId(UUID.nameUUIDFromBytes(
+                                (origins.get(m) + "#" + i).getBytes(StandardCharsets.UTF_8)));
+                    }
+                    movements.add(movement);
+                    i++;
+                }
+            } catch (Exception e) {
+                log.error("Discarding malformed cash movement message: {}", e.getMessage());
+            }
+        }
+        if (movements.isEmpty()) {
+            return;
+        }
+        // Sin try/catch: si un chunk falla, el lote se reintenta y lo ya commiteado se salta por requestId
+        BulkMovementResponseDto result = registerAll(movements);
+        if (result.rejectedCount() > 0) {
+            log.warn("Cash movements batch: {} inserted, {} rejected, first errors: {}",
+                    result.inserted(), result.rejectedCount(), result.rejected());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AccountBalanceResponseDto> getBalances(UUID accountId) {
+        return balanceRepository.findAllByAccountId(accountId).stream()
+                .map(b -> new AccountBalanceResponseDto(
+                        b.getId().getAccountId(),
+                        b.getId().getCurrencyId(),
+                        b.getBalance(),
+                        b.getUpdatedAt()))
+                .toList();
+    }
+
+    // --- helpers ---
+
+    private int writeChunk(List<CashMovementRequestDto> chunk, int offset, RejectSink rejects) {
+        Set<UUID> accounts = referenceData.existingAccounts(
+                chunk.stream().map(m -> m == null ? null : m.accountId()).toList());
+        OffsetDateTime now = DateTimeUtils.now();
+
+        ReferenceDataCache.CurrencyResolver currencies = referenceData.currencyResolver();
+        List<CashMovementEntity> rows = new ArrayList<>(chunk.size());
+        List<Integer> indexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            CashMovementRequestDto m = chunk.get(i);
+            String error = validate(m, accounts);
+            UUID currencyId = error == null ? currencies.resolve(m.currencyId(), m.currencyCode()) : null;
+            if (error == null && currencyId == null) {
+                error = "Unknown currency: " + (m.currencyId() != null ? m.currencyId() : m.currencyCode());
+            }
+            if (error != null) {
+                rejects.reject(offset + i, error);
+                continue;
+            }
+
+            BigDecimal amount = MoneyUtils.normalize(m.amount());
+            rows.add(CashMovementEntity.builder()
+                    .id(UUID.randomUUID())
+                    .accountId(AccountEntity.builder().id(m.accountId()).build())
+                    .currency(CurrencyEntity.builder().id(currencyId).build())
+                    .amount(amount)
+                    .type(m.type())
+                    .status(CashMovementStatusEnum.COMPLETED) // ya validado: se inserta directamente completado
+                    .date(m.date() != null ? m.date() : now)
+                    .note(NumberUtils.trimOrNull(m.note()))
+                    .requestId(m.requestId())
+                    .build());
+            indexes.add(offset + i);
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // Solo lo que entró sigue al journal y al ledger: un requestId repetido no mueve saldo dos veces
+        List<CashMovementEntity> inserted = batchRepository.insertNewMovements(rows);
+        if (inserted.size() < rows.size()) {
+            Set<UUID> landed = new HashSet<>();
+            inserted.forEach(r -> landed.add(r.getId()));
+            for (int i = 0; i < rows.size(); i++) {
+                if (!landed.contains(rows.get(i).getId())) {
+                    rejects.reject(indexes.get(i), "Already registered: requestId " + rows.get(i).getRequestId());
+                }
+            }
+        }
+        if (inserted.isEmpty()) {
+            return 0;
+        }
+        // el saldo persistido lo proyecta el journal tras el commit
+        cashJournal.post(inserted);
+        buyingPowerLedger.applyMovements(inserted);
+        return inserted.size();
+    }
+
+    private static String validate(CashMovementRequestDto m, Set<UUID> existingAccounts) {
+        if (m == null) {
+            return "Movement is null";
+        }
+        if (m.accountId() == null || !existingAccounts.contains(m.accountId())) {
+            return "Unknown account: " + m.accountId();
+        }
+        if (m.amount() == null || m.amount().signum() == 0) {
+            return "Amount must be non-zero";
+        }
+        if (m.type() == null) {
+            return "Type is required";
+        }
+        return null;
+    }
+
+
+    @FunctionalInterface
+    private interface RejectSink {
+        void reject(int index, String reason);
+    }
+}
@@ -0,0 +1,260 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.adjustment.PriceAdjustmentSchedule;
+import com.investment.accounts.adjustment.PriceAdjustmentSchedule.Adjustment;
+import com.investment.accounts.dto.AdjustedPriceDto;
+import com.investment.accounts.dto.CorporateActionEventDto;
+import com.investment.accounts.dto.CorporateActionRequestDto;
+import com.investment.accounts.dto.CorporateActionResponseDto;
+import com.investment.accounts.entity.CorporateActionEntity;
+import com.investment.accounts.entity.PriceEntity;
+import com.investment.accounts.model.PriceBarModel;
+import com.investment.accounts.repository.CorporateActionRepository;
+import com.investment.accounts.repository.InstrumentRepository;
+import com.investment.accounts.repository.PriceRepository;
+import com.investment.accounts.service.AccountsEventProducer;
+import com.investment.accounts.service.CorporateActionService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.accounts.utils.enums.CorporateActionStatusEnum;
+import com.investment.accounts.utils.enums.CorporateActionTypeEnum;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.common.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CorporateActionServiceImpl implements CorporateActionService {
+
+    private static final int PRICE_SCALE = 6;  // prices numeric(18,6)
+    private static final long PUBLISH_TIMEOUT_SECONDS = 30; // espera total de acks por corrida
+
+    private final CorporateActionRepository actionRepository;
+    private final InstrumentRepository instrumentRepository;
+    private final PriceRepository priceRepository;
+    private final AccountsEventProducer eventProducer;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<UUID, PriceAdjustmentSchedule> schedules = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(); // se incrementa en cada invalidación
+
+    @Override
+    public CorporateActionResponseDto record(CorporateActionRequestDto request) {
+        validate(request);
+        CorporateActionEntity saved = transactionTemplate.execute(status -> {
+            if (!instrumentRepository.existsById(request.instrumentId())) {
+                throw new NotFoundException("Instrument not found: " + request.instrumentId());
+            }
+            if (actionRepository.existsByInstrumentIdAndTypeAndExDate(
+                    request.instrumentId(), request.type(), request.exDate())) {
+                throw new BusinessException("Corporate action already recorded for the instrument, type and ex-date");
+            }
+            boolean cash = request.type() == CorporateActionTypeEnum.CASH_DIVIDEND;
+            return actionRepository.save(CorporateActionEntity.builder()
+                    .instrumentId(request.instrumentId())
+                    .type(request.type())
+                    .exDate(request.exDate())
+                    .ratio(cash ? null : request.ratio())
+                    .cashAmount(cash ? request.cashAmount() : null)
+                    .status(CorporateActionStatusEnum.ANNOUNCED)
+                    .createdAt(DateTimeUtils.now())
+                    .build());
+        });
+
+        // Ya comiteado: se descartan los factores cacheados y, si la fecha ex ya pasó, se procesa en el acto
+        evict(saved.getInstrumentId());
+        LocalDate today = DateTimeUtils.now().toLocalDate();
+        if (!saved.getExDate().isAfter(today)) {
+            processDue(today);
+        }
+        return toResponse(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CorporateActionResponseDto> findByInstrument(UUID instrumentId) {
+        if (instrumentId == null) {
+            throw new BadRequestException("instrumentId is required");
+        }
+        return actionRepository.findAllByInstrumentIdOrderByExDate(instrumentId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    public PriceAdjustmentSchedule schedule(UUID instrumentId) {
+        PriceAdjustmentSchedule cached = schedules.get(instrumentId);
+        if (cached != null) {
+            return cached;
+        }
+        long loadGeneration = generation.get();
+        PriceAdjustmentSchedule loaded = compile(instrumentId);
+        // Si hubo un evento nuevo durante la carga no se cachea un resultado posiblemente viejo
+        if (loadGeneration == generation.get()) {
+            schedules.putIfAbsent(instrumentId, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AdjustedPriceDto> adjustedPrices(UUID instrumentId, LocalDate from, LocalDate to) {
+        if (instrumentId == null || from == null || to == null) {
+            throw new BadRequestException("instrumentId, from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must be on or before to");
+        }
+
+        PriceAdjustmentSchedule schedule = schedule(instrumentId);
+        List<PriceBarModel> bars = priceRepository.findBars(instrumentId,
+                from.atStartOfDay().atOffset(ZoneOffset.UTC),
+                to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC));
+        List<AdjustedPriceDto> result = new ArrayList<>(bars.size());
+        for (PriceBarModel b : bars) {
+            BigDecimal pf = schedule.priceFactor(b.ts().toInstant());
+            BigDecimal vf = schedule.volumeFactor(b.ts().toInstant());
+            result.add(new AdjustedPriceDto(b.ts(),
+                    adjust(b.open(), pf), adjust(b.high(), pf), adjust(b.low(), pf), adjust(b.close(), pf),
+                    adjust(b.volume(), vf), pf));
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${app.corporate-actions.cron:0 5 0 * * *}", zone = "UTC")
+    public void processDueToday() {
+        try {
+            int processed = processDue(DateTimeUtils.now().toLocalDate());
+            if (processed > 0) {
+                log.info("Processed {} corporate actions", processed);
+            }
+        } catch (Exception e) {
+            log.error("Corporate actions run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int processDue(LocalDate upTo) {
+        Integer processed = transactionTemplate.execute(status -> {
+            List<CorporateActionEntity> due = actionRepository.lockDue(CorporateActionStatusEnum.ANNOUNCED, upTo);
+            // Se envían todos sin esperar y después se junta cada ack: solo pasa a PROCESSED lo que
+            // el broker confirmó; el resto queda ANNOUNCED y lo reintenta la próxima corrida
+            List<CompletableFuture<?>> acks = new ArrayList<>(due.size());
+            for (CorporateActionEntity a : due) {
+                acks.add(a.getType().changesQuantity() ? publish(a) : CompletableFuture.completedFuture(null));
+            }
+            OffsetDateTime now = DateTimeUtils.now();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(PUBLISH_TIMEOUT_SECONDS);
+            int done = 0;
+            for (int i = 0; i < due.size(); i++) {
+                CorporateActionEntity a = due.get(i);
+                try {
+                    acks.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for corporate action acks", e);
+                } catch (ExecutionException | TimeoutException e) {
+                    log.error("Corporate action {} not published, left ANNOUNCED for the next run: {}",
+                            a.getId(), e.getMessage());
+                    continue;
+                }
+                a.setStatus(CorporateActionStatusEnum.PROCESSED);
+                a.setProcessedAt(now);
+                done++;
+            }
+            return done;
+        });
+        return processed == null ? 0 : processed;
+    }
+
+    // --- helpers ---
+
+    private CompletableFuture<?> publish(CorporateActionEntity a) {
+        try {
+            // positions-ms registra el actionId: un reenvío no vuelve a aplicar el split
+            return eventProducer.publishCorporateAction(new CorporateActionEventDto(
+                    a.getId(), a.getInstrumentId(), a.getType(), a.getExDate(), a.getRatio()));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e); // p. ej. buffer lleno: no corta el resto
+        }
+    }
+
+    private PriceAdjustmentSchedule compile(UUID instrumentId) {
+        List<CorporateActionEntity> actions = actionRepository.findAllByInstrumentIdOrderByExDate(instrumentId);
+        if (actions.isEmpty()) {
+            return PriceAdjustmentSchedule.NONE;
+        }
+        List<Adjustment> adjustments = new ArrayList<>(actions.size());
+        for (CorporateActionEntity a : actions) {
+            if (a.getType() == CorporateActionTypeEnum.CASH_DIVIDEND) {
+                // Una consulta por dividendo, solo al recompilar (no por barra ni por request)
+                BigDecimal previousClose = priceRepository.findTopByIdInstrumentIdAndIdTsLessThanOrderByIdTsDesc(
+                                instrumentId, a.getExDate().atStartOfDay().atOffset(ZoneOffset.UTC))
+                        .map(PriceEntity::getClose)
+                        .orElse(null);
+                adjustments.add(Adjustment.ofCashDividend(a.getExDate(), a.getCashAmount(), previousClose));
+            } else {
+                adjustments.add(Adjustment.ofRatio(a.getExDate(), a.getRatio()));
+            }
+        }
+        return PriceAdjustmentSchedule.compile(adjustments);
+    }
+
+    private void evict(UUID instrumentId) {
+        generation.incrementAndGet();
+        schedules.remove(instrumentId);
+    }
+
+    private static BigDecimal adjust(BigDecimal value, BigDecimal factor) {
+        return value == null ? null : value.multiply(factor).setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static void validate(CorporateActionRequestDto r) {
+        if (r == null || r.instrumentId() == null || r.type() == null || r.exDate() == null) {
+            throw new BadRequestException("instrumentId, type and exDate are required");
+        }
+        switch (r.type()) {
+            case SPLIT, STOCK_DIVIDEND -> {
+                if (r.ratio() == null || r.ratio().compareTo(BigDecimal.ONE) <= 0) {
+                    throw new BadRequestException(r.type() + " requires ratio greater than 1");
+                }
+            }
+            case REVERSE_SPLIT -> {
+                if (r.ratio() == null || r.ratio().signum() <= 0 || r.ratio().compareTo(BigDecimal.ONE) >= 0) {
+                    throw new BadRequestException("REVERSE_SPLIT requires ratio between 0 and 1");
+                }
+            }
+            case CASH_DIVIDEND -> {
+                if (r.cashAmount() == null || r.cashAmount().signum() <= 0) {
+                    throw new BadRequestException("CASH_DIVIDEND requires cashAmount greater than 0");
+                }
+            }
+        }
+    }
+
+    private CorporateActionResponseDto toResponse(CorporateActionEntity e) {
+        return new CorporateActionResponseDto(e.getId(), e.getInstrumentId(), e.getType(), e.getExDate(),
+                e.getRatio(), e.getCashAmount(), e.getStatus(), e.getProcessedAt());
+    }
+}
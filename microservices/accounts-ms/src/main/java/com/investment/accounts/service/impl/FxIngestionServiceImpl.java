@@ -0,0 +1,129 @@
+package com.investment.accounts.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.accounts.cache.FxRateCache;
+import com.investment.accounts.cache.ReferenceDataCache;
+import com.investment.accounts.configuration.FxProperties;
+import com.investment.accounts.dto.FxTickDto;
+import com.investment.accounts.dto.FxTickIngestResponseDto;
+import com.investment.accounts.fx.FxBarConflator;
+import com.investment.accounts.model.FxRatePointModel;
+import com.investment.accounts.service.FxIngestionService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.common.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FxIngestionServiceImpl implements FxIngestionService {
+
+    private static final int RATE_SCALE = 10; // fx_rates.rate numeric(20,10)
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ReferenceDataCache referenceData;
+    private final FxRateCache rateCache;
+    private final FxBarConflator conflator;
+    private final FxProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public FxTickIngestResponseDto ingest(List<FxTickDto> ticks) {
+        if (ticks == null || ticks.isEmpty()) {
+            throw new BadRequestException("ticks cannot be empty");
+        }
+        if (ticks.size() > properties.maxBatchSize()) {
+            throw new BadRequestException("Too many ticks: max " + properties.maxBatchSize());
+        }
+
+        List<FxTickIngestResponseDto.Rejected> rejected = new ArrayList<>();
+        int rejectedCount = 0;
+        OffsetDateTime now = DateTimeUtils.now();
+        ReferenceDataCache.CurrencyResolver currencies = referenceData.currencyResolver();
+        for (int i = 0; i < ticks.size(); i++) {
+            FxTickDto t = ticks.get(i);
+            String error = validate(t);
+            UUID from = null;
+            UUID to = null;
+            if (error == null) {
+                from = currencies.resolve(t.fromCurrencyId(), t.fromCurrencyCode());
+                to = currencies.resolve(t.toCurrencyId(), t.toCurrencyCode());
+                if (from == null || to == null) {
+                    error = "Unknown currency: " + (from == null
+                            ? (t.fromCurrencyId() != null ? t.fromCurrencyId() : t.fromCurrencyCode())
+                            : (t.toCurrencyId() != null ? t.toCurrencyId() : t.toCurrencyCode()));
+                } else if (from.equals(to)) {
+                    error = "fromCurrency and toCurrency must differ";
+                }
+            }
+            if (error != null) {
+                if (rejected.size() < MAX_REPORTED_ERRORS) {
+                    rejected.add(new FxTickIngestResponseDto.Rejected(i, error));
+                }
+                rejectedCount++;
+                continue;
+            }
+
+            FxRatePointModel point = new FxRatePointModel(
+                    t.ts() != null ? t.ts() : now,
+                    t.rate().setScale(RATE_SCALE, RoundingMode.HALF_UP));
+            rateCache.put(from, to, point);
+            conflator.offer(from, to, point);
+        }
+        return new FxTickIngestResponseDto(ticks.size(), ticks.size() - rejectedCount, rejectedCount, rejected);
+    }
+
+    @Override
+    public void processTicks(List<String> messages) {
+        List<FxTickDto> ticks = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                JsonNode node = objectMapper.readTree(message);
+                if (node.isArray()) {
+                    for (JsonNode item : node) {
+                        ticks.add(objectMapper.treeToValue(item, FxTickDto.class));
+                    }
+                } else {
+                    ticks.add(objectMapper.treeToValue(node, FxTickDto.class));
+                }
+            } catch (Exception e) {
+                log.error("Discarding malformed FX tick message: {}", e.getMessage());
+            }
+        }
+        if (ticks.isEmpty()) {
+            return;
+        }
+        try {
+            FxTickIngestResponseDto result = ingest(ticks);
+            if (result.rejectedCount() > 0) {
+                log.warn("FX ticks batch: {} accepted, {} rejected, first errors: {}",
+                        result.accepted(), result.rejectedCount(), result.rejected());
+            }
+        } catch (Exception e) {
+            log.error("Failed to ingest FX ticks batch of {}: {}", ticks.size(), e.getMessage(), e);
+        }
+    }
+
+    private static String validate(FxTickDto t) {
+        if (t == null) {
+            return "Tick is null";
+        }
+        if ((t.fromCurrencyId() == null && t.fromCurrencyCode() == null)
+                || (t.toCurrencyId() == null && t.toCurrencyCode() == null)) {
+            return "fromCurrency and toCurrency are required";
+        }
+        if (t.rate() == null || t.rate().signum() <= 0) {
+            return "Rate must be greater than 0";
+        }
+        return null;
+    }
+}
@@ -1,22 +1,29 @@
 package com.investment.accounts.service.impl;
 
+import com.investment.accounts.cache.FxRateCache;
+import com.investment.accounts.configuration.FxProperties;
+import com.investment.accounts.dto.FxConversionItemDto;
+import com.investment.accounts.dto.FxConversionResultDto;
 import com.investment.accounts.entity.CurrencyEntity;
 import com.investment.accounts.entity.FxRateEntity;
+import com.investment.accounts.model.FxRatePointModel;
 import com.investment.accounts.repository.CurrencyRepository;
 import com.investment.accounts.repository.FxRateRepository;
 import com.investment.accounts.service.FxService;
 import com.investment.accounts.utils.FxUtils;
 import com.investment.accounts.utils.MoneyUtils;
 import com.investment.accounts.utils.NumberUtils;
+import com.investment.common.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.OffsetDateTime;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -24,6 +31,8 @@ public class FxServiceImpl implements FxService {
 
     private final CurrencyRepository currencyRepository;
     private final FxRateRepository fxRateRepository;
+    private final FxProperties fxProperties;
+    private final FxRateCache rateCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -57,10 +66,126 @@ public class FxServiceImpl implements FxService {
         if (NumberUtils.isZeroOrNull(amount) || fromCurrencyId.equals(toCurrencyId))
             return MoneyUtils.normalize(amount);
 
-        BigDecimal rate = getLastRate(fromCurrencyId, toCurrencyId)
-                .map(FxRateEntity::getRate)
+        BigDecimal rate = latestRate(fromCurrencyId, toCurrencyId)
+                .map(FxRatePointModel::rate)
                 .orElseThrow(() -> new IllegalStateException("No FX rate disponible para la pareja"));
 
         return FxUtils.applyRate(amount, rate);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FxConversionResultDto> convertAll(List<FxConversionItemDto> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("items cannot be empty");
+        }
+        if (items.size() > fxProperties.maxBatchSize()) {
+            throw new BadRequestException("Batch too large: max " + fxProperties.maxBatchSize() + " items");
+        }
+
+        // 1) Índices de los ítems agrupados por par; los inválidos se contestan sin tocar la base
+        FxConversionResultDto[] results = new FxConversionResultDto[items.size()];
+        Map<Pair, List<Integer>> byPair = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            FxConversionItemDto item = items.get(i);
+            if (item == null || item.amount() == null || item.fromCurrencyId() == null || item.toCurrencyId() == null) {
+                results[i] = failed("amount, fromCurrencyId and toCurrencyId are required");
+            } else if (item.fromCurrencyId().equals(item.toCurrencyId())) {
+                results[i] = new FxConversionResultDto(MoneyUtils.normalize(item.amount()), BigDecimal.ONE, null, null);
+            } else {
+                byPair.computeIfAbsent(new Pair(item.fromCurrencyId(), item.toCurrencyId()), k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // 2) Una resolución por par; después cada ítem es una búsqueda binaria en memoria
+        byPair.forEach((pair, indexes) -> {
+            RateSeries series = resolve(pair, indexes, items);
+            for (int i : indexes) {
+                FxConversionItemDto item = items.get(i);
+                BigDecimal amount = MoneyUtils.normalize(item.amount());
+                FxRatePointModel point = series.at(item.asOf());
+                if (point != null) {
+                    results[i] = new FxConversionResultDto(FxUtils.applyRate(amount, point.rate()),
+                            point.rate(), point.ts(), null);
+                } else if (amount.signum() == 0) {
+                    results[i] = new FxConversionResultDto(amount, null, null, null); // igual que convert()
+                } else {
+                    results[i] = failed("No FX rate available for the pair");
+                }
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    private RateSeries resolve(Pair pair, List<Integer> indexes, List<FxConversionItemDto> items) {
+        boolean needsLatest = false;
+        TreeSet<OffsetDateTime> asOfs = new TreeSet<>();
+        for (int i : indexes) {
+            OffsetDateTime asOf = items.get(i).asOf();
+            if (asOf == null) {
+                needsLatest = true;
+            } else {
+                asOfs.add(asOf);
+            }
+        }
+
+        FxRatePointModel latest = needsLatest ? latestRate(pair.from(), pair.to()).orElse(null) : null;
+
+        List<FxRatePointModel> points = new ArrayList<>();
+        if (asOfs.size() <= fxProperties.pointLookups()) {
+            // Pocas fechas: una consulta puntual por fecha, sin traer la serie intermedia
+            for (OffsetDateTime asOf : asOfs) {
+                points.addAll(fxRateRepository.findLatestAtOrBefore(pair.from(), pair.to(), asOf, Limit.of(1)));
+            }
+        } else {
+            // Muchas fechas: la tasa vigente al inicio del rango + el tramo [min, max] en una sola pasada
+            OffsetDateTime min = asOfs.first();
+            points.addAll(fxRateRepository.findLatestAtOrBefore(pair.from(), pair.to(), min, Limit.of(1)));
+            points.addAll(fxRateRepository.findSeries(pair.from(), pair.to(), min, asOfs.last()));
+        }
+        points.sort(Comparator.comparing(FxRatePointModel::ts));
+        return new RateSeries(latest, points);
+    }
+
+    // Última tasa: primero la caché que alimenta la ingesta de ticks, si no la base
+    private Optional<FxRatePointModel> latestRate(UUID fromCurrencyId, UUID toCurrencyId) {
+        FxRatePointModel cached = rateCache.get(fromCurrencyId, toCurrencyId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<FxRatePointModel> loaded = getLastRate(fromCurrencyId, toCurrencyId)
+                .map(r -> new FxRatePointModel(r.getId().getTs(), r.getRate()));
+        loaded.ifPresent(p -> rateCache.put(fromCurrencyId, toCurrencyId, p));
+        return loaded;
+    }
+
+    private static FxConversionResultDto failed(String error) {
+        return new FxConversionResultDto(null, null, null, error);
+    }
+
+    private record Pair(UUID from, UUID to) {}
+
+    private record RateSeries(FxRatePointModel latest, List<FxRatePointModel> points) {
+
+        /** Tasa vigente a asOf (la última con ts <= asOf); asOf null = última disponible. */
+        FxRatePointModel at(OffsetDateTime asOf) {
+            if (asOf == null) {
+                return latest;
+            }
+            int lo = 0;
+            int hi = points.size() - 1;
+            FxRatePointModel found = null;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                FxRatePointModel p = points.get(mid);
+                if (p.ts().isAfter(asOf)) {
+                    hi = mid - 1;
+                } else {
+                    found = p;
+                    lo = mid + 1;
+                }
+            }
+            return found;
+        }
+    }
+}
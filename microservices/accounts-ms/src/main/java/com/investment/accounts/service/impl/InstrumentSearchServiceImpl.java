@@ -0,0 +1,89 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.cache.MarketDataCache;
+import com.investment.accounts.configuration.InstrumentSearchProperties;
+import com.investment.accounts.dto.InstrumentSearchResultDto;
+import com.investment.accounts.model.InstrumentSearchModel;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.search.InstrumentSearchIndex;
+import com.investment.accounts.service.InstrumentSearchService;
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+import com.investment.common.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InstrumentSearchServiceImpl implements InstrumentSearchService {
+
+    private final MarketDataCache marketData;
+    private final InstrumentSearchProperties properties;
+
+    // Se reemplaza entero en cada refresco; null hasta la primera carga
+    private volatile InstrumentSearchIndex index;
+
+    @Override
+    public List<InstrumentSearchResultDto> search(String query, InstrumentTypeEnum type,
+                                                  boolean includeInactive, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("q is required");
+        }
+        int max = limit == null ? properties.defaultLimit() : limit;
+        if (max <= 0 || max > properties.maxLimit()) {
+            throw new BadRequestException("limit must be between 1 and " + properties.maxLimit());
+        }
+
+        InstrumentSearchIndex current = index;
+        if (current == null) {
+            refresh(); // primera búsqueda antes de que termine el arranque
+            current = index;
+        }
+        Predicate<InstrumentSearchModel> filter = i ->
+                (type == null || i.type() == type)
+                        && (includeInactive || i.status() == InstrumentStatusEnum.ACTIVE);
+        return current.search(query, max, properties.maxScan(), filter).stream()
+                .map(hit -> new InstrumentSearchResultDto(
+                        hit.instrument().id(),
+                        hit.instrument().symbol(),
+                        hit.instrument().name(),
+                        hit.instrument().type(),
+                        hit.instrument().status(),
+                        hit.match()))
+                .toList();
+    }
+
+    @Override
+    public synchronized int refresh() {
+        long start = System.nanoTime();
+        // Desde la cache de market data (snapshot mapeado + cambios): no se recorre accounts.instruments
+        InstrumentSearchIndex rebuilt = InstrumentSearchIndex.build(marketData.instruments().stream()
+                .map(InstrumentRefModel::toSearchModel)
+                .sorted(Comparator.comparing(InstrumentSearchModel::symbol))
+                .toList());
+        index = rebuilt;
+        log.info("Instrument search index rebuilt: {} instruments in {} ms",
+                rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+        return rebuilt.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.instrument-search.refresh-cron:0 */10 * * * *}", zone = "UTC")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // se sigue sirviendo el índice anterior
+            log.error("Instrument search index refresh failed: {}", e.getMessage(), e);
+        }
+    }
+}
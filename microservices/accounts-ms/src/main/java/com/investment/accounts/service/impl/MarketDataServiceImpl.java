@@ -0,0 +1,170 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.cache.FxRateCache;
+import com.investment.accounts.cache.MarketDataCache;
+import com.investment.accounts.configuration.MarketDataSnapshotProperties;
+import com.investment.accounts.dto.InstrumentRefDto;
+import com.investment.accounts.dto.LastPriceDto;
+import com.investment.accounts.dto.MarketDataSnapshotResponseDto;
+import com.investment.accounts.model.FxLatestRateModel;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.model.LastPriceModel;
+import com.investment.accounts.model.ListingRefModel;
+import com.investment.accounts.repository.MarketDataDeltaRepository;
+import com.investment.accounts.repository.MarketDataDeltaRepository.Delta;
+import com.investment.accounts.service.MarketDataService;
+import com.investment.accounts.snapshot.MarketDataSnapshot;
+import com.investment.accounts.snapshot.MarketDataSnapshot.Watermarks;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MarketDataServiceImpl implements MarketDataService {
+
+    private final MarketDataCache cache;
+    private final MarketDataDeltaRepository deltaRepository;
+    private final FxRateCache fxRateCache;
+    private final MarketDataSnapshotProperties properties;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE) // antes que los índices que se arman desde esta cache
+    public synchronized void load() {
+        long start = System.nanoTime();
+        Path file = properties.file();
+        boolean warm = false;
+        if (Files.exists(file)) {
+            try {
+                cache.install(MarketDataSnapshot.open(file));
+                warm = true;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Ignoring market data snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        cache.fxRates().forEach(this::seedFx);
+        int changes = 0;
+        try {
+            changes = refreshDeltas();
+        } catch (Exception e) {
+            // se arranca con lo del snapshot; la próxima carga incremental reintenta
+            log.error("Market data delta load failed: {}", e.getMessage(), e);
+        }
+        MarketDataSnapshot base = cache.base();
+        log.info("Market data loaded in {} ms: {} ({} instruments, {} fx pairs, {} prices) plus {} changes from Postgres",
+                (System.nanoTime() - start) / 1_000_000, warm ? "snapshot " + file : "no snapshot",
+                base.instrumentCount(), base.fxRateCount(), base.priceCount(), changes);
+        if (!warm) {
+            // Arranque en frío: se deja el snapshot escrito para que el próximo sea rápido
+            scheduledSnapshot();
+        }
+    }
+
+    @Override
+    public synchronized int refreshDeltas() {
+        Watermarks from = cache.watermarks();
+        Delta<InstrumentRefModel> instruments = deltaRepository.instrumentsSince(rewind(from.instruments()));
+        Delta<ListingRefModel> listings = deltaRepository.listingsSince(rewind(from.listings()));
+        Delta<FxLatestRateModel> fxRates = deltaRepository.fxRatesSince(rewind(from.fxRates()));
+        Delta<LastPriceModel> prices = deltaRepository.pricesSince(rewind(from.prices()));
+
+        cache.apply(instruments.rows(), listings.rows(), fxRates.rows(), prices.rows(),
+                new Watermarks(instruments.watermark(), listings.watermark(), fxRates.watermark(), prices.watermark()));
+        fxRates.rows().forEach(this::seedFx);
+        return instruments.rows().size() + listings.rows().size() + fxRates.rows().size() + prices.rows().size();
+    }
+
+    @Override
+    public synchronized MarketDataSnapshotResponseDto writeSnapshot() {
+        long start = System.nanoTime();
+        Path file = properties.file();
+        try {
+            long bytes = MarketDataSnapshot.write(file, cache.contents());
+            MarketDataSnapshot written = MarketDataSnapshot.open(file);
+            cache.install(written);
+            log.info("Market data snapshot written to {} in {} ms: {} bytes",
+                    file, (System.nanoTime() - start) / 1_000_000, bytes);
+            return new MarketDataSnapshotResponseDto(file.toString(), bytes, written.instrumentCount(),
+                    written.listingCount(), written.fxRateCount(), written.priceCount(), written.createdAt());
+        } catch (IOException e) {
+            throw new BusinessException("Could not write market data snapshot: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<LastPriceDto> lastPrices(Collection<UUID> instrumentIds) {
+        if (instrumentIds == null || instrumentIds.isEmpty()) {
+            throw new BadRequestException("instrumentIds cannot be empty");
+        }
+        List<LastPriceDto> result = new ArrayList<>(instrumentIds.size());
+        for (UUID id : new LinkedHashSet<>(instrumentIds)) {
+            LastPriceModel p = id == null ? null : cache.lastPrice(id);
+            if (p != null) {
+                result.add(new LastPriceDto(p.instrumentId(), p.close(), p.ts()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<InstrumentRefDto> instruments(Collection<UUID> instrumentIds) {
+        if (instrumentIds == null || instrumentIds.isEmpty()) {
+            throw new BadRequestException("instrumentIds cannot be empty");
+        }
+        List<InstrumentRefDto> result = new ArrayList<>(instrumentIds.size());
+        for (UUID id : new LinkedHashSet<>(instrumentIds)) {
+            InstrumentRefModel i = id == null ? null : cache.instrument(id);
+            if (i != null) {
+                result.add(new InstrumentRefDto(i.id(), i.symbol(), i.name(), i.type(), i.status(), i.currencyId()));
+            }
+        }
+        return result;
+    }
+
+    @Scheduled(cron = "${app.market-data.delta-cron:*/30 * * * * *}", zone = "UTC")
+    public void scheduledRefresh() {
+        try {
+            refreshDeltas();
+        } catch (Exception e) {
+            // se sigue sirviendo lo que ya está en memoria
+            log.error("Market data delta refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.market-data.snapshot-cron:0 */15 * * * *}", zone = "UTC")
+    public void scheduledSnapshot() {
+        if (cache.pendingChanges() == 0) {
+            return;
+        }
+        try {
+            writeSnapshot();
+        } catch (Exception e) {
+            log.error("Market data snapshot failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // --- helpers ---
+
+    private OffsetDateTime rewind(OffsetDateTime watermark) {
+        return watermark.minus(properties.deltaOverlap());
+    }
+
+    private void seedFx(FxLatestRateModel rate) {
+        fxRateCache.put(rate.fromCurrencyId(), rate.toCurrencyId(), rate.toPoint());
+    }
+}
@@ -0,0 +1,108 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.configuration.RecalculationJobProperties;
+import com.investment.accounts.dto.RecalculationJobResponseDto;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.service.AccountsEventProducer;
+import com.investment.accounts.service.PositionsRecalculationService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.accounts.utils.enums.RecalculationJobStatusEnum;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PositionsRecalculationServiceImpl implements PositionsRecalculationService {
+
+    private final AccountRepository accountRepository;
+    private final AccountsEventProducer eventProducer;
+    private final RecalculationJobProperties properties;
+
+    // Los jobs viven en memoria de la instancia que los creó hasta vencer la retención
+    private final ConcurrentHashMap<UUID, Job> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional(readOnly = true)
+    public RecalculationJobResponseDto requestForPortfolio(UUID portfolioId) {
+        if (portfolioId == null) {
+            throw new BadRequestException("portfolioId is required");
+        }
+        List<UUID> accountIds = accountRepository.findIdsByPortfolioId(portfolioId);
+        if (accountIds.isEmpty()) {
+            throw new NotFoundException("No accounts found for portfolio: " + portfolioId);
+        }
+
+        OffsetDateTime now = DateTimeUtils.now();
+        evictExpired(now);
+        Job job = new Job(UUID.randomUUID(), portfolioId, accountIds.size(), now);
+        jobs.put(job.id, job);
+
+        eventProducer.publishPositionsRecalculateRequested(accountIds, (accountId, error) -> {
+            if (error == null) {
+                job.published.incrementAndGet();
+            } else {
+                job.failed.incrementAndGet();
+                log.warn("Recalculation job {}: request for account {} not published: {}",
+                        job.id, accountId, error.getMessage());
+            }
+        }).whenComplete((ignored, error) -> {
+            job.completedAt = DateTimeUtils.now();
+            log.info("Recalculation job {} for portfolio {}: {} published, {} failed",
+                    job.id, portfolioId, job.published.get(), job.failed.get());
+        });
+        return job.toDto();
+    }
+
+    @Override
+    public RecalculationJobResponseDto getJob(UUID jobId) {
+        Job job = jobId == null ? null : jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException("Recalculation job not found: " + jobId);
+        }
+        return job.toDto();
+    }
+
+    // --- helpers ---
+
+    private void evictExpired(OffsetDateTime now) {
+        OffsetDateTime limit = now.minus(properties.retention());
+        jobs.values().removeIf(j -> j.completedAt != null && j.completedAt.isBefore(limit));
+    }
+
+    private static final class Job {
+        final UUID id;
+        final UUID portfolioId;
+        final int accounts;
+        final OffsetDateTime requestedAt;
+        final AtomicInteger published = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        volatile OffsetDateTime completedAt;
+
+        Job(UUID id, UUID portfolioId, int accounts, OffsetDateTime requestedAt) {
+            this.id = id;
+            this.portfolioId = portfolioId;
+            this.accounts = accounts;
+            this.requestedAt = requestedAt;
+        }
+
+        RecalculationJobResponseDto toDto() {
+            OffsetDateTime done = completedAt;
+            RecalculationJobStatusEnum status = done == null ? RecalculationJobStatusEnum.PUBLISHING
+                    : failed.get() > 0 ? RecalculationJobStatusEnum.FAILED
+                    : RecalculationJobStatusEnum.COMPLETED;
+            return new RecalculationJobResponseDto(id, portfolioId, status, accounts,
+                    published.get(), failed.get(), requestedAt, done);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.cache.MarketDataCache;
+import com.investment.accounts.cache.ReferenceDataCache;
+import com.investment.accounts.configuration.ProjectionProperties;
+import com.investment.accounts.configuration.RiskProperties;
+import com.investment.accounts.dto.ProjectionRequestDto;
+import com.investment.accounts.dto.ProjectionResponseDto;
+import com.investment.accounts.dto.ProjectionYearDto;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.risk.CovarianceCache;
+import com.investment.accounts.risk.ExposureLoader;
+import com.investment.accounts.risk.PortfolioExposure;
+import com.investment.accounts.risk.ProjectionEngine;
+import com.investment.accounts.risk.QuantileSketch;
+import com.investment.accounts.risk.ReturnMatrix;
+import com.investment.accounts.risk.ReturnMatrixCache;
+import com.investment.accounts.service.ProjectionService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.common.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proyección Monte Carlo de una cartera.
+ * <p>
+ * Toma las mismas exposiciones que la corrida de riesgo ({@link ExposureLoader}) y la covarianza
+ * del universo de la cartera desde {@link CovarianceCache}, sobre la matriz de retornos de la
+ * última corrida nocturna (fecha de ayer, así el cache se comparte). El drift sale de
+ * {@link ProjectionProperties#expectedReturns()} por tipo de instrumento.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectionServiceImpl implements ProjectionService {
+
+    private static final List<Double> DEFAULT_PERCENTILES = List.of(5.0, 25.0, 50.0, 75.0, 95.0);
+    private static final int MAX_PERCENTILES = 20;
+
+    private final AccountRepository accountRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final MarketDataCache marketDataCache;
+    private final ExposureLoader exposureLoader;
+    private final ReturnMatrixCache matrixCache;
+    private final CovarianceCache covarianceCache;
+    private final ProjectionEngine projectionEngine;
+    private final ProjectionProperties properties;
+    private final RiskProperties riskProperties;
+
+    @Override
+    public ProjectionResponseDto project(UUID portfolioId, ProjectionRequestDto request) {
+        ProjectionRequestDto r = request == null
+                ? new ProjectionRequestDto(null, null, null, null, null, null, null)
+                : request;
+        int years = r.horizonYears() == null ? properties.defaultHorizonYears() : r.horizonYears();
+        int paths = r.paths() == null ? properties.defaultPaths() : r.paths();
+        if (years <= 0 || years > properties.maxHorizonYears()) {
+            throw new BadRequestException("horizonYears must be between 1 and " + properties.maxHorizonYears());
+        }
+        if (paths <= 0 || paths > properties.maxPaths()) {
+            throw new BadRequestException("paths must be between 1 and " + properties.maxPaths());
+        }
+        List<Double> requested = r.percentiles() == null || r.percentiles().isEmpty()
+                ? DEFAULT_PERCENTILES
+                : r.percentiles();
+        if (requested.size() > MAX_PERCENTILES
+                || requested.stream().anyMatch(p -> p == null || p <= 0 || p >= 100)) {
+            throw new BadRequestException("percentiles must be between 0 and 100 (exclusive), at most " + MAX_PERCENTILES);
+        }
+        List<Double> percentiles = requested.stream().distinct().sorted().toList();
+        if (r.goalAmount() != null && r.goalAmount().signum() <= 0) {
+            throw new BadRequestException("goalAmount must be positive");
+        }
+        UUID currencyId = referenceDataCache.resolveCurrency(r.currencyId(),
+                r.currencyId() == null ? riskProperties.baseCurrency() : null);
+        if (currencyId == null) {
+            throw new BadRequestException("Unknown currency");
+        }
+
+        long started = System.nanoTime();
+        List<UUID> accountIds = accountRepository.findActiveIdsByPortfolioId(portfolioId);
+        if (accountIds.isEmpty()) {
+            throw new NotFoundException("No active accounts for portfolio: " + portfolioId);
+        }
+        Map<UUID, UUID> portfolioByAccount = new LinkedHashMap<>();
+        accountIds.forEach(id -> portfolioByAccount.put(id, portfolioId));
+        Set<UUID> failed = new HashSet<>();
+        Map<UUID, BigDecimal> holding = exposureLoader.holdings(portfolioByAccount, failed)
+                .getOrDefault(portfolioId, Map.of());
+        if (!failed.isEmpty()) {
+            throw new BusinessException("Positions are unavailable, projection not computed");
+        }
+
+        LocalDate asOf = DateTimeUtils.now().toLocalDate().minusDays(1);
+        ReturnMatrix matrix = matrixCache.get(asOf, holding.keySet());
+        Map<UUID, Double> rates = exposureLoader.ratesToBase(holding.keySet(), currencyId);
+        PortfolioExposure exposure = exposureLoader.exposure(portfolioId, holding, matrix, rates);
+        if (exposure.instrumentIds().length == 0 || exposure.marketValue() <= 0) {
+            throw new BusinessException("Portfolio has no priced long exposure to project");
+        }
+        if (matrix.observations() < 2) {
+            throw new BusinessException("Not enough price history to estimate volatility");
+        }
+
+        UUID[] ids = exposure.instrumentIds();
+        int[] rows = new int[ids.length];
+        double[] expected = new double[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            rows[i] = matrix.row(ids[i]);
+            InstrumentRefModel instrument = marketDataCache.instrument(ids[i]);
+            expected[i] = instrument == null || instrument.type() == null
+                    ? properties.defaultExpectedReturn()
+                    : properties.expectedReturns().getOrDefault(instrument.type(), properties.defaultExpectedReturn());
+        }
+        double[] cov = covarianceCache.get(matrix, ids, rows);
+
+        BigDecimal contribution = r.annualContribution() == null ? BigDecimal.ZERO : r.annualContribution();
+        ProjectionEngine.Result result = projectionEngine.simulate(new ProjectionEngine.Scenario(
+                exposure.exposures(), expected, cov, years, paths, contribution.doubleValue(),
+                r.goalAmount() == null ? Double.NaN : r.goalAmount().doubleValue(), r.seed()));
+
+        List<ProjectionYearDto> bands = new ArrayList<>(years);
+        for (int y = 0; y < years; y++) {
+            QuantileSketch sketch = result.byYear()[y];
+            List<BigDecimal> values = percentiles.stream().map(p -> money(sketch.quantile(p / 100))).toList();
+            bands.add(new ProjectionYearDto(y + 1, money(sketch.mean()), values));
+        }
+        BigDecimal goalProbability = r.goalAmount() == null ? null
+                : BigDecimal.valueOf(result.goalHits()).divide(BigDecimal.valueOf(paths), 4, RoundingMode.HALF_EVEN);
+
+        return new ProjectionResponseDto(
+                portfolioId,
+                currencyId,
+                matrix.asOf(),
+                matrix.observations(),
+                money(exposure.marketValue()),
+                exposure.positions(),
+                exposure.unpricedPositions(),
+                years,
+                paths,
+                contribution,
+                r.goalAmount(),
+                goalProbability,
+                properties.relativeAccuracy(),
+                percentiles,
+                bands,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,163 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.cache.ReferenceDataCache;
+import com.investment.accounts.configuration.RiskProperties;
+import com.investment.accounts.dto.PortfolioRiskResponseDto;
+import com.investment.accounts.dto.RiskRunResponseDto;
+import com.investment.accounts.entity.PortfolioRiskEntity;
+import com.investment.accounts.model.PortfolioAccountModel;
+import com.investment.accounts.model.PortfolioRiskModel;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.repository.PortfolioRiskRepository;
+import com.investment.accounts.repository.RiskRepository;
+import com.investment.accounts.risk.CovarianceCache;
+import com.investment.accounts.risk.ExposureLoader;
+import com.investment.accounts.risk.PortfolioExposure;
+import com.investment.accounts.risk.ReturnMatrix;
+import com.investment.accounts.risk.ReturnMatrixCache;
+import com.investment.accounts.risk.RiskEngine;
+import com.investment.accounts.service.RiskService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.common.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Riesgo de todas las carteras activas a una fecha.
+ * <p>
+ * Las posiciones se leen de positions-ms por lotes de cuentas y se netean por cartera e
+ * instrumento ({@link ExposureLoader}); la exposición es cantidad por último cierre en moneda base. Los
+ * retornos salen de la matriz cacheada ({@link ReturnMatrixCache}) y el cálculo por cartera corre
+ * en paralelo ({@link RiskEngine}); los resultados se escriben en lote al final.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RiskServiceImpl implements RiskService {
+
+    private final AccountRepository accountRepository;
+    private final PortfolioRiskRepository portfolioRiskRepository;
+    private final RiskRepository riskRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ExposureLoader exposureLoader;
+    private final ReturnMatrixCache matrixCache;
+    private final CovarianceCache covarianceCache;
+    private final RiskEngine riskEngine;
+    private final RiskProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${app.risk.cron:0 0 2 * * *}", zone = "UTC")
+    public void runNightly() {
+        LocalDate asOfDate = DateTimeUtils.now().toLocalDate().minusDays(1);
+        try {
+            RiskRunResponseDto result = run(asOfDate);
+            log.info("Nightly risk {} finished: {}", asOfDate, result);
+        } catch (Exception e) {
+            log.error("Nightly risk {} failed: {}", asOfDate, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public RiskRunResponseDto run(LocalDate asOfDate) {
+        if (asOfDate == null || asOfDate.isAfter(DateTimeUtils.now().toLocalDate())) {
+            throw new BadRequestException("asOfDate is required and cannot be in the future");
+        }
+        UUID baseCurrencyId = referenceDataCache.resolveCurrency(null, properties.baseCurrency());
+        if (baseCurrencyId == null) {
+            throw new BusinessException("Unknown risk base currency: " + properties.baseCurrency());
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("A risk run is already in progress");
+        }
+        try {
+            long started = System.nanoTime();
+            long hitsBefore = covarianceCache.hits();
+            long missesBefore = covarianceCache.misses();
+
+            Map<UUID, UUID> portfolioByAccount = new LinkedHashMap<>();
+            Set<UUID> portfolios = new LinkedHashSet<>();
+            for (PortfolioAccountModel pa : accountRepository.findActivePortfolioAccounts()) {
+                portfolioByAccount.put(pa.accountId(), pa.portfolioId());
+                portfolios.add(pa.portfolioId());
+            }
+
+            Set<UUID> failed = new HashSet<>();
+            Map<UUID, Map<UUID, BigDecimal>> holdings = exposureLoader.holdings(portfolioByAccount, failed);
+
+            Set<UUID> universe = new HashSet<>();
+            holdings.values().forEach(h -> universe.addAll(h.keySet()));
+            if (properties.benchmarkInstrumentId() != null) {
+                universe.add(properties.benchmarkInstrumentId());
+            }
+            ReturnMatrix matrix = matrixCache.get(asOfDate, universe);
+            Map<UUID, Double> rates = exposureLoader.ratesToBase(universe, baseCurrencyId);
+
+            List<PortfolioExposure> exposures = new ArrayList<>(portfolios.size());
+            for (UUID portfolioId : portfolios) {
+                if (!failed.contains(portfolioId)) {
+                    exposures.add(exposureLoader.exposure(portfolioId,
+                            holdings.getOrDefault(portfolioId, Map.of()), matrix, rates));
+                }
+            }
+
+            PortfolioRiskModel[] results = riskEngine.computeAll(exposures, matrix, asOfDate, baseCurrencyId);
+            List<PortfolioRiskModel> computed = Arrays.stream(results).filter(Objects::nonNull).toList();
+            riskRepository.upsertResults(computed, DateTimeUtils.now());
+
+            return new RiskRunResponseDto(
+                    asOfDate,
+                    matrix.asOf(),
+                    portfolios.size(),
+                    computed.size(),
+                    portfolios.size() - computed.size(),
+                    universe.size(),
+                    matrix.observations(),
+                    covarianceCache.hits() - hitsBefore,
+                    covarianceCache.misses() - missesBefore,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Override
+    public PortfolioRiskResponseDto get(UUID portfolioId, LocalDate asOfDate) {
+        Optional<PortfolioRiskEntity> risk = asOfDate == null
+                ? portfolioRiskRepository.findFirstByIdPortfolioIdOrderByIdAsOfDateDesc(portfolioId)
+                : portfolioRiskRepository.findById(new PortfolioRiskEntity.Key(portfolioId, asOfDate));
+        return risk.map(RiskServiceImpl::toDto)
+                .orElseThrow(() -> new NotFoundException("No risk figures for portfolio: " + portfolioId));
+    }
+
+    // --- helpers ---
+
+    private static PortfolioRiskResponseDto toDto(PortfolioRiskEntity e) {
+        return new PortfolioRiskResponseDto(
+                e.getId().getPortfolioId(),
+                e.getId().getAsOfDate(),
+                e.getCurrencyId(),
+                e.getMarketValue(),
+                e.getPositions(),
+                e.getUnpricedPositions(),
+                e.getObservations(),
+                e.getConfidence(),
+                e.getHorizonDays(),
+                e.getHistoricalVar(),
+                e.getHistoricalCvar(),
+                e.getParametricVar(),
+                e.getVolatility(),
+                e.getBeta(),
+                e.getComputedAt());
+    }
+}
@@ -0,0 +1,219 @@
+package com.investment.accounts.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.accounts.calendar.TradingCalendar;
+import com.investment.accounts.configuration.SettlementProperties;
+import com.investment.accounts.dto.SettlementRunResponseDto;
+import com.investment.accounts.dto.TradeExecutedDto;
+import com.investment.accounts.entity.AccountEntity;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.repository.CashMovementBatchRepository;
+import com.investment.accounts.repository.ExchangeListingRepository;
+import com.investment.accounts.repository.InstrumentRepository;
+import com.investment.accounts.repository.SettlementBucketRepository;
+import com.investment.accounts.repository.SettlementBucketRepository.SettlementBucket;
+import com.investment.accounts.repository.SettlementBucketRepository.SettlementLeg;
+import com.investment.accounts.service.SettlementBatchService;
+import com.investment.accounts.service.TradingCalendarService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.accounts.utils.MoneyUtils;
+import com.investment.accounts.utils.enums.CashMovementStatusEnum;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.accounts.utils.enums.SideEnum;
+import com.investment.common.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementBatchServiceImpl implements SettlementBatchService {
+
+    private static final int AMOUNT_SCALE = 10; // numeric(28,10) de los buckets
+
+    private final SettlementBucketRepository bucketRepository;
+    private final CashMovementBatchRepository batchRepository;
+    private final InstrumentRepository instrumentRepository;
+    private final ExchangeListingRepository listingRepository;
+    private final TradingCalendarService calendarService;
+    private final BuyingPowerLedger buyingPowerLedger;
+    private final CashJournal cashJournal;
+    private final SettlementProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void processTradesExecuted(List<String> messages) {
+        // Un poll de Kafka = un statement; las referencias de instrumento se resuelven una vez por lote
+        Map<UUID, InstrumentRef> instruments = new HashMap<>();
+        Map<UUID, SettlementLeg> legs = new LinkedHashMap<>();
+        for (String message : messages) {
+            try {
+                JsonNode node = objectMapper.readTree(message);
+                Iterable<JsonNode> items = node.isArray() ? node : List.of(node);
+                for (JsonNode item : items) {
+                    SettlementLeg leg = toLeg(objectMapper.treeToValue(item, TradeExecutedDto.class), instruments);
+                    if (leg != null) {
+                        legs.putIfAbsent(leg.tradeId(), leg);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Discarding trade executed message for settlement: {}", e.getMessage());
+            }
+        }
+        int buckets = bucketRepository.accumulate(new ArrayList<>(legs.values()), DateTimeUtils.now());
+        log.debug("Netted {} trades into {} settlement buckets", legs.size(), buckets);
+    }
+
+    @Scheduled(cron = "${app.settlement.cron:0 30 0 * * *}", zone = "UTC")
+    public void settleDue() {
+        try {
+            SettlementRunResponseDto r = settle(DateTimeUtils.now().toLocalDate());
+            log.info("Settlement run {}: {} buckets, {} trades, {} movements",
+                    r.settlementDate(), r.buckets(), r.trades(), r.postedMovements());
+        } catch (Exception e) {
+            log.error("Settlement run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public SettlementRunResponseDto settle(LocalDate settlementDate) {
+        if (settlementDate == null) {
+            throw new BadRequestException("settlementDate is required");
+        }
+        int buckets = 0;
+        long trades = 0;
+        int movements = 0;
+        // Una transacción por chunk; los buckets ya liquidados salen del filtro, así que se repite hasta vaciar
+        while (true) {
+            ChunkResult r = transactionTemplate.execute(status -> settleChunk(settlementDate));
+            if (r == null || r.buckets() == 0) {
+                break;
+            }
+            buckets += r.buckets();
+            trades += r.trades();
+            movements += r.movements();
+            if (r.buckets() < properties.chunkSize()) {
+                break;
+            }
+        }
+        return new SettlementRunResponseDto(settlementDate, buckets, trades, movements);
+    }
+
+    // --- helpers ---
+
+    private ChunkResult settleChunk(LocalDate upTo) {
+        List<SettlementBucket> due = bucketRepository.lockDue(upTo, properties.chunkSize());
+        if (due.isEmpty()) {
+            return new ChunkResult(0, 0, 0);
+        }
+        OffsetDateTime now = DateTimeUtils.now();
+        List<CashMovementEntity> rows = new ArrayList<>();
+        List<SettlementBucket> posted = new ArrayList<>(due.size());
+        long trades = 0;
+        for (SettlementBucket b : due) {
+            trades += b.tradeCount();
+            BigDecimal amount = MoneyUtils.normalize(b.amount());
+            posted.add(new SettlementBucket(b.settlementDate(), b.accountId(), b.currencyId(), amount, b.tradeCount()));
+            if (amount.signum() == 0) {
+                continue; // compras y ventas se compensan: nada que mover
+            }
+            rows.add(CashMovementEntity.builder()
+                    .id(UUID.randomUUID())
+                    .accountId(AccountEntity.builder().id(b.accountId()).build())
+                    .currency(CurrencyEntity.builder().id(b.currencyId()).build())
+                    .amount(amount)
+                    .type(CashMovementTypeEnum.SETTLEMENT)
+                    .status(CashMovementStatusEnum.COMPLETED)
+                    .date(b.settlementDate().atStartOfDay().atOffset(ZoneOffset.UTC))
+                    .note("Net settlement " + b.settlementDate() + " (" + b.tradeCount() + " trades)")
+                    .build());
+        }
+        if (!rows.isEmpty()) {
+            batchRepository.insertMovements(rows);
+            cashJournal.post(rows);
+            buyingPowerLedger.applyMovements(rows);
+        }
+        // Lo consumido de esos trades ya está en el saldo vía el movimiento: deja de restar aparte
+        buyingPowerLedger.applySettled(bucketRepository.settleConsumptions(posted, now));
+        bucketRepository.markSettled(posted, now);
+        return new ChunkResult(due.size(), trades, rows.size());
+    }
+
+    private SettlementLeg toLeg(TradeExecutedDto t, Map<UUID, InstrumentRef> instruments) {
+        if (t == null || t.id() == null || t.accountId() == null || t.instrumentId() == null || t.side() == null
+                || t.quantity() == null || t.quantity().signum() <= 0 || t.price() == null || t.price().signum() <= 0) {
+            log.warn("Skipping trade without id, account, instrument, side, quantity or price: {}", t);
+            return null;
+        }
+        InstrumentRef ref = instruments.computeIfAbsent(t.instrumentId(), this::instrumentRef);
+        if (ref == null) {
+            log.error("Skipping trade {}: unknown instrument {}", t.id(), t.instrumentId());
+            return null;
+        }
+
+        BigDecimal gross = t.quantity().multiply(t.price());
+        BigDecimal charges = nvl(t.fees()).add(nvl(t.taxes()));
+        // Compra: sale el bruto más gastos; venta: entra el bruto menos gastos
+        BigDecimal amount = t.side() == SideEnum.BUY ? gross.add(charges).negate() : gross.subtract(charges);
+        return new SettlementLeg(t.id(), settlementDate(t, ref), t.accountId(), ref.currencyId(),
+                amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP));
+    }
+
+    private LocalDate settlementDate(TradeExecutedDto t, InstrumentRef ref) {
+        if (t.settlementDate() != null) {
+            return t.settlementDate();
+        }
+        OffsetDateTime executedAt = t.executedAt() != null ? t.executedAt() : DateTimeUtils.now();
+        if (ref.exchangeId() != null) {
+            TradingCalendar calendar = calendarService.get(ref.exchangeId());
+            return calendar.addBusinessDays(executedAt.atZoneSameInstant(calendar.zone()).toLocalDate(),
+                    properties.cycleDays());
+        }
+        // Sin mercado conocido: solo se saltan fines de semana
+        LocalDate d = executedAt.toLocalDate();
+        for (int left = properties.cycleDays(); left > 0; ) {
+            d = d.plusDays(1);
+            if (d.getDayOfWeek() != DayOfWeek.SATURDAY && d.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                left--;
+            }
+        }
+        return d;
+    }
+
+    private InstrumentRef instrumentRef(UUID instrumentId) {
+        return instrumentRepository.findById(instrumentId)
+                .map(i -> new InstrumentRef(i.getCurrency().getId(),
+                        listingRepository.findByIdInstrumentId(instrumentId, PageRequest.of(0, 1)).stream()
+                                .findFirst()
+                                .map(l -> l.getId().getExchangeId())
+                                .orElse(null)))
+                .orElse(null);
+    }
+
+    private static BigDecimal nvl(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+
+    private record InstrumentRef(UUID currencyId, UUID exchangeId) {}
+
+    private record ChunkResult(int buckets, long trades, int movements) {}
+}
@@ -3,6 +3,8 @@ package com.investment.accounts.service.impl;
 import com.investment.accounts.entity.AccountEntity;
 import com.investment.accounts.entity.CashMovementEntity;
 import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
 import com.investment.accounts.model.CashMovementModel;
 import com.investment.accounts.repository.AccountRepository;
 import com.investment.accounts.repository.CashMovementRepository;
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -27,6 +30,8 @@ public class SettlementServiceImpl implements SettlementService {
     private final CashMovementRepository cashMovementRepository;
     private final CurrencyRepository currencyRepository;
     private final AccountRepository accountRepository;
+    private final BuyingPowerLedger buyingPowerLedger;
+    private final CashJournal cashJournal;
 
     @Override
     @Transactional
@@ -44,15 +49,17 @@ public class SettlementServiceImpl implements SettlementService {
 
         e.setAmount(MoneyUtils.normalize(movement.amount()));
         e.setType(movement.type());
-        e.setStatus(CashMovementStatusEnum.PENDING);
+        // ya validado: se inserta completado, sin un segundo update de estado
+        e.setStatus(CashMovementStatusEnum.COMPLETED);
         e.setDate(movement.date() != null ? movement.date() : DateTimeUtils.today());
         e.setNote(movement.note());
 
         e = cashMovementRepository.save(e);
 
-        // posterior actualización si aplica
-        e.setStatus(CashMovementStatusEnum.COMPLETED);
-        e = cashMovementRepository.save(e);
+        // el journal asienta el movimiento y proyecta el saldo tras el commit
+        cashJournal.post(List.of(e));
+        // el poder de compra en memoria se ajusta tras el commit
+        buyingPowerLedger.applyMovements(List.of(e));
 
         return CashMovementModel.fromEntity(e);
     }
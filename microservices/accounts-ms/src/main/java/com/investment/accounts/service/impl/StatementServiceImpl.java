@@ -0,0 +1,105 @@
+package com.investment.accounts.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.accounts.dto.ExternalFlowDto;
+import com.investment.accounts.model.StatementLineModel;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.repository.StatementRepository;
+import com.investment.accounts.service.StatementService;
+import com.investment.accounts.statement.CsvStatementWriter;
+import com.investment.accounts.statement.NdjsonStatementWriter;
+import com.investment.accounts.statement.PdfStatementWriter;
+import com.investment.accounts.statement.StatementWriter;
+import com.investment.accounts.utils.enums.StatementFormatEnum;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class StatementServiceImpl implements StatementService {
+
+    private final StatementRepository statementRepository;
+    private final AccountRepository accountRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void validate(UUID accountId, LocalDate from, LocalDate to) {
+        if (accountId == null || from == null || to == null) {
+            throw new BadRequestException("accountId, from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        if (!accountRepository.existsById(accountId)) {
+            throw new NotFoundException("Account not found: " + accountId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true) // el cursor de Postgres (fetch size) solo funciona dentro de una transacción
+    public void writeStatement(UUID accountId, LocalDate from, LocalDate to, StatementFormatEnum format,
+                               OutputStream out) throws IOException {
+        OffsetDateTime start = from.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime end = to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+
+        // Un saldo por moneda: es lo único que crece, y con el número de monedas, no de movimientos
+        Map<String, BigDecimal> opening = statementRepository.openingBalances(accountId, start);
+        Map<String, BigDecimal> running = new LinkedHashMap<>(opening);
+
+        StatementWriter writer = writerFor(format, out);
+        writer.begin(accountId, from, to, opening);
+        try (Stream<StatementLineModel> lines = statementRepository.streamMovements(accountId, start, end)) {
+            lines.forEach(l -> {
+                BigDecimal balance = running.merge(l.currencyCode(), l.amount(), BigDecimal::add);
+                try {
+                    writer.line(new StatementLineModel(l.id(), l.date(), l.type(), l.currencyCode(),
+                            l.amount(), balance, l.note()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.end(running);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ExternalFlowDto> externalFlows(UUID portfolioId, LocalDate from, LocalDate to) {
+        if (portfolioId == null || from == null || to == null) {
+            throw new BadRequestException("portfolioId, from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        return statementRepository.externalFlows(portfolioId,
+                from.atStartOfDay().atOffset(ZoneOffset.UTC),
+                to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC));
+    }
+
+    private StatementWriter writerFor(StatementFormatEnum format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvStatementWriter(out);
+            case NDJSON -> new NdjsonStatementWriter(objectMapper, out);
+            case PDF -> new PdfStatementWriter(out);
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.investment.accounts.service.impl;
+
+import com.investment.accounts.calendar.TradingCalendar;
+import com.investment.accounts.configuration.TradingCalendarProperties;
+import com.investment.accounts.dto.CalendarImportResponseDto;
+import com.investment.accounts.dto.MarketStatusResponseDto;
+import com.investment.accounts.entity.ExchangeEntity;
+import com.investment.accounts.entity.ExchangeHolidayEntity;
+import com.investment.accounts.entity.ExchangeSessionEntity;
+import com.investment.accounts.repository.ExchangeHolidayRepository;
+import com.investment.accounts.repository.ExchangeRepository;
+import com.investment.accounts.repository.ExchangeSessionRepository;
+import com.investment.accounts.service.TradingCalendarService;
+import com.investment.accounts.utils.DateTimeUtils;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TradingCalendarServiceImpl implements TradingCalendarService {
+
+    private final ExchangeRepository exchangeRepository;
+    private final ExchangeSessionRepository sessionRepository;
+    private final ExchangeHolidayRepository holidayRepository;
+    private final TradingCalendarProperties properties;
+
+    private final ConcurrentHashMap<UUID, TradingCalendar> calendars = new ConcurrentHashMap<>();
+
+    @Override
+    public TradingCalendar get(UUID exchangeId) {
+        if (exchangeId == null) {
+            throw new BadRequestException("exchangeId is required");
+        }
+        int firstYear = DateTimeUtils.now().getYear() - properties.yearsBack();
+        TradingCalendar calendar = calendars.get(exchangeId);
+        if (calendar == null || calendar.from().getYear() != firstYear) {
+            // Se compila una vez por mercado y por año; el cambio de año corre el horizonte
+            calendar = compile(exchangeId, firstYear);
+            calendars.put(exchangeId, calendar);
+        }
+        return calendar;
+    }
+
+    @Override
+    public boolean isOpen(UUID exchangeId, Instant at) {
+        return get(exchangeId).isOpen(at);
+    }
+
+    @Override
+    public MarketStatusResponseDto status(UUID exchangeId, Instant at) {
+        Instant when = at != null ? at : DateTimeUtils.now().toInstant();
+        TradingCalendar calendar = get(exchangeId);
+        return new MarketStatusResponseDto(exchangeId, when,
+                calendar.isOpen(when), calendar.nextOpen(when), calendar.nextClose(when));
+    }
+
+    @Override
+    public LocalDate addBusinessDays(UUID exchangeId, LocalDate date, int days) {
+        if (date == null) {
+            throw new BadRequestException("date is required");
+        }
+        return get(exchangeId).addBusinessDays(date, days);
+    }
+
+    @Override
+    @Transactional
+    public CalendarImportResponseDto importCalendars(Reader csv) throws IOException {
+        Map<String, List<ExchangeSessionEntity>> sessions = new LinkedHashMap<>();
+        Map<String, Map<LocalDate, ExchangeHolidayEntity>> holidays = new LinkedHashMap<>();
+        Map<String, UUID> exchanges = new HashMap<>();
+
+        BufferedReader reader = new BufferedReader(csv);
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] f = line.split(",", -1);
+            try {
+                String code = f[0].strip().toUpperCase(Locale.ROOT);
+                UUID exchangeId = exchanges.computeIfAbsent(code, c -> exchangeRepository.findByCode(c)
+                        .map(ExchangeEntity::getId)
+                        .orElseThrow(() -> new BadRequestException("Unknown exchange " + c)));
+                sessions.computeIfAbsent(code, c -> new ArrayList<>());
+                holidays.computeIfAbsent(code, c -> new LinkedHashMap<>());
+                switch (f[1].strip().toUpperCase(Locale.ROOT)) {
+                    case "SESSION" -> sessions.get(code).add(ExchangeSessionEntity.builder()
+                            .exchangeId(exchangeId)
+                            .dayOfWeek(DayOfWeek.valueOf(f[2].strip().toUpperCase(Locale.ROOT)))
+                            .openTime(LocalTime.parse(f[3].strip()))
+                            .closeTime(LocalTime.parse(f[4].strip()))
+                            .build());
+                    case "HOLIDAY" -> {
+                        LocalDate date = LocalDate.parse(f[2].strip());
+                        String earlyClose = f.length > 3 ? f[3].strip() : "";
+                        String name = f.length > 4 ? f[4].strip() : "";
+                        holidays.get(code).put(date, ExchangeHolidayEntity.builder()
+                                .id(new ExchangeHolidayEntity.Key(exchangeId, date))
+                                .earlyClose(earlyClose.isEmpty() ? null : LocalTime.parse(earlyClose))
+                                .name(name.isEmpty() ? null : name)
+                                .build());
+                    }
+                    default -> throw new BadRequestException("expected SESSION or HOLIDAY");
+                }
+            } catch (BadRequestException e) {
+                throw new BadRequestException("Calendar line " + lineNo + ": " + e.getMessage());
+            } catch (RuntimeException e) {
+                throw new BadRequestException("Calendar line " + lineNo + " is malformed: " + line);
+            }
+        }
+
+        int sessionCount = 0;
+        int holidayCount = 0;
+        for (Map.Entry<String, UUID> e : exchanges.entrySet()) {
+            UUID exchangeId = e.getValue();
+            sessionRepository.deleteAllByExchangeId(exchangeId);
+            holidayRepository.deleteAllByExchangeId(exchangeId);
+            sessionCount += sessionRepository.saveAll(sessions.get(e.getKey())).size();
+            holidayCount += holidayRepository.saveAll(holidays.get(e.getKey()).values()).size();
+        }
+        evictAfterCommit(exchanges.values());
+        log.info("Imported trading calendars for {}: {} sessions, {} holidays",
+                exchanges.keySet(), sessionCount, holidayCount);
+        return new CalendarImportResponseDto(List.copyOf(sessions.keySet()), sessionCount, holidayCount);
+    }
+
+    // --- helpers ---
+
+    private TradingCalendar compile(UUID exchangeId, int firstYear) {
+        ExchangeEntity exchange = exchangeRepository.findById(exchangeId)
+                .orElseThrow(() -> new NotFoundException("Exchange not found: " + exchangeId));
+        List<TradingCalendar.Session> sessions = sessionRepository.findAllByExchangeId(exchangeId).stream()
+                .map(s -> new TradingCalendar.Session(s.getDayOfWeek(), s.getOpenTime(), s.getCloseTime()))
+                .toList();
+        Map<LocalDate, TradingCalendar.Holiday> holidays = holidayRepository.findAllByExchangeId(exchangeId).stream()
+                .map(h -> new TradingCalendar.Holiday(h.getId().getDate(), h.getEarlyClose(), h.getName()))
+                .collect(Collectors.toMap(TradingCalendar.Holiday::date, Function.identity()));
+
+        LocalDate from = LocalDate.of(firstYear, 1, 1);
+        LocalDate to = LocalDate.of(firstYear + properties.yearsBack() + properties.yearsForward(), 12, 31);
+        return TradingCalendar.compile(exchangeId, ZoneId.of(exchange.getTimezone()), from, to, sessions, holidays);
+    }
+
+    private void evictAfterCommit(Collection<UUID> exchangeIds) {
+        Runnable action = () -> exchangeIds.forEach(calendars::remove);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Si se invalida antes del commit otro hilo podría recompilar con los datos viejos
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
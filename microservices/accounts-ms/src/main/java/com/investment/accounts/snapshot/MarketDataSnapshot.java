@@ -0,0 +1,512 @@
+package com.investment.accounts.snapshot;
+
+import com.investment.accounts.model.FxLatestRateModel;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.model.LastPriceModel;
+import com.investment.accounts.model.ListingRefModel;
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+import com.investment.accounts.utils.enums.ListingStatusEnum;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot binario de instrumentos, listados, últimas tasas FX y últimos precios, pensado para
+ * mapearse en memoria. Abrirlo no deserializa nada: los registros son de ancho fijo, están
+ * ordenados por clave y se leen con búsqueda binaria directo sobre el buffer mapeado (el SO
+ * pagina solo lo que se toca). Textos y decimales van en un heap al final. Inmutable.
+ *
+ * <pre>header | instrumentos | listados | fx | precios | heap</pre>
+ */
+public final class MarketDataSnapshot {
+
+    private static final int MAGIC = 0x4D4B5444; // "MKTD"
+    private static final int VERSION = 1;
+
+    // magic, version, schema, createdAt, 4 watermarks, 4 cantidades, tamaño del heap
+    private static final int HEADER_BYTES = 72;
+    private static final int INSTRUMENT_BYTES = 48; // id, currency, type, status, symbol, name
+    private static final int LISTING_BYTES = 64;    // instrument, exchange, currency, listingDate, status, ticker
+    private static final int FX_BYTES = 48;         // from, to, ts, rate
+    private static final int PRICE_BYTES = 32;      // instrument, ts, close
+    private static final int NONE = -1;
+
+    // Los enums se guardan por ordinal: si cambian sus constantes el snapshot deja de ser válido
+    private static final int SCHEMA = Objects.hash(
+            Arrays.toString(InstrumentTypeEnum.values()),
+            Arrays.toString(InstrumentStatusEnum.values()),
+            Arrays.toString(ListingStatusEnum.values()));
+
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparingLong(UUID::getMostSignificantBits)
+            .thenComparingLong(UUID::getLeastSignificantBits);
+
+    public static final MarketDataSnapshot EMPTY;
+
+    static {
+        try {
+            EMPTY = parse(new Encoder(Contents.EMPTY, Instant.EPOCH).toBuffer());
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final ByteBuffer buffer; // solo lecturas absolutas: se comparte entre hilos sin copiar
+    private final OffsetDateTime createdAt;
+    private final Watermarks watermarks;
+    private final int instruments;
+    private final int listings;
+    private final int fxRates;
+    private final int prices;
+    private final int listingsAt;
+    private final int fxAt;
+    private final int pricesAt;
+    private final int heapAt;
+
+    private MarketDataSnapshot(ByteBuffer buffer, OffsetDateTime createdAt, Watermarks watermarks,
+                               int instruments, int listings, int fxRates, int prices) {
+        this.buffer = buffer;
+        this.createdAt = createdAt;
+        this.watermarks = watermarks;
+        this.instruments = instruments;
+        this.listings = listings;
+        this.fxRates = fxRates;
+        this.prices = prices;
+        this.listingsAt = HEADER_BYTES + instruments * INSTRUMENT_BYTES;
+        this.fxAt = listingsAt + listings * LISTING_BYTES;
+        this.pricesAt = fxAt + fxRates * FX_BYTES;
+        this.heapAt = pricesAt + prices * PRICE_BYTES;
+    }
+
+    /** Mapea el archivo en solo lectura; IOException si no existe, está truncado o es de otra versión. */
+    public static MarketDataSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid market data snapshot size: " + size);
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Escribe el snapshot en un archivo temporal y lo mueve atómicamente sobre {@code file}:
+     * quien tenga mapeado el anterior lo sigue leyendo sin cortes. Devuelve el tamaño en bytes.
+     */
+    public static long write(Path file, Contents contents) throws IOException {
+        Encoder encoder = new Encoder(contents, Instant.now());
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, encoder.size());
+            encoder.writeTo(out);
+            out.force();
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return encoder.size();
+    }
+
+    public OffsetDateTime createdAt() {
+        return createdAt;
+    }
+
+    public Watermarks watermarks() {
+        return watermarks;
+    }
+
+    public int instrumentCount() {
+        return instruments;
+    }
+
+    public int listingCount() {
+        return listings;
+    }
+
+    public int fxRateCount() {
+        return fxRates;
+    }
+
+    public int priceCount() {
+        return prices;
+    }
+
+    public InstrumentRefModel instrument(UUID id) {
+        int i = lowerBound(HEADER_BYTES, instruments, INSTRUMENT_BYTES, id);
+        return i < instruments && matches(HEADER_BYTES + i * INSTRUMENT_BYTES, id) ? readInstrument(i) : null;
+    }
+
+    public List<ListingRefModel> listings(UUID instrumentId) {
+        List<ListingRefModel> result = new ArrayList<>(2);
+        for (int i = lowerBound(listingsAt, listings, LISTING_BYTES, instrumentId);
+             i < listings && matches(listingsAt + i * LISTING_BYTES, instrumentId); i++) {
+            result.add(readListing(i));
+        }
+        return result;
+    }
+
+    public FxLatestRateModel fxRate(UUID fromCurrencyId, UUID toCurrencyId) {
+        // Pocos pares por moneda origen: búsqueda por from y recorrido corto por to
+        for (int i = lowerBound(fxAt, fxRates, FX_BYTES, fromCurrencyId);
+             i < fxRates && matches(fxAt + i * FX_BYTES, fromCurrencyId); i++) {
+            if (matches(fxAt + i * FX_BYTES + 16, toCurrencyId)) {
+                return readFx(i);
+            }
+        }
+        return null;
+    }
+
+    public LastPriceModel lastPrice(UUID instrumentId) {
+        int i = lowerBound(pricesAt, prices, PRICE_BYTES, instrumentId);
+        return i < prices && matches(pricesAt + i * PRICE_BYTES, instrumentId) ? readPrice(i) : null;
+    }
+
+    public void forEachInstrument(Consumer<InstrumentRefModel> action) {
+        for (int i = 0; i < instruments; i++) {
+            action.accept(readInstrument(i));
+        }
+    }
+
+    public void forEachListing(Consumer<ListingRefModel> action) {
+        for (int i = 0; i < listings; i++) {
+            action.accept(readListing(i));
+        }
+    }
+
+    public void forEachFxRate(Consumer<FxLatestRateModel> action) {
+        for (int i = 0; i < fxRates; i++) {
+            action.accept(readFx(i));
+        }
+    }
+
+    public void forEachPrice(Consumer<LastPriceModel> action) {
+        for (int i = 0; i < prices; i++) {
+            action.accept(readPrice(i));
+        }
+    }
+
+    // --- lectura ---
+
+    private static MarketDataSnapshot parse(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a market data snapshot (or unsupported version)");
+        }
+        if (buffer.getInt(8) != SCHEMA) {
+            throw new IOException("Market data snapshot was written with different enum constants");
+        }
+        int instruments = buffer.getInt(52);
+        int listings = buffer.getInt(56);
+        int fxRates = buffer.getInt(60);
+        int prices = buffer.getInt(64);
+        long expected = HEADER_BYTES + (long) instruments * INSTRUMENT_BYTES + (long) listings * LISTING_BYTES
+                + (long) fxRates * FX_BYTES + (long) prices * PRICE_BYTES + buffer.getInt(68);
+        if (instruments < 0 || listings < 0 || fxRates < 0 || prices < 0 || expected != buffer.capacity()) {
+            throw new IOException("Truncated market data snapshot: expected " + expected
+                    + " bytes, found " + buffer.capacity());
+        }
+        Watermarks watermarks = new Watermarks(
+                fromMicros(buffer.getLong(20)), fromMicros(buffer.getLong(28)),
+                fromMicros(buffer.getLong(36)), fromMicros(buffer.getLong(44)));
+        return new MarketDataSnapshot(buffer, fromMicros(buffer.getLong(12)), watermarks,
+                instruments, listings, fxRates, prices);
+    }
+
+    private InstrumentRefModel readInstrument(int i) {
+        int at = HEADER_BYTES + i * INSTRUMENT_BYTES;
+        return new InstrumentRefModel(
+                uuid(at),
+                string(buffer.getInt(at + 36)),
+                string(buffer.getInt(at + 40)),
+                InstrumentTypeEnum.values()[buffer.get(at + 32)],
+                InstrumentStatusEnum.values()[buffer.get(at + 33)],
+                uuid(at + 16));
+    }
+
+    private ListingRefModel readListing(int i) {
+        int at = listingsAt + i * LISTING_BYTES;
+        return new ListingRefModel(
+                uuid(at),
+                uuid(at + 16),
+                string(buffer.getInt(at + 56)),
+                uuid(at + 32),
+                LocalDate.ofEpochDay(buffer.getInt(at + 48)),
+                ListingStatusEnum.values()[buffer.get(at + 52)]);
+    }
+
+    private FxLatestRateModel readFx(int i) {
+        int at = fxAt + i * FX_BYTES;
+        return new FxLatestRateModel(uuid(at), uuid(at + 16),
+                fromMicros(buffer.getLong(at + 32)), decimal(buffer.getInt(at + 40)));
+    }
+
+    private LastPriceModel readPrice(int i) {
+        int at = pricesAt + i * PRICE_BYTES;
+        return new LastPriceModel(uuid(at), fromMicros(buffer.getLong(at + 16)), decimal(buffer.getInt(at + 24)));
+    }
+
+    // Primer registro de la sección con clave >= key
+    private int lowerBound(int sectionAt, int count, int width, UUID key) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int at = sectionAt + mid * width;
+            int cmp = Long.compare(buffer.getLong(at), msb);
+            if (cmp == 0) {
+                cmp = Long.compare(buffer.getLong(at + 8), lsb);
+            }
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private boolean matches(int at, UUID key) {
+        return buffer.getLong(at) == key.getMostSignificantBits()
+                && buffer.getLong(at + 8) == key.getLeastSignificantBits();
+    }
+
+    private UUID uuid(int at) {
+        long msb = buffer.getLong(at);
+        long lsb = buffer.getLong(at + 8);
+        return msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+    }
+
+    private String string(int offset) {
+        if (offset == NONE) {
+            return null;
+        }
+        int at = heapAt + offset;
+        byte[] bytes = new byte[buffer.getInt(at)];
+        buffer.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private BigDecimal decimal(int offset) {
+        if (offset == NONE) {
+            return null;
+        }
+        int at = heapAt + offset;
+        byte[] magnitude = new byte[buffer.get(at + 1) & 0xFF];
+        buffer.get(at + 2, magnitude);
+        return new BigDecimal(new BigInteger(magnitude), buffer.get(at));
+    }
+
+    private static long toMicros(OffsetDateTime ts) {
+        Instant i = ts.toInstant();
+        return Math.addExact(Math.multiplyExact(i.getEpochSecond(), 1_000_000L), i.getNano() / 1_000);
+    }
+
+    private static OffsetDateTime fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L)
+                .atOffset(ZoneOffset.UTC);
+    }
+
+    // --- escritura ---
+
+    /** Ordena las secciones y arma el heap; después vuelca todo en un buffer del tamaño exacto. */
+    private static final class Encoder {
+
+        private final InstrumentRefModel[] instruments;
+        private final ListingRefModel[] listings;
+        private final FxLatestRateModel[] fxRates;
+        private final LastPriceModel[] prices;
+        private final Watermarks watermarks;
+        private final Instant createdAt;
+        private final int[] heapOffsets; // en el mismo orden en que writeTo recorre los registros
+        private final int size;
+
+        private byte[] heap = new byte[1 << 16];
+        private int heapSize;
+
+        Encoder(Contents contents, Instant createdAt) {
+            this.instruments = contents.instruments().toArray(InstrumentRefModel[]::new);
+            this.listings = contents.listings().toArray(ListingRefModel[]::new);
+            this.fxRates = contents.fxRates().toArray(FxLatestRateModel[]::new);
+            this.prices = contents.prices().toArray(LastPriceModel[]::new);
+            this.watermarks = contents.watermarks();
+            this.createdAt = createdAt;
+            Arrays.parallelSort(instruments, Comparator.comparing(InstrumentRefModel::id, UUID_ORDER));
+            Arrays.parallelSort(listings, Comparator.comparing(ListingRefModel::instrumentId, UUID_ORDER)
+                    .thenComparing(ListingRefModel::exchangeId, UUID_ORDER));
+            Arrays.sort(fxRates, Comparator.comparing(FxLatestRateModel::fromCurrencyId, UUID_ORDER)
+                    .thenComparing(FxLatestRateModel::toCurrencyId, UUID_ORDER));
+            Arrays.parallelSort(prices, Comparator.comparing(LastPriceModel::instrumentId, UUID_ORDER));
+
+            int[] offsets = new int[instruments.length * 2 + listings.length + fxRates.length + prices.length];
+            int o = 0;
+            for (InstrumentRefModel i : instruments) {
+                offsets[o++] = putString(i.symbol());
+                offsets[o++] = putString(i.name());
+            }
+            for (ListingRefModel l : listings) {
+                offsets[o++] = putString(l.localTicker());
+            }
+            for (FxLatestRateModel f : fxRates) {
+                offsets[o++] = putDecimal(f.rate());
+            }
+            for (LastPriceModel p : prices) {
+                offsets[o++] = putDecimal(p.close());
+            }
+            this.heapOffsets = offsets;
+
+            long total = HEADER_BYTES + (long) instruments.length * INSTRUMENT_BYTES
+                    + (long) listings.length * LISTING_BYTES + (long) fxRates.length * FX_BYTES
+                    + (long) prices.length * PRICE_BYTES + heapSize;
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Market data snapshot exceeds 2 GB");
+            }
+            this.size = (int) total;
+        }
+
+        int size() {
+            return size;
+        }
+
+        ByteBuffer toBuffer() {
+            ByteBuffer out = ByteBuffer.allocate(size);
+            writeTo(out);
+            return out;
+        }
+
+        void writeTo(ByteBuffer out) {
+            out.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, SCHEMA);
+            out.putLong(12, toMicros(createdAt.atOffset(ZoneOffset.UTC)));
+            out.putLong(20, toMicros(watermarks.instruments()));
+            out.putLong(28, toMicros(watermarks.listings()));
+            out.putLong(36, toMicros(watermarks.fxRates()));
+            out.putLong(44, toMicros(watermarks.prices()));
+            out.putInt(52, instruments.length).putInt(56, listings.length)
+                    .putInt(60, fxRates.length).putInt(64, prices.length).putInt(68, heapSize);
+
+            int at = HEADER_BYTES;
+            int o = 0;
+            for (InstrumentRefModel i : instruments) {
+                putUuid(out, at, i.id());
+                putUuid(out, at + 16, i.currencyId());
+                out.put(at + 32, (byte) i.type().ordinal());
+                out.put(at + 33, (byte) i.status().ordinal());
+                out.putInt(at + 36, heapOffsets[o++]);
+                out.putInt(at + 40, heapOffsets[o++]);
+                at += INSTRUMENT_BYTES;
+            }
+            for (ListingRefModel l : listings) {
+                putUuid(out, at, l.instrumentId());
+                putUuid(out, at + 16, l.exchangeId());
+                putUuid(out, at + 32, l.tradeCurrencyId());
+                out.putInt(at + 48, Math.toIntExact(l.listingDate().toEpochDay()));
+                out.put(at + 52, (byte) l.status().ordinal());
+                out.putInt(at + 56, heapOffsets[o++]);
+                at += LISTING_BYTES;
+            }
+            for (FxLatestRateModel f : fxRates) {
+                putUuid(out, at, f.fromCurrencyId());
+                putUuid(out, at + 16, f.toCurrencyId());
+                out.putLong(at + 32, toMicros(f.ts()));
+                out.putInt(at + 40, heapOffsets[o++]);
+                at += FX_BYTES;
+            }
+            for (LastPriceModel p : prices) {
+                putUuid(out, at, p.instrumentId());
+                out.putLong(at + 16, toMicros(p.ts()));
+                out.putInt(at + 24, heapOffsets[o++]);
+                at += PRICE_BYTES;
+            }
+            out.put(at, heap, 0, heapSize);
+        }
+
+        private int putString(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int at = reserve(4 + bytes.length);
+            ByteBuffer.wrap(heap, at, 4).putInt(bytes.length);
+            System.arraycopy(bytes, 0, heap, at + 4, bytes.length);
+            return at;
+        }
+
+        private int putDecimal(BigDecimal value) {
+            if (value == null) {
+                return NONE;
+            }
+            byte[] magnitude = value.unscaledValue().toByteArray();
+            if (value.scale() != (byte) value.scale() || magnitude.length > 0xFF) {
+                throw new IllegalArgumentException("Decimal out of snapshot range: " + value);
+            }
+            int at = reserve(2 + magnitude.length);
+            heap[at] = (byte) value.scale();
+            heap[at + 1] = (byte) magnitude.length;
+            System.arraycopy(magnitude, 0, heap, at + 2, magnitude.length);
+            return at;
+        }
+
+        private int reserve(int bytes) {
+            if (heapSize + bytes > heap.length) {
+                long grown = Math.max((long) heap.length * 2, (long) heapSize + bytes);
+                if (grown > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Market data snapshot exceeds 2 GB");
+                }
+                heap = Arrays.copyOf(heap, (int) grown);
+            }
+            int at = heapSize;
+            heapSize += bytes;
+            return at;
+        }
+
+        private static void putUuid(ByteBuffer out, int at, UUID id) {
+            out.putLong(at, id == null ? 0 : id.getMostSignificantBits());
+            out.putLong(at + 8, id == null ? 0 : id.getLeastSignificantBits());
+        }
+    }
+
+    /** Hasta dónde llega cada sección; las cargas incrementales piden cambios posteriores. */
+    public record Watermarks(OffsetDateTime instruments, OffsetDateTime listings,
+                             OffsetDateTime fxRates, OffsetDateTime prices) {
+
+        public static final Watermarks INITIAL = new Watermarks(
+                Instant.EPOCH.atOffset(ZoneOffset.UTC), Instant.EPOCH.atOffset(ZoneOffset.UTC),
+                Instant.EPOCH.atOffset(ZoneOffset.UTC), Instant.EPOCH.atOffset(ZoneOffset.UTC));
+
+        public Watermarks max(Watermarks other) {
+            return new Watermarks(later(instruments, other.instruments), later(listings, other.listings),
+                    later(fxRates, other.fxRates), later(prices, other.prices));
+        }
+
+        private static OffsetDateTime later(OffsetDateTime a, OffsetDateTime b) {
+            return b.isAfter(a) ? b : a;
+        }
+    }
+
+    /** Datos a volcar en un snapshot (el orden de las listas no importa). */
+    public record Contents(List<InstrumentRefModel> instruments, List<ListingRefModel> listings,
+                           List<FxLatestRateModel> fxRates, List<LastPriceModel> prices, Watermarks watermarks) {
+
+        public static final Contents EMPTY = new Contents(List.of(), List.of(), List.of(), List.of(), Watermarks.INITIAL);
+    }
+}
@@ -0,0 +1,59 @@
+package com.investment.accounts.statement;
+
+import com.investment.accounts.model.StatementLineModel;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/** CSV (RFC 4180) con columna de saldo corrido. */
+public class CsvStatementWriter implements StatementWriter {
+
+    private final Writer out;
+
+    public CsvStatementWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    public void begin(UUID accountId, LocalDate from, LocalDate to, Map<String, BigDecimal> openingBalances)
+            throws IOException {
+        out.write("id,date,type,currency,amount,balance,note\r\n");
+    }
+
+    @Override
+    public void line(StatementLineModel l) throws IOException {
+        out.write(l.id().toString());
+        out.write(',');
+        out.write(l.date().toString());
+        out.write(',');
+        out.write(l.type().name());
+        out.write(',');
+        out.write(escape(l.currencyCode()));
+        out.write(',');
+        out.write(l.amount().toPlainString());
+        out.write(',');
+        out.write(l.balance().toPlainString());
+        out.write(',');
+        out.write(escape(l.note()));
+        out.write("\r\n");
+    }
+
+    @Override
+    public void end(Map<String, BigDecimal> closingBalances) throws IOException {
+        out.flush();
+    }
+
+    private static String escape(String v) {
+        if (v == null) {
+            return "";
+        }
+        if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) {
+            return v;
+        }
+        return '"' + v.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,49 @@
+package com.investment.accounts.statement;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.accounts.model.StatementLineModel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/** Un objeto JSON por línea; el generador escribe directo al stream sin armar el documento. */
+public class NdjsonStatementWriter implements StatementWriter {
+
+    private final JsonGenerator json;
+
+    public NdjsonStatementWriter(ObjectMapper mapper, OutputStream out) throws IOException {
+        this.json = mapper.getFactory().createGenerator(out);
+        this.json.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void begin(UUID accountId, LocalDate from, LocalDate to, Map<String, BigDecimal> openingBalances)
+            throws IOException {
+    }
+
+    @Override
+    public void line(StatementLineModel l) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("id", l.id().toString());
+        json.writeStringField("date", l.date().toString());
+        json.writeStringField("type", l.type().name());
+        json.writeStringField("currency", l.currencyCode());
+        json.writeNumberField("amount", l.amount());
+        json.writeNumberField("balance", l.balance());
+        if (l.note() != null) {
+            json.writeStringField("note", l.note());
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    @Override
+    public void end(Map<String, BigDecimal> closingBalances) throws IOException {
+        json.flush();
+    }
+}
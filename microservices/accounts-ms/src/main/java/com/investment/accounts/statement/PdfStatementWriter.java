@@ -0,0 +1,173 @@
+package com.investment.accounts.statement;
+
+import com.investment.accounts.model.StatementLineModel;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * PDF 1.4 mínimo escrito a mano: cada página se vuelca al stream en cuanto se llena, y de
+ * lo ya escrito solo se guardan los offsets de objeto que pide la tabla xref final.
+ * Courier 8pt para que las columnas queden alineadas sin medir texto.
+ */
+public class PdfStatementWriter implements StatementWriter {
+
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int FONT = 3;
+    private static final int LINES_PER_PAGE = 80;
+    private static final int MAX_NOTE = 30;
+
+    private final CountingStream out;
+    /** offsets.get(n - 1) = posición del objeto n. */
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageObjects = new ArrayList<>();
+    private final StringBuilder page = new StringBuilder();
+    private int linesOnPage;
+
+    public PdfStatementWriter(OutputStream out) {
+        this.out = new CountingStream(out);
+    }
+
+    @Override
+    public void begin(UUID accountId, LocalDate from, LocalDate to, Map<String, BigDecimal> openingBalances)
+            throws IOException {
+        write("%PDF-1.4\n%âãÏÓ\n");
+        offsets.add(0L); // catálogo, se escribe al final
+        offsets.add(0L); // árbol de páginas, idem
+        beginObject(FONT);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>\nendobj\n");
+
+        text("Account statement " + accountId);
+        text("Period " + from + " - " + to);
+        balances("Opening balance", openingBalances);
+        text("");
+        text(String.format("%-19s %-10s %-4s %20s %20s %s", "Date", "Type", "Ccy", "Amount", "Balance", "Note"));
+    }
+
+    @Override
+    public void line(StatementLineModel l) throws IOException {
+        String note = l.note() == null ? "" : l.note();
+        if (note.length() > MAX_NOTE) {
+            note = note.substring(0, MAX_NOTE);
+        }
+        text(String.format("%-19.19s %-10s %-4.4s %20s %20s %s",
+                l.date().toLocalDateTime(), l.type(), l.currencyCode(),
+                l.amount().toPlainString(), l.balance().toPlainString(), note));
+    }
+
+    @Override
+    public void end(Map<String, BigDecimal> closingBalances) throws IOException {
+        text("");
+        balances("Closing balance", closingBalances);
+        flushPage();
+
+        offsets.set(PAGES - 1, out.count);
+        StringBuilder kids = new StringBuilder();
+        for (int obj : pageObjects) {
+            kids.append(obj).append(" 0 R ");
+        }
+        write(PAGES + " 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pageObjects.size() + " >>\nendobj\n");
+        offsets.set(CATALOG - 1, out.count);
+        write(CATALOG + " 0 obj\n<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+
+        long xref = out.count;
+        write("xref\n0 " + (offsets.size() + 1) + "\n0000000000 65535 f \n");
+        for (long offset : offsets) {
+            write(String.format("%010d 00000 n \n", offset));
+        }
+        write("trailer\n<< /Size " + (offsets.size() + 1) + " /Root " + CATALOG + " 0 R >>\nstartxref\n"
+                + xref + "\n%%EOF\n");
+        out.flush();
+    }
+
+    private void balances(String label, Map<String, BigDecimal> balances) throws IOException {
+        if (balances.isEmpty()) {
+            text(label + ": 0");
+        }
+        for (Map.Entry<String, BigDecimal> e : balances.entrySet()) {
+            text(label + " " + e.getKey() + ": " + e.getValue().toPlainString());
+        }
+    }
+
+    private void text(String line) throws IOException {
+        if (linesOnPage == LINES_PER_PAGE) {
+            flushPage();
+        }
+        if (linesOnPage == 0) {
+            page.append("BT /F1 8 Tf 10 TL 36 806 Td\n");
+        }
+        page.append('(');
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                page.append('\\');
+            }
+            page.append(c < 32 ? ' ' : c);
+        }
+        page.append(") Tj T*\n");
+        linesOnPage++;
+    }
+
+    private void flushPage() throws IOException {
+        if (linesOnPage == 0 && !pageObjects.isEmpty()) {
+            return;
+        }
+        if (linesOnPage > 0) {
+            page.append("ET\n");
+        }
+        byte[] content = page.toString().getBytes(StandardCharsets.ISO_8859_1);
+        int contentObj = offsets.size() + 1;
+        beginObject(contentObj);
+        write("<< /Length " + content.length + " >>\nstream\n");
+        out.write(content);
+        write("\nendstream\nendobj\n");
+
+        int pageObj = offsets.size() + 1;
+        beginObject(pageObj);
+        write("<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 595 842]"
+                + " /Resources << /Font << /F1 " + FONT + " 0 R >> >> /Contents " + contentObj + " 0 R >>\nendobj\n");
+        pageObjects.add(pageObj);
+
+        page.setLength(0);
+        linesOnPage = 0;
+    }
+
+    private void beginObject(int number) throws IOException {
+        offsets.add(out.count);
+        write(number + " 0 obj\n");
+    }
+
+    private void write(String s) throws IOException {
+        out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /** Cuenta bytes escritos para los offsets de la xref. */
+    private static final class CountingStream extends FilterOutputStream {
+        long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
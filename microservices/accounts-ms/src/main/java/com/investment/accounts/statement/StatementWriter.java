@@ -0,0 +1,22 @@
+package com.investment.accounts.statement;
+
+import com.investment.accounts.model.StatementLineModel;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Escritor incremental de extractos: recibe las líneas de a una y no retiene ninguna,
+ * así la memoria no depende de cuántos movimientos tenga la cuenta.
+ */
+public interface StatementWriter {
+
+    void begin(UUID accountId, LocalDate from, LocalDate to, Map<String, BigDecimal> openingBalances) throws IOException;
+
+    void line(StatementLineModel line) throws IOException;
+
+    void end(Map<String, BigDecimal> closingBalances) throws IOException;
+}
@@ -0,0 +1,38 @@
+package com.investment.accounts.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@UtilityClass
+public class UuidRangeUtils {
+
+    private static final BigInteger SPACE = BigInteger.ONE.shiftLeft(128);
+    private static final BigInteger MASK_64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    /**
+     * Parte el espacio de UUIDs en {@code n} rangos contiguos {@code (lower, upper]}.
+     * Postgres ordena uuid byte a byte, igual que el entero sin signo de 128 bits,
+     * así cada rango se recorre con un range scan sobre la PK.
+     */
+    public List<UUID[]> split(int n) {
+        List<UUID[]> ranges = new ArrayList<>(n);
+        BigInteger step = SPACE.divide(BigInteger.valueOf(n));
+        for (int i = 0; i < n; i++) {
+            // lower exclusivo = upper del rango anterior; el primero arranca en el UUID nulo, que nadie genera
+            BigInteger lower = i == 0 ? BigInteger.ZERO : step.multiply(BigInteger.valueOf(i)).subtract(BigInteger.ONE);
+            BigInteger upper = i == n - 1
+                    ? SPACE.subtract(BigInteger.ONE)
+                    : step.multiply(BigInteger.valueOf(i + 1)).subtract(BigInteger.ONE);
+            ranges.add(new UUID[]{toUuid(lower), toUuid(upper)});
+        }
+        return ranges;
+    }
+
+    public UUID toUuid(BigInteger v) {
+        return new UUID(v.shiftRight(64).and(MASK_64).longValue(), v.and(MASK_64).longValue());
+    }
+}
@@ -1,5 +1,5 @@
 package com.investment.accounts.utils.enums;
 
 public enum CashMovementTypeEnum {
-    DEPOSIT, WITHDRAWAL, TRANSFER, DIVIDEND, INTEREST, FEE, OTHER
-}
\ No newline at end of file
+    DEPOSIT, WITHDRAWAL, TRANSFER, DIVIDEND, INTEREST, FEE, SETTLEMENT, OTHER
+}
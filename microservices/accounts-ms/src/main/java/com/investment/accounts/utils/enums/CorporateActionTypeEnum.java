@@ -0,0 +1,10 @@
+package com.investment.accounts.utils.enums;
+
+public enum CorporateActionTypeEnum {
+    SPLIT, REVERSE_SPLIT, CASH_DIVIDEND, STOCK_DIVIDEND;
+
+    // Los que cambian la cantidad de acciones en cartera (las posiciones se ajustan)
+    public boolean changesQuantity() {
+        return this != CASH_DIVIDEND;
+    }
+}
@@ -0,0 +1,6 @@
+package com.investment.accounts.utils.enums;
+
+// En orden de relevancia
+public enum InstrumentMatchEnum {
+    EXACT, SYMBOL_PREFIX, NAME_PREFIX, SUBSTRING
+}
@@ -0,0 +1,21 @@
+package com.investment.accounts.utils.enums;
+
+/**
+ * Libros del journal de caja. CLIENT_CASH es el efectivo de los clientes; el resto son las
+ * contrapartidas de la casa según el tipo de movimiento.
+ */
+public enum LedgerBookEnum {
+    CLIENT_CASH, BANK, TRANSFERS, DIVIDENDS, INTEREST, FEES, SETTLEMENT, SUSPENSE;
+
+    public static LedgerBookEnum contraOf(CashMovementTypeEnum type) {
+        return switch (type) {
+            case DEPOSIT, WITHDRAWAL -> BANK;
+            case TRANSFER -> TRANSFERS;
+            case DIVIDEND -> DIVIDENDS;
+            case INTEREST -> INTEREST;
+            case FEE -> FEES;
+            case SETTLEMENT -> SETTLEMENT;
+            case OTHER -> SUSPENSE;
+        };
+    }
+}
@@ -0,0 +1,5 @@
+package com.investment.accounts.utils.enums;
+
+public enum RecalculationJobStatusEnum {
+    PUBLISHING, COMPLETED, FAILED
+}
@@ -0,0 +1,8 @@
+package com.investment.accounts.utils.enums;
+
+public enum ReservationOpEnum {
+    RESERVE,
+    RELEASE,
+    CONSUME,
+    SETTLE // el débito de un CONSUME ya posteó su movimiento de liquidación
+}
@@ -0,0 +1,5 @@
+package com.investment.accounts.utils.enums;
+
+public enum SideEnum {
+    BUY, SELL
+}
@@ -5,7 +5,10 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import com.investment.accounts.configuration.AccountsTopicsProps;
 import com.investment.accounts.service.impl.AccountsEventProducerImpl;
@@ -15,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 
 @ExtendWith(MockitoExtension.class)
 class AccountsEventProducerImplTest {
@@ -60,4 +64,32 @@ class AccountsEventProducerImplTest {
         verify(topics).positionsRecalculateRequested();
         verifyNoMoreInteractions(kafkaTemplate, topics);
     }
-}
\ No newline at end of file
+
+    @Test
+    void publishPositionsRecalculateRequested_batch_shouldSendAllBeforeAcks_andReportEachOne() {
+        // Arrange
+        UUID ok = UUID.randomUUID();
+        UUID rejected = UUID.randomUUID();
+        String topic = "positions.recalc.requested";
+        when(topics.positionsRecalculateRequested()).thenReturn(topic);
+        CompletableFuture<SendResult<String, Object>> okAck = new CompletableFuture<>();
+        CompletableFuture<SendResult<String, Object>> rejectedAck = new CompletableFuture<>();
+        when(kafkaTemplate.send(topic, ok.toString(), ok)).thenReturn(okAck);
+        when(kafkaTemplate.send(topic, rejected.toString(), rejected)).thenReturn(rejectedAck);
+        List<String> acks = new ArrayList<>();
+
+        // Act
+        CompletableFuture<Void> done = producer.publishPositionsRecalculateRequested(List.of(ok, rejected),
+                (accountId, error) -> acks.add(accountId + ":" + (error == null ? "ok" : error.getMessage())));
+
+        // Assert: ambos enviados sin esperar al broker
+        verify(kafkaTemplate).send(topic, ok.toString(), ok);
+        verify(kafkaTemplate).send(topic, rejected.toString(), rejected);
+        org.junit.jupiter.api.Assertions.assertFalse(done.isDone());
+
+        okAck.complete(null);
+        rejectedAck.completeExceptionally(new IllegalStateException("timeout"));
+        org.junit.jupiter.api.Assertions.assertTrue(done.isDone());
+        org.junit.jupiter.api.Assertions.assertEquals(List.of(ok + ":ok", rejected + ":timeout"), acks);
+    }
+}
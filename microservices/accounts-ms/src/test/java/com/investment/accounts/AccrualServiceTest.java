@@ -0,0 +1,181 @@
+package com.investment.accounts;
+
+import com.investment.accounts.configuration.AccrualProperties;
+import com.investment.accounts.dto.AccrualRunResponseDto;
+import com.investment.accounts.entity.AccountBalanceEntity;
+import com.investment.accounts.entity.AccrualPartitionEntity;
+import com.investment.accounts.entity.AccrualRateEntity;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.model.AccountRefModel;
+import com.investment.accounts.repository.*;
+import com.investment.accounts.service.impl.AccrualServiceImpl;
+import com.investment.accounts.utils.UuidRangeUtils;
+import com.investment.accounts.utils.enums.AccountTypeEnum;
+import com.investment.accounts.utils.enums.AccrualPartitionStatusEnum;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccrualServiceTest {
+
+    @Mock private AccountRepository           accountRepository;
+    @Mock private AccountBalanceRepository    balanceRepository;
+    @Mock private AccrualRateRepository       rateRepository;
+    @Mock private AccrualPartitionRepository  partitionRepository;
+    @Mock private CashMovementBatchRepository batchRepository;
+    @Mock private BuyingPowerLedger           buyingPowerLedger;
+    @Mock private CashJournal                 cashJournal;
+    @Mock private TransactionTemplate         transactionTemplate;
+
+    private AccrualServiceImpl service;
+    private final LocalDate date = LocalDate.of(2026, 1, 15);
+    private UUID usd;
+
+    @BeforeEach
+    void setUp() {
+        usd = UUID.randomUUID();
+        // 1 partición, chunk de 2 cuentas, base 365
+        service = new AccrualServiceImpl(accountRepository, balanceRepository, rateRepository, partitionRepository,
+                batchRepository, buyingPowerLedger, cashJournal, new AccrualProperties(1, 1, 2, 365, null), transactionTemplate);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(partitionRepository.save(any(AccrualPartitionEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+        lenient().when(partitionRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        lenient().when(partitionRepository.claim(any(), any(), anyList(), any(), any())).thenReturn(1);
+        lenient().when(rateRepository.findAll()).thenReturn(List.of(AccrualRateEntity.builder()
+                .accountType(AccountTypeEnum.CASH).currencyId(usd)
+                .interestRate(new BigDecimal("0.0365")).feeRate(new BigDecimal("0.00365")).build()));
+    }
+
+    private AccountBalanceEntity balance(UUID accountId, String amount) {
+        return AccountBalanceEntity.builder()
+                .id(new AccountBalanceEntity.Key(accountId, usd))
+                .balance(new BigDecimal(amount))
+                .build();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_shouldPostInterestAndFee_andCheckpointEachChunk() {
+        UUID a1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID a2 = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID a3 = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        List<AccrualPartitionEntity> saved = new ArrayList<>();
+        when(partitionRepository.findAllByAccrualDate(date)).thenReturn(List.of(), saved);
+        when(partitionRepository.saveAll(anyList())).thenAnswer(inv -> {
+            saved.addAll(inv.getArgument(0));
+            return inv.getArgument(0);
+        });
+        when(partitionRepository.findById(any())).thenAnswer(inv -> Optional.of(saved.getFirst()));
+        when(accountRepository.findActiveInRange(any(), any(), eq(Limit.of(2))))
+                .thenReturn(List.of(new AccountRefModel(a1, AccountTypeEnum.CASH), new AccountRefModel(a2, AccountTypeEnum.MARGIN)))
+                .thenReturn(List.of(new AccountRefModel(a3, AccountTypeEnum.CASH)));
+        when(balanceRepository.findAllByAccountIdIn(anyCollection()))
+                .thenReturn(List.of(balance(a1, "10000"), balance(a2, "5000")))
+                .thenReturn(List.of(balance(a3, "-50")));
+
+        AccrualRunResponseDto result = service.run(date);
+
+        // a1: 10000 * 3.65% / 365 = 1.00 de interés, 0.10 de comisión; a2 no tiene tasa (MARGIN); a3 saldo negativo
+        ArgumentCaptor<List<CashMovementEntity>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).insertMovements(rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertEquals(CashMovementTypeEnum.INTEREST, rows.getValue().get(0).getType());
+        assertEquals(new BigDecimal("1.00"), rows.getValue().get(0).getAmount());
+        assertEquals(CashMovementTypeEnum.FEE, rows.getValue().get(1).getType());
+        assertEquals(new BigDecimal("-0.10"), rows.getValue().get(1).getAmount());
+        verify(cashJournal).post(rows.getValue());
+        verify(buyingPowerLedger).applyMovements(rows.getValue());
+
+        AccrualPartitionEntity partition = saved.getFirst();
+        assertEquals(AccrualPartitionStatusEnum.DONE, partition.getStatus());
+        assertEquals(a3, partition.getLastAccountId());
+        assertEquals(3, partition.getProcessedAccounts());
+        assertEquals(1, result.done());
+        assertEquals(2, result.postedMovements());
+    }
+
+    @Test
+    void run_shouldResumeFromCheckpoint_andSkipDonePartitions() {
+        UUID checkpoint = UUID.randomUUID();
+        AccrualPartitionEntity done = AccrualPartitionEntity.builder()
+                .id(new AccrualPartitionEntity.Key(date, 0)).status(AccrualPartitionStatusEnum.DONE)
+                .lowerBound(new UUID(0, 0)).upperBound(new UUID(-1, -1)).build();
+        AccrualPartitionEntity failed = AccrualPartitionEntity.builder()
+                .id(new AccrualPartitionEntity.Key(date, 1)).status(AccrualPartitionStatusEnum.FAILED)
+                .lowerBound(new UUID(0, 0)).upperBound(new UUID(-1, -1)).lastAccountId(checkpoint).build();
+        when(partitionRepository.findAllByAccrualDate(date)).thenReturn(List.of(done, failed));
+        when(partitionRepository.findById(failed.getId())).thenReturn(Optional.of(failed));
+        when(accountRepository.findActiveInRange(eq(checkpoint), any(), any())).thenReturn(List.of());
+
+        service.run(date);
+
+        verify(accountRepository, times(1)).findActiveInRange(any(), any(), any());
+        assertEquals(AccrualPartitionStatusEnum.DONE, failed.getStatus());
+        verifyNoInteractions(batchRepository);
+    }
+
+    @Test
+    void run_shouldSkipPartitionClaimedByAnotherWorker() {
+        AccrualPartitionEntity pending = AccrualPartitionEntity.builder()
+                .id(new AccrualPartitionEntity.Key(date, 0)).status(AccrualPartitionStatusEnum.PENDING)
+                .lowerBound(new UUID(0, 0)).upperBound(new UUID(-1, -1)).build();
+        when(partitionRepository.findAllByAccrualDate(date)).thenReturn(List.of(pending));
+        // otra réplica ganó el compare-and-set
+        when(partitionRepository.claim(eq(pending.getId()), eq(AccrualPartitionStatusEnum.RUNNING), anyList(), any(), any()))
+                .thenReturn(0);
+
+        service.run(date);
+
+        verifyNoInteractions(accountRepository, batchRepository, cashJournal);
+        verify(partitionRepository, never()).save(any());
+    }
+
+    @Test
+    void run_shouldMarkFailedWithTheClaimVersion_withoutSavingTheUncommittedCheckpoint() {
+        AccrualPartitionEntity claimed = AccrualPartitionEntity.builder()
+                .id(new AccrualPartitionEntity.Key(date, 0)).status(AccrualPartitionStatusEnum.RUNNING)
+                .lowerBound(new UUID(0, 0)).upperBound(new UUID(-1, -1)).version(3).build();
+        when(partitionRepository.findAllByAccrualDate(date)).thenReturn(List.of(claimed));
+        when(partitionRepository.findById(claimed.getId())).thenReturn(Optional.of(claimed));
+        when(accountRepository.findActiveInRange(any(), any(), any()))
+                .thenReturn(List.of(new AccountRefModel(UUID.randomUUID(), AccountTypeEnum.CASH)));
+        when(balanceRepository.findAllByAccountIdIn(anyCollection())).thenThrow(new IllegalStateException("db down"));
+
+        service.run(date);
+
+        verify(partitionRepository).markFailed(eq(claimed.getId()), eq(3L), eq(AccrualPartitionStatusEnum.FAILED), any());
+        verify(partitionRepository, never()).save(any());
+    }
+
+    @Test
+    void split_shouldCoverWholeUuidSpaceWithoutGaps() {
+        List<UUID[]> ranges = UuidRangeUtils.split(4);
+
+        assertEquals(new UUID(0, 0), ranges.get(0)[0]);
+        assertEquals(UUID.fromString("3fffffff-ffff-ffff-ffff-ffffffffffff"), ranges.get(0)[1]);
+        assertEquals(UUID.fromString("3fffffff-ffff-ffff-ffff-ffffffffffff"), ranges.get(1)[0]);
+        assertEquals(UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"), ranges.get(3)[1]);
+    }
+}
@@ -0,0 +1,289 @@
+package com.investment.accounts;
+
+import com.investment.accounts.configuration.BuyingPowerProperties;
+import com.investment.accounts.dto.BuyingPowerResponseDto;
+import com.investment.accounts.dto.ReservationRequestDto;
+import com.investment.accounts.entity.AccountEntity;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.entity.CashReservationJournalEntity;
+import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.ReservationJournal;
+import com.investment.accounts.model.OpenReservationModel;
+import com.investment.accounts.model.UnsettledConsumptionModel;
+import com.investment.accounts.repository.CashMovementRepository;
+import com.investment.accounts.repository.CashReservationJournalRepository;
+import com.investment.accounts.repository.SettlementBucketRepository.SettledConsumption;
+import com.investment.accounts.service.impl.BuyingPowerServiceImpl;
+import com.investment.accounts.utils.enums.ReservationOpEnum;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.common.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BuyingPowerServiceTest {
+
+    @Mock private CashMovementRepository           movementRepository;
+    @Mock private CashReservationJournalRepository journalRepository;
+    @Mock private ReservationJournal               journal;
+
+    private BuyingPowerLedger ledger;
+    private BuyingPowerServiceImpl service;
+
+    private UUID accountId;
+    private UUID currencyId;
+
+    @BeforeEach
+    void setUp() {
+        accountId  = UUID.randomUUID();
+        currencyId = UUID.randomUUID();
+
+        ledger = new BuyingPowerLedger(movementRepository, journalRepository, journal,
+                new BuyingPowerProperties(null, null, null, null, null));
+        service = new BuyingPowerServiceImpl(ledger);
+
+        lenient().when(movementRepository.sumCompletedAmount(accountId, currencyId)).thenReturn(new BigDecimal("1000.00"));
+        lenient().when(journalRepository.findUnsettledConsumptions(accountId, currencyId)).thenReturn(List.of());
+        lenient().when(journalRepository.findOpenReservations(accountId, currencyId)).thenReturn(List.of());
+        lenient().when(journal.append(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    private ReservationRequestDto request(UUID reservationId, String amount) {
+        return new ReservationRequestDto(reservationId, accountId, currencyId, new BigDecimal(amount));
+    }
+
+    private CashMovementEntity movement(String amount) {
+        return CashMovementEntity.builder()
+                .id(UUID.randomUUID())
+                .accountId(AccountEntity.builder().id(accountId).build())
+                .currency(CurrencyEntity.builder().id(currencyId).build())
+                .amount(new BigDecimal(amount))
+                .build();
+    }
+
+    @Test
+    void reserve_shouldReduceAvailable_andJournal() {
+        UUID reservationId = UUID.randomUUID();
+
+        BuyingPowerResponseDto result = service.reserve(request(reservationId, "250.00"));
+
+        assertEquals(new BigDecimal("1000.00"), result.balance());
+        assertEquals(new BigDecimal("250.00"), result.reserved());
+        assertEquals(new BigDecimal("750.00"), result.available());
+
+        ArgumentCaptor<CashReservationJournalEntity> captor = ArgumentCaptor.forClass(CashReservationJournalEntity.class);
+        verify(journal).append(captor.capture());
+        assertEquals(ReservationOpEnum.RESERVE, captor.getValue().getOp());
+        assertEquals(reservationId, captor.getValue().getReservationId());
+        assertEquals(new BigDecimal("250.00"), captor.getValue().getAmount());
+    }
+
+    @Test
+    void reserve_shouldBeIdempotentByReservationId() {
+        UUID reservationId = UUID.randomUUID();
+
+        service.reserve(request(reservationId, "250.00"));
+        BuyingPowerResponseDto again = service.reserve(request(reservationId, "250.00"));
+
+        assertEquals(new BigDecimal("750.00"), again.available());
+        verify(journal, times(1)).append(any());
+    }
+
+    @Test
+    void reserve_shouldNotConfirmUntilJournalCommits() {
+        UUID reservationId = UUID.randomUUID();
+        when(journal.append(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("db down")));
+
+        assertThrows(IllegalStateException.class, () -> service.reserve(request(reservationId, "250.00")));
+
+        // el reintento es idempotente y vuelve a esperar el mismo commit
+        assertThrows(IllegalStateException.class, () -> service.reserve(request(reservationId, "250.00")));
+        verify(journal, times(1)).append(any());
+    }
+
+    @Test
+    void reserve_shouldRejectWhenInsufficient() {
+        assertThrows(BusinessException.class, () -> service.reserve(request(UUID.randomUUID(), "1000.01")));
+        verifyNoInteractions(journal);
+    }
+
+    @Test
+    void releaseAndConsume_shouldMoveReservedAmounts() {
+        UUID reservationId = UUID.randomUUID();
+        service.reserve(request(reservationId, "300.00"));
+
+        BuyingPowerResponseDto consumed = service.consume(reservationId, UUID.randomUUID(), new BigDecimal("200.00"));
+        assertEquals(new BigDecimal("100.00"), consumed.reserved());
+        assertEquals(new BigDecimal("200.00"), consumed.consumed());
+        assertEquals(new BigDecimal("700.00"), consumed.available());
+
+        BuyingPowerResponseDto released = service.release(reservationId, null);
+        assertEquals(new BigDecimal("0.00"), released.reserved());
+        assertEquals(new BigDecimal("800.00"), released.available());
+
+        // cerrada: ya no se puede volver a liberar
+        assertThrows(NotFoundException.class, () -> service.release(reservationId, null));
+    }
+
+    @Test
+    void consume_shouldBeIdempotentByTrade_andStopCountingOnceSettled() {
+        UUID reservationId = UUID.randomUUID();
+        UUID tradeId = UUID.randomUUID();
+        service.reserve(request(reservationId, "300.00"));
+
+        service.consume(reservationId, tradeId, new BigDecimal("300.00"));
+        // reintento del mismo trade con la reserva ya cerrada: no vuelve a consumir
+        BuyingPowerResponseDto again = service.consume(reservationId, tradeId, new BigDecimal("300.00"));
+        assertEquals(new BigDecimal("300.00"), again.consumed());
+        assertEquals(new BigDecimal("700.00"), again.available());
+
+        // la liquidación postea el movimiento (-300) y salda el consumo: el débito cuenta una sola vez
+        ledger.applyMovements(List.of(movement("-300.00")));
+        ledger.applySettled(List.of(new SettledConsumption(tradeId, accountId, currencyId, new BigDecimal("300.00"))));
+        ledger.applySettled(List.of(new SettledConsumption(tradeId, accountId, currencyId, new BigDecimal("300.00"))));
+
+        BuyingPowerResponseDto settled = service.get(accountId, currencyId);
+        assertEquals(new BigDecimal("700.00"), settled.balance());
+        assertEquals(new BigDecimal("0.00"), settled.consumed());
+        assertEquals(new BigDecimal("700.00"), settled.available());
+    }
+
+    @Test
+    void consume_shouldRejectMoreThanReserved() {
+        UUID reservationId = UUID.randomUUID();
+        service.reserve(request(reservationId, "100.00"));
+
+        assertThrows(BusinessException.class, () -> service.consume(reservationId, UUID.randomUUID(), new BigDecimal("100.01")));
+        assertThrows(BadRequestException.class, () -> service.consume(reservationId, UUID.randomUUID(), BigDecimal.ZERO));
+        assertThrows(BadRequestException.class, () -> service.consume(reservationId, null, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void get_shouldRebuildFromMovementsAndJournal() {
+        UUID open = UUID.randomUUID();
+        when(journalRepository.findUnsettledConsumptions(accountId, currencyId))
+                .thenReturn(List.of(new UnsettledConsumptionModel(UUID.randomUUID(), new BigDecimal("50.00"))));
+        when(journalRepository.findOpenReservations(accountId, currencyId))
+                .thenReturn(List.of(new OpenReservationModel(open, new BigDecimal("120.00"))));
+
+        BuyingPowerResponseDto result = service.get(accountId, currencyId);
+
+        assertEquals(new BigDecimal("120.00"), result.reserved());
+        assertEquals(new BigDecimal("830.00"), result.available());
+        // la reserva reconstruida sigue operable
+        assertEquals(new BigDecimal("950.00"), service.release(open, null).available());
+    }
+
+    @Test
+    void applyMovements_shouldCountMovementOnce_whenPairLoadsBetweenCommitAndHook() {
+        CashMovementEntity deposit = movement("200.00");
+        // la suma sin el movimiento en vuelo; ya commiteado, la base lo incluiría
+        when(movementRepository.sumCompletedAmountExcluding(accountId, currencyId, Set.of(deposit.getId())))
+                .thenReturn(new BigDecimal("1000.00"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ledger.applyMovements(List.of(deposit));
+            // el par se carga con la transacción ya commiteada pero antes de que corra el hook
+            assertEquals(new BigDecimal("1000.00"), service.get(accountId, currencyId).balance());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(new BigDecimal("1200.00"), service.get(accountId, currencyId).balance());
+        verify(movementRepository, never()).sumCompletedAmount(accountId, currencyId);
+    }
+
+    @Test
+    void applyMovements_shouldIgnoreRolledBackMovements() {
+        service.get(accountId, currencyId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ledger.applyMovements(List.of(movement("200.00")));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(new BigDecimal("1000.00"), service.get(accountId, currencyId).balance());
+    }
+
+    @Test
+    void evictIdle_shouldDropOnlyPairsWithoutOpenState() throws Exception {
+        ledger = new BuyingPowerLedger(movementRepository, journalRepository, journal,
+                new BuyingPowerProperties(null, null, null, null, Duration.ofMillis(1)));
+        service = new BuyingPowerServiceImpl(ledger);
+        UUID otherCurrency = UUID.randomUUID();
+        when(movementRepository.sumCompletedAmount(accountId, otherCurrency)).thenReturn(new BigDecimal("50.00"));
+        when(journalRepository.findUnsettledConsumptions(accountId, otherCurrency)).thenReturn(List.of());
+        when(journalRepository.findOpenReservations(accountId, otherCurrency)).thenReturn(List.of());
+
+        service.reserve(request(UUID.randomUUID(), "100.00"));
+        service.get(accountId, otherCurrency);
+        Thread.sleep(5);
+
+        // el par con la reserva abierta se queda; el otro se descarta y se recarga al pedirlo
+        assertEquals(1, ledger.evictIdle());
+        assertEquals(new BigDecimal("100.00"), service.get(accountId, currencyId).reserved());
+        service.get(accountId, otherCurrency);
+        verify(movementRepository, times(1)).sumCompletedAmount(accountId, currencyId);
+        verify(movementRepository, times(2)).sumCompletedAmount(accountId, otherCurrency);
+    }
+
+    @Test
+    void concurrentReserves_shouldNeverOverbook() throws Exception {
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    service.reserve(request(UUID.randomUUID(), "10.00"));
+                    accepted.incrementAndGet();
+                } catch (BusinessException ignored) {
+                    // sin disponible
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (var f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(100, accepted.get());
+        assertEquals(new BigDecimal("0.00"), service.get(accountId, currencyId).available());
+    }
+}
@@ -0,0 +1,255 @@
+package com.investment.accounts;
+
+import com.investment.accounts.configuration.CashJournalProperties;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.ledger.CashJournal.Posting;
+import com.investment.accounts.repository.CashMovementBatchRepository;
+import com.investment.accounts.repository.CashMovementBatchRepository.BalanceDelta;
+import com.investment.accounts.repository.JournalRepository;
+import com.investment.accounts.repository.JournalRepository.EntryRow;
+import com.investment.accounts.repository.JournalRepository.UnpostedMovement;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.accounts.utils.enums.LedgerBookEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CashJournalTest {
+
+    @Mock private JournalRepository           repository;
+    @Mock private CashMovementBatchRepository batchRepository;
+    @Mock private TransactionTemplate         transactionTemplate;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OffsetDateTime date = OffsetDateTime.of(2026, 3, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+    private final UUID usd = UUID.randomUUID();
+    private final List<EntryRow> inserted = new ArrayList<>();
+    private CashJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        // 1 shard: toda la numeración es una sola secuencia
+        journal = new CashJournal(repository, batchRepository, transactionTemplate,
+                new CashJournalProperties(1, 3, Duration.ofDays(2), 2), registry);
+
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(inv -> inserted.addAll(inv.getArgument(0))).when(repository).insertEntries(anyList());
+        lenient().when(repository.maxSeq(0)).thenReturn(41L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.stop();
+    }
+
+    private Posting posting(UUID accountId, String amount, CashMovementTypeEnum type) {
+        return new Posting(UUID.randomUUID(), accountId, usd, new BigDecimal(amount), type, date, null);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void append_shouldNumberGaplessly_postBothLegs_andProjectNetBalances() {
+        UUID a1 = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID a2 = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        journal.start();
+        journal.recovery().join();
+
+        journal.append(List.of(
+                posting(a2, "100.00", CashMovementTypeEnum.DEPOSIT),
+                posting(a2, "-2.50", CashMovementTypeEnum.FEE),
+                posting(a1, "7.00", CashMovementTypeEnum.DIVIDEND),
+                posting(a1, "-1.00", CashMovementTypeEnum.WITHDRAWAL)), false).join();
+
+        assertEquals(List.of(42L, 43L, 44L, 45L), inserted.stream().map(EntryRow::seq).toList());
+        EntryRow deposit = inserted.get(0);
+        assertEquals(LedgerBookEnum.BANK, deposit.debitBook());
+        assertEquals(LedgerBookEnum.CLIENT_CASH, deposit.creditBook());
+        EntryRow fee = inserted.get(1);
+        assertEquals(LedgerBookEnum.CLIENT_CASH, fee.debitBook());
+        assertEquals(LedgerBookEnum.FEES, fee.creditBook());
+        assertEquals(new BigDecimal("2.50"), fee.amount());
+
+        // cada commit suma el neto por cuenta, en orden estable de upsert
+        ArgumentCaptor<List<BalanceDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository, atLeastOnce()).addToBalances(deltas.capture(), any());
+        BigDecimal a1Net = deltas.getAllValues().stream().flatMap(List::stream)
+                .filter(d -> d.accountId().equals(a1)).map(BalanceDelta::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(new BigDecimal("6.00"), a1Net);
+        deltas.getAllValues().forEach(batch -> {
+            for (int i = 1; i < batch.size(); i++) {
+                assertTrue(batch.get(i - 1).accountId().compareTo(batch.get(i).accountId()) < 0);
+            }
+        });
+        assertEquals(4.0, registry.get("cash.journal.entries").counter().count());
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    void append_shouldNumberFromTheMaxReadUnderTheShardLock_soAnotherReplicaCannotCollide() {
+        UUID account = UUID.randomUUID();
+        // entre los dos commits otra réplica asentó 42..50 en el mismo shard
+        when(repository.maxSeq(0)).thenReturn(41L, 50L);
+        journal.start();
+        journal.recovery().join();
+
+        journal.append(List.of(posting(account, "1", CashMovementTypeEnum.DEPOSIT)), false).join();
+        journal.append(List.of(posting(account, "2", CashMovementTypeEnum.DEPOSIT)), false).join();
+
+        assertEquals(List.of(42L, 51L), inserted.stream().map(EntryRow::seq).toList());
+        var order = inOrder(repository);
+        order.verify(repository).lockShard(0);
+        order.verify(repository).maxSeq(0);
+        order.verify(repository).insertEntries(anyList());
+    }
+
+    @Test
+    void rebuildBalances_shouldLockEveryShard_beforeRecomputing() {
+        journal.start();
+        journal.recovery().join();
+
+        journal.rebuildBalances();
+
+        var order = inOrder(repository);
+        order.verify(repository).lockShard(0);
+        order.verify(repository).rebuildBalances(any());
+    }
+
+    @Test
+    void append_shouldRetryFailedCommit_rereadingTheSequence_andSkipWhatAlreadyLanded() {
+        UUID account = UUID.randomUUID();
+        Posting first = posting(account, "10", CashMovementTypeEnum.DEPOSIT);
+        Posting second = posting(account, "20", CashMovementTypeEnum.DEPOSIT);
+        doThrow(new IllegalStateException("connection reset"))
+                .doAnswer(inv -> inserted.addAll(inv.getArgument(0)))
+                .when(repository).insertEntries(anyList());
+        // el primer intento llegó a commitear "first" antes de perder la conexión
+        when(repository.maxSeq(0)).thenReturn(41L, 42L);
+        when(repository.findPostedTxIds(anyCollection())).thenReturn(Set.of(first.txId()));
+        journal.start();
+        journal.recovery().join();
+
+        journal.append(List.of(first, second), false).join();
+
+        assertEquals(1, inserted.size());
+        assertEquals(second.txId(), inserted.getFirst().txId());
+        assertEquals(43L, inserted.getFirst().seq());
+    }
+
+    @Test
+    void start_shouldBackfillEmptyJournal_andRebuildBalancesInsteadOfAddingDeltas() {
+        UUID account = UUID.randomUUID();
+        when(repository.isEmpty()).thenReturn(true);
+        when(repository.maxSeq(0)).thenReturn(0L);
+        when(repository.findUnposted(isNull(), isNull(), anyInt())).thenReturn(List.of(
+                new UnpostedMovement(UUID.randomUUID(), account, usd, new BigDecimal("5"), CashMovementTypeEnum.INTEREST, date, null),
+                new UnpostedMovement(UUID.randomUUID(), account, usd, new BigDecimal("-1"), CashMovementTypeEnum.OTHER, date, null)));
+
+        journal.start();
+        journal.recovery().join();
+
+        assertEquals(List.of(1L, 2L), inserted.stream().map(EntryRow::seq).toList());
+        assertEquals(LedgerBookEnum.INTEREST, inserted.get(0).debitBook());
+        assertEquals(LedgerBookEnum.SUSPENSE, inserted.get(1).creditBook());
+        verify(repository).rebuildBalances(any());
+        verify(batchRepository, never()).addToBalances(anyList(), any());
+    }
+
+    @Test
+    void start_shouldRepostRecentMovementsWithoutEntries_throughTheWriters() {
+        UUID account = UUID.randomUUID();
+        UUID posted = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(repository.isEmpty()).thenReturn(false);
+        when(repository.findUnposted(any(OffsetDateTime.class), isNull(), anyInt())).thenReturn(List.of(
+                new UnpostedMovement(posted, account, usd, new BigDecimal("3"), CashMovementTypeEnum.DEPOSIT, date, null),
+                new UnpostedMovement(missing, account, usd, new BigDecimal("4"), CashMovementTypeEnum.DEPOSIT, date, null)));
+        when(repository.findPostedTxIds(anyCollection())).thenReturn(Set.of(posted));
+
+        journal.start();
+        journal.recovery().join();
+
+        assertEquals(List.of(missing), inserted.stream().map(EntryRow::txId).toList());
+        verify(batchRepository).addToBalances(List.of(new BalanceDelta(account, usd, new BigDecimal("4"))),
+                inserted.getFirst().postedAt());
+    }
+
+    @Test
+    void append_shouldParkThePoisonPosting_andCommitTheRestOfTheBatch() {
+        UUID account = UUID.randomUUID();
+        Posting poison = posting(account, "1", CashMovementTypeEnum.DEPOSIT);
+        List<Posting> good = List.of(posting(account, "2", CashMovementTypeEnum.DEPOSIT),
+                posting(account, "3", CashMovementTypeEnum.DEPOSIT), posting(account, "4", CashMovementTypeEnum.DEPOSIT));
+        doAnswer(inv -> {
+            List<EntryRow> rows = inv.getArgument(0);
+            if (rows.stream().anyMatch(r -> r.txId().equals(poison.txId()))) {
+                throw new DataIntegrityViolationException("fk_journal_entries_account");
+            }
+            return inserted.addAll(rows);
+        }).when(repository).insertEntries(anyList());
+        journal.start();
+        journal.recovery().join();
+
+        CompletableFuture<Void> poisoned = journal.append(List.of(poison, good.get(0)), false);
+        CompletableFuture<Void> clean = journal.append(good.subList(1, 3), false);
+
+        assertThrows(CompletionException.class, poisoned::join);
+        clean.join();
+        // el lote se parte hasta aislar el asiento roto; el resto entra y el shard sigue vivo
+        assertEquals(good.stream().map(Posting::txId).collect(Collectors.toSet()),
+                inserted.stream().map(EntryRow::txId).collect(Collectors.toSet()));
+        verify(repository).park(eq(poison.txId()), eq(0), anyString(), any());
+        assertEquals(1.0, registry.get("cash.journal.parked").counter().count());
+        assertEquals(0, journal.pendingCount());
+    }
+
+    @Test
+    void start_shouldRecoverByKeysetPages_inTheBackground() {
+        UUID account = UUID.randomUUID();
+        List<UnpostedMovement> first = List.of(
+                new UnpostedMovement(UUID.randomUUID(), account, usd, BigDecimal.ONE, CashMovementTypeEnum.DEPOSIT, date, null),
+                new UnpostedMovement(UUID.randomUUID(), account, usd, BigDecimal.ONE, CashMovementTypeEnum.DEPOSIT, date, null),
+                new UnpostedMovement(UUID.randomUUID(), account, usd, BigDecimal.ONE, CashMovementTypeEnum.DEPOSIT, date, null));
+        UnpostedMovement last = new UnpostedMovement(UUID.randomUUID(), account, usd, BigDecimal.ONE,
+                CashMovementTypeEnum.DEPOSIT, date, null);
+        when(repository.isEmpty()).thenReturn(false);
+        when(repository.findUnposted(any(OffsetDateTime.class), isNull(), eq(3))).thenReturn(first);
+        when(repository.findUnposted(any(OffsetDateTime.class), eq(first.getLast()), eq(3))).thenReturn(List.of(last));
+        when(repository.findPostedTxIds(anyCollection())).thenReturn(Set.of());
+
+        journal.start();
+
+        assertEquals(4L, journal.recovery().join());
+        assertEquals(4, inserted.size());
+    }
+}
@@ -0,0 +1,181 @@
+package com.investment.accounts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.investment.accounts.cache.ReferenceDataCache;
+import com.investment.accounts.configuration.CashMovementBatchProperties;
+import com.investment.accounts.dto.BulkMovementResponseDto;
+import com.investment.accounts.dto.CashMovementRequestDto;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.repository.AccountBalanceRepository;
+import com.investment.accounts.repository.CashMovementBatchRepository;
+import com.investment.accounts.service.impl.CashMovementBatchServiceImpl;
+import com.investment.accounts.utils.enums.CashMovementStatusEnum;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.common.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CashMovementBatchServiceTest {
+
+    @Mock private CashMovementBatchRepository batchRepository;
+    @Mock private AccountBalanceRepository    balanceRepository;
+    @Mock private ReferenceDataCache          referenceData;
+    @Mock private BuyingPowerLedger           buyingPowerLedger;
+    @Mock private CashJournal                 cashJournal;
+    @Mock private TransactionTemplate         transactionTemplate;
+
+    private CashMovementBatchServiceImpl service;
+
+    private UUID accountId;
+    private UUID usd;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        usd = UUID.randomUUID();
+
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        service = new CashMovementBatchServiceImpl(batchRepository, balanceRepository, referenceData,
+                buyingPowerLedger, cashJournal, new CashMovementBatchProperties(2, 10, null), transactionTemplate, mapper);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(referenceData.existingAccounts(anyCollection())).thenReturn(Set.of(accountId));
+        lenient().when(referenceData.currencyResolver()).thenReturn((id, code) ->
+                usd.equals(id) || id == null && "USD".equals(code) ? usd : null);
+        lenient().when(batchRepository.insertNewMovements(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private CashMovementRequestDto movement(UUID account, String amount) {
+        return new CashMovementRequestDto(UUID.randomUUID(), account, usd, null, new BigDecimal(amount),
+                CashMovementTypeEnum.DIVIDEND, null, " div ");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerAll_shouldWriteOneBatchPerChunk_andAggregateBalances() {
+        List<CashMovementRequestDto> input = List.of(
+                movement(accountId, "10.00"),
+                movement(accountId, "5.50"),
+                movement(accountId, "1.25"));
+
+        BulkMovementResponseDto result = service.registerAll(input);
+
+        assertEquals(3, result.received());
+        assertEquals(3, result.inserted());
+        assertEquals(0, result.rejectedCount());
+
+        // chunkSize = 2 -> dos chunks, una transacción y un batch de cada tipo por chunk
+        verify(transactionTemplate, times(2)).execute(any());
+        ArgumentCaptor<List<CashMovementEntity>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository, times(2)).insertNewMovements(rows.capture());
+        assertEquals(2, rows.getAllValues().get(0).size());
+        CashMovementEntity first = rows.getAllValues().get(0).get(0);
+        assertNotNull(first.getId());
+        assertEquals(CashMovementStatusEnum.COMPLETED, first.getStatus());
+        assertEquals("div", first.getNote());
+        assertEquals(input.get(0).requestId(), first.getRequestId());
+
+        // cada chunk se asienta en el journal, que es quien proyecta el saldo
+        verify(cashJournal).post(rows.getAllValues().get(0));
+        verify(cashJournal).post(rows.getAllValues().get(1));
+        verify(batchRepository, never()).addToBalances(anyList(), any());
+        verify(buyingPowerLedger).applyMovements(rows.getAllValues().get(0));
+        verify(buyingPowerLedger).applyMovements(rows.getAllValues().get(1));
+    }
+
+    @Test
+    void registerAll_shouldRejectInvalidRows_withoutAbortingChunk() {
+        UUID unknown = UUID.randomUUID();
+        List<CashMovementRequestDto> input = List.of(
+                movement(unknown, "10.00"),
+                movement(accountId, "0"));
+
+        BulkMovementResponseDto result = service.registerAll(input);
+
+        assertEquals(0, result.inserted());
+        assertEquals(2, result.rejectedCount());
+        assertEquals(0, result.rejected().get(0).index());
+        assertEquals(1, result.rejected().get(1).index());
+        verifyNoInteractions(batchRepository, buyingPowerLedger, cashJournal);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registerAll_shouldSkipAlreadyRegisteredRequestIds_withoutMovingBalances() {
+        List<CashMovementRequestDto> input = List.of(movement(accountId, "10.00"), movement(accountId, "2.00"));
+        // el primero ya había entrado en un intento anterior del mismo lote
+        when(batchRepository.insertNewMovements(anyList()))
+                .thenAnswer(inv -> List.of(inv.<List<CashMovementEntity>>getArgument(0).get(1)));
+
+        BulkMovementResponseDto result = service.registerAll(input);
+
+        assertEquals(1, result.inserted());
+        assertEquals(1, result.rejectedCount());
+        assertEquals(0, result.rejected().getFirst().index());
+        ArgumentCaptor<List<CashMovementEntity>> posted = ArgumentCaptor.forClass(List.class);
+        verify(cashJournal).post(posted.capture());
+        assertEquals(1, posted.getValue().size());
+        verify(buyingPowerLedger).applyMovements(posted.getValue());
+        verifyNoMoreInteractions(buyingPowerLedger);
+    }
+
+    @Test
+    void registerAll_shouldRejectOversizedRequests() {
+        List<CashMovementRequestDto> input = java.util.Collections.nCopies(11, movement(accountId, "1"));
+        assertThrows(BadRequestException.class, () -> service.registerAll(input));
+        assertThrows(BadRequestException.class, () -> service.registerAll(List.of()));
+    }
+
+    @Test
+    void processCashMovements_shouldAcceptSingleAndArrayMessages_andSkipMalformed() {
+        String single = "{\"accountId\":\"" + accountId + "\",\"currencyCode\":\"USD\",\"amount\":3,\"type\":\"INTEREST\"}";
+        String array = "[" + single + "," + single + "]";
+
+        service.processCashMovements(List.of(single, "not-json", array), List.of("t-0@1", "t-0@2", "t-0@3"));
+
+        verify(batchRepository, times(2)).insertNewMovements(anyList()); // 3 movimientos, chunk de 2
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processCashMovements_shouldDeriveStableRequestIds_andRethrowWriteFailures() {
+        String single = "{\"accountId\":\"" + accountId + "\",\"currencyCode\":\"USD\",\"amount\":3,\"type\":\"INTEREST\"}";
+        List<String> messages = List.of("[" + single + "," + single + "]");
+        List<String> origins = List.of("t-0@7");
+        when(batchRepository.insertNewMovements(anyList()))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        // el fallo sube para que el contenedor reintente el lote en vez de commitear el offset
+        assertThrows(IllegalStateException.class, () -> service.processCashMovements(messages, origins));
+        service.processCashMovements(messages, origins);
+
+        ArgumentCaptor<List<CashMovementEntity>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository, times(2)).insertNewMovements(rows.capture());
+        List<CashMovementEntity> first = rows.getAllValues().get(0);
+        List<CashMovementEntity> retry = rows.getAllValues().get(1);
+        // mismo mensaje y posición -> mismos requestId; distinto ítem del array -> distinto requestId
+        assertEquals(first.get(0).getRequestId(), retry.get(0).getRequestId());
+        assertEquals(first.get(1).getRequestId(), retry.get(1).getRequestId());
+        assertNotEquals(first.get(0).getRequestId(), first.get(1).getRequestId());
+    }
+}
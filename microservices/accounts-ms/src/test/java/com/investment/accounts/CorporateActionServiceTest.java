@@ -0,0 +1,96 @@
+package com.investment.accounts;
+
+import com.investment.accounts.entity.CorporateActionEntity;
+import com.investment.accounts.repository.CorporateActionRepository;
+import com.investment.accounts.repository.InstrumentRepository;
+import com.investment.accounts.repository.PriceRepository;
+import com.investment.accounts.service.AccountsEventProducer;
+import com.investment.accounts.service.impl.CorporateActionServiceImpl;
+import com.investment.accounts.utils.enums.CorporateActionStatusEnum;
+import com.investment.accounts.utils.enums.CorporateActionTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CorporateActionServiceTest {
+
+    @Mock private CorporateActionRepository actionRepository;
+    @Mock private InstrumentRepository      instrumentRepository;
+    @Mock private PriceRepository           priceRepository;
+    @Mock private AccountsEventProducer     eventProducer;
+    @Mock private TransactionTemplate       transactionTemplate;
+
+    private CorporateActionServiceImpl service;
+    private final LocalDate today = LocalDate.of(2026, 3, 2);
+
+    @BeforeEach
+    void setUp() {
+        service = new CorporateActionServiceImpl(actionRepository, instrumentRepository, priceRepository,
+                eventProducer, transactionTemplate);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private CorporateActionEntity action(CorporateActionTypeEnum type) {
+        return CorporateActionEntity.builder()
+                .id(UUID.randomUUID())
+                .instrumentId(UUID.randomUUID())
+                .type(type)
+                .exDate(today)
+                .ratio(type.changesQuantity() ? new BigDecimal("2") : null)
+                .cashAmount(type.changesQuantity() ? null : new BigDecimal("0.50"))
+                .status(CorporateActionStatusEnum.ANNOUNCED)
+                .build();
+    }
+
+    @Test
+    void processDue_marksProcessedOnlyWhatTheBrokerAcked() {
+        CorporateActionEntity acked = action(CorporateActionTypeEnum.SPLIT);
+        CorporateActionEntity failed = action(CorporateActionTypeEnum.REVERSE_SPLIT);
+        CorporateActionEntity cash = action(CorporateActionTypeEnum.CASH_DIVIDEND);
+        when(actionRepository.lockDue(CorporateActionStatusEnum.ANNOUNCED, today)).thenReturn(List.of(acked, failed, cash));
+        doReturn(CompletableFuture.completedFuture(null))
+                .doReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")))
+                .when(eventProducer).publishCorporateAction(any());
+
+        int processed = service.processDue(today);
+
+        assertEquals(2, processed);
+        assertEquals(CorporateActionStatusEnum.PROCESSED, acked.getStatus());
+        assertNotNull(acked.getProcessedAt());
+        // sin ack queda ANNOUNCED: la próxima corrida lo reenvía y positions-ms deduplica por actionId
+        assertEquals(CorporateActionStatusEnum.ANNOUNCED, failed.getStatus());
+        assertNull(failed.getProcessedAt());
+        // el dividendo en efectivo no publica nada
+        assertEquals(CorporateActionStatusEnum.PROCESSED, cash.getStatus());
+        verify(eventProducer, times(2)).publishCorporateAction(any());
+    }
+
+    @Test
+    void processDue_sendThatThrowsDoesNotStopTheRest() {
+        CorporateActionEntity rejected = action(CorporateActionTypeEnum.SPLIT);
+        CorporateActionEntity acked = action(CorporateActionTypeEnum.STOCK_DIVIDEND);
+        when(actionRepository.lockDue(CorporateActionStatusEnum.ANNOUNCED, today)).thenReturn(List.of(rejected, acked));
+        doThrow(new IllegalStateException("buffer full"))
+                .doReturn(CompletableFuture.completedFuture(null))
+                .when(eventProducer).publishCorporateAction(any());
+
+        assertEquals(1, service.processDue(today));
+        assertEquals(CorporateActionStatusEnum.ANNOUNCED, rejected.getStatus());
+        assertEquals(CorporateActionStatusEnum.PROCESSED, acked.getStatus());
+    }
+}
@@ -0,0 +1,133 @@
+package com.investment.accounts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.investment.accounts.cache.FxRateCache;
+import com.investment.accounts.cache.ReferenceDataCache;
+import com.investment.accounts.configuration.FxProperties;
+import com.investment.accounts.dto.FxTickDto;
+import com.investment.accounts.dto.FxTickIngestResponseDto;
+import com.investment.accounts.fx.FxBarConflator;
+import com.investment.accounts.model.FxRatePointModel;
+import com.investment.accounts.repository.FxRateBatchRepository;
+import com.investment.accounts.repository.FxRateBatchRepository.FxRateRow;
+import com.investment.accounts.service.impl.FxIngestionServiceImpl;
+import com.investment.common.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FxIngestionServiceTest {
+
+    @Mock private ReferenceDataCache    referenceData;
+    @Mock private FxRateBatchRepository batchRepository;
+    @Mock private TransactionTemplate   transactionTemplate;
+
+    private FxRateCache rateCache;
+    private FxBarConflator conflator;
+    private FxIngestionServiceImpl service;
+
+    private UUID usd;
+    private UUID eur;
+    private OffsetDateTime t0;
+
+    @BeforeEach
+    void setUp() {
+        usd = UUID.randomUUID();
+        eur = UUID.randomUUID();
+        t0 = OffsetDateTime.of(2025, 3, 3, 12, 0, 0, 0, ZoneOffset.UTC);
+
+        FxProperties properties = new FxProperties(3, null, Duration.ofSeconds(1), null, null);
+        rateCache = new FxRateCache(properties);
+        conflator = new FxBarConflator(batchRepository, transactionTemplate, properties);
+        service = new FxIngestionServiceImpl(referenceData, rateCache, conflator, properties,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(referenceData.currencyResolver()).thenReturn((id, code) ->
+                usd.equals(id) ? usd : id == null && "EUR".equals(code) ? eur : null);
+    }
+
+    private FxTickDto tick(String rate, OffsetDateTime ts) {
+        return new FxTickDto(usd, null, null, "EUR", new BigDecimal(rate), ts);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingest_conflatesTicksPerBar_andKeepsLatestInCache() {
+        FxTickIngestResponseDto result = service.ingest(List.of(
+                tick("0.9100", t0.plusNanos(900_000_000)),
+                tick("0.9000", t0.plusNanos(100_000_000)),   // atrasado dentro de la misma barra
+                tick("0.9200", t0.plusSeconds(1))));
+
+        assertEquals(3, result.accepted());
+        assertEquals(2, conflator.pendingCount());
+        FxRatePointModel cached = rateCache.get(usd, eur);
+        assertEquals(0, new BigDecimal("0.92").compareTo(cached.rate()));
+
+        // Barras de 2025: ya cerradas, se escriben sin forzar
+        assertEquals(2, conflator.flush(false));
+        ArgumentCaptor<List<FxRateRow>> rows = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).upsertRates(rows.capture());
+        assertEquals(List.of(t0.plusNanos(900_000_000), t0.plusSeconds(1)),
+                rows.getValue().stream().map(FxRateRow::ts).toList());
+        assertEquals(0, new BigDecimal("0.91").compareTo(rows.getValue().get(0).rate()));
+        assertEquals(0, conflator.pendingCount());
+    }
+
+    @Test
+    void ingest_rejectsInvalidTicks_withoutTouchingCache() {
+        FxTickIngestResponseDto result = service.ingest(List.of(
+                tick("0", t0),
+                new FxTickDto(usd, null, usd, null, BigDecimal.ONE, t0),
+                new FxTickDto(null, null, eur, null, BigDecimal.ONE, t0)));
+
+        assertEquals(0, result.accepted());
+        assertEquals(3, result.rejectedCount());
+        assertNull(rateCache.get(usd, eur));
+        assertEquals(0, conflator.pendingCount());
+        assertThrows(BadRequestException.class, () -> service.ingest(List.of()));
+        assertThrows(BadRequestException.class, () -> service.ingest(List.of(
+                tick("1", t0), tick("1", t0), tick("1", t0), tick("1", t0))));
+    }
+
+    @Test
+    void flush_whenWriteFails_keepsBarsForRetry() {
+        service.ingest(List.of(tick("0.91", t0)));
+        doThrow(new IllegalStateException("db down")).when(batchRepository).upsertRates(anyList());
+
+        assertThrows(IllegalStateException.class, () -> conflator.flush(true));
+        assertEquals(1, conflator.pendingCount());
+    }
+
+    @Test
+    void processTicks_acceptsSingleAndArrayMessages_andSkipsMalformed() {
+        service.processTicks(List.of(
+                "{\"fromCurrencyId\":\"" + usd + "\",\"toCurrencyCode\":\"EUR\",\"rate\":0.93,\"ts\":\"2025-03-03T12:00:00Z\"}",
+                "[{\"fromCurrencyId\":\"" + usd + "\",\"toCurrencyCode\":\"EUR\",\"rate\":0.94,\"ts\":\"2025-03-03T12:00:05Z\"}]",
+                "not json"));
+
+        assertEquals(0, new BigDecimal("0.94").compareTo(rateCache.get(usd, eur).rate()));
+        assertEquals(2, conflator.pendingCount());
+    }
+}
@@ -1,12 +1,18 @@
 package com.investment.accounts;
 
+import com.investment.accounts.cache.FxRateCache;
+import com.investment.accounts.configuration.FxProperties;
+import com.investment.accounts.dto.FxConversionItemDto;
+import com.investment.accounts.dto.FxConversionResultDto;
 import com.investment.accounts.entity.CurrencyEntity;
 import com.investment.accounts.entity.FxRateEntity;
+import com.investment.accounts.model.FxRatePointModel;
 import com.investment.accounts.repository.CurrencyRepository;
 import com.investment.accounts.repository.FxRateRepository;
 import com.investment.accounts.service.impl.FxServiceImpl;
 import com.investment.accounts.utils.MoneyUtils;
 import com.investment.accounts.utils.FxUtils;
+import com.investment.common.exception.BadRequestException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +25,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +43,9 @@ class FxServiceTest {
     @Mock
     private FxRateRepository fxRateRepository;
 
+    @Mock
+    private FxRateCache rateCache;
+
     @InjectMocks
     private FxServiceImpl service;
 
@@ -143,8 +154,93 @@ class FxServiceTest {
         verify(fxRateRepository).findTopByFromCurrencyIdAndToCurrencyIdOrderByIdTsDesc(usdId, eurId);
     }
 
+    // ===== Convert (bulk) =====
+
+    @Test
+    void convertAll_resolvesEachPairOnceAndKeepsOrder() {
+        FxServiceImpl bulk = bulkService(new FxProperties(null, 0, null, null, null));
+        UUID gbpId = UUID.randomUUID();
+        OffsetDateTime d1 = OffsetDateTime.of(2025, 3, 3, 12, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime d2 = d1.plusDays(1);
+        OffsetDateTime d3 = d1.plusDays(2);
+
+        when(fxRateRepository.findTopByFromCurrencyIdAndToCurrencyIdOrderByIdTsDesc(usdId, eurId))
+                .thenReturn(Optional.of(rate(usdId, eurId, new BigDecimal("0.95"))));
+        // pointLookups = 0 => siempre tramo de serie: ancla + [min, max]
+        when(fxRateRepository.findLatestAtOrBefore(eq(usdId), eq(eurId), eq(d1), any()))
+                .thenReturn(List.of(new FxRatePointModel(d1.minusHours(6), new BigDecimal("0.90"))));
+        when(fxRateRepository.findSeries(usdId, eurId, d1, d3))
+                .thenReturn(List.of(new FxRatePointModel(d2.minusHours(1), new BigDecimal("0.92"))));
+        when(fxRateRepository.findLatestAtOrBefore(eq(usdId), eq(gbpId), eq(d1), any())).thenReturn(List.of());
+        when(fxRateRepository.findSeries(usdId, gbpId, d1, d1)).thenReturn(List.of());
+
+        List<FxConversionResultDto> results = bulk.convertAll(List.of(
+                new FxConversionItemDto(new BigDecimal("100"), usdId, eurId, d1),
+                new FxConversionItemDto(new BigDecimal("100"), usdId, eurId, null),
+                new FxConversionItemDto(new BigDecimal("100"), usdId, eurId, d3),
+                new FxConversionItemDto(new BigDecimal("100"), usdId, usdId, null),
+                new FxConversionItemDto(new BigDecimal("100"), usdId, gbpId, d1),
+                new FxConversionItemDto(null, usdId, eurId, null),
+                new FxConversionItemDto(new BigDecimal("100"), usdId, eurId, d2)));
+
+        assertEquals(7, results.size());
+        assertBigDecimalEquals(new BigDecimal("90.00"), results.get(0).amount());
+        assertBigDecimalEquals(new BigDecimal("95.00"), results.get(1).amount());
+        assertBigDecimalEquals(new BigDecimal("92.00"), results.get(2).amount());
+        assertBigDecimalEquals(new BigDecimal("100.00"), results.get(3).amount());
+        assertNotNull(results.get(4).error());
+        assertNotNull(results.get(5).error());
+        assertBigDecimalEquals(new BigDecimal("92.00"), results.get(6).amount());
+        assertEquals(d2.minusHours(1), results.get(6).rateTs());
+
+        verify(fxRateRepository, times(1)).findTopByFromCurrencyIdAndToCurrencyIdOrderByIdTsDesc(usdId, eurId);
+        verify(fxRateRepository, times(1)).findSeries(usdId, eurId, d1, d3);
+    }
+
+    @Test
+    void convertAll_withFewDates_usesPointLookups() {
+        FxServiceImpl bulk = bulkService(new FxProperties(null, 2, null, null, null));
+        OffsetDateTime d1 = OffsetDateTime.of(2025, 3, 3, 12, 0, 0, 0, ZoneOffset.UTC);
+        when(fxRateRepository.findLatestAtOrBefore(eq(usdId), eq(eurId), eq(d1), any()))
+                .thenReturn(List.of(new FxRatePointModel(d1.minusHours(1), new BigDecimal("0.90"))));
+
+        List<FxConversionResultDto> results = bulk.convertAll(List.of(
+                new FxConversionItemDto(new BigDecimal("10"), usdId, eurId, d1),
+                new FxConversionItemDto(new BigDecimal("20"), usdId, eurId, d1)));
+
+        assertBigDecimalEquals(new BigDecimal("9.00"), results.get(0).amount());
+        assertBigDecimalEquals(new BigDecimal("18.00"), results.get(1).amount());
+        verify(fxRateRepository, times(1)).findLatestAtOrBefore(eq(usdId), eq(eurId), eq(d1), any());
+        verify(fxRateRepository, never()).findSeries(any(), any(), any(), any());
+    }
+
+    @Test
+    void convertAll_rejectsEmptyAndOversizedBatches() {
+        FxServiceImpl bulk = bulkService(new FxProperties(1, null, null, null, null));
+        FxConversionItemDto item = new FxConversionItemDto(BigDecimal.ONE, usdId, eurId, null);
+
+        assertThrows(BadRequestException.class, () -> bulk.convertAll(List.of()));
+        assertThrows(BadRequestException.class, () -> bulk.convertAll(List.of(item, item)));
+        verifyNoInteractions(fxRateRepository);
+    }
+
+    @Test
+    void convert_prefersCachedRateOverDatabase() {
+        when(rateCache.get(usdId, eurId))
+                .thenReturn(new FxRatePointModel(OffsetDateTime.now(), new BigDecimal("0.50")));
+
+        BigDecimal result = service.convert(new BigDecimal("10"), usdId, eurId);
+
+        assertBigDecimalEquals(new BigDecimal("5.00"), result);
+        verifyNoInteractions(fxRateRepository);
+    }
+
     // ===== helpers =====
 
+    private FxServiceImpl bulkService(FxProperties properties) {
+        return new FxServiceImpl(currencyRepository, fxRateRepository, properties, new FxRateCache(properties));
+    }
+
     private static CurrencyEntity currency(UUID id, String code) {
         CurrencyEntity c = new CurrencyEntity();
         c.setId(id);
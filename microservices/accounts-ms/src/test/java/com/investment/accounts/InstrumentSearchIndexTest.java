@@ -0,0 +1,94 @@
+package com.investment.accounts;
+
+import com.investment.accounts.model.InstrumentSearchModel;
+import com.investment.accounts.search.InstrumentSearchIndex;
+import com.investment.accounts.search.InstrumentSearchIndex.Hit;
+import com.investment.accounts.utils.enums.InstrumentMatchEnum;
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentSearchIndexTest {
+
+    private InstrumentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = InstrumentSearchIndex.build(List.of(
+                instrument("AAPL", "Apple Inc.", InstrumentStatusEnum.ACTIVE),
+                instrument("AAPLX", "Apple Income Fund", InstrumentStatusEnum.ACTIVE),
+                instrument("AP", "Air Products", InstrumentStatusEnum.ACTIVE),
+                instrument("APLE", "Apple Hospitality REIT", InstrumentStatusEnum.DELISTED),
+                instrument("MSFT", "Microsoft Corp", InstrumentStatusEnum.ACTIVE),
+                instrument("PINE", "Pineapple Holdings", InstrumentStatusEnum.ACTIVE)));
+    }
+
+    @Test
+    void search_ranksExactThenSymbolPrefixThenNameWordThenSubstring() {
+        List<Hit> hits = index.search("apple", 10, 1_000, i -> true);
+
+        assertEquals(List.of("AAPL", "AAPLX", "APLE", "PINE"), symbols(hits));
+        assertEquals(InstrumentMatchEnum.NAME_PREFIX, hits.get(0).match());
+        assertEquals(InstrumentMatchEnum.SUBSTRING, hits.get(3).match());
+
+        List<Hit> ap = index.search("ap", 10, 1_000, i -> true);
+        assertEquals(InstrumentMatchEnum.EXACT, ap.get(0).match());
+        assertEquals("AP", ap.get(0).instrument().symbol());
+        assertEquals(List.of("AP", "APLE", "AAPL", "AAPLX"), symbols(ap));
+    }
+
+    @Test
+    void search_appliesFilterAndLimit_withoutDuplicates() {
+        List<Hit> active = index.search("apple", 10, 1_000, i -> i.status() == InstrumentStatusEnum.ACTIVE);
+        assertEquals(List.of("AAPL", "AAPLX", "PINE"), symbols(active));
+
+        assertEquals(1, index.search("aapl", 1, 1_000, i -> true).size());
+        assertTrue(index.search("zzz", 10, 1_000, i -> true).isEmpty());
+        assertTrue(index.search("  ", 10, 1_000, i -> true).isEmpty());
+        assertTrue(InstrumentSearchIndex.EMPTY.search("aapl", 10, 1_000, i -> true).isEmpty());
+    }
+
+    @Test
+    void search_substringRequiresContiguousMatch() {
+        // solo en el medio del nombre "Microsoft"
+        assertEquals(List.of("MSFT"), symbols(index.search("osof", 10, 1_000, i -> true)));
+
+        // CAR, ART, RTE y TEX están todos en "Cart Artex", pero "cartex" no es subcadena
+        InstrumentSearchIndex small = InstrumentSearchIndex.build(List.of(
+                instrument("CRTX", "Cart Artex", InstrumentStatusEnum.ACTIVE)));
+        assertTrue(small.search("cartex", 10, 1_000, i -> true).isEmpty());
+        assertEquals(1, small.search("t art", 10, 1_000, i -> true).size());
+    }
+
+    @Test
+    void search_overLargeUniverse_stopsAtLimit() {
+        List<InstrumentSearchModel> universe = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            universe.add(instrument(String.format("S%06d", i), "Synthetic Holding " + i, InstrumentStatusEnum.ACTIVE));
+        }
+        InstrumentSearchIndex large = InstrumentSearchIndex.build(universe);
+
+        List<Hit> hits = large.search("S0001", 10, 20_000, i -> true);
+        assertEquals(10, hits.size());
+        assertEquals("S000100", hits.get(0).instrument().symbol());
+        // 12345 y 123450..123459 contienen "holding 12345": 11 coincidencias, se corta en 10
+        List<Hit> byName = large.search("holding 12345", 10, 20_000, i -> true);
+        assertEquals(10, byName.size());
+        assertEquals("S012345", byName.get(0).instrument().symbol());
+    }
+
+    private static List<String> symbols(List<Hit> hits) {
+        return hits.stream().map(h -> h.instrument().symbol()).toList();
+    }
+
+    private static InstrumentSearchModel instrument(String symbol, String name, InstrumentStatusEnum status) {
+        return new InstrumentSearchModel(UUID.randomUUID(), symbol, name, InstrumentTypeEnum.STOCK, status);
+    }
+}
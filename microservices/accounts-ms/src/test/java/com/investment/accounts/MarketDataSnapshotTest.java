@@ -0,0 +1,133 @@
+package com.investment.accounts;
+
+import com.investment.accounts.cache.MarketDataCache;
+import com.investment.accounts.model.FxLatestRateModel;
+import com.investment.accounts.model.InstrumentRefModel;
+import com.investment.accounts.model.LastPriceModel;
+import com.investment.accounts.model.ListingRefModel;
+import com.investment.accounts.snapshot.MarketDataSnapshot;
+import com.investment.accounts.snapshot.MarketDataSnapshot.Contents;
+import com.investment.accounts.snapshot.MarketDataSnapshot.Watermarks;
+import com.investment.accounts.utils.enums.InstrumentStatusEnum;
+import com.investment.accounts.utils.enums.InstrumentTypeEnum;
+import com.investment.accounts.utils.enums.ListingStatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketDataSnapshotTest {
+
+    private static final OffsetDateTime T0 = OffsetDateTime.of(2026, 3, 2, 14, 30, 0, 123_456_000, ZoneOffset.UTC);
+
+    @TempDir
+    Path dir;
+
+    private final UUID usd = UUID.randomUUID();
+    private final UUID eur = UUID.randomUUID();
+    private final UUID nyse = UUID.randomUUID();
+    private final UUID lse = UUID.randomUUID();
+
+    private List<InstrumentRefModel> instruments;
+    private Contents contents;
+
+    @BeforeEach
+    void setUp() {
+        instruments = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            instruments.add(new InstrumentRefModel(UUID.randomUUID(), "SYM" + i, "Compañía " + i,
+                    InstrumentTypeEnum.STOCK, InstrumentStatusEnum.ACTIVE, usd));
+        }
+        UUID first = instruments.get(0).id();
+        contents = new Contents(
+                instruments,
+                List.of(new ListingRefModel(first, nyse, "SYM0", usd, LocalDate.of(2001, 5, 1), ListingStatusEnum.LISTED),
+                        new ListingRefModel(first, lse, "SYM0L", eur, LocalDate.of(2010, 1, 4), ListingStatusEnum.LISTED)),
+                List.of(new FxLatestRateModel(eur, usd, T0, new BigDecimal("1.0834500000")),
+                        new FxLatestRateModel(usd, eur, T0, new BigDecimal("0.9229800000"))),
+                List.of(new LastPriceModel(first, T0, new BigDecimal("187.250000"))),
+                new Watermarks(T0, T0, T0, T0.minusSeconds(1)));
+    }
+
+    private MarketDataSnapshot writeAndOpen(Contents c) throws IOException {
+        Path file = dir.resolve("market-data.snapshot");
+        long bytes = MarketDataSnapshot.write(file, c);
+        assertEquals(bytes, Files.size(file));
+        return MarketDataSnapshot.open(file);
+    }
+
+    @Test
+    void roundTrip_readsRecordsFromMappedFile() throws IOException {
+        MarketDataSnapshot snapshot = writeAndOpen(contents);
+
+        assertEquals(500, snapshot.instrumentCount());
+        for (InstrumentRefModel i : instruments) {
+            assertEquals(i, snapshot.instrument(i.id()));
+        }
+        assertNull(snapshot.instrument(UUID.randomUUID()));
+
+        UUID first = instruments.get(0).id();
+        assertEquals(2, snapshot.listings(first).size());
+        assertTrue(snapshot.listings(instruments.get(1).id()).isEmpty());
+        assertEquals(new BigDecimal("1.0834500000"), snapshot.fxRate(eur, usd).rate());
+        assertEquals(T0, snapshot.fxRate(usd, eur).ts());
+        assertNull(snapshot.fxRate(usd, usd));
+        assertEquals(new BigDecimal("187.250000"), snapshot.lastPrice(first).close());
+        assertEquals(T0.minusSeconds(1), snapshot.watermarks().prices());
+    }
+
+    @Test
+    void open_rejectsTruncatedOrForeignFiles() throws IOException {
+        Path file = dir.resolve("market-data.snapshot");
+        MarketDataSnapshot.write(file, contents);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> MarketDataSnapshot.open(file));
+
+        Files.writeString(file, "not a snapshot at all, but long enough to have a header.................");
+        assertThrows(IOException.class, () -> MarketDataSnapshot.open(file));
+    }
+
+    @Test
+    void cache_overlaysChangesAndDropsThemOnceSnapshotted() throws IOException {
+        MarketDataCache cache = new MarketDataCache();
+        cache.install(writeAndOpen(contents));
+        UUID first = instruments.get(0).id();
+
+        InstrumentRefModel renamed = new InstrumentRefModel(first, "SYM0", "Renamed", InstrumentTypeEnum.STOCK,
+                InstrumentStatusEnum.DELISTED, usd);
+        LastPriceModel newer = new LastPriceModel(first, T0.plusMinutes(1), new BigDecimal("190.000000"));
+        LastPriceModel older = new LastPriceModel(first, T0.minusMinutes(1), new BigDecimal("1.000000"));
+        ListingRefModel newListing = new ListingRefModel(first, UUID.randomUUID(), "S0", usd,
+                LocalDate.of(2026, 1, 5), ListingStatusEnum.LISTED);
+        cache.apply(List.of(renamed), List.of(newListing), List.of(), List.of(newer, older),
+                new Watermarks(T0.plusMinutes(2), T0, T0, T0.plusMinutes(1)));
+
+        assertEquals(renamed, cache.instrument(first));
+        assertEquals(newer, cache.lastPrice(first));                    // el precio atrasado no pisa
+        assertEquals(3, cache.listings(first).size());
+        assertEquals(500, cache.instruments().size());
+        assertEquals(T0.plusMinutes(2), cache.watermarks().instruments());
+        assertEquals(3, cache.pendingChanges());
+
+        // El snapshot siguiente se arma desde memoria y absorbe los cambios
+        cache.install(writeAndOpen(cache.contents()));
+        assertEquals(0, cache.pendingChanges());
+        assertEquals(renamed, cache.base().instrument(first));
+        assertEquals(newer, cache.lastPrice(first));
+        assertEquals(T0.plusMinutes(1), cache.base().watermarks().prices());
+    }
+}
@@ -0,0 +1,80 @@
+package com.investment.accounts;
+
+import com.investment.accounts.configuration.RecalculationJobProperties;
+import com.investment.accounts.dto.RecalculationJobResponseDto;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.service.AccountsEventProducer;
+import com.investment.accounts.service.impl.PositionsRecalculationServiceImpl;
+import com.investment.accounts.utils.enums.RecalculationJobStatusEnum;
+import com.investment.common.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PositionsRecalculationServiceTest {
+
+    @Mock private AccountRepository     accountRepository;
+    @Mock private AccountsEventProducer eventProducer;
+
+    private PositionsRecalculationServiceImpl service;
+    private final UUID portfolioId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        service = new PositionsRecalculationServiceImpl(accountRepository, eventProducer,
+                new RecalculationJobProperties(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void requestForPortfolio_shouldPublishOneBatch_andTrackAcksUntilCompletion() {
+        UUID a1 = UUID.randomUUID();
+        UUID a2 = UUID.randomUUID();
+        UUID a3 = UUID.randomUUID();
+        when(accountRepository.findIdsByPortfolioId(portfolioId)).thenReturn(List.of(a1, a2, a3));
+        CompletableFuture<Void> allAcks = new CompletableFuture<>();
+        ArgumentCaptor<BiConsumer<UUID, Throwable>> onAck = ArgumentCaptor.forClass(BiConsumer.class);
+        when(eventProducer.publishPositionsRecalculateRequested(eq(List.of(a1, a2, a3)), onAck.capture()))
+                .thenReturn(allAcks);
+
+        RecalculationJobResponseDto job = service.requestForPortfolio(portfolioId);
+
+        assertEquals(RecalculationJobStatusEnum.PUBLISHING, job.status());
+        assertEquals(3, job.accounts());
+        assertNull(job.completedAt());
+
+        onAck.getValue().accept(a1, null);
+        onAck.getValue().accept(a2, null);
+        assertEquals(2, service.getJob(job.jobId()).published());
+        assertEquals(RecalculationJobStatusEnum.PUBLISHING, service.getJob(job.jobId()).status());
+
+        onAck.getValue().accept(a3, new IllegalStateException("broker down"));
+        allAcks.complete(null);
+        RecalculationJobResponseDto done = service.getJob(job.jobId());
+        assertEquals(RecalculationJobStatusEnum.FAILED, done.status());
+        assertEquals(1, done.failed());
+        assertNotNull(done.completedAt());
+        verify(eventProducer, never()).publishPositionsRecalculateRequested(any(UUID.class));
+    }
+
+    @Test
+    void requestForPortfolio_withoutAccounts_shouldThrowNotFound_andPublishNothing() {
+        when(accountRepository.findIdsByPortfolioId(portfolioId)).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> service.requestForPortfolio(portfolioId));
+        assertThrows(NotFoundException.class, () -> service.getJob(UUID.randomUUID()));
+        verifyNoInteractions(eventProducer);
+    }
+}
@@ -0,0 +1,74 @@
+package com.investment.accounts;
+
+import com.investment.accounts.adjustment.PriceAdjustmentSchedule;
+import com.investment.accounts.adjustment.PriceAdjustmentSchedule.Adjustment;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceAdjustmentScheduleTest {
+
+    private static final LocalDate FIRST_EX = LocalDate.of(2025, 3, 10);
+    private static final LocalDate SECOND_EX = LocalDate.of(2025, 9, 1);
+
+    private static void assertDecimal(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void splits_accumulateBackwardsFromEachExDate() {
+        PriceAdjustmentSchedule schedule = PriceAdjustmentSchedule.compile(List.of(
+                Adjustment.ofRatio(SECOND_EX, new BigDecimal("4")),
+                Adjustment.ofRatio(FIRST_EX, new BigDecimal("2"))));
+
+        // Antes del primer split: 2:1 y 4:1 -> precio / 8, volumen * 8
+        assertDecimal("0.125", schedule.priceFactor(Instant.parse("2025-01-02T15:00:00Z")));
+        assertDecimal("8", schedule.volumeFactor(Instant.parse("2025-01-02T15:00:00Z")));
+        // La fecha ex a las 00:00 UTC ya cotiza post-split
+        assertDecimal("0.25", schedule.priceFactor(Instant.parse("2025-03-10T00:00:00Z")));
+        assertDecimal("1", schedule.priceFactor(Instant.parse("2025-09-01T14:30:00Z")));
+        assertEquals(2, schedule.size());
+    }
+
+    @Test
+    void cashDividend_scalesPriceOnly() {
+        PriceAdjustmentSchedule schedule = PriceAdjustmentSchedule.compile(List.of(
+                Adjustment.ofCashDividend(FIRST_EX, new BigDecimal("2"), new BigDecimal("100")),
+                Adjustment.ofRatio(SECOND_EX, new BigDecimal("0.5"))));   // contrasplit 1:2
+
+        Instant beforeBoth = Instant.parse("2025-02-01T00:00:00Z");
+        assertDecimal("1.96", schedule.priceFactor(beforeBoth));        // 0.98 * 2
+        assertDecimal("0.5", schedule.volumeFactor(beforeBoth));
+        assertDecimal("2", schedule.priceFactor(Instant.parse("2025-05-01T00:00:00Z")));
+    }
+
+    @Test
+    void cashDividend_withoutUsablePreviousClose_isIgnored() {
+        Adjustment noClose = Adjustment.ofCashDividend(FIRST_EX, new BigDecimal("2"), null);
+        Adjustment tooLarge = Adjustment.ofCashDividend(FIRST_EX, new BigDecimal("5"), new BigDecimal("5"));
+
+        assertDecimal("1", noClose.priceFactor());
+        assertDecimal("1", tooLarge.priceFactor());
+    }
+
+    @Test
+    void sameExDate_combinesFactors() {
+        PriceAdjustmentSchedule schedule = PriceAdjustmentSchedule.compile(List.of(
+                Adjustment.ofRatio(FIRST_EX, new BigDecimal("2")),
+                Adjustment.ofRatio(FIRST_EX, new BigDecimal("1.1"))));
+
+        assertEquals(1, schedule.size());
+        assertDecimal("2.2", schedule.volumeFactor(Instant.parse("2025-01-01T00:00:00Z")));
+    }
+
+    @Test
+    void none_leavesSeriesUntouched() {
+        assertEquals(0, PriceAdjustmentSchedule.NONE.size());
+        assertDecimal("1", PriceAdjustmentSchedule.NONE.priceFactor(Instant.EPOCH));
+    }
+}
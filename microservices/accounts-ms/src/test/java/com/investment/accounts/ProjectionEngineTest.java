@@ -0,0 +1,136 @@
+package com.investment.accounts;
+
+import com.investment.accounts.configuration.ProjectionProperties;
+import com.investment.accounts.risk.ProjectionEngine;
+import com.investment.accounts.risk.ProjectionEngine.Result;
+import com.investment.accounts.risk.ProjectionEngine.Scenario;
+import com.investment.accounts.risk.QuantileSketch;
+import com.investment.accounts.risk.RiskMath;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectionEngineTest {
+
+    private static final double ALPHA = 0.005;
+
+    private static ProjectionEngine engine(int chunkSize, int parallelism) {
+        return new ProjectionEngine(new ProjectionProperties(null, null, null, null, 12, ALPHA,
+                chunkSize, parallelism, null, null));
+    }
+
+    @Test
+    void sketch_quantilesWithinRelativeAccuracy_afterMerge() {
+        SplittableRandom random = new SplittableRandom(11);
+        QuantileSketch left = new QuantileSketch(ALPHA);
+        QuantileSketch right = new QuantileSketch(ALPHA);
+        double[] values = new double[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2 + 5);
+            (i % 2 == 0 ? left : right).add(values[i]);
+        }
+        left.merge(right);
+        Arrays.sort(values);
+
+        assertEquals(values.length, left.count());
+        for (double q : new double[]{0, 0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99, 1}) {
+            double exact = values[(int) Math.floor(q * (values.length - 1))];
+            assertEquals(exact, left.quantile(q), exact * ALPHA, "q=" + q);
+        }
+    }
+
+    @Test
+    void sketch_nonPositiveValuesReportAsZero() {
+        QuantileSketch sketch = new QuantileSketch(ALPHA);
+        sketch.add(0);
+        sketch.add(-5);
+        sketch.add(100);
+
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(100, sketch.quantile(1), 100 * ALPHA);
+        assertTrue(Double.isNaN(new QuantileSketch(ALPHA).quantile(0.5)));
+    }
+
+    @Test
+    void cholesky_reproducesCovariance_andToleratesCollinearRows() {
+        double[] cov = {4, 2, 0.4, 2, 10, 1, 0.4, 1, 0.5};
+        double[] l = RiskMath.cholesky(cov, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                double s = 0;
+                for (int m = 0; m < 3; m++) {
+                    s += l[i * 3 + m] * l[j * 3 + m];
+                }
+                assertEquals(cov[i * 3 + j], s, 1e-12);
+            }
+        }
+        // dos instrumentos idénticos: la segunda columna queda en cero en vez de fallar
+        double[] singular = RiskMath.cholesky(new double[]{1, 1, 1, 1}, 2);
+        assertArrayEquals(new double[]{1, 0, 1, 0}, singular, 1e-12);
+    }
+
+    @Test
+    void simulate_withoutVolatility_compoundsExpectedReturnAndContributions() {
+        double[] zero = new double[4];
+        Scenario scenario = new Scenario(new double[]{600, 400}, new double[]{0.05, 0.05}, zero,
+                3, 1_000, 120, 1_500, 1L);
+
+        Result result = engine(256, 2).simulate(scenario);
+
+        // aporte mensual de 10 al final de cada mes, crecimiento mensual (1.05)^(1/12)
+        double g = Math.pow(1.05, 1.0 / 12);
+        double value = 1_000;
+        double[] expected = new double[3];
+        for (int month = 1; month <= 36; month++) {
+            value = value * g + 10;
+            if (month % 12 == 0) {
+                expected[month / 12 - 1] = value;
+            }
+        }
+        assertEquals(1_000, result.paths());
+        for (int y = 0; y < 3; y++) {
+            QuantileSketch sketch = result.byYear()[y];
+            assertEquals(expected[y], sketch.mean(), 1e-6);
+            assertEquals(expected[y], sketch.quantile(0.05), expected[y] * ALPHA);
+            assertEquals(expected[y], sketch.quantile(0.95), expected[y] * ALPHA);
+        }
+        assertEquals(1_000, result.goalHits());   // ~1545 >= 1500 en todos los caminos
+    }
+
+    @Test
+    void simulate_withdrawalsDepletePortfolio() {
+        Scenario scenario = new Scenario(new double[]{1_000}, new double[]{0}, new double[1],
+                2, 100, -1_200, Double.NaN, 1L);
+
+        Result result = engine(64, 1).simulate(scenario);
+
+        assertEquals(0, result.byYear()[0].quantile(0.5));
+        assertEquals(0, result.byYear()[1].quantile(1));
+    }
+
+    @Test
+    void simulate_sameSeed_sameBands_regardlessOfParallelism() {
+        double[] cov = {0.0001, 0.00004, 0.00004, 0.0004};
+        Scenario scenario = new Scenario(new double[]{5_000, 5_000}, new double[]{0.04, 0.08}, cov,
+                10, 20_000, 0, 15_000, 42L);
+
+        Result serial = engine(1_000, 1).simulate(scenario);
+        Result parallel = engine(1_000, 4).simulate(scenario);
+
+        QuantileSketch a = serial.byYear()[9];
+        QuantileSketch b = parallel.byYear()[9];
+        assertEquals(20_000, serial.paths());
+        assertEquals(a.mean(), b.mean(), 0);
+        assertEquals(a.quantile(0.05), b.quantile(0.05), 0);
+        assertEquals(a.quantile(0.5), b.quantile(0.5), 0);
+        assertEquals(serial.goalHits(), parallel.goalHits());
+        // bandas ordenadas y media cerca de la esperada: 5000 * 1.04^10 + 5000 * 1.08^10
+        assertTrue(a.quantile(0.05) < a.quantile(0.5) && a.quantile(0.5) < a.quantile(0.95));
+        double expectedMean = 5_000 * Math.pow(1.04, 10) + 5_000 * Math.pow(1.08, 10);
+        assertEquals(expectedMean, a.mean(), expectedMean * 0.02);
+        assertTrue(serial.goalHits() > 0 && serial.goalHits() < 20_000);
+    }
+}
@@ -0,0 +1,189 @@
+package com.investment.accounts;
+
+import com.investment.accounts.entity.*;
+import com.investment.accounts.model.AccountModel;
+import com.investment.accounts.model.CashMovementModel;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.repository.BrokerRepository;
+import com.investment.accounts.repository.CashMovementRepository;
+import com.investment.accounts.repository.CurrencyRepository;
+import com.investment.accounts.service.impl.AccountServiceImpl;
+import com.investment.accounts.service.impl.PricingServiceImpl;
+import com.investment.accounts.service.impl.SettlementServiceImpl;
+import com.investment.accounts.utils.enums.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cuenta sentencias JDBC por endpoint de listado contra una BD real (H2): si alguien vuelve
+ * a derreferenciar una asociación lazy por fila, el número sube y el test falla.
+ */
+@DataJpaTest(properties = {
+        // H2 no conoce el alias timestamptz de Postgres que usan algunos columnDefinition
+        "spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE DOMAIN IF NOT EXISTS TIMESTAMPTZ AS TIMESTAMP WITH TIME ZONE",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AccountServiceImpl.class, PricingServiceImpl.class})
+class QueryCountTest {
+
+    private static final int ROWS = 5;
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired private EntityManager em;
+    @Autowired private EntityManagerFactory emf;
+    @Autowired private AccountServiceImpl accountService;
+    @Autowired private PricingServiceImpl pricingService;
+    @Autowired private CashMovementRepository cashMovementRepository;
+    @Autowired private CurrencyRepository currencyRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private BrokerRepository brokerRepository;
+
+    private Statistics stats;
+    private final List<AccountEntity> accounts = new ArrayList<>();
+    private final List<InstrumentEntity> instruments = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+
+        // Un broker y una moneda distintos por fila: es el peor caso para el N+1
+        for (int i = 0; i < ROWS; i++) {
+            BrokerEntity broker = BrokerEntity.builder()
+                    .name("Broker " + i).country("AR").status(BrokerStatusEnum.ACTIVE).build();
+            CurrencyEntity currency = CurrencyEntity.builder().code("C" + i).name("Currency " + i).build();
+            em.persist(broker);
+            em.persist(currency);
+
+            AccountEntity account = AccountEntity.builder()
+                    .broker(broker).currency(currency).portfolioId(UUID.randomUUID())
+                    .accountNumber("ACC-" + i).type(AccountTypeEnum.CASH).status(AccountStatusEnum.ACTIVE)
+                    .openedAt(NOW).build();
+            em.persist(account);
+            accounts.add(account);
+
+            InstrumentEntity instrument = InstrumentEntity.builder()
+                    .id(UUID.randomUUID()).symbol("SYM" + i).name("Instrument " + i).type(InstrumentTypeEnum.STOCK)
+                    .status(InstrumentStatusEnum.ACTIVE).currency(currency).build();
+            em.persist(instrument);
+            instruments.add(instrument);
+        }
+
+        AccountEntity first = accounts.getFirst();
+        UUID exchangeId = UUID.randomUUID();
+        for (int i = 0; i < ROWS; i++) {
+            CurrencyEntity currency = accounts.get(i).getCurrency();
+            em.persist(CashMovementEntity.builder()
+                    .id(UUID.randomUUID()).accountId(first).currency(currency)
+                    .amount(BigDecimal.TEN).type(CashMovementTypeEnum.DEPOSIT)
+                    .status(CashMovementStatusEnum.COMPLETED).date(NOW.plusMinutes(i)).build());
+            em.persist(ExchangeListingEntity.builder()
+                    .id(new ExchangeListingEntity.ExchangeListingId(instruments.getFirst().getId(), UUID.randomUUID()))
+                    .localTicker("T" + i).tradeCurrency(currency).listingDate(LocalDate.of(2020, 1, 1))
+                    .status(ListingStatusEnum.LISTED).build());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void accountsPage_selectAndCountOnly() {
+        long count = statements(() -> accountService.getAll(PageRequest.of(0, ROWS - 1))
+                .forEach(a -> assertNotNull(a.brokerName())));
+        assertEquals(2, count);
+    }
+
+    @Test
+    void accountById_singleSelect() {
+        long count = statements(() -> {
+            AccountModel m = accountService.getById(accounts.get(1).getId()).orElseThrow();
+            assertEquals("C1", m.currencyCode());
+        });
+        assertEquals(1, count);
+    }
+
+    @Test
+    void movementsPage_selectAndCountOnly() {
+        SettlementServiceImpl settlement = new SettlementServiceImpl(
+                cashMovementRepository, currencyRepository, accountRepository, null, null);
+        long count = statements(() -> {
+            List<CashMovementModel> page = settlement
+                    .getMovements(accounts.getFirst().getId(), PageRequest.of(0, ROWS - 1)).getContent();
+            assertEquals(ROWS - 1, page.size());
+            page.forEach(m -> {
+                assertNotNull(m.currencyCode());
+                assertEquals(accounts.getFirst().getId(), m.accountId());
+            });
+        });
+        assertEquals(2, count);
+    }
+
+    @Test
+    void instrumentsPage_currencyFetchedWithRows() {
+        long count = statements(() -> pricingService.getInstruments(PageRequest.of(0, ROWS - 1))
+                .forEach(i -> assertNotNull(i.getCurrency().getCode())));
+        assertEquals(2, count);
+    }
+
+    @Test
+    void listingsPage_tradeCurrencyFetchedWithRows() {
+        long count = statements(() -> pricingService
+                .getListingsByInstrument(instruments.getFirst().getId(), PageRequest.of(0, ROWS - 1))
+                .forEach(l -> assertNotNull(l.getTradeCurrency().getCode())));
+        assertEquals(2, count);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void catalogLookups_servedFromSecondLevelCache() {
+        // Hibernate no cachea entidades insertadas en la misma transacción: se commitea el seed
+        // y el contexto se descarta al terminar para no dejar filas a los demás tests
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+        emf.getCache().evictAll();
+
+        UUID brokerId = accounts.get(2).getBroker().getId();
+        UUID currencyId = accounts.get(2).getCurrency().getId();
+        Runnable lookups = () -> {
+            assertTrue(brokerRepository.findById(brokerId).isPresent());
+            assertTrue(currencyRepository.findById(currencyId).isPresent());
+        };
+
+        assertEquals(2, statements(lookups));
+        assertEquals(0, statements(lookups));
+        assertTrue(stats.getDomainDataRegionStatistics("catalog.currencies").getHitCount() > 0);
+    }
+
+    private long statements(Runnable action) {
+        em.clear();
+        stats.clear();
+        action.run();
+        return stats.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,64 @@
+package com.investment.accounts;
+
+import com.investment.accounts.cache.ReferenceDataCache;
+import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.repository.CurrencyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock private AccountRepository accountRepository;
+    @Mock private CurrencyRepository currencyRepository;
+
+    @InjectMocks
+    private ReferenceDataCache cache;
+
+    private CurrencyEntity usd;
+
+    @BeforeEach
+    void setUp() {
+        usd = CurrencyEntity.builder().id(UUID.randomUUID()).code("USD").build();
+    }
+
+    @Test
+    void unknownCurrency_shouldReloadOncePerChunk_andBeRememberedAcrossChunks() {
+        when(currencyRepository.findAll()).thenReturn(List.of(usd));
+
+        ReferenceDataCache.CurrencyResolver chunk = cache.currencyResolver();
+        assertEquals(usd.getId(), chunk.resolve(null, " usd "));
+        for (int i = 0; i < 1000; i++) {
+            assertNull(chunk.resolve(null, "XXX"));
+            assertNull(chunk.resolve(UUID.randomUUID(), null));
+        }
+        // carga inicial + una sola recarga para todo el chunk
+        verify(currencyRepository, times(2)).findAll();
+
+        // el código que la recarga confirmó inexistente no vuelve a recargar en el chunk siguiente
+        assertNull(cache.currencyResolver().resolve(null, "xxx"));
+        verify(currencyRepository, times(2)).findAll();
+    }
+
+    @Test
+    void newCurrency_shouldBeFoundByTheReload() {
+        CurrencyEntity eur = CurrencyEntity.builder().id(UUID.randomUUID()).code("EUR").build();
+        when(currencyRepository.findAll()).thenReturn(List.of(usd)).thenReturn(List.of(usd, eur));
+
+        assertEquals(usd.getId(), cache.resolveCurrency(usd.getId(), null));
+        assertEquals(eur.getId(), cache.resolveCurrency(null, "EUR"));
+        assertEquals(eur.getId(), cache.resolveCurrency(eur.getId(), null));
+        verify(currencyRepository, times(2)).findAll();
+    }
+}
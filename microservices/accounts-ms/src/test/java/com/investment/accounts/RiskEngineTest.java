@@ -0,0 +1,156 @@
+package com.investment.accounts;
+
+import com.investment.accounts.configuration.RiskProperties;
+import com.investment.accounts.model.PortfolioRiskModel;
+import com.investment.accounts.risk.CovarianceCache;
+import com.investment.accounts.risk.PortfolioExposure;
+import com.investment.accounts.risk.ReturnMatrix;
+import com.investment.accounts.risk.RiskEngine;
+import com.investment.accounts.risk.RiskMath;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RiskEngineTest {
+
+    private static final double EPS = 1e-9;
+    private static final LocalDate START = LocalDate.of(2026, 1, 5);
+
+    private final UUID a = new UUID(0, 1);
+    private final UUID b = new UUID(0, 2);
+    private final UUID missing = new UUID(0, 3);
+
+    private static LocalDate[] days(int n) {
+        LocalDate[] days = new LocalDate[n];
+        for (int i = 0; i < n; i++) {
+            days[i] = START.plusDays(i);
+        }
+        return days;
+    }
+
+    private static RiskProperties properties(Double confidence, Integer parallelism) {
+        return new RiskProperties(null, confidence, null, null, null, parallelism, 16, null, null, null);
+    }
+
+    @Test
+    void returnMatrix_forwardFillsGapsAndTracksUnpriced() {
+        Map<UUID, double[]> closes = new HashMap<>();
+        closes.put(a, new double[]{100, 110, Double.NaN, 99});
+        closes.put(b, new double[]{Double.NaN, 50, 55, 55});
+        closes.put(missing, new double[]{Double.NaN, Double.NaN, Double.NaN, Double.NaN});
+
+        ReturnMatrix matrix = ReturnMatrix.empty(days(4)).with(closes);
+
+        assertEquals(3, matrix.observations());
+        assertEquals(START.plusDays(3), matrix.asOf());
+        assertEquals(-1, matrix.row(missing));
+        assertTrue(matrix.knows(missing));
+        assertFalse(matrix.knows(new UUID(0, 4)));
+
+        double[] pnlA = RiskMath.pnl(matrix, new int[]{matrix.row(a)}, new double[]{1});
+        assertArrayEquals(new double[]{0.1, 0, -0.1}, pnlA, EPS);          // el hueco repite 110
+        double[] pnlB = RiskMath.pnl(matrix, new int[]{matrix.row(b)}, new double[]{1});
+        assertArrayEquals(new double[]{0, 0.1, 0}, pnlB, EPS);             // antes del primer cierre: 0
+    }
+
+    @Test
+    void returnMatrix_withKnownInstrument_keepsExistingRow() {
+        ReturnMatrix first = ReturnMatrix.empty(days(3)).with(Map.of(a, new double[]{1, 2, 4}));
+        ReturnMatrix second = first.with(Map.of(a, new double[]{9, 9, 9}, b, new double[]{1, 1, 2}));
+
+        assertEquals(0, second.row(a));
+        assertEquals(1, second.row(b));
+        assertArrayEquals(new double[]{1, 1}, RiskMath.pnl(second, new int[]{0}, new double[]{1}), EPS);
+    }
+
+    @Test
+    void historicalVar_takesTailQuantileAndAverage() {
+        double[] pnl = new double[100];
+        for (int i = 0; i < pnl.length; i++) {
+            pnl[i] = i - 50;                                              // -50 .. 49
+        }
+        double[] varCvar = RiskMath.historicalVar(pnl, 0.95, 1);
+        assertEquals(46, varCvar[0], EPS);                                  // 5to peor escenario
+        assertEquals(48, varCvar[1], EPS);                                  // promedio de -50..-46 (en positivo)
+
+        double[] tenDay = RiskMath.historicalVar(pnl, 0.95, 10);
+        assertEquals(46 * Math.sqrt(10), tenDay[0], EPS);
+    }
+
+    @Test
+    void parametricVar_matchesPortfolioVariance() {
+        double[] cov = {0.04, 0.01, 0.01, 0.09};                            // sd 20% y 30%
+        double[] w = {100, 200};
+        double variance = 100 * 100 * 0.04 + 2 * 100 * 200 * 0.01 + 200 * 200 * 0.09;
+        double z = RiskMath.inverseNormal(0.99);
+
+        assertEquals(2.326348, z, 1e-6);
+        assertEquals(z * Math.sqrt(variance), RiskMath.parametricVar(cov, w, 0.99, 1), 1e-9);
+    }
+
+    @Test
+    void beta_ofScaledSeries_isTheScale() {
+        double[] benchmark = {0.01, -0.02, 0.015, 0.003, -0.007};
+        double[] x = Arrays.stream(benchmark).map(r -> 1.5 * r).toArray();
+        assertEquals(1.5, RiskMath.beta(x, benchmark), EPS);
+        assertTrue(Double.isNaN(RiskMath.beta(x, new double[]{0.01, 0.01, 0.01, 0.01, 0.01})));
+    }
+
+    @Test
+    void computeAll_parallelMatchesDirectMathAndSharesCovariance() {
+        Random random = new Random(42);
+        int n = 61;
+        double[] ca = new double[n];
+        double[] cb = new double[n];
+        ca[0] = 100;
+        cb[0] = 40;
+        for (int t = 1; t < n; t++) {
+            ca[t] = ca[t - 1] * (1 + random.nextGaussian() * 0.01);
+            cb[t] = cb[t - 1] * (1 + random.nextGaussian() * 0.02);
+        }
+        ReturnMatrix matrix = ReturnMatrix.empty(days(n)).with(Map.of(a, ca, b, cb));
+        UUID[] universe = a.compareTo(b) < 0 ? new UUID[]{a, b} : new UUID[]{b, a};
+
+        List<PortfolioExposure> portfolios = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            double[] w = {1_000 + i, 2_000 - i};
+            portfolios.add(new PortfolioExposure(UUID.randomUUID(), universe, w, w[0] + w[1], 2, 0));
+        }
+        portfolios.add(new PortfolioExposure(UUID.randomUUID(), new UUID[0], new double[0], 0, 1, 1));
+
+        RiskProperties properties = properties(0.99, 4);
+        CovarianceCache covarianceCache = new CovarianceCache(properties);
+        RiskEngine engine = new RiskEngine(covarianceCache, properties);
+        UUID usd = UUID.randomUUID();
+        PortfolioRiskModel[] results = engine.computeAll(portfolios, matrix, matrix.asOf(), usd);
+
+        assertEquals(portfolios.size(), results.length);
+        int[] rows = {matrix.row(universe[0]), matrix.row(universe[1])};
+        for (int i = 0; i < 40; i++) {
+            PortfolioExposure p = portfolios.get(i);
+            PortfolioRiskModel r = results[i];
+            double[] pnl = RiskMath.pnl(matrix, rows, p.exposures());
+            double[] expected = RiskMath.historicalVar(pnl, 0.99, 1);
+            double parametric = RiskMath.parametricVar(RiskMath.covariance(matrix, rows), p.exposures(), 0.99, 1);
+
+            assertEquals(p.portfolioId(), r.portfolioId());
+            assertEquals(usd, r.currencyId());
+            assertEquals(60, r.observations());
+            assertEquals(expected[0], r.historicalVar(), EPS);
+            assertEquals(expected[1], r.historicalCvar(), EPS);
+            assertTrue(r.historicalCvar() >= r.historicalVar());
+            assertEquals(parametric, r.parametricVar(), EPS);
+            assertTrue(r.volatility() > 0);
+        }
+        // sin exposición valuable: fila con cifras vacías
+        PortfolioRiskModel empty = results[40];
+        assertTrue(Double.isNaN(empty.historicalVar()));
+        assertEquals(1, empty.unpricedPositions());
+        // un solo universo: se calcula a lo sumo una vez por hilo, el resto sale del cache
+        assertEquals(40, covarianceCache.hits() + covarianceCache.misses());
+        assertTrue(covarianceCache.misses() >= 1 && covarianceCache.misses() <= 4);
+    }
+}
@@ -0,0 +1,173 @@
+package com.investment.accounts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.investment.accounts.calendar.TradingCalendar;
+import com.investment.accounts.configuration.SettlementProperties;
+import com.investment.accounts.dto.SettlementRunResponseDto;
+import com.investment.accounts.entity.CashMovementEntity;
+import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.entity.ExchangeListingEntity;
+import com.investment.accounts.entity.InstrumentEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
+import com.investment.accounts.repository.CashMovementBatchRepository;
+import com.investment.accounts.repository.ExchangeListingRepository;
+import com.investment.accounts.repository.InstrumentRepository;
+import com.investment.accounts.repository.SettlementBucketRepository;
+import com.investment.accounts.repository.SettlementBucketRepository.SettlementBucket;
+import com.investment.accounts.repository.SettlementBucketRepository.SettlementLeg;
+import com.investment.accounts.service.TradingCalendarService;
+import com.investment.accounts.service.impl.SettlementBatchServiceImpl;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementBatchServiceTest {
+
+    @Mock private SettlementBucketRepository  bucketRepository;
+    @Mock private CashMovementBatchRepository batchRepository;
+    @Mock private InstrumentRepository        instrumentRepository;
+    @Mock private ExchangeListingRepository   listingRepository;
+    @Mock private TradingCalendarService      calendarService;
+    @Mock private BuyingPowerLedger           buyingPowerLedger;
+    @Mock private CashJournal                 cashJournal;
+    @Mock private TransactionTemplate         transactionTemplate;
+
+    private SettlementBatchServiceImpl service;
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private UUID accountId;
+    private UUID instrumentId;
+    private UUID usd;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        instrumentId = UUID.randomUUID();
+        usd = UUID.randomUUID();
+        service = new SettlementBatchServiceImpl(bucketRepository, batchRepository, instrumentRepository,
+                listingRepository, calendarService, buyingPowerLedger, cashJournal,
+                new SettlementProperties(1, 2), transactionTemplate, mapper);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(instrumentRepository.findById(instrumentId)).thenReturn(Optional.of(InstrumentEntity.builder()
+                .id(instrumentId).currency(CurrencyEntity.builder().id(usd).build()).build()));
+        lenient().when(listingRepository.findByIdInstrumentId(eq(instrumentId), any()))
+                .thenReturn(new PageImpl<>(List.of()));
+    }
+
+    private String trade(UUID id, String side, String qty, String price, String fees, String settlementDate) {
+        return """
+                {"id":"%s","instrumentId":"%s","accountId":"%s","side":"%s","quantity":%s,"price":%s,
+                 "fees":%s,"executedAt":"2025-03-07T15:00:00Z","settlementDate":%s,"status":"EXECUTED"}
+                """.formatted(id, instrumentId, accountId, side, qty, price, fees,
+                settlementDate == null ? "null" : "\"" + settlementDate + "\"");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SettlementLeg> accumulatedLegs() {
+        ArgumentCaptor<List<SettlementLeg>> captor = ArgumentCaptor.forClass(List.class);
+        verify(bucketRepository).accumulate(captor.capture(), any());
+        return captor.getValue();
+    }
+
+    @Test
+    void trades_signedByside_dedupedAndInvalidSkipped() throws Exception {
+        UUID buy = UUID.randomUUID();
+        UUID sell = UUID.randomUUID();
+        service.processTradesExecuted(List.of(
+                trade(buy, "BUY", "10", "100", "1.5", "2025-03-10"),
+                "[" + trade(sell, "SELL", "4", "100", "1", "2025-03-10") + ","
+                        + trade(buy, "BUY", "10", "100", "1.5", "2025-03-10") + "]",
+                trade(UUID.randomUUID(), "BUY", "0", "100", "0", "2025-03-10"),
+                "not json"));
+
+        List<SettlementLeg> legs = accumulatedLegs();
+        assertEquals(2, legs.size());
+        assertEquals(0, new BigDecimal("-1001.5").compareTo(legs.get(0).amount()));
+        assertEquals(0, new BigDecimal("399").compareTo(legs.get(1).amount()));
+        assertEquals(usd, legs.get(0).currencyId());
+        assertEquals(LocalDate.of(2025, 3, 10), legs.get(0).settlementDate());
+        verify(instrumentRepository, times(1)).findById(instrumentId);
+    }
+
+    @Test
+    void missingSettlementDate_usesExchangeCalendar() throws Exception {
+        UUID exchangeId = UUID.randomUUID();
+        when(listingRepository.findByIdInstrumentId(eq(instrumentId), any())).thenReturn(new PageImpl<>(List.of(
+                ExchangeListingEntity.builder()
+                        .id(new ExchangeListingEntity.ExchangeListingId(instrumentId, exchangeId)).build())));
+        ZoneId ny = ZoneId.of("America/New_York");
+        List<TradingCalendar.Session> sessions = List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                        DayOfWeek.THURSDAY, DayOfWeek.FRIDAY).stream()
+                .map(d -> new TradingCalendar.Session(d, LocalTime.of(9, 30), LocalTime.of(16, 0)))
+                .toList();
+        when(calendarService.get(exchangeId)).thenReturn(TradingCalendar.compile(exchangeId, ny,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), sessions,
+                Map.of(LocalDate.of(2025, 3, 10), new TradingCalendar.Holiday(LocalDate.of(2025, 3, 10), null, "x"))));
+
+        service.processTradesExecuted(List.of(trade(UUID.randomUUID(), "SELL", "1", "10", "0", null)));
+
+        // viernes 7 + T+1 saltando el fin de semana y el feriado del lunes 10
+        assertEquals(LocalDate.of(2025, 3, 11), accumulatedLegs().getFirst().settlementDate());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void settle_postsOneMovementPerNonZeroBucket_andMarksAllSettled() {
+        LocalDate date = LocalDate.of(2025, 3, 10);
+        UUID other = UUID.randomUUID();
+        when(bucketRepository.lockDue(date, 2))
+                .thenReturn(List.of(
+                        new SettlementBucket(date, accountId, usd, new BigDecimal("-602.5000000000"), 7),
+                        new SettlementBucket(date, other, usd, new BigDecimal("0E-10"), 2)))
+                .thenReturn(List.of(new SettlementBucket(date.minusDays(3), other, usd, new BigDecimal("50.004"), 1)));
+
+        SettlementRunResponseDto result = service.settle(date);
+
+        assertEquals(3, result.buckets());
+        assertEquals(10, result.trades());
+        assertEquals(2, result.postedMovements());
+
+        ArgumentCaptor<List<CashMovementEntity>> movements = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository, times(2)).insertMovements(movements.capture());
+        CashMovementEntity first = movements.getAllValues().getFirst().getFirst();
+        assertEquals(CashMovementTypeEnum.SETTLEMENT, first.getType());
+        assertEquals(new BigDecimal("-602.50"), first.getAmount());
+        assertEquals(1, movements.getAllValues().getFirst().size());
+        // el saldo ya no se toca directamente: lo proyecta el journal
+        verify(cashJournal).post(movements.getAllValues().getFirst());
+        verify(batchRepository, never()).addToBalances(anyList(), any());
+
+        ArgumentCaptor<List<SettlementBucket>> settled = ArgumentCaptor.forClass(List.class);
+        verify(bucketRepository, times(2)).markSettled(settled.capture(), any());
+        assertEquals(2, settled.getAllValues().getFirst().size());
+        assertEquals(new BigDecimal("50.00"), settled.getAllValues().get(1).getFirst().amount());
+        verify(buyingPowerLedger).applyMovements(movements.getAllValues().getFirst());
+        // los consumos de los trades liquidados se saldan en el mismo chunk, también los de buckets en cero
+        verify(bucketRepository).settleConsumptions(eq(settled.getAllValues().getFirst()), any());
+        verify(buyingPowerLedger, times(2)).applySettled(anyList());
+    }
+}
@@ -3,6 +3,8 @@ package com.investment.accounts;
 import com.investment.accounts.entity.AccountEntity;
 import com.investment.accounts.entity.CashMovementEntity;
 import com.investment.accounts.entity.CurrencyEntity;
+import com.investment.accounts.ledger.BuyingPowerLedger;
+import com.investment.accounts.ledger.CashJournal;
 import com.investment.accounts.model.CashMovementModel;
 import com.investment.accounts.repository.AccountRepository;
 import com.investment.accounts.repository.CashMovementRepository;
@@ -14,6 +16,7 @@ import com.investment.accounts.utils.enums.CashMovementTypeEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,7 +27,6 @@ import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +41,8 @@ class SettlementServiceTest {
     @Mock private CashMovementRepository cashMovementRepository;
     @Mock private CurrencyRepository     currencyRepository;
     @Mock private AccountRepository      accountRepository;
+    @Mock private BuyingPowerLedger      buyingPowerLedger;
+    @Mock private CashJournal            cashJournal;
 
     @InjectMocks
     private SettlementServiceImpl service;
@@ -62,7 +66,7 @@ class SettlementServiceTest {
     }
 
     @Test
-    void register_shouldPersistPendingThenComplete_andReturnModel() {
+    void register_shouldInsertCompletedOnce_andPostToJournal() {
         // Arrange
         CashMovementModel input = new CashMovementModel(
                 null,
@@ -78,24 +82,7 @@ class SettlementServiceTest {
 
         when(accountRepository.findById(eq(accountId))).thenReturn(Optional.of(account));
         when(currencyRepository.findById(eq(currencyId))).thenReturn(Optional.of(currency));
-
-        List<CashMovementEntity> snapshots = new ArrayList<>();
-
-        // Guardamos copias independientes del estado de cada save()
-        when(cashMovementRepository.save(any(CashMovementEntity.class)))
-                .thenAnswer(inv -> {
-                    CashMovementEntity original = inv.getArgument(0);
-                    CashMovementEntity copy = new CashMovementEntity();
-                    copy.setAccountId(original.getAccountId());
-                    copy.setCurrency(original.getCurrency());
-                    copy.setAmount(original.getAmount());
-                    copy.setType(original.getType());
-                    copy.setStatus(original.getStatus());
-                    copy.setDate(original.getDate());
-                    copy.setNote(original.getNote());
-                    snapshots.add(copy);
-                    return original;
-                });
+        when(cashMovementRepository.save(any(CashMovementEntity.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // Act
         CashMovementModel result = service.register(input);
@@ -105,27 +92,21 @@ class SettlementServiceTest {
         assertEquals(CashMovementStatusEnum.COMPLETED, result.status());
         assertNotNull(result.date());
 
-        // Verifica que hubo dos saves
-        verify(cashMovementRepository, times(2)).save(any(CashMovementEntity.class));
-        assertEquals(2, snapshots.size());
-
-        // --- Primer save ---
-        CashMovementEntity first = snapshots.getFirst();
-        assertEquals(CashMovementStatusEnum.PENDING, first.getStatus());
-        assertEquals(CashMovementTypeEnum.DEPOSIT, first.getType());
-        assertEquals(MoneyUtils.normalize(new BigDecimal("100.00")), first.getAmount());
-        assertEquals("first deposit", first.getNote());
-        assertSame(account, first.getAccountId());
-        assertSame(currency, first.getCurrency());
-
-        // --- Segundo save ---
-        CashMovementEntity second = snapshots.get(1);
-        assertEquals(CashMovementStatusEnum.COMPLETED, second.getStatus());
-        assertNotNull(second.getDate());
-        assertEquals(CashMovementTypeEnum.DEPOSIT, second.getType());
+        // Un único insert, ya completado: el movimiento no cambia de estado después
+        ArgumentCaptor<CashMovementEntity> saved = ArgumentCaptor.forClass(CashMovementEntity.class);
+        verify(cashMovementRepository).save(saved.capture());
+        CashMovementEntity row = saved.getValue();
+        assertEquals(CashMovementStatusEnum.COMPLETED, row.getStatus());
+        assertEquals(CashMovementTypeEnum.DEPOSIT, row.getType());
+        assertEquals(MoneyUtils.normalize(new BigDecimal("100.00")), row.getAmount());
+        assertEquals("first deposit", row.getNote());
+        assertSame(account, row.getAccountId());
+        assertSame(currency, row.getCurrency());
 
         verify(accountRepository).findById(accountId);
         verify(currencyRepository).findById(currencyId);
+        verify(cashJournal).post(List.of(row));
+        verify(buyingPowerLedger).applyMovements(List.of(row));
         verifyNoMoreInteractions(accountRepository, currencyRepository, cashMovementRepository);
     }
 
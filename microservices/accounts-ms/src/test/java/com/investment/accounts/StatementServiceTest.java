@@ -0,0 +1,143 @@
+package com.investment.accounts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.accounts.dto.ExternalFlowDto;
+import com.investment.accounts.model.StatementLineModel;
+import com.investment.accounts.repository.AccountRepository;
+import com.investment.accounts.repository.StatementRepository;
+import com.investment.accounts.service.impl.StatementServiceImpl;
+import com.investment.accounts.utils.enums.CashMovementTypeEnum;
+import com.investment.accounts.utils.enums.StatementFormatEnum;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatementServiceTest {
+
+    @Mock private StatementRepository statementRepository;
+    @Mock private AccountRepository   accountRepository;
+
+    private StatementServiceImpl service;
+    private UUID accountId;
+    private final LocalDate from = LocalDate.of(2025, 1, 1);
+    private final LocalDate to = LocalDate.of(2025, 1, 31);
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        service = new StatementServiceImpl(statementRepository, accountRepository, new ObjectMapper());
+    }
+
+    @Test
+    void validate_rejectsInvertedRange() {
+        assertThrows(BadRequestException.class, () -> service.validate(accountId, to, from));
+    }
+
+    @Test
+    void validate_unknownAccount_notFound() {
+        when(accountRepository.existsById(accountId)).thenReturn(false);
+        assertThrows(NotFoundException.class, () -> service.validate(accountId, from, to));
+    }
+
+    @Test
+    void externalFlows_inclusiveUtcRange() {
+        UUID portfolioId = UUID.randomUUID();
+        when(statementRepository.externalFlows(portfolioId,
+                OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(2025, 2, 1, 0, 0, 0, 0, ZoneOffset.UTC)))
+                .thenReturn(List.of(new ExternalFlowDto(from, UUID.randomUUID(), new BigDecimal("100"))));
+
+        assertEquals(1, service.externalFlows(portfolioId, from, to).size());
+        assertThrows(BadRequestException.class, () -> service.externalFlows(portfolioId, to, from));
+    }
+
+    @Test
+    void csv_runningBalancePerCurrency_andClosesCursor() throws Exception {
+        Map<String, BigDecimal> opening = new LinkedHashMap<>();
+        opening.put("USD", new BigDecimal("100"));
+        when(statementRepository.openingBalances(eq(accountId), any())).thenReturn(opening);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(statementRepository.streamMovements(eq(accountId), any(), any())).thenReturn(Stream.of(
+                line("USD", "50", "deposit, january"),
+                line("EUR", "20", null),
+                line("USD", "-30", null)).onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeStatement(accountId, from, to, StatementFormatEnum.CSV, out);
+
+        String[] rows = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(4, rows.length);
+        assertTrue(rows[1].endsWith(",USD,50,150,\"deposit, january\""));
+        assertTrue(rows[2].endsWith(",EUR,20,20,"));
+        assertTrue(rows[3].endsWith(",USD,-30,120,"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void ndjson_oneObjectPerLine() throws Exception {
+        when(statementRepository.openingBalances(eq(accountId), any())).thenReturn(Map.of());
+        when(statementRepository.streamMovements(eq(accountId), any(), any()))
+                .thenReturn(Stream.of(line("USD", "10", null), line("USD", "5", "fee")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeStatement(accountId, from, to, StatementFormatEnum.NDJSON, out);
+
+        String[] rows = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows.length);
+        var second = new ObjectMapper().readTree(rows[1]);
+        assertEquals(new BigDecimal("15"), second.get("balance").decimalValue());
+        assertEquals("fee", second.get("note").asText());
+    }
+
+    @Test
+    void pdf_spansPages_andXrefPointsToObjects() throws Exception {
+        when(statementRepository.openingBalances(eq(accountId), any())).thenReturn(Map.of());
+        when(statementRepository.streamMovements(eq(accountId), any(), any()))
+                .thenReturn(Stream.generate(() -> line("USD", "1", "x (y)")).limit(500));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.writeStatement(accountId, from, to, StatementFormatEnum.PDF, out);
+
+        byte[] bytes = out.toByteArray();
+        String pdf = new String(bytes, StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF-1.4"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+        assertTrue(pdf.contains("/Count 7 "));
+        assertTrue(pdf.contains("x \\(y\\)"));
+
+        int startxref = Integer.parseInt(pdf.substring(pdf.lastIndexOf("startxref\n") + 10, pdf.lastIndexOf("\n%%EOF")));
+        assertTrue(pdf.startsWith("xref", startxref));
+        // la primera entrada en uso (catálogo) debe apuntar a "1 0 obj"
+        String firstEntry = pdf.substring(startxref).split("\n")[3];
+        int catalogOffset = Integer.parseInt(firstEntry.substring(0, 10));
+        assertTrue(pdf.startsWith("1 0 obj", catalogOffset));
+    }
+
+    private StatementLineModel line(String ccy, String amount, String note) {
+        return new StatementLineModel(UUID.randomUUID(), OffsetDateTime.of(2025, 1, 10, 12, 0, 0, 0, ZoneOffset.UTC),
+                CashMovementTypeEnum.DEPOSIT, ccy, new BigDecimal(amount), null, note);
+    }
+}
@@ -0,0 +1,85 @@
+package com.investment.accounts;
+
+import com.investment.accounts.calendar.TradingCalendar;
+import com.investment.accounts.calendar.TradingCalendar.Holiday;
+import com.investment.accounts.calendar.TradingCalendar.Session;
+import com.investment.common.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradingCalendarTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    private TradingCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        List<Session> sessions = new ArrayList<>();
+        for (DayOfWeek d : List.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY,
+                DayOfWeek.THURSDAY, DayOfWeek.FRIDAY)) {
+            sessions.add(new Session(d, LocalTime.of(9, 30), LocalTime.of(16, 0)));
+        }
+        Map<LocalDate, Holiday> holidays = Map.of(
+                LocalDate.of(2025, 12, 25), new Holiday(LocalDate.of(2025, 12, 25), null, "Christmas"),
+                LocalDate.of(2025, 11, 28), new Holiday(LocalDate.of(2025, 11, 28), LocalTime.of(13, 0), "Black Friday"));
+        calendar = TradingCalendar.compile(UUID.randomUUID(), NEW_YORK,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31), sessions, holidays);
+    }
+
+    private Instant ny(int y, int m, int d, int h, int min) {
+        return ZonedDateTime.of(y, m, d, h, min, 0, 0, NEW_YORK).toInstant();
+    }
+
+    @Test
+    void isOpen_respectsLocalSessionAcrossDst() {
+        // 10:00 local antes y después del cambio de horario de marzo
+        assertTrue(calendar.isOpen(ny(2025, 3, 7, 10, 0)));
+        assertTrue(calendar.isOpen(ny(2025, 3, 10, 10, 0)));
+        assertFalse(calendar.isOpen(ny(2025, 3, 10, 9, 29)));
+        assertFalse(calendar.isOpen(ny(2025, 3, 10, 16, 0)));   // close es exclusivo
+        assertFalse(calendar.isOpen(ny(2025, 3, 8, 12, 0)));    // sábado
+    }
+
+    @Test
+    void holidays_fullDayAndEarlyClose() {
+        assertFalse(calendar.isOpen(ny(2025, 12, 25, 11, 0)));
+        assertTrue(calendar.isOpen(ny(2025, 11, 28, 12, 59)));
+        assertFalse(calendar.isOpen(ny(2025, 11, 28, 13, 0)));
+        assertEquals(ny(2025, 11, 28, 13, 0), calendar.nextClose(ny(2025, 11, 28, 10, 0)));
+    }
+
+    @Test
+    void nextOpen_skipsWeekendAndHoliday() {
+        assertEquals(ny(2025, 12, 26, 9, 30), calendar.nextOpen(ny(2025, 12, 24, 16, 30)));
+        assertEquals(ny(2025, 3, 10, 9, 30), calendar.nextOpen(ny(2025, 3, 7, 17, 0)));
+        assertEquals(ny(2025, 3, 10, 9, 30), calendar.nextOpen(ny(2025, 3, 10, 9, 30)));
+    }
+
+    @Test
+    void addBusinessDays_skipsHolidays_andRollsNonBusinessDates() {
+        assertEquals(LocalDate.of(2025, 12, 26), calendar.addBusinessDays(LocalDate.of(2025, 12, 24), 1));
+        assertEquals(LocalDate.of(2025, 12, 29), calendar.addBusinessDays(LocalDate.of(2025, 12, 24), 2));
+        // Sábado: T+1 cuenta desde el viernes anterior
+        assertEquals(LocalDate.of(2025, 3, 10), calendar.addBusinessDays(LocalDate.of(2025, 3, 8), 1));
+        assertEquals(LocalDate.of(2025, 3, 10), calendar.addBusinessDays(LocalDate.of(2025, 3, 8), 0));
+        assertEquals(LocalDate.of(2025, 3, 7), calendar.addBusinessDays(LocalDate.of(2025, 3, 8), -1));
+        assertTrue(calendar.isBusinessDay(LocalDate.of(2025, 11, 28)));
+        assertFalse(calendar.isBusinessDay(LocalDate.of(2025, 12, 25)));
+    }
+
+    @Test
+    void outsideHorizon_rejected() {
+        assertThrows(BadRequestException.class, () -> calendar.addBusinessDays(LocalDate.of(2027, 1, 4), 1));
+        assertThrows(BadRequestException.class, () -> calendar.addBusinessDays(LocalDate.of(2026, 12, 31), 5));
+        assertNull(calendar.nextOpen(ny(2027, 1, 4, 0, 0)));
+    }
+}
@@ -1,11 +1,12 @@
 package com.investment.orders;
 
 import com.investment.orders.configuration.OrdersTopicsProps;
+import com.investment.orders.configuration.RiskProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
-@EnableConfigurationProperties(OrdersTopicsProps.class)
+@EnableConfigurationProperties({OrdersTopicsProps.class, RiskProperties.class})
 @SpringBootApplication
 public class OrdersMsApplication {
 
@@ -10,9 +10,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  *
  * @param orderCreated   the topic name used for order-created events
  * @param tradeExecuted  the topic name used for trade-executed events
+ * @param priceUpdated   the topic name carrying last-price ticks (consumed by the risk caches)
  *
  * @author Remus-Ciprian Cotunoaea
  * @since November 10, 2025
  */
 @ConfigurationProperties(prefix = "app.kafka.topics")
-public record OrdersTopicsProps(String orderCreated, String tradeExecuted) {}
+public record OrdersTopicsProps(String orderCreated, String tradeExecuted, String priceUpdated) {}
@@ -0,0 +1,58 @@
+package com.investment.orders.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Limits applied by the pre-trade risk pipeline, bound from {@code app.risk}.
+ *
+ * @param enabled             master switch for the pipeline
+ * @param maxNotional         maximum quantity * reference price for a single order
+ * @param maxPositionQuantity maximum absolute net position per account and instrument after the order
+ * @param priceBandPct        maximum deviation (percent) of a limit price from the last known price
+ * @param maxOrdersPerWindow  orders allowed per account inside {@code throttleWindow}
+ * @param throttleWindow      length of the per-account order-rate window
+ * @param maxCachedExposures  upper bound of account/instrument exposures kept in memory
+ * @param exposureSeedOverlap trades younger than this when an exposure is seeded are tracked by id,
+ *                            so their trade-executed events are never counted twice
+ */
+@ConfigurationProperties(prefix = "app.risk")
+public record RiskProperties(
+        Boolean enabled,
+        BigDecimal maxNotional,
+        BigDecimal maxPositionQuantity,
+        BigDecimal priceBandPct,
+        Integer maxOrdersPerWindow,
+        Duration throttleWindow,
+        Integer maxCachedExposures,
+        Duration exposureSeedOverlap
+) {
+    public RiskProperties {
+        if (enabled == null) {
+            enabled = Boolean.TRUE;
+        }
+        if (maxNotional == null || maxNotional.signum() <= 0) {
+            maxNotional = new BigDecimal("1000000");
+        }
+        if (maxPositionQuantity == null || maxPositionQuantity.signum() <= 0) {
+            maxPositionQuantity = new BigDecimal("1000000");
+        }
+        if (priceBandPct == null || priceBandPct.signum() <= 0) {
+            priceBandPct = new BigDecimal("10");
+        }
+        if (maxOrdersPerWindow == null || maxOrdersPerWindow <= 0) {
+            maxOrdersPerWindow = 20;
+        }
+        if (throttleWindow == null || throttleWindow.isZero() || throttleWindow.isNegative()) {
+            throttleWindow = Duration.ofSeconds(1);
+        }
+        if (maxCachedExposures == null || maxCachedExposures <= 0) {
+            maxCachedExposures = 100_000;
+        }
+        if (exposureSeedOverlap == null || exposureSeedOverlap.isZero() || exposureSeedOverlap.isNegative()) {
+            exposureSeedOverlap = Duration.ofMinutes(5);
+        }
+    }
+}
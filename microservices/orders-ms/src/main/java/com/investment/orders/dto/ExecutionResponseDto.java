@@ -1,5 +1,6 @@
 package com.investment.orders.dto;
 
+import com.investment.orders.utils.enums.SideEnum;
 import com.investment.orders.utils.enums.TradeStatusEnum;
 import lombok.*;
 
@@ -35,6 +36,7 @@ public class ExecutionResponseDto {
     private UUID instrumentId;
     private UUID orderId;
     private UUID accountId;
+    private SideEnum side;                // side of the parent order; only set on trade-executed events
 
     private BigDecimal quantity;
     private BigDecimal price;
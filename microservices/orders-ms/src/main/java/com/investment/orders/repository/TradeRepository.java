@@ -4,8 +4,13 @@ import com.investment.orders.entity.TradeEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -58,4 +63,60 @@ public interface TradeRepository extends JpaRepository<TradeEntity, UUID> {
      * @since November 10, 2025
      */
     Optional<TradeEntity> findTopByOrderIdOrderByExecutedAtDesc(UUID orderId);
-}
\ No newline at end of file
+
+    /**
+     * Net executed quantity (buys minus sells) of an account in an instrument, counting only trades
+     * executed before {@code before}.
+     *
+     * <p>Used to seed the in-memory exposure of the pre-trade risk checks together with
+     * {@link #findSignedTradesSince}, which returns the complementary, most recent trades.</p>
+     *
+     * @param accountId    the UUID of the account
+     * @param instrumentId the UUID of the instrument
+     * @param before       exclusive upper bound of the execution time
+     * @return the signed net quantity, zero when there are no such trades
+     */
+    @Query("""
+           select coalesce(sum(case when o.side = com.investment.orders.utils.enums.SideEnum.BUY
+                                    then t.quantity else -t.quantity end), 0)
+           from TradeEntity t, OrderEntity o
+           where t.orderId = o.orderId
+             and t.accountId = :accountId
+             and t.instrumentId = :instrumentId
+             and t.executedAt < :before
+           """)
+    BigDecimal sumNetQuantityBefore(@Param("accountId") UUID accountId,
+                                    @Param("instrumentId") UUID instrumentId,
+                                    @Param("before") OffsetDateTime before);
+
+    /**
+     * Trades of an account in an instrument executed at or after {@code since}, with their signed quantity.
+     *
+     * @param accountId    the UUID of the account
+     * @param instrumentId the UUID of the instrument
+     * @param since        inclusive lower bound of the execution time
+     * @return one entry per trade
+     */
+    @Query("""
+           select t.tradeId as tradeId,
+                  case when o.side = com.investment.orders.utils.enums.SideEnum.BUY
+                       then t.quantity else -t.quantity end as signedQuantity
+           from TradeEntity t, OrderEntity o
+           where t.orderId = o.orderId
+             and t.accountId = :accountId
+             and t.instrumentId = :instrumentId
+             and t.executedAt >= :since
+           """)
+    List<SignedTrade> findSignedTradesSince(@Param("accountId") UUID accountId,
+                                            @Param("instrumentId") UUID instrumentId,
+                                            @Param("since") OffsetDateTime since);
+
+    /**
+     * A trade id with its quantity signed by the side of the parent order.
+     */
+    interface SignedTrade {
+        UUID getTradeId();
+
+        BigDecimal getSignedQuantity();
+    }
+}
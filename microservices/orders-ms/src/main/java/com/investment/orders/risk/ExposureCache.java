@@ -0,0 +1,98 @@
+package com.investment.orders.risk;
+
+import com.investment.orders.configuration.RiskProperties;
+import com.investment.orders.repository.TradeRepository;
+import com.investment.orders.repository.TradeRepository.SignedTrade;
+import com.investment.orders.utils.enums.SideEnum;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Net filled quantity per account and instrument, kept in memory for the position-limit check.
+ *
+ * <p>An entry is seeded from the trades table on first use and afterwards moved by trade-executed
+ * events. The seed is split at a cutoff {@code exposureSeedOverlap} before the read: older trades
+ * are summed, and their events are skipped by execution time; younger ones are loaded one by one,
+ * and their events are skipped by trade id. A trade committed while the seed is read is therefore
+ * counted exactly once, whichever side of the read its event lands on.</p>
+ */
+@Component
+public class ExposureCache {
+
+    private final TradeRepository tradeRepository;
+    private final Duration seedOverlap;
+    private final Map<Key, Exposure> exposures;
+
+    public ExposureCache(TradeRepository tradeRepository, RiskProperties properties) {
+        this.tradeRepository = tradeRepository;
+        this.seedOverlap = properties.exposureSeedOverlap();
+        int max = properties.maxCachedExposures();
+        this.exposures = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Exposure> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    public BigDecimal netQuantity(UUID accountId, UUID instrumentId) {
+        Key key = new Key(accountId, instrumentId);
+        synchronized (exposures) {
+            Exposure cached = exposures.get(key);
+            if (cached != null) {
+                return cached.net;
+            }
+        }
+        // Seed outside the lock; a concurrent seed of the same key simply wins the put
+        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minus(seedOverlap);
+        BigDecimal settled = tradeRepository.sumNetQuantityBefore(accountId, instrumentId, cutoff);
+        List<SignedTrade> recent = tradeRepository.findSignedTradesSince(accountId, instrumentId, cutoff);
+        Exposure seeded = new Exposure(settled, cutoff);
+        for (SignedTrade t : recent) {
+            seeded.net = seeded.net.add(t.getSignedQuantity());
+            seeded.seededTradeIds.add(t.getTradeId());
+        }
+        synchronized (exposures) {
+            return exposures.computeIfAbsent(key, k -> seeded).net;
+        }
+    }
+
+    /** Applies an execution; ignored when the key is not cached (it will be seeded with it) or the seed has it. */
+    public void onTrade(UUID tradeId, UUID accountId, UUID instrumentId, SideEnum side, BigDecimal quantity,
+                        OffsetDateTime executedAt) {
+        if (accountId == null || instrumentId == null || side == null || quantity == null) {
+            return;
+        }
+        BigDecimal signed = side == SideEnum.BUY ? quantity : quantity.negate();
+        synchronized (exposures) {
+            Exposure e = exposures.get(new Key(accountId, instrumentId));
+            if (e != null && (executedAt == null || !executedAt.isBefore(e.cutoff))
+                    && (tradeId == null || !e.seededTradeIds.contains(tradeId))) {
+                e.net = e.net.add(signed);
+            }
+        }
+    }
+
+    private record Key(UUID accountId, UUID instrumentId) {}
+
+    private static final class Exposure {
+        BigDecimal net;
+        final OffsetDateTime cutoff;                          // older trades are in the seeded sum
+        final Set<UUID> seededTradeIds = new HashSet<>();     // younger trades already in the seed
+
+        Exposure(BigDecimal net, OffsetDateTime cutoff) {
+            this.net = net == null ? BigDecimal.ZERO : net;
+            this.cutoff = cutoff;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.investment.orders.risk;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known price per instrument, fed by price ticks and by our own executions.
+ * Out-of-order updates (older timestamp) are ignored.
+ */
+@Component
+public class LastPriceCache {
+
+    private final ConcurrentHashMap<UUID, Quote> quotes = new ConcurrentHashMap<>();
+
+    public void update(UUID instrumentId, BigDecimal price, OffsetDateTime ts) {
+        if (instrumentId == null || price == null || price.signum() <= 0) {
+            return;
+        }
+        Quote next = new Quote(price, ts);
+        quotes.merge(instrumentId, next, (current, candidate) ->
+                current.ts() != null && candidate.ts() != null && candidate.ts().isBefore(current.ts())
+                        ? current : candidate);
+    }
+
+    /** @return the last price, or {@code null} when none has been seen yet */
+    public BigDecimal get(UUID instrumentId) {
+        Quote q = quotes.get(instrumentId);
+        return q == null ? null : q.price();
+    }
+
+    private record Quote(BigDecimal price, OffsetDateTime ts) {}
+}
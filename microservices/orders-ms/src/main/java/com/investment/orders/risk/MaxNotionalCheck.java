@@ -0,0 +1,39 @@
+package com.investment.orders.risk;
+
+import com.investment.orders.configuration.RiskProperties;
+import com.investment.orders.dto.OrderRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Rejects orders whose notional (quantity * limit price, or last price for market orders)
+ * exceeds {@link RiskProperties#maxNotional()}. Skipped when no reference price is known.
+ */
+@Component
+@Order(20)
+@RequiredArgsConstructor
+public class MaxNotionalCheck implements RiskCheck {
+
+    private final RiskProperties properties;
+    private final LastPriceCache lastPrices;
+
+    @Override
+    public String name() {
+        return "max-notional";
+    }
+
+    @Override
+    public String evaluate(OrderRequestDto order) {
+        BigDecimal price = order.getLimitPrice() != null ? order.getLimitPrice() : lastPrices.get(order.getInstrumentId());
+        if (price == null) {
+            return null;
+        }
+        BigDecimal notional = order.getQuantity().multiply(price);
+        return notional.compareTo(properties.maxNotional()) > 0
+                ? "notional " + notional.stripTrailingZeros().toPlainString() + " exceeds limit " + properties.maxNotional()
+                : null;
+    }
+}
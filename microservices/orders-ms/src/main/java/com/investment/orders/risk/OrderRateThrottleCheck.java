@@ -0,0 +1,91 @@
+package com.investment.orders.risk;
+
+import com.investment.orders.configuration.RiskProperties;
+import com.investment.orders.dto.OrderRequestDto;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-account fixed-window order-rate throttle. Runs first so a flooding client is turned away
+ * before any other work is done.
+ *
+ * <p>Once per window the calling thread sweeps out windows that have already expired, so the map
+ * only holds accounts that ordered within the last window instead of every account ever seen.</p>
+ */
+@Component
+@Order(0)
+public class OrderRateThrottleCheck implements RiskCheck {
+
+    private final int maxOrders;
+    private final long windowNanos;
+    private final ConcurrentHashMap<UUID, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public OrderRateThrottleCheck(RiskProperties properties) {
+        this.maxOrders = properties.maxOrdersPerWindow();
+        this.windowNanos = properties.throttleWindow().toNanos();
+    }
+
+    @Override
+    public String name() {
+        return "order-rate";
+    }
+
+    @Override
+    public String evaluate(OrderRequestDto order) {
+        long now = System.nanoTime();
+        sweepIfDue(now);
+        while (true) {
+            Window w = windows.computeIfAbsent(order.getAccountId(), k -> new Window(now));
+            synchronized (w) {
+                if (w.evicted) {
+                    continue; // swept between lookup and lock: count on the fresh window instead
+                }
+                if (now - w.start >= windowNanos) {
+                    w.start = now;
+                    w.count = 0;
+                }
+                if (w.count >= maxOrders) {
+                    return "order rate limit of " + maxOrders + " per window exceeded";
+                }
+                w.count++;
+                return null;
+            }
+        }
+    }
+
+    /** Number of accounts currently holding a window. */
+    public int trackedAccounts() {
+        return windows.size();
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last < windowNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        // An expired window would be reset on its next use anyway, so dropping it loses nothing
+        windows.forEach((accountId, w) -> {
+            synchronized (w) {
+                if (now - w.start >= windowNanos) {
+                    w.evicted = true;
+                    windows.remove(accountId, w);
+                }
+            }
+        });
+    }
+
+    private static final class Window {
+        long start;
+        int count;
+        boolean evicted;
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
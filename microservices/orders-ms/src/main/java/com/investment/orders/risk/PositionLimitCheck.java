@@ -0,0 +1,43 @@
+package com.investment.orders.risk;
+
+import com.investment.orders.configuration.RiskProperties;
+import com.investment.orders.dto.OrderRequestDto;
+import com.investment.orders.utils.enums.SideEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Rejects orders that would leave the absolute net position of the account in the instrument
+ * above {@link RiskProperties#maxPositionQuantity()}.
+ */
+@Component
+@Order(30)
+@RequiredArgsConstructor
+public class PositionLimitCheck implements RiskCheck {
+
+    private final RiskProperties properties;
+    private final ExposureCache exposures;
+
+    @Override
+    public String name() {
+        return "position-limit";
+    }
+
+    @Override
+    public String evaluate(OrderRequestDto order) {
+        BigDecimal current = exposures.netQuantity(order.getAccountId(), order.getInstrumentId());
+        BigDecimal delta = order.getSide() == SideEnum.BUY ? order.getQuantity() : order.getQuantity().negate();
+        BigDecimal after = current.add(delta).abs();
+        // Orders that reduce the position are always allowed
+        if (after.compareTo(current.abs()) <= 0) {
+            return null;
+        }
+        return after.compareTo(properties.maxPositionQuantity()) > 0
+                ? "resulting position " + after.stripTrailingZeros().toPlainString()
+                  + " exceeds limit " + properties.maxPositionQuantity()
+                : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.investment.orders.risk;
+
+import com.investment.common.exception.BusinessException;
+import com.investment.orders.configuration.RiskProperties;
+import com.investment.orders.dto.OrderRequestDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link RiskCheck} bean against an incoming order and throws {@link BusinessException}
+ * on the first rejection.
+ *
+ * <p>Each check is timed individually ({@code orders.risk.check} timer, tagged by check) and
+ * rejections are counted ({@code orders.risk.rejections}). Meters are resolved once at startup
+ * so the hot path does no registry lookups.</p>
+ */
+@Slf4j
+@Component
+public class PreTradeRiskPipeline {
+
+    private final boolean enabled;
+    private final RiskCheck[] checks;
+    private final Timer[] timers;
+    private final Counter[] rejections;
+
+    public PreTradeRiskPipeline(List<RiskCheck> checks, RiskProperties properties, MeterRegistry registry) {
+        this.enabled = properties.enabled();
+        this.checks = checks.toArray(RiskCheck[]::new); // already sorted by @Order
+        this.timers = new Timer[this.checks.length];
+        this.rejections = new Counter[this.checks.length];
+        for (int i = 0; i < this.checks.length; i++) {
+            String name = this.checks[i].name();
+            timers[i] = Timer.builder("orders.risk.check")
+                    .description("Latency of a single pre-trade risk check")
+                    .tag("check", name)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(registry);
+            rejections[i] = Counter.builder("orders.risk.rejections")
+                    .description("Orders rejected by a pre-trade risk check")
+                    .tag("check", name)
+                    .register(registry);
+        }
+    }
+
+    public void evaluate(OrderRequestDto order) {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < checks.length; i++) {
+            long start = System.nanoTime();
+            String reason;
+            try {
+                reason = checks[i].evaluate(order);
+            } finally {
+                timers[i].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (reason != null) {
+                rejections[i].increment();
+                log.info("Order rejected by {} for account {}: {}", checks[i].name(), order.getAccountId(), reason);
+                throw new BusinessException("Pre-trade risk check '" + checks[i].name() + "' failed: " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.investment.orders.risk;
+
+import com.investment.orders.configuration.RiskProperties;
+import com.investment.orders.dto.OrderRequestDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fat-finger guard: a limit price may not deviate from the last known price by more than
+ * {@link RiskProperties#priceBandPct()} percent. Market orders and unknown prices pass.
+ */
+@Component
+@Order(10)
+@RequiredArgsConstructor
+public class PriceBandCheck implements RiskCheck {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final RiskProperties properties;
+    private final LastPriceCache lastPrices;
+
+    @Override
+    public String name() {
+        return "price-band";
+    }
+
+    @Override
+    public String evaluate(OrderRequestDto order) {
+        BigDecimal limit = order.getLimitPrice();
+        BigDecimal last = lastPrices.get(order.getInstrumentId());
+        if (limit == null || last == null) {
+            return null;
+        }
+        BigDecimal deviationPct = limit.subtract(last).abs()
+                .multiply(HUNDRED)
+                .divide(last, 4, RoundingMode.HALF_UP);
+        return deviationPct.compareTo(properties.priceBandPct()) > 0
+                ? "limit price deviates " + deviationPct.stripTrailingZeros().toPlainString()
+                  + "% from last price " + last.stripTrailingZeros().toPlainString()
+                : null;
+    }
+}
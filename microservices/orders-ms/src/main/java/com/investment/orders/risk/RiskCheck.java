@@ -0,0 +1,24 @@
+package com.investment.orders.risk;
+
+import com.investment.orders.dto.OrderRequestDto;
+
+/**
+ * A single pre-trade check. Implementations must only read local state (caches, counters)
+ * so the whole pipeline stays in the microsecond range.
+ *
+ * <p>Checks are Spring beans; the pipeline runs them in {@link org.springframework.core.annotation.Order}
+ * order and stops at the first rejection.</p>
+ */
+public interface RiskCheck {
+
+    /** Short, stable name used as the metric tag. */
+    String name();
+
+    /**
+     * Evaluates the order.
+     *
+     * @param order the incoming order
+     * @return {@code null} when the order passes, otherwise the rejection reason
+     */
+    String evaluate(OrderRequestDto order);
+}
@@ -0,0 +1,74 @@
+package com.investment.orders.risk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.orders.utils.enums.SideEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Keeps the risk caches current from Kafka. Every instance needs every event, so the
+ * listeners use a per-instance consumer group named after {@code app.risk.instance-id}, which
+ * stays the same across restarts of that instance so no group is left behind by each restart.
+ *
+ * <p>Payloads are read as trees: only a handful of fields are needed and the shared
+ * {@link ObjectMapper} has no java.time module registered.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiskFeedConsumer {
+
+    private final ObjectMapper objectMapper;
+    private final ExposureCache exposures;
+    private final LastPriceCache lastPrices;
+
+    @KafkaListener(
+            topics = "${app.kafka.topics.tradeExecuted}",
+            groupId = "${spring.application.name}-risk-${app.risk.instance-id:${HOSTNAME:local}}"
+    )
+    public void onTradeExecuted(String message) {
+        try {
+            JsonNode n = objectMapper.readTree(message);
+            UUID accountId = uuid(n, "accountId");
+            UUID instrumentId = uuid(n, "instrumentId");
+            OffsetDateTime executedAt = time(n, "executedAt");
+            SideEnum side = n.hasNonNull("side") ? SideEnum.valueOf(n.get("side").asText()) : null;
+            exposures.onTrade(uuid(n, "id"), accountId, instrumentId, side, decimal(n, "quantity"), executedAt);
+            lastPrices.update(instrumentId, decimal(n, "price"), executedAt);
+        } catch (Exception e) {
+            log.error("Failed to apply trade event to risk caches: {}", e.getMessage(), e);
+        }
+    }
+
+    @KafkaListener(
+            topics = "${app.kafka.topics.priceUpdated}",
+            groupId = "${spring.application.name}-risk-${app.risk.instance-id:${HOSTNAME:local}}"
+    )
+    public void onPriceUpdated(String message) {
+        try {
+            JsonNode n = objectMapper.readTree(message);
+            lastPrices.update(uuid(n, "instrumentId"), decimal(n, "price"), time(n, "ts"));
+        } catch (Exception e) {
+            log.error("Failed to apply price tick to risk caches: {}", e.getMessage(), e);
+        }
+    }
+
+    private static UUID uuid(JsonNode n, String field) {
+        return n.hasNonNull(field) ? UUID.fromString(n.get(field).asText()) : null;
+    }
+
+    private static BigDecimal decimal(JsonNode n, String field) {
+        return n.hasNonNull(field) ? n.get(field).decimalValue() : null;
+    }
+
+    private static OffsetDateTime time(JsonNode n, String field) {
+        return n.hasNonNull(field) && n.get(field).isTextual() ? OffsetDateTime.parse(n.get(field).asText()) : null;
+    }
+}
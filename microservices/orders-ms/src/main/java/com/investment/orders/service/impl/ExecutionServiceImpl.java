@@ -80,6 +80,7 @@ public class ExecutionServiceImpl implements ExecutionService {
         orderRepository.save(orderEntity);
 
         ExecutionResponseDto dto = toResponse(toModel(saved));
+        dto.setSide(order.side()); // consumers (tax lots in positions-ms) need to know buy vs sell
 
         kafkaProducer.publishTradeExecuted(dto);
 
@@ -4,6 +4,7 @@ import com.investment.orders.dto.OrderRequestDto;
 import com.investment.orders.dto.OrderResponseDto;
 import com.investment.orders.entity.OrderEntity;
 import com.investment.orders.repository.OrderRepository;
+import com.investment.orders.risk.PreTradeRiskPipeline;
 import com.investment.orders.service.OrderService;
 import com.investment.orders.utils.Constants;
 import com.investment.orders.utils.DateTimeUtils;
@@ -22,12 +23,14 @@ import java.util.UUID;
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository repository;
+    private final PreTradeRiskPipeline riskPipeline;
 
     // ===== CRUD =====
 
     @Override
     public OrderResponseDto create(OrderRequestDto request) {
         validateBusiness(request);
+        riskPipeline.evaluate(request);
 
         OrderEntity e = new OrderEntity();
         e.setInstrumentId(request.getInstrumentId());
@@ -61,6 +64,7 @@ public class OrderServiceImpl implements OrderService {
         }
 
         validateBusiness(request);
+        riskPipeline.evaluate(request);
 
         e.setSide(request.getSide());
         e.setOrderType(request.getOrderType());
@@ -110,6 +110,7 @@ class ExecutionServiceImplTest {
         assertThat(resp.getOrderId()).isEqualTo(orderId);
         assertThat(resp.getAccountId()).isEqualTo(accountId);
         assertThat(resp.getStatus()).isEqualTo(TradeStatusEnum.EXECUTED);
+        assertThat(resp.getSide()).isEqualTo(SideEnum.BUY); // el evento lleva el lado de la orden
 
         // la orden pasa a FILLED
         ArgumentCaptor<OrderEntity> orderCaptor = ArgumentCaptor.forClass(OrderEntity.class);
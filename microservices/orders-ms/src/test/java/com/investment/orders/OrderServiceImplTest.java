@@ -1,9 +1,11 @@
 package com.investment.orders;
 
+import com.investment.common.exception.BusinessException;
 import com.investment.orders.dto.OrderRequestDto;
 import com.investment.orders.dto.OrderResponseDto;
 import com.investment.orders.entity.OrderEntity;
 import com.investment.orders.repository.OrderRepository;
+import com.investment.orders.risk.PreTradeRiskPipeline;
 import com.investment.orders.service.impl.OrderServiceImpl;
 import com.investment.orders.utils.enums.OrderStatusEnum;
 import com.investment.orders.utils.enums.OrderTypeEnum;
@@ -35,6 +37,9 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository repository;
 
+    @Mock
+    private PreTradeRiskPipeline riskPipeline;
+
     @InjectMocks
     private OrderServiceImpl service;
 
@@ -103,9 +108,20 @@ class OrderServiceImplTest {
         ArgumentCaptor<OrderEntity> cap = ArgumentCaptor.forClass(OrderEntity.class);
         verify(repository).save(cap.capture());
         assertThat(cap.getValue().getOrderType()).isEqualTo(OrderTypeEnum.MARKET);
+        verify(riskPipeline).evaluate(req);
         verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    @DisplayName("create() no persiste si el pipeline de riesgo rechaza")
+    void create_rejectedByRisk() {
+        OrderRequestDto req = baseReq();
+        doThrow(new BusinessException("risk")).when(riskPipeline).evaluate(req);
+
+        assertThrows(BusinessException.class, () -> service.create(req));
+        verifyNoInteractions(repository);
+    }
+
     // ---------- getByIdAndAccountId ----------
 
     @Test
@@ -0,0 +1,188 @@
+package com.investment.orders;
+
+import com.investment.common.exception.BusinessException;
+import com.investment.orders.configuration.RiskProperties;
+import com.investment.orders.dto.OrderRequestDto;
+import com.investment.orders.repository.TradeRepository;
+import com.investment.orders.risk.*;
+import com.investment.orders.utils.enums.OrderTypeEnum;
+import com.investment.orders.utils.enums.SideEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PreTradeRiskPipelineTest {
+
+    @Mock
+    private TradeRepository tradeRepository;
+
+    private SimpleMeterRegistry registry;
+    private LastPriceCache lastPrices;
+    private ExposureCache exposures;
+    private PreTradeRiskPipeline pipeline;
+
+    private UUID accountId;
+    private UUID instrumentId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        instrumentId = UUID.randomUUID();
+
+        RiskProperties props = new RiskProperties(true, new BigDecimal("10000"), new BigDecimal("100"),
+                new BigDecimal("5"), 3, Duration.ofHours(1), null, Duration.ofMinutes(5));
+        registry = new SimpleMeterRegistry();
+        lastPrices = new LastPriceCache();
+        exposures = new ExposureCache(tradeRepository, props);
+        lenient().when(tradeRepository.sumNetQuantityBefore(any(), any(), any())).thenReturn(BigDecimal.ZERO);
+        lenient().when(tradeRepository.findSignedTradesSince(any(), any(), any())).thenReturn(List.of());
+
+        pipeline = new PreTradeRiskPipeline(List.of(
+                new OrderRateThrottleCheck(props),
+                new PriceBandCheck(props, lastPrices),
+                new MaxNotionalCheck(props, lastPrices),
+                new PositionLimitCheck(props, exposures)
+        ), props, registry);
+    }
+
+    private OrderRequestDto order(SideEnum side, String qty, String limit) {
+        return OrderRequestDto.builder()
+                .accountId(accountId)
+                .instrumentId(instrumentId)
+                .side(side)
+                .orderType(limit == null ? OrderTypeEnum.MARKET : OrderTypeEnum.LIMIT)
+                .quantity(new BigDecimal(qty))
+                .limitPrice(limit == null ? null : new BigDecimal(limit))
+                .build();
+    }
+
+    @Test
+    @DisplayName("orden dentro de límites pasa y registra latencia por check")
+    void passes_andRecordsTimers() {
+        lastPrices.update(instrumentId, new BigDecimal("100"), OffsetDateTime.now());
+
+        pipeline.evaluate(order(SideEnum.BUY, "10", "101"));
+
+        assertThat(registry.get("orders.risk.check").tag("check", "price-band").timer().count()).isEqualTo(1);
+        assertThat(registry.get("orders.risk.check").tag("check", "position-limit").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("fat finger: precio límite fuera de banda se rechaza")
+    void rejects_priceOutsideBand() {
+        lastPrices.update(instrumentId, new BigDecimal("100"), OffsetDateTime.now());
+
+        assertThatThrownBy(() -> pipeline.evaluate(order(SideEnum.BUY, "1", "110")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("price-band");
+        assertThat(registry.get("orders.risk.rejections").tag("check", "price-band").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("nocional por encima del máximo se rechaza usando el último precio en órdenes a mercado")
+    void rejects_maxNotional() {
+        lastPrices.update(instrumentId, new BigDecimal("200"), OffsetDateTime.now());
+
+        assertThatThrownBy(() -> pipeline.evaluate(order(SideEnum.BUY, "60", null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("max-notional");
+    }
+
+    @Test
+    @DisplayName("límite de posición considera la exposición cacheada y las ejecuciones posteriores")
+    void rejects_positionLimit() {
+        when(tradeRepository.sumNetQuantityBefore(eq(accountId), eq(instrumentId), any())).thenReturn(new BigDecimal("90"));
+
+        pipeline.evaluate(order(SideEnum.BUY, "10", null)); // 100: justo en el límite
+        exposures.onTrade(UUID.randomUUID(), accountId, instrumentId, SideEnum.BUY, new BigDecimal("10"),
+                OffsetDateTime.now().plusSeconds(1));
+
+        assertThatThrownBy(() -> pipeline.evaluate(order(SideEnum.BUY, "1", null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("position-limit");
+        // reducir siempre está permitido
+        pipeline.evaluate(order(SideEnum.SELL, "5", null));
+        verify(tradeRepository, times(1)).sumNetQuantityBefore(eq(accountId), eq(instrumentId), any());
+    }
+
+    @Test
+    @DisplayName("exposición sembrada: un trade reciente ya leído no se cuenta dos veces al llegar su evento")
+    void exposureSeed_countsEachTradeOnce() {
+        UUID seen = UUID.randomUUID();
+        OffsetDateTime now = OffsetDateTime.now();
+        when(tradeRepository.sumNetQuantityBefore(eq(accountId), eq(instrumentId), any())).thenReturn(new BigDecimal("50"));
+        when(tradeRepository.findSignedTradesSince(eq(accountId), eq(instrumentId), any()))
+                .thenReturn(List.of(signedTrade(seen, "20")));
+
+        assertThat(exposures.netQuantity(accountId, instrumentId)).isEqualByComparingTo("70");
+
+        // el evento del trade que la semilla ya leyó (commiteado justo antes de la lectura)
+        exposures.onTrade(seen, accountId, instrumentId, SideEnum.BUY, new BigDecimal("20"), now.minusSeconds(1));
+        // uno anterior al corte ya está en la suma
+        exposures.onTrade(UUID.randomUUID(), accountId, instrumentId, SideEnum.BUY, new BigDecimal("5"), now.minusHours(1));
+        // uno reciente que la semilla no vio sí suma
+        exposures.onTrade(UUID.randomUUID(), accountId, instrumentId, SideEnum.SELL, new BigDecimal("30"), now);
+
+        assertThat(exposures.netQuantity(accountId, instrumentId)).isEqualByComparingTo("40");
+    }
+
+    private static TradeRepository.SignedTrade signedTrade(UUID tradeId, String signedQuantity) {
+        return new TradeRepository.SignedTrade() {
+            @Override
+            public UUID getTradeId() {
+                return tradeId;
+            }
+
+            @Override
+            public BigDecimal getSignedQuantity() {
+                return new BigDecimal(signedQuantity);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("throttle por cuenta corta tras N órdenes en la ventana")
+    void rejects_orderRate() {
+        pipeline.evaluate(order(SideEnum.BUY, "1", null));
+        pipeline.evaluate(order(SideEnum.BUY, "1", null));
+        pipeline.evaluate(order(SideEnum.BUY, "1", null));
+
+        assertThatThrownBy(() -> pipeline.evaluate(order(SideEnum.BUY, "1", null)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("order-rate");
+    }
+
+    @Test
+    @DisplayName("throttle descarta las ventanas vencidas de cuentas inactivas")
+    void orderRate_dropsExpiredWindows() throws InterruptedException {
+        RiskProperties props = new RiskProperties(true, null, null, null, 1, Duration.ofMillis(20), null, null);
+        OrderRateThrottleCheck throttle = new OrderRateThrottleCheck(props);
+        for (int i = 0; i < 50; i++) {
+            throttle.evaluate(OrderRequestDto.builder().accountId(UUID.randomUUID()).build());
+        }
+        assertThat(throttle.trackedAccounts()).isEqualTo(50);
+
+        Thread.sleep(50);
+
+        assertThat(throttle.evaluate(order(SideEnum.BUY, "1", null))).isNull();
+        assertThat(throttle.trackedAccounts()).isEqualTo(1);
+        // la cuenta activa sigue limitada dentro de su ventana
+        assertThat(throttle.evaluate(order(SideEnum.BUY, "1", null))).contains("rate limit");
+    }
+}
@@ -0,0 +1,82 @@
+package com.investment.portfolios.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the accounts of a portfolio and their external cash flows from accounts-ms.
+ *
+ * @since October 18, 2026
+ */
+@Component
+public class AccountsClient {
+
+    private static final ParameterizedTypeReference<List<AccountRef>> ACCOUNTS = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<ExternalFlowRef>> FLOWS = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    /**
+     * @param restClient client bound to the accounts-ms base URL
+     */
+    public AccountsClient(@Qualifier("accountsRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    /**
+     * All accounts of a portfolio, in a single request.
+     *
+     * @param portfolioId the portfolio
+     * @return the accounts (empty when the portfolio has none)
+     */
+    public List<AccountRef> findByPortfolio(UUID portfolioId) {
+        List<AccountRef> accounts = restClient.get()
+                .uri("/api/accounts/portfolios/{portfolioId}", portfolioId)
+                .retrieve()
+                .body(ACCOUNTS);
+        return accounts == null ? List.of() : accounts;
+    }
+
+    /**
+     * Net deposits minus withdrawals of all accounts of a portfolio, per UTC day and currency.
+     *
+     * @param portfolioId the portfolio
+     * @param from        first day, inclusive
+     * @param to          last day, inclusive
+     * @return one entry per day and currency with a non-empty flow
+     */
+    public List<ExternalFlowRef> externalFlows(UUID portfolioId, LocalDate from, LocalDate to) {
+        List<ExternalFlowRef> flows = restClient.get()
+                .uri(uri -> uri.path("/api/accounts/portfolios/{portfolioId}/external-flows")
+                        .queryParam("from", from)
+                        .queryParam("to", to)
+                        .build(portfolioId))
+                .retrieve()
+                .body(FLOWS);
+        return flows == null ? List.of() : flows;
+    }
+
+    /**
+     * The subset of the accounts-ms account payload the valuation needs.
+     *
+     * @param id            account id
+     * @param accountNumber broker account number
+     * @param currencyId    account currency
+     * @param currencyCode  account currency code
+     */
+    public record AccountRef(UUID id, String accountNumber, UUID currencyId, String currencyCode) {}
+
+    /**
+     * @param date       UTC day of the flows
+     * @param currencyId currency of the flows
+     * @param amount     net amount, positive when money came in
+     */
+    public record ExternalFlowRef(LocalDate date, UUID currencyId, BigDecimal amount) {}
+}
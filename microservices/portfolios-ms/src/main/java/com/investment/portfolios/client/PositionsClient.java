@@ -0,0 +1,54 @@
+package com.investment.portfolios.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads open positions from positions-ms, one request per batch of accounts.
+ *
+ * @since October 18, 2026
+ */
+@Component
+public class PositionsClient {
+
+    private static final ParameterizedTypeReference<List<PositionRef>> POSITIONS = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    /**
+     * @param restClient client bound to the positions-ms base URL
+     */
+    public PositionsClient(@Qualifier("positionsRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    /**
+     * Positions of several accounts in one call.
+     *
+     * @param accountIds accounts of the batch; the caller keeps it under the positions-ms limit
+     * @return the positions of those accounts
+     */
+    public List<PositionRef> findByAccounts(Collection<UUID> accountIds) {
+        List<PositionRef> positions = restClient.get()
+                .uri(uri -> uri.path("/v1/positions/accounts").queryParam("accountIds", accountIds).build())
+                .retrieve()
+                .body(POSITIONS);
+        return positions == null ? List.of() : positions;
+    }
+
+    /**
+     * The subset of the positions-ms payload the valuation needs.
+     *
+     * @param accountId    owning account
+     * @param instrumentId instrument held
+     * @param quantity     signed quantity
+     */
+    public record PositionRef(UUID accountId, UUID instrumentId, BigDecimal quantity) {}
+}
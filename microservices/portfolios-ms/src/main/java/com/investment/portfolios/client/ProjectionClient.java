@@ -0,0 +1,45 @@
+package com.investment.portfolios.client;
+
+import com.investment.portfolios.dto.ProjectionRequestDto;
+import com.investment.portfolios.dto.ProjectionResponseDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.UUID;
+
+/**
+ * Runs Monte Carlo projections in accounts-ms, next to the price history and the cached
+ * covariance matrices the simulation needs.
+ *
+ * @since October 18, 2026
+ */
+@Component
+public class ProjectionClient {
+
+    private final RestClient restClient;
+
+    /**
+     * @param restClient client bound to the accounts-ms base URL, with the projection read timeout
+     */
+    public ProjectionClient(@Qualifier("projectionRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    /**
+     * Project the current holdings of a portfolio.
+     *
+     * @param portfolioId the portfolio
+     * @param request     simulation parameters; same payload as the accounts-ms API
+     * @return the projection
+     */
+    public ProjectionResponseDto project(UUID portfolioId, ProjectionRequestDto request) {
+        return restClient.post()
+                .uri("/api/risk/portfolios/{portfolioId}/projections", portfolioId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(request)
+                .retrieve()
+                .body(ProjectionResponseDto.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.investment.portfolios.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads instrument reference data, last prices and FX conversions, each as a single bulk request.
+ *
+ * @since October 18, 2026
+ */
+@Component
+public class RefDataClient {
+
+    private static final ParameterizedTypeReference<List<InstrumentRef>> INSTRUMENTS = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<PriceRef>> PRICES = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<FxResult>> FX_RESULTS = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    /**
+     * @param restClient client bound to the reference data base URL
+     */
+    public RefDataClient(@Qualifier("refdataRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    /**
+     * Type and quote currency of the given instruments; unknown ids are omitted.
+     *
+     * @param instrumentIds instruments to resolve
+     * @return one entry per known instrument
+     */
+    public List<InstrumentRef> instruments(Collection<UUID> instrumentIds) {
+        return post("/api/refdata/instruments/bulk", instrumentIds, INSTRUMENTS);
+    }
+
+    /**
+     * Last known close of the given instruments; instruments without a price are omitted.
+     *
+     * @param instrumentIds instruments to price
+     * @return one entry per priced instrument
+     */
+    public List<PriceRef> lastPrices(Collection<UUID> instrumentIds) {
+        return post("/api/refdata/prices/last/bulk", instrumentIds, PRICES);
+    }
+
+    /**
+     * Bulk FX conversion; the response keeps the order of {@code items}.
+     *
+     * @param items conversions to perform
+     * @return one result per item, with {@code error} set when that item failed
+     */
+    public List<FxResult> convert(List<FxItem> items) {
+        return post("/api/refdata/fx/convert/bulk", items, FX_RESULTS);
+    }
+
+    private <T> List<T> post(String path, Object body, ParameterizedTypeReference<List<T>> type) {
+        List<T> result = restClient.post()
+                .uri(path)
+                .body(body)
+                .retrieve()
+                .body(type);
+        return result == null ? List.of() : result;
+    }
+
+    /**
+     * @param id         instrument id
+     * @param symbol     instrument symbol
+     * @param type       instrument type as published by the reference data API
+     * @param currencyId quote currency
+     */
+    public record InstrumentRef(UUID id, String symbol, String type, UUID currencyId) {}
+
+    /**
+     * @param instrumentId instrument id
+     * @param close        last close, in the instrument currency
+     * @param ts           time of that close
+     */
+    public record PriceRef(UUID instrumentId, BigDecimal close, OffsetDateTime ts) {}
+
+    /**
+     * @param amount         amount to convert
+     * @param fromCurrencyId source currency
+     * @param toCurrencyId   target currency
+     * @param asOf           rate time, {@code null} for the latest rate
+     */
+    public record FxItem(BigDecimal amount, UUID fromCurrencyId, UUID toCurrencyId, OffsetDateTime asOf) {}
+
+    /**
+     * @param amount converted amount
+     * @param rate   rate applied
+     * @param rateTs time of the rate
+     * @param error  reason when this item could not be converted
+     */
+    public record FxResult(BigDecimal amount, BigDecimal rate, OffsetDateTime rateTs, String error) {}
+}
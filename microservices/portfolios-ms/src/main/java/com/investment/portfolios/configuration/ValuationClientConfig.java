@@ -0,0 +1,108 @@
+package com.investment.portfolios.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * HTTP clients for the services the portfolio valuation depends on.
+ *
+ * <p>Every client uses the JDK {@link HttpClient}, whose blocking calls park virtual threads
+ * instead of pinning carriers and honour interruption, so a timed-out task can be cancelled.
+ * The read timeout of each client equals its dependency timeout, and the caller's JWT is
+ * forwarded because all downstream APIs are OAuth2 resource servers.</p>
+ *
+ * @since October 18, 2026
+ */
+@Configuration
+@EnableConfigurationProperties(ValuationProperties.class)
+public class ValuationClientConfig {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(1);
+
+    /**
+     * Client for accounts-ms.
+     *
+     * @param builder    Boot-configured builder (shared message converters)
+     * @param properties valuation settings
+     * @return a client bound to the accounts base URL
+     */
+    @Bean
+    RestClient accountsRestClient(RestClient.Builder builder, ValuationProperties properties) {
+        return build(builder, properties.accountsBaseUrl(), properties.accountsTimeout());
+    }
+
+    /**
+     * Client for positions-ms.
+     *
+     * @param builder    Boot-configured builder (shared message converters)
+     * @param properties valuation settings
+     * @return a client bound to the positions base URL
+     */
+    @Bean
+    RestClient positionsRestClient(RestClient.Builder builder, ValuationProperties properties) {
+        return build(builder, properties.positionsBaseUrl(), properties.positionsTimeout());
+    }
+
+    /**
+     * Client for the reference data API; the read timeout is the larger of the prices and FX budgets.
+     *
+     * @param builder    Boot-configured builder (shared message converters)
+     * @param properties valuation settings
+     * @return a client bound to the reference data base URL
+     */
+    @Bean
+    RestClient refdataRestClient(RestClient.Builder builder, ValuationProperties properties) {
+        Duration timeout = properties.refdataTimeout().compareTo(properties.fxTimeout()) >= 0
+                ? properties.refdataTimeout() : properties.fxTimeout();
+        return build(builder, properties.refdataBaseUrl(), timeout);
+    }
+
+    /**
+     * Client for the accounts-ms projection API: same base URL as {@link #accountsRestClient},
+     * with a longer read timeout because a projection runs a Monte Carlo simulation.
+     *
+     * @param builder    Boot-configured builder (shared message converters)
+     * @param properties valuation settings
+     * @param timeout    read timeout of a projection request
+     * @return a client bound to the accounts base URL
+     */
+    @Bean
+    RestClient projectionRestClient(RestClient.Builder builder, ValuationProperties properties,
+                                    @Value("${app.projection.timeout:30s}") Duration timeout) {
+        return build(builder, properties.accountsBaseUrl(), timeout);
+    }
+
+    private static RestClient build(RestClient.Builder builder, String baseUrl, Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(readTimeout);
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .requestFactory(factory)
+                .requestInterceptor(bearerTokenRelay())
+                .build();
+    }
+
+    // Reads the JWT of the incoming request; tasks must run with the caller's SecurityContext
+    private static ClientHttpRequestInterceptor bearerTokenRelay() {
+        return (request, body, execution) -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication instanceof JwtAuthenticationToken jwt) {
+                request.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.getToken().getTokenValue());
+            }
+            return execution.execute(request, body);
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.investment.portfolios.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Downstream endpoints and time budgets used by the consolidated portfolio valuation.
+ *
+ * <p>Each dependency has its own timeout so a slow service only removes its own part of the
+ * result; {@code deadline} caps the whole request regardless of how the stages add up.</p>
+ *
+ * @param accountsBaseUrl   base URL of accounts-ms (accounts of a portfolio)
+ * @param positionsBaseUrl  base URL of positions-ms (positions of a batch of accounts)
+ * @param refdataBaseUrl    base URL of the reference data API (instruments, last prices, FX)
+ * @param accountsTimeout   time budget for the accounts call
+ * @param positionsTimeout  time budget for each positions batch (batches run concurrently)
+ * @param refdataTimeout    time budget for the instruments and prices calls
+ * @param fxTimeout         time budget for the FX conversion call
+ * @param deadline          upper bound for the whole valuation
+ * @param positionsBatchSize maximum number of accounts per positions request
+ * @since October 18, 2026
+ */
+@ConfigurationProperties(prefix = "app.valuation")
+public record ValuationProperties(
+        String accountsBaseUrl,
+        String positionsBaseUrl,
+        String refdataBaseUrl,
+        Duration accountsTimeout,
+        Duration positionsTimeout,
+        Duration refdataTimeout,
+        Duration fxTimeout,
+        Duration deadline,
+        Integer positionsBatchSize
+) {
+    public ValuationProperties {
+        if (accountsBaseUrl == null || accountsBaseUrl.isBlank()) {
+            accountsBaseUrl = "http://localhost:8082";
+        }
+        if (positionsBaseUrl == null || positionsBaseUrl.isBlank()) {
+            positionsBaseUrl = "http://localhost:8083";
+        }
+        if (refdataBaseUrl == null || refdataBaseUrl.isBlank()) {
+            refdataBaseUrl = accountsBaseUrl;
+        }
+        if (accountsTimeout == null || !accountsTimeout.isPositive()) {
+            accountsTimeout = Duration.ofSeconds(2);
+        }
+        if (positionsTimeout == null || !positionsTimeout.isPositive()) {
+            positionsTimeout = Duration.ofSeconds(3);
+        }
+        if (refdataTimeout == null || !refdataTimeout.isPositive()) {
+            refdataTimeout = Duration.ofSeconds(2);
+        }
+        if (fxTimeout == null || !fxTimeout.isPositive()) {
+            fxTimeout = Duration.ofSeconds(2);
+        }
+        if (deadline == null || !deadline.isPositive()) {
+            deadline = Duration.ofSeconds(8);
+        }
+        if (positionsBatchSize == null || positionsBatchSize <= 0) {
+            // each id is ~37 chars in the query string: 100 keeps the URL well under Tomcat's 8 KB header limit
+            positionsBatchSize = 100;
+        }
+    }
+}
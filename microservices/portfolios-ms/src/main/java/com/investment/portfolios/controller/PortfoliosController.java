@@ -1,19 +1,29 @@
 package com.investment.portfolios.controller;
 
+import com.investment.portfolios.dto.PerformanceResponseDto;
+import com.investment.portfolios.dto.PerformanceSnapshotDto;
 import com.investment.portfolios.dto.PortfolioRequestDto;
 import com.investment.portfolios.dto.PortfolioResponseDto;
+import com.investment.portfolios.dto.PortfolioValuationDto;
+import com.investment.portfolios.dto.ProjectionRequestDto;
+import com.investment.portfolios.dto.ProjectionResponseDto;
 import com.investment.portfolios.utils.Constants;
 import com.investment.portfolios.utils.enums.PortfolioStatusEnum;
+import com.investment.portfolios.service.PerformanceService;
 import com.investment.portfolios.service.PortfolioService;
+import com.investment.portfolios.service.PortfolioValuationService;
+import com.investment.portfolios.service.ProjectionService;
 import jakarta.validation.Valid;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.UUID;
 
 
@@ -27,6 +37,9 @@ import java.util.UUID;
  * <ul>
  *   <li>Create, read, update and delete portfolios.</li>
  *   <li>Query portfolios by user, status and existence by name.</li>
+ *   <li>Value a portfolio across accounts, positions, prices and FX rates.</li>
+ *   <li>Record daily performance snapshots and report time- and money-weighted returns.</li>
+ *   <li>Project the current holdings with a Monte Carlo simulation for goal-based planning.</li>
  * </ul>
  *
  * All request payloads are validated using Jakarta Bean Validation where applicable.
@@ -40,6 +53,9 @@ import java.util.UUID;
 public class PortfoliosController {
 
     private final PortfolioService service;
+    private final PortfolioValuationService valuationService;
+    private final PerformanceService performanceService;
+    private final ProjectionService projectionService;
 
     // ===== CRUD =====
 
@@ -174,4 +190,74 @@ public class PortfoliosController {
                                                          @RequestParam String name) {
         return ResponseEntity.ok(service.existsByUserIdAndNameIgnoreCase(userId, name));
     }
-}
\ No newline at end of file
+
+    /**
+     * Consolidated market valuation of a portfolio in the requested base currency.
+     *
+     * <p>Aggregates market value per account, instrument type and currency. When a downstream
+     * service is slow or unavailable the response is still 200 OK, with {@code partial=true}
+     * and warnings describing the missing data.</p>
+     *
+     * @param id         the UUID of the portfolio to value
+     * @param currencyId the base currency of the valuation (query parameter)
+     * @return 200 OK with the {@link PortfolioValuationDto}
+     * @since October 18, 2026
+     */
+    @GetMapping("/{id}/valuation")
+    public ResponseEntity<PortfolioValuationDto> valuation(@PathVariable UUID id,
+                                                           @RequestParam UUID currencyId) {
+        return ResponseEntity.ok(valuationService.value(id, currencyId));
+    }
+
+    /**
+     * Record today's performance snapshot of a portfolio.
+     *
+     * <p>Meant to be called once per day after market close (re-recording replaces the
+     * snapshot of the day). Fails without recording anything when the valuation is partial.</p>
+     *
+     * @param id         the UUID of the portfolio
+     * @param currencyId the currency of the performance series (query parameter)
+     * @return 200 OK with the recorded {@link PerformanceSnapshotDto}
+     * @since October 18, 2026
+     */
+    @PostMapping("/{id}/performance/snapshots")
+    public ResponseEntity<PerformanceSnapshotDto> recordPerformanceSnapshot(@PathVariable UUID id,
+                                                                            @RequestParam UUID currencyId) {
+        return ResponseEntity.ok(performanceService.recordSnapshot(id, currencyId));
+    }
+
+    /**
+     * Time-weighted and money-weighted returns of a portfolio over a period.
+     *
+     * @param id   the UUID of the portfolio
+     * @param from first day of the period, inclusive (ISO date)
+     * @param to   last day of the period, inclusive (ISO date)
+     * @return 200 OK with the {@link PerformanceResponseDto}
+     * @since October 18, 2026
+     */
+    @GetMapping("/{id}/performance")
+    public ResponseEntity<PerformanceResponseDto> performance(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(performanceService.getPerformance(id, from, to));
+    }
+
+    /**
+     * Monte Carlo projection of the current holdings of a portfolio.
+     *
+     * <p>Returns percentile bands of the projected value at the end of each year and, when a
+     * goal amount is given, the probability of reaching it. The body is optional; omitted
+     * parameters take the server defaults.</p>
+     *
+     * @param id      the UUID of the portfolio
+     * @param request simulation parameters (optional, validated)
+     * @return 200 OK with the {@link ProjectionResponseDto}
+     * @since October 18, 2026
+     */
+    @PostMapping("/{id}/projections")
+    public ResponseEntity<ProjectionResponseDto> project(@PathVariable UUID id,
+                                                         @Valid @RequestBody(required = false) ProjectionRequestDto request) {
+        return ResponseEntity.ok(projectionService.project(id, request));
+    }
+}
@@ -0,0 +1,32 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Market value of one account of a portfolio, expressed in the valuation base currency.
+ *
+ * <p>{@code available} is {@code false} when the positions of the account could not be read in
+ * time; in that case {@code marketValue} is {@code null}. {@code unvaluedPositions} counts the
+ * positions that were read but left out of {@code marketValue} (no instrument data, no price or
+ * no FX rate).</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountValuationDto {
+
+    private UUID accountId;
+    private String accountNumber;
+    private UUID currencyId;
+    private boolean available;
+    private int positions;
+    private int unvaluedPositions;
+    private BigDecimal marketValue;
+}
@@ -0,0 +1,27 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Market value of a portfolio grouped by instrument currency.
+ *
+ * <p>{@code nativeMarketValue} is always present; {@code fxRate} and {@code marketValue}
+ * (converted to the base currency) are {@code null} when no rate could be obtained.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CurrencyValuationDto {
+
+    private UUID currencyId;
+    private BigDecimal nativeMarketValue;
+    private BigDecimal fxRate;
+    private BigDecimal marketValue;
+}
@@ -0,0 +1,24 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Market value of a portfolio grouped by instrument type, in the valuation base currency.
+ *
+ * <p>{@code weight} is the share of the valued total, between 0 and 1.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InstrumentTypeValuationDto {
+
+    private String instrumentType;
+    private BigDecimal marketValue;
+    private BigDecimal weight;
+}
@@ -0,0 +1,37 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Performance of a portfolio over {@code [from, to]}, both days inclusive.
+ *
+ * <p>{@code timeWeightedReturn} removes the effect of deposits and withdrawals and measures the
+ * investments; {@code moneyWeightedReturn} (IRR, not annualized) measures the investor's
+ * experience including the timing of the flows and is {@code null} when there was no invested
+ * capital. Values are in {@code currencyId}, the currency the snapshots were recorded in.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PerformanceResponseDto {
+
+    private UUID portfolioId;
+    private UUID currencyId;
+    private LocalDate from;
+    private LocalDate to;
+    private BigDecimal startValue;
+    private BigDecimal endValue;
+    private BigDecimal netFlows;
+    private BigDecimal timeWeightedReturn;
+    private BigDecimal moneyWeightedReturn;
+    private LocalDate firstSnapshotDate;
+    private LocalDate lastSnapshotDate;
+}
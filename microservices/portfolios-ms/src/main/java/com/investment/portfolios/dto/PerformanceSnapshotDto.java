@@ -0,0 +1,32 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * End-of-day performance snapshot of a portfolio as recorded.
+ *
+ * <p>{@code netFlow} covers every day since the previous snapshot; {@code dailyReturn} is the
+ * time-weighted return since that snapshot and {@code cumulativeIndex} the chained index
+ * (1 before the first snapshot).</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PerformanceSnapshotDto {
+
+    private UUID portfolioId;
+    private LocalDate asOfDate;
+    private UUID currencyId;
+    private BigDecimal marketValue;
+    private BigDecimal netFlow;
+    private BigDecimal dailyReturn;
+    private BigDecimal cumulativeIndex;
+}
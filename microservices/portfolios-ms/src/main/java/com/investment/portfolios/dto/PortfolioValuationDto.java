@@ -0,0 +1,35 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consolidated valuation of a portfolio built from accounts, positions, prices and FX rates.
+ *
+ * <p>When a dependency fails or exceeds its time budget the valuation is still returned:
+ * {@code partial} is set, {@code warnings} explains what is missing and the totals only cover
+ * what could be valued.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioValuationDto {
+
+    private UUID portfolioId;
+    private UUID baseCurrencyId;
+    private BigDecimal totalMarketValue;
+    private List<AccountValuationDto> accounts;
+    private List<InstrumentTypeValuationDto> byInstrumentType;
+    private List<CurrencyValuationDto> byCurrency;
+    private boolean partial;
+    private List<String> warnings;
+    private OffsetDateTime valuedAt;
+}
@@ -0,0 +1,43 @@
+package com.investment.portfolios.dto;
+
+import jakarta.validation.constraints.Positive;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Parameters of a Monte Carlo projection of a portfolio; every field is optional.
+ *
+ * <p>{@code annualContribution} is added every year (negative for withdrawals), spread evenly
+ * over the simulation steps. {@code percentiles} are in (0, 100) and default to 5, 25, 50, 75
+ * and 95. {@code currencyId} defaults to the base currency of the risk engine, and a fixed
+ * {@code seed} makes the simulated paths reproducible.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectionRequestDto {
+
+    @Positive
+    private Integer horizonYears;
+
+    @Positive
+    private Integer paths;
+
+    private BigDecimal annualContribution;
+
+    @Positive
+    private BigDecimal goalAmount;
+
+    private List<Double> percentiles;
+
+    private UUID currencyId;
+
+    private Long seed;
+}
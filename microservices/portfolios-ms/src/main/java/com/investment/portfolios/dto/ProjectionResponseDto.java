@@ -0,0 +1,44 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monte Carlo projection of the current holdings of a portfolio.
+ *
+ * <p>Volatilities and correlations come from the daily price history up to
+ * {@code priceHistoryAsOf}; expected returns are configured per instrument type. Percentile
+ * bands are estimated with streaming sketches whose relative error is at most
+ * {@code relativeAccuracy}. {@code goalProbability} is the share of paths ending at or above
+ * {@code goalAmount}, or {@code null} when no goal was given. Amounts are in {@code currencyId}.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectionResponseDto {
+
+    private UUID portfolioId;
+    private UUID currencyId;
+    private LocalDate priceHistoryAsOf;
+    private int observations;
+    private BigDecimal initialValue;
+    private int positions;
+    private int unpricedPositions;
+    private int horizonYears;
+    private int paths;
+    private BigDecimal annualContribution;
+    private BigDecimal goalAmount;
+    private BigDecimal goalProbability;
+    private double relativeAccuracy;
+    private List<Double> percentiles;
+    private List<ProjectionYearDto> years;
+    private long durationMs;
+}
@@ -0,0 +1,26 @@
+package com.investment.portfolios.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Projected portfolio value at the end of one year of the simulation.
+ *
+ * <p>{@code values} holds one value per requested percentile, in the order of
+ * {@link ProjectionResponseDto#getPercentiles()}.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProjectionYearDto {
+
+    private int year;
+    private BigDecimal mean;
+    private List<BigDecimal> values;
+}
@@ -0,0 +1,84 @@
+package com.investment.portfolios.entity;
+
+import com.investment.portfolios.utils.Constants;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * JPA entity representing the end-of-day valuation snapshot of a portfolio and its daily return.
+ *
+ * <p>Maps to the {@code portfolios.portfolio_daily_returns} table, one row per portfolio and
+ * date. Besides the market value and the net external flow since the previous snapshot, each
+ * row stores the daily time-weighted return and the cumulative return index up to that date,
+ * so the return of any period is the ratio of two index values.</p>
+ *
+ * @since October 18, 2026
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@ToString
+@Entity
+@Table(
+        name = Constants.PORTFOLIO_DAILY_RETURNS,
+        schema = Constants.PORTFOLIOS_GROUP,
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = Constants.UNIQUE_DAILY_RETURN,
+                        columnNames = {Constants.PORTFOLIO_ID, Constants.AS_OF_DATE}
+                )
+        }
+)
+public class PortfolioDailyReturnEntity implements Serializable {
+
+    @Id
+    @GeneratedValue
+    @Column(name = Constants.PORTFOLIOS_ID, nullable = false, updatable = false, columnDefinition = Constants.UUID)
+    private UUID id;
+
+    @Column(name = Constants.PORTFOLIO_ID, nullable = false, updatable = false, columnDefinition = Constants.UUID)
+    private UUID portfolioId;
+
+    @Column(name = Constants.AS_OF_DATE, nullable = false, updatable = false)
+    private LocalDate asOfDate;
+
+    @Column(name = Constants.CURRENCY_ID, nullable = false, columnDefinition = Constants.UUID)
+    private UUID currencyId;
+
+    @Column(name = Constants.MARKET_VALUE, nullable = false, precision = 24, scale = 8)
+    private BigDecimal marketValue;
+
+    @Column(name = Constants.NET_FLOW, nullable = false, precision = 24, scale = 8)
+    private BigDecimal netFlow;
+
+    @Column(name = Constants.DAILY_RETURN, nullable = false, precision = 24, scale = 12)
+    private BigDecimal dailyReturn;
+
+    @Column(name = Constants.CUMULATIVE_INDEX, nullable = false, precision = 30, scale = 12)
+    private BigDecimal cumulativeIndex;
+
+    @Column(name = Constants.CREATED_AT, nullable = false)
+    private Instant createdAt;
+
+    /**
+     * JPA lifecycle callback executed before the entity is inserted or updated.
+     *
+     * <p>A snapshot can be re-recorded on the same day, so the timestamp reflects the last write.</p>
+     *
+     * @since October 18, 2026
+     */
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        createdAt = Instant.now();
+    }
+}
@@ -0,0 +1,194 @@
+package com.investment.portfolios.model;
+
+import com.investment.portfolios.entity.PortfolioDailyReturnEntity;
+import com.investment.portfolios.utils.PerformanceUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, calendar-day indexed view of a portfolio's snapshot history.
+ *
+ * <p>Slot {@code 0} is the close of the day before the first snapshot (index 1, value 0) and
+ * slot {@code k} the close of {@code firstDate + k - 1}. Days without a snapshot carry the
+ * previous index and value forward and have no flow, and flows are kept as prefix sums. A date
+ * maps to its slot by subtracting epoch days, so the index, value and cumulative flow of any
+ * date are array reads: the time-weighted return of a period is {@code I(to) / I(from - 1) - 1}
+ * in constant time regardless of the length of the history. Dates outside the history are
+ * clamped to its ends.</p>
+ *
+ * @since October 18, 2026
+ */
+public final class ReturnSeriesModel {
+
+    private final UUID currencyId;
+    private final LocalDate firstDate;
+    private final LocalDate lastDate;
+    private final BigDecimal[] index;
+    private final BigDecimal[] value;
+    private final BigDecimal[] cumulativeFlow;
+
+    private ReturnSeriesModel(UUID currencyId, LocalDate firstDate, LocalDate lastDate,
+                              BigDecimal[] index, BigDecimal[] value, BigDecimal[] cumulativeFlow) {
+        this.currencyId = currencyId;
+        this.firstDate = firstDate;
+        this.lastDate = lastDate;
+        this.index = index;
+        this.value = value;
+        this.cumulativeFlow = cumulativeFlow;
+    }
+
+    /**
+     * Build the series from the snapshots of one portfolio.
+     *
+     * @param snapshots snapshots ordered by date, at least one
+     * @return the day-indexed series
+     * @since October 18, 2026
+     */
+    public static ReturnSeriesModel of(List<PortfolioDailyReturnEntity> snapshots) {
+        LocalDate first = snapshots.get(0).getAsOfDate();
+        LocalDate last = snapshots.get(snapshots.size() - 1).getAsOfDate();
+        int slots = Math.toIntExact(last.toEpochDay() - first.toEpochDay()) + 2;
+        BigDecimal[] index = new BigDecimal[slots];
+        BigDecimal[] value = new BigDecimal[slots];
+        BigDecimal[] flows = new BigDecimal[slots];
+        index[0] = BigDecimal.ONE;
+        value[0] = BigDecimal.ZERO;
+        flows[0] = BigDecimal.ZERO;
+
+        int filled = 0;
+        for (PortfolioDailyReturnEntity s : snapshots) {
+            int slot = Math.toIntExact(s.getAsOfDate().toEpochDay() - first.toEpochDay()) + 1;
+            for (int k = filled + 1; k < slot; k++) {
+                index[k] = index[k - 1];
+                value[k] = value[k - 1];
+                flows[k] = flows[k - 1];
+            }
+            index[slot] = s.getCumulativeIndex();
+            value[slot] = s.getMarketValue();
+            flows[slot] = flows[slot - 1].add(s.getNetFlow());
+            filled = slot;
+        }
+        return new ReturnSeriesModel(snapshots.get(0).getCurrencyId(), first, last, index, value, flows);
+    }
+
+    /** @return the currency every value of the series is expressed in */
+    public UUID currencyId() {
+        return currencyId;
+    }
+
+    /** @return the date of the first snapshot */
+    public LocalDate firstDate() {
+        return firstDate;
+    }
+
+    /** @return the date of the last snapshot */
+    public LocalDate lastDate() {
+        return lastDate;
+    }
+
+    /**
+     * Market value at the close of a date (the last snapshot on or before it).
+     *
+     * @param date the date
+     * @return the market value, zero before the first snapshot
+     * @since October 18, 2026
+     */
+    public BigDecimal valueAt(LocalDate date) {
+        return value[slot(date)];
+    }
+
+    /**
+     * Net external flows during {@code [from, to]}.
+     *
+     * @param from first day, inclusive
+     * @param to   last day, inclusive
+     * @return deposits minus withdrawals of the period
+     * @since October 18, 2026
+     */
+    public BigDecimal netFlows(LocalDate from, LocalDate to) {
+        return cumulativeFlow[slot(to)].subtract(cumulativeFlow[slot(from.minusDays(1))]);
+    }
+
+    /**
+     * Time-weighted return of {@code [from, to]}: chained daily returns, read from the index in O(1).
+     *
+     * @param from first day, inclusive
+     * @param to   last day, inclusive
+     * @return the period return
+     * @since October 18, 2026
+     */
+    public BigDecimal timeWeightedReturn(LocalDate from, LocalDate to) {
+        return index[slot(to)]
+                .divide(index[slot(from.minusDays(1))], PerformanceUtils.RETURN_SCALE, RoundingMode.HALF_EVEN)
+                .subtract(BigDecimal.ONE);
+    }
+
+    /**
+     * Money-weighted return of {@code [from, to]} (not annualized).
+     *
+     * <p>The investor's flows are the opening value at the start, each day's net external
+     * flow at the start of that day and the closing value at the end; their daily IRR is
+     * compounded over the period. This walks the days of the period, so it is linear in its
+     * length rather than constant time.</p>
+     *
+     * @param from first day, inclusive
+     * @param to   last day, inclusive
+     * @return the period return, or {@code null} when there is no invested capital to measure
+     * @since October 18, 2026
+     */
+    public BigDecimal moneyWeightedReturn(LocalDate from, LocalDate to) {
+        int start = slot(from.minusDays(1));
+        int end = slot(to);
+        int days = Math.toIntExact(to.toEpochDay() - from.toEpochDay()) + 1;
+        // time of slot j counted in days from the close of from - 1 (slots may be clamped, dates are not)
+        long base = firstDate.toEpochDay() - from.toEpochDay();
+
+        int n = end - start + 2;
+        double[] amounts = new double[n];
+        int[] times = new int[n];
+        amounts[0] = -value[start].doubleValue();
+        boolean invested = value[start].signum() != 0;
+        int count = 1;
+        for (int k = start + 1; k <= end; k++) {
+            BigDecimal flow = cumulativeFlow[k].subtract(cumulativeFlow[k - 1]);
+            if (flow.signum() != 0) {
+                // the flow of slot k arrives at the start of its day, i.e. at the close of slot k - 1
+                amounts[count] = -flow.doubleValue();
+                times[count] = Math.toIntExact(k - 1 + base);
+                count++;
+                invested = true;
+            }
+        }
+        if (!invested) {
+            return null;
+        }
+        amounts[count] = value[end].doubleValue();
+        times[count] = days;
+        count++;
+
+        // with nothing invested at the start, the horizon begins at the first flow: compounding
+        // over the idle days before it would overstate the period return
+        int first = amounts[0] != 0 ? 0 : 1;
+        int shift = times[first];
+        for (int i = first; i < count; i++) {
+            times[i] -= shift;
+        }
+        double rate = PerformanceUtils.internalRateOfReturn(
+                Arrays.copyOfRange(amounts, first, count), Arrays.copyOfRange(times, first, count));
+        if (Double.isNaN(rate)) {
+            return null;
+        }
+        return BigDecimal.valueOf(Math.pow(1 + rate, days - shift) - 1)
+                .setScale(PerformanceUtils.RETURN_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private int slot(LocalDate date) {
+        long k = date.toEpochDay() - firstDate.toEpochDay() + 1;
+        return (int) Math.max(0, Math.min(index.length - 1, k));
+    }
+}
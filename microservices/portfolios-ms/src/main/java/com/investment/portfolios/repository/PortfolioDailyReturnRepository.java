@@ -0,0 +1,61 @@
+package com.investment.portfolios.repository;
+
+import com.investment.portfolios.entity.PortfolioDailyReturnEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data repository for {@link PortfolioDailyReturnEntity} snapshots.
+ *
+ * <p>All lookups are by portfolio and date and are served by the unique
+ * {@code (portfolio_id, as_of_date)} constraint.</p>
+ *
+ * @since October 18, 2026
+ */
+@Repository
+public interface PortfolioDailyReturnRepository extends JpaRepository<PortfolioDailyReturnEntity, UUID> {
+
+    /**
+     * Full snapshot history of a portfolio, oldest first.
+     *
+     * @param portfolioId the portfolio id
+     * @return the snapshots ordered by date
+     * @since October 18, 2026
+     */
+    List<PortfolioDailyReturnEntity> findAllByPortfolioIdOrderByAsOfDate(UUID portfolioId);
+
+    /**
+     * Snapshot of a portfolio on a given date.
+     *
+     * @param portfolioId the portfolio id
+     * @param asOfDate    the snapshot date
+     * @return the snapshot, if recorded
+     * @since October 18, 2026
+     */
+    Optional<PortfolioDailyReturnEntity> findByPortfolioIdAndAsOfDate(UUID portfolioId, LocalDate asOfDate);
+
+    /**
+     * Most recent snapshot strictly before a date; the base of the next daily return.
+     *
+     * @param portfolioId the portfolio id
+     * @param asOfDate    exclusive upper bound
+     * @return the previous snapshot, if any
+     * @since October 18, 2026
+     */
+    Optional<PortfolioDailyReturnEntity> findFirstByPortfolioIdAndAsOfDateBeforeOrderByAsOfDateDesc(UUID portfolioId,
+                                                                                                  LocalDate asOfDate);
+
+    /**
+     * Most recent snapshot of a portfolio.
+     *
+     * @param portfolioId the portfolio id
+     * @return the latest snapshot, if any
+     * @since October 18, 2026
+     */
+    Optional<PortfolioDailyReturnEntity> findFirstByPortfolioIdOrderByAsOfDateDesc(UUID portfolioId);
+}
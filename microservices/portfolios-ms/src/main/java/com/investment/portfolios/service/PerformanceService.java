@@ -0,0 +1,46 @@
+package com.investment.portfolios.service;
+
+import com.investment.portfolios.dto.PerformanceResponseDto;
+import com.investment.portfolios.dto.PerformanceSnapshotDto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Service contract for portfolio performance measurement.
+ *
+ * <p>Performance is derived from end-of-day valuation snapshots and the external cash flows
+ * (deposits and withdrawals) between them. Implementations store one daily time-weighted
+ * return per snapshot together with the cumulative index, so that period returns do not
+ * depend on the length of the history.</p>
+ *
+ * @since October 18, 2026
+ */
+public interface PerformanceService {
+
+    /**
+     * Value the portfolio now and record it as today's (UTC) snapshot, replacing an earlier
+     * snapshot of the same day. Intended to be called once per day after market close.
+     *
+     * @param portfolioId the UUID of the portfolio
+     * @param currencyId  the currency of the performance series; must match earlier snapshots
+     * @return the recorded snapshot
+     * @throws com.investment.portfolios.exception.NotFoundException when the portfolio does not exist
+     * @throws com.investment.common.exception.BusinessException when the valuation is partial
+     *         or the currency differs from the existing series
+     * @since October 18, 2026
+     */
+    PerformanceSnapshotDto recordSnapshot(UUID portfolioId, UUID currencyId);
+
+    /**
+     * Time-weighted and money-weighted returns of the portfolio over {@code [from, to]}.
+     *
+     * @param portfolioId the UUID of the portfolio
+     * @param from        first day of the period, inclusive
+     * @param to          last day of the period, inclusive
+     * @return the period performance
+     * @throws com.investment.portfolios.exception.NotFoundException when the portfolio has no snapshots
+     * @since October 18, 2026
+     */
+    PerformanceResponseDto getPerformance(UUID portfolioId, LocalDate from, LocalDate to);
+}
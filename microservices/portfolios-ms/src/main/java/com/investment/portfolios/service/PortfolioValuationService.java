@@ -0,0 +1,29 @@
+package com.investment.portfolios.service;
+
+import com.investment.portfolios.dto.PortfolioValuationDto;
+
+import java.util.UUID;
+
+/**
+ * Service contract for the consolidated market valuation of a portfolio.
+ *
+ * <p>The valuation combines data owned by other services (accounts, positions, instrument
+ * reference data, last prices and FX rates). Implementations must bound the time spent on
+ * each dependency and return a partial valuation rather than failing when one of them is
+ * slow or unavailable.</p>
+ *
+ * @since October 18, 2026
+ */
+public interface PortfolioValuationService {
+
+    /**
+     * Value every open position of the portfolio at its last price, converted to a base currency.
+     *
+     * @param portfolioId    the UUID of the portfolio to value
+     * @param baseCurrencyId the currency every amount is converted to
+     * @return the valuation aggregated by account, instrument type and currency
+     * @throws com.investment.portfolios.exception.NotFoundException when the portfolio does not exist
+     * @since October 18, 2026
+     */
+    PortfolioValuationDto value(UUID portfolioId, UUID baseCurrencyId);
+}
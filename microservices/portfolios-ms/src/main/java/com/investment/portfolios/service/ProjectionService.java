@@ -0,0 +1,32 @@
+package com.investment.portfolios.service;
+
+import com.investment.portfolios.dto.ProjectionRequestDto;
+import com.investment.portfolios.dto.ProjectionResponseDto;
+
+import java.util.UUID;
+
+/**
+ * Service contract for goal-based projections of a portfolio.
+ *
+ * <p>Projections simulate many correlated return paths of the current holdings and report
+ * percentile bands of the portfolio value at the end of each year, plus the probability of
+ * reaching a target amount.</p>
+ *
+ * @since October 18, 2026
+ */
+public interface ProjectionService {
+
+    /**
+     * Project the current holdings of a portfolio.
+     *
+     * @param portfolioId the UUID of the portfolio
+     * @param request     simulation parameters, or {@code null} for the defaults
+     * @return the projection
+     * @throws com.investment.portfolios.exception.NotFoundException when the portfolio does not exist
+     *         or has no active accounts
+     * @throws com.investment.common.exception.BusinessException when the projection cannot be
+     *         computed (no priced holdings, invalid parameters, accounts-ms unavailable)
+     * @since October 18, 2026
+     */
+    ProjectionResponseDto project(UUID portfolioId, ProjectionRequestDto request);
+}
@@ -0,0 +1,232 @@
+package com.investment.portfolios.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import org.springframework.stereotype.Service;
+
+import com.investment.portfolios.client.AccountsClient;
+import com.investment.portfolios.client.AccountsClient.ExternalFlowRef;
+import com.investment.portfolios.client.RefDataClient;
+import com.investment.portfolios.client.RefDataClient.FxItem;
+import com.investment.portfolios.client.RefDataClient.FxResult;
+import com.investment.portfolios.dto.PerformanceResponseDto;
+import com.investment.portfolios.dto.PerformanceSnapshotDto;
+import com.investment.portfolios.dto.PortfolioValuationDto;
+import com.investment.portfolios.entity.PortfolioDailyReturnEntity;
+import com.investment.portfolios.exception.NotFoundException;
+import com.investment.portfolios.model.ReturnSeriesModel;
+import com.investment.portfolios.repository.PortfolioDailyReturnRepository;
+import com.investment.portfolios.repository.PortfolioRepository;
+import com.investment.portfolios.service.PerformanceService;
+import com.investment.portfolios.service.PortfolioValuationService;
+import com.investment.portfolios.utils.Constants;
+import com.investment.portfolios.utils.PerformanceUtils;
+
+/**
+ * Implementation of the {@link PerformanceService} interface.
+ *
+ * <p>Recording a snapshot values the portfolio through {@link PortfolioValuationService}, reads
+ * the deposits and withdrawals since the previous snapshot from accounts-ms (converted to the
+ * series currency) and stores the daily time-weighted return and the chained cumulative index.</p>
+ *
+ * <p>Queries are served from a per-portfolio {@link ReturnSeriesModel} cached in memory and
+ * built once from the stored snapshots: the time-weighted return, start and end values and
+ * net flows of any period are constant-time reads; the money-weighted return walks the days
+ * of the period. Recording a snapshot evicts the cached series of that portfolio.</p>
+ *
+ * @since October 18, 2026
+ */
+@Service
+public class PerformanceServiceImpl implements PerformanceService {
+
+    private static final int MONEY_SCALE = 8;
+
+    private final PortfolioRepository portfolioRepository;
+    private final PortfolioDailyReturnRepository dailyReturnRepository;
+    private final PortfolioValuationService valuationService;
+    private final AccountsClient accountsClient;
+    private final RefDataClient refDataClient;
+
+    private final ConcurrentHashMap<UUID, ReturnSeriesModel> series = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new instance of {@code PerformanceServiceImpl}.
+     *
+     * @param portfolioRepository   portfolio repository, used to check the portfolio exists
+     * @param dailyReturnRepository snapshot repository
+     * @param valuationService      source of the market value of a snapshot
+     * @param accountsClient        source of the external cash flows
+     * @param refDataClient         FX conversion of flows in other currencies
+     * @since October 18, 2026
+     */
+    public PerformanceServiceImpl(PortfolioRepository portfolioRepository,
+                                  PortfolioDailyReturnRepository dailyReturnRepository,
+                                  PortfolioValuationService valuationService,
+                                  AccountsClient accountsClient,
+                                  RefDataClient refDataClient) {
+        this.portfolioRepository = portfolioRepository;
+        this.dailyReturnRepository = dailyReturnRepository;
+        this.valuationService = valuationService;
+        this.accountsClient = accountsClient;
+        this.refDataClient = refDataClient;
+    }
+
+    /**
+     * Record today's snapshot; see {@link PerformanceService#recordSnapshot(UUID, UUID)}.
+     *
+     * <p>No transaction spans the downstream calls: the snapshot row is written in a single
+     * save once the valuation and the flows are known.</p>
+     *
+     * @param portfolioId the UUID of the portfolio
+     * @param currencyId  the currency of the performance series
+     * @return the recorded snapshot
+     * @since October 18, 2026
+     */
+    @Override
+    public PerformanceSnapshotDto recordSnapshot(UUID portfolioId, UUID currencyId) {
+        if (currencyId == null) {
+            throw new BadRequestException("currencyId is required");
+        }
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new NotFoundException(Constants.MESSAGE_NOT_FOUND);
+        }
+        dailyReturnRepository.findFirstByPortfolioIdOrderByAsOfDateDesc(portfolioId)
+                .filter(latest -> !latest.getCurrencyId().equals(currencyId))
+                .ifPresent(latest -> {
+                    throw new BusinessException("Performance of this portfolio is recorded in currency "
+                            + latest.getCurrencyId());
+                });
+
+        PortfolioValuationDto valuation = valuationService.value(portfolioId, currencyId);
+        if (valuation.isPartial()) {
+            // a partial value would show up as a loss today and a gain on the next complete snapshot
+            throw new BusinessException("Valuation is partial, snapshot not recorded: "
+                    + String.join("; ", valuation.getWarnings()));
+        }
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        PortfolioDailyReturnEntity previous = dailyReturnRepository
+                .findFirstByPortfolioIdAndAsOfDateBeforeOrderByAsOfDateDesc(portfolioId, today)
+                .orElse(null);
+        LocalDate flowsFrom = previous == null ? today : previous.getAsOfDate().plusDays(1);
+        BigDecimal netFlow = externalFlows(portfolioId, flowsFrom, today, currencyId);
+
+        BigDecimal previousValue = previous == null ? BigDecimal.ZERO : previous.getMarketValue();
+        BigDecimal previousIndex = previous == null ? BigDecimal.ONE : previous.getCumulativeIndex();
+        BigDecimal marketValue = valuation.getTotalMarketValue();
+        BigDecimal dailyReturn = PerformanceUtils.dailyReturn(previousValue, netFlow, marketValue);
+        BigDecimal index = previousIndex.multiply(BigDecimal.ONE.add(dailyReturn), PerformanceUtils.INDEX_CONTEXT)
+                .setScale(PerformanceUtils.RETURN_SCALE, RoundingMode.HALF_EVEN);
+
+        PortfolioDailyReturnEntity snapshot = dailyReturnRepository.findByPortfolioIdAndAsOfDate(portfolioId, today)
+                .orElseGet(() -> PortfolioDailyReturnEntity.builder()
+                        .portfolioId(portfolioId)
+                        .asOfDate(today)
+                        .build());
+        snapshot.setCurrencyId(currencyId);
+        snapshot.setMarketValue(marketValue.setScale(MONEY_SCALE, RoundingMode.HALF_EVEN));
+        snapshot.setNetFlow(netFlow.setScale(MONEY_SCALE, RoundingMode.HALF_EVEN));
+        snapshot.setDailyReturn(dailyReturn);
+        snapshot.setCumulativeIndex(index);
+        PortfolioDailyReturnEntity saved = dailyReturnRepository.save(snapshot);
+
+        // remove() waits for a computeIfAbsent in progress on the same key, so a series loaded
+        // before this save cannot stay cached
+        series.remove(portfolioId);
+
+        return PerformanceSnapshotDto.builder()
+                .portfolioId(portfolioId)
+                .asOfDate(saved.getAsOfDate())
+                .currencyId(saved.getCurrencyId())
+                .marketValue(saved.getMarketValue())
+                .netFlow(saved.getNetFlow())
+                .dailyReturn(saved.getDailyReturn())
+                .cumulativeIndex(saved.getCumulativeIndex())
+                .build();
+    }
+
+    /**
+     * Period performance; see {@link PerformanceService#getPerformance(UUID, LocalDate, LocalDate)}.
+     *
+     * @param portfolioId the UUID of the portfolio
+     * @param from        first day of the period, inclusive
+     * @param to          last day of the period, inclusive
+     * @return the period performance
+     * @since October 18, 2026
+     */
+    @Override
+    public PerformanceResponseDto getPerformance(UUID portfolioId, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new BadRequestException("from and to are required");
+        }
+        if (from.isAfter(to)) {
+            throw new BadRequestException("from must not be after to");
+        }
+        ReturnSeriesModel s = series.computeIfAbsent(portfolioId, this::load);
+        if (s == null) {
+            throw new NotFoundException(Constants.MESSAGE_NO_SNAPSHOTS);
+        }
+
+        return PerformanceResponseDto.builder()
+                .portfolioId(portfolioId)
+                .currencyId(s.currencyId())
+                .from(from)
+                .to(to)
+                .startValue(s.valueAt(from.minusDays(1)))
+                .endValue(s.valueAt(to))
+                .netFlows(s.netFlows(from, to))
+                .timeWeightedReturn(s.timeWeightedReturn(from, to))
+                .moneyWeightedReturn(s.moneyWeightedReturn(from, to))
+                .firstSnapshotDate(s.firstDate())
+                .lastSnapshotDate(s.lastDate())
+                .build();
+    }
+
+    // ===== Helpers =====
+
+    private ReturnSeriesModel load(UUID portfolioId) {
+        List<PortfolioDailyReturnEntity> snapshots = dailyReturnRepository.findAllByPortfolioIdOrderByAsOfDate(portfolioId);
+        return snapshots.isEmpty() ? null : ReturnSeriesModel.of(snapshots);
+    }
+
+    /**
+     * Net external flow of {@code [from, to]} in the series currency.
+     */
+    private BigDecimal externalFlows(UUID portfolioId, LocalDate from, LocalDate to, UUID currencyId) {
+        Map<UUID, BigDecimal> byCurrency = new LinkedHashMap<>();
+        for (ExternalFlowRef flow : accountsClient.externalFlows(portfolioId, from, to)) {
+            byCurrency.merge(flow.currencyId(), flow.amount(), BigDecimal::add);
+        }
+        BigDecimal total = byCurrency.getOrDefault(currencyId, BigDecimal.ZERO);
+        byCurrency.remove(currencyId);
+        if (byCurrency.isEmpty()) {
+            return total;
+        }
+
+        List<UUID> currencies = new ArrayList<>(byCurrency.keySet());
+        List<FxItem> items = currencies.stream()
+                .map(c -> new FxItem(byCurrency.get(c), c, currencyId, null))
+                .toList();
+        List<FxResult> results = refDataClient.convert(items);
+        for (int i = 0; i < currencies.size(); i++) {
+            FxResult r = i < results.size() ? results.get(i) : null;
+            if (r == null || r.error() != null || r.amount() == null) {
+                throw new BusinessException("No FX rate from " + currencies.get(i) + " to " + currencyId
+                        + ", snapshot not recorded");
+            }
+            total = total.add(r.amount());
+        }
+        return total;
+    }
+}
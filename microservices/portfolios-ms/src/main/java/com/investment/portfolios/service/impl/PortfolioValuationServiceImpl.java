@@ -0,0 +1,377 @@
+package com.investment.portfolios.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.investment.common.exception.BadRequestException;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import com.investment.portfolios.client.AccountsClient;
+import com.investment.portfolios.client.AccountsClient.AccountRef;
+import com.investment.portfolios.client.PositionsClient;
+import com.investment.portfolios.client.PositionsClient.PositionRef;
+import com.investment.portfolios.client.RefDataClient;
+import com.investment.portfolios.client.RefDataClient.FxItem;
+import com.investment.portfolios.client.RefDataClient.FxResult;
+import com.investment.portfolios.client.RefDataClient.InstrumentRef;
+import com.investment.portfolios.client.RefDataClient.PriceRef;
+import com.investment.portfolios.configuration.ValuationProperties;
+import com.investment.portfolios.dto.AccountValuationDto;
+import com.investment.portfolios.dto.CurrencyValuationDto;
+import com.investment.portfolios.dto.InstrumentTypeValuationDto;
+import com.investment.portfolios.dto.PortfolioValuationDto;
+import com.investment.portfolios.exception.NotFoundException;
+import com.investment.portfolios.repository.PortfolioRepository;
+import com.investment.portfolios.service.PortfolioValuationService;
+import com.investment.portfolios.utils.Constants;
+import com.investment.portfolios.utils.DateTimeUtils;
+
+/**
+ * Implementation of the {@link PortfolioValuationService} interface.
+ *
+ * <p>The valuation runs in three dependent stages, each one fanned out on virtual threads:
+ * <ol>
+ *   <li>accounts of the portfolio, then their positions in batches of
+ *       {@link ValuationProperties#positionsBatchSize()} accounts, all batches concurrently;</li>
+ *   <li>instrument reference data and last prices of every instrument held, in parallel;</li>
+ *   <li>one FX rate per instrument currency towards the base currency, in a single bulk call.</li>
+ * </ol>
+ * Every downstream service is called once per stage (or once per batch), never once per
+ * account or per position.</p>
+ *
+ * <p>All tasks of a request belong to one executor that is closed before returning, so no
+ * task outlives the request. A task that exceeds its dependency timeout, or the overall
+ * {@link ValuationProperties#deadline()}, is cancelled (interrupting its HTTP call) and the
+ * data it was fetching is reported as missing in the warnings of a partial valuation. The
+ * caller's security context is propagated to the tasks so the JWT can be relayed.</p>
+ *
+ * @since October 18, 2026
+ */
+@Service
+public class PortfolioValuationServiceImpl implements PortfolioValuationService {
+
+    private static final int MONEY_SCALE = 2;
+    private static final int WEIGHT_SCALE = 4;
+    private static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private final PortfolioRepository repository;
+    private final AccountsClient accountsClient;
+    private final PositionsClient positionsClient;
+    private final RefDataClient refDataClient;
+    private final ValuationProperties properties;
+
+    /**
+     * Create a new instance of {@code PortfolioValuationServiceImpl}.
+     *
+     * @param repository      portfolio repository, used to check the portfolio exists
+     * @param accountsClient  client for the accounts of a portfolio
+     * @param positionsClient client for the positions of a batch of accounts
+     * @param refDataClient   client for instruments, last prices and FX rates
+     * @param properties      time budgets and batch size
+     * @since October 18, 2026
+     */
+    public PortfolioValuationServiceImpl(PortfolioRepository repository,
+                                         AccountsClient accountsClient,
+                                         PositionsClient positionsClient,
+                                         RefDataClient refDataClient,
+                                         ValuationProperties properties) {
+        this.repository = repository;
+        this.accountsClient = accountsClient;
+        this.positionsClient = positionsClient;
+        this.refDataClient = refDataClient;
+        this.properties = properties;
+    }
+
+    /**
+     * Value the portfolio; see the class documentation for the stages and the failure policy.
+     *
+     * @param portfolioId    the UUID of the portfolio to value
+     * @param baseCurrencyId the currency every amount is converted to
+     * @return the (possibly partial) valuation
+     * @throws BadRequestException when {@code baseCurrencyId} is missing
+     * @throws NotFoundException   when the portfolio does not exist
+     * @since October 18, 2026
+     */
+    @Override
+    public PortfolioValuationDto value(UUID portfolioId, UUID baseCurrencyId) {
+        if (baseCurrencyId == null) {
+            throw new BadRequestException("currencyId is required");
+        }
+        if (!repository.existsById(portfolioId)) {
+            throw new NotFoundException(Constants.MESSAGE_NOT_FOUND);
+        }
+
+        long deadline = System.nanoTime() + properties.deadline().toNanos();
+        List<String> warnings = new ArrayList<>();
+        try (ExecutorService scope = new DelegatingSecurityContextExecutorService(
+                Executors.newVirtualThreadPerTaskExecutor())) {
+
+            List<AccountRef> accounts = await(scope.submit(() -> accountsClient.findByPortfolio(portfolioId)),
+                    stageEnd(properties.accountsTimeout(), deadline), "accounts", warnings);
+            if (accounts == null) {
+                return PortfolioValuationDto.builder()
+                        .portfolioId(portfolioId)
+                        .baseCurrencyId(baseCurrencyId)
+                        .accounts(List.of())
+                        .byInstrumentType(List.of())
+                        .byCurrency(List.of())
+                        .partial(true)
+                        .warnings(warnings)
+                        .valuedAt(DateTimeUtils.toOffsetDateTimeUTC(Instant.now()))
+                        .build();
+            }
+
+            Map<UUID, List<PositionRef>> positions = loadPositions(scope, accounts, deadline, warnings);
+            Set<UUID> instrumentIds = new LinkedHashSet<>();
+            positions.values().forEach(rows -> rows.forEach(p -> instrumentIds.add(p.instrumentId())));
+
+            Map<UUID, InstrumentRef> instruments = new HashMap<>();
+            Map<UUID, BigDecimal> prices = new HashMap<>();
+            if (!instrumentIds.isEmpty()) {
+                long end = stageEnd(properties.refdataTimeout(), deadline);
+                Future<List<InstrumentRef>> instrumentsTask = scope.submit(() -> refDataClient.instruments(instrumentIds));
+                Future<List<PriceRef>> pricesTask = scope.submit(() -> refDataClient.lastPrices(instrumentIds));
+                List<InstrumentRef> instrumentRows = await(instrumentsTask, end, "instruments", warnings);
+                List<PriceRef> priceRows = await(pricesTask, end, "last prices", warnings);
+                if (instrumentRows != null) {
+                    instrumentRows.forEach(i -> instruments.put(i.id(), i));
+                }
+                if (priceRows != null) {
+                    priceRows.stream().filter(p -> p.close() != null).forEach(p -> prices.put(p.instrumentId(), p.close()));
+                }
+            }
+
+            Set<UUID> currencies = new LinkedHashSet<>();
+            instruments.values().forEach(i -> {
+                if (i.currencyId() != null && prices.containsKey(i.id())) {
+                    currencies.add(i.currencyId());
+                }
+            });
+            Map<UUID, BigDecimal> rates = loadRates(scope, currencies, baseCurrencyId, deadline, warnings);
+
+            return aggregate(portfolioId, baseCurrencyId, accounts, positions, instruments, prices, rates, warnings);
+        }
+    }
+
+    // ===== Stages =====
+
+    /**
+     * Fetch positions in concurrent batches; accounts whose batch failed are absent from the result.
+     */
+    private Map<UUID, List<PositionRef>> loadPositions(ExecutorService scope, List<AccountRef> accounts,
+                                                       long deadline, List<String> warnings) {
+        List<UUID> accountIds = accounts.stream().map(AccountRef::id).toList();
+        int batchSize = properties.positionsBatchSize();
+        List<List<UUID>> batches = new ArrayList<>();
+        List<Future<List<PositionRef>>> tasks = new ArrayList<>();
+        for (int from = 0; from < accountIds.size(); from += batchSize) {
+            List<UUID> batch = accountIds.subList(from, Math.min(from + batchSize, accountIds.size()));
+            batches.add(batch);
+            tasks.add(scope.submit(() -> positionsClient.findByAccounts(batch)));
+        }
+
+        // all batches are in flight at the same time, so they share one expiry
+        long end = stageEnd(properties.positionsTimeout(), deadline);
+        Map<UUID, List<PositionRef>> result = new HashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            List<UUID> batch = batches.get(i);
+            List<PositionRef> rows = await(tasks.get(i), end, "positions of " + batch.size() + " accounts", warnings);
+            if (rows == null) {
+                continue;
+            }
+            batch.forEach(id -> result.put(id, new ArrayList<>()));
+            for (PositionRef p : rows) {
+                List<PositionRef> accountRows = result.get(p.accountId());
+                if (accountRows != null) {
+                    accountRows.add(p);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * One rate per currency towards the base currency; currencies without a rate are absent.
+     */
+    private Map<UUID, BigDecimal> loadRates(ExecutorService scope, Set<UUID> currencies, UUID baseCurrencyId,
+                                            long deadline, List<String> warnings) {
+        Map<UUID, BigDecimal> rates = new HashMap<>();
+        rates.put(baseCurrencyId, BigDecimal.ONE);
+        List<UUID> foreign = currencies.stream().filter(c -> !c.equals(baseCurrencyId)).toList();
+        if (foreign.isEmpty()) {
+            return rates;
+        }
+
+        List<FxItem> items = foreign.stream().map(c -> new FxItem(BigDecimal.ONE, c, baseCurrencyId, null)).toList();
+        List<FxResult> results = await(scope.submit(() -> refDataClient.convert(items)),
+                stageEnd(properties.fxTimeout(), deadline), "FX rates", warnings);
+        if (results == null) {
+            return rates;
+        }
+        for (int i = 0; i < foreign.size(); i++) {
+            FxResult r = i < results.size() ? results.get(i) : null;
+            if (r != null && r.error() == null && r.rate() != null) {
+                rates.put(foreign.get(i), r.rate());
+            } else {
+                warnings.add("No FX rate from " + foreign.get(i) + " to " + baseCurrencyId
+                        + (r != null && r.error() != null ? ": " + r.error() : ""));
+            }
+        }
+        return rates;
+    }
+
+    // ===== Aggregation =====
+
+    /**
+     * Value each position as {@code quantity * last close * rate} and roll it up by account,
+     * instrument type and currency. Positions lacking instrument data, a price or a rate are
+     * counted per account and left out of the base-currency totals.
+     */
+    private PortfolioValuationDto aggregate(UUID portfolioId, UUID baseCurrencyId, List<AccountRef> accounts,
+                                            Map<UUID, List<PositionRef>> positions,
+                                            Map<UUID, InstrumentRef> instruments, Map<UUID, BigDecimal> prices,
+                                            Map<UUID, BigDecimal> rates, List<String> warnings) {
+        List<AccountValuationDto> accountRows = new ArrayList<>(accounts.size());
+        Map<String, BigDecimal> byType = new TreeMap<>();
+        Map<UUID, BigDecimal> nativeByCurrency = new LinkedHashMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+        int unvaluedTotal = 0;
+
+        for (AccountRef account : accounts) {
+            List<PositionRef> rows = positions.get(account.id());
+            if (rows == null) {
+                accountRows.add(AccountValuationDto.builder()
+                        .accountId(account.id())
+                        .accountNumber(account.accountNumber())
+                        .currencyId(account.currencyId())
+                        .available(false)
+                        .build());
+                continue;
+            }
+
+            BigDecimal accountValue = BigDecimal.ZERO;
+            int held = 0;
+            int unvalued = 0;
+            for (PositionRef p : rows) {
+                if (p.quantity() == null || p.quantity().signum() == 0) {
+                    continue;
+                }
+                held++;
+                InstrumentRef instrument = instruments.get(p.instrumentId());
+                BigDecimal close = prices.get(p.instrumentId());
+                if (instrument == null || instrument.currencyId() == null || close == null) {
+                    unvalued++;
+                    continue;
+                }
+                BigDecimal nativeValue = p.quantity().multiply(close);
+                nativeByCurrency.merge(instrument.currencyId(), nativeValue, BigDecimal::add);
+                BigDecimal rate = rates.get(instrument.currencyId());
+                if (rate == null) {
+                    unvalued++;
+                    continue;
+                }
+                BigDecimal baseValue = nativeValue.multiply(rate);
+                accountValue = accountValue.add(baseValue);
+                byType.merge(instrument.type() != null ? instrument.type() : UNKNOWN_TYPE, baseValue, BigDecimal::add);
+            }
+            unvaluedTotal += unvalued;
+            total = total.add(accountValue);
+            accountRows.add(AccountValuationDto.builder()
+                    .accountId(account.id())
+                    .accountNumber(account.accountNumber())
+                    .currencyId(account.currencyId())
+                    .available(true)
+                    .positions(held)
+                    .unvaluedPositions(unvalued)
+                    .marketValue(money(accountValue))
+                    .build());
+        }
+        if (unvaluedTotal > 0) {
+            warnings.add(unvaluedTotal + " positions could not be valued");
+        }
+
+        BigDecimal valued = total;
+        List<InstrumentTypeValuationDto> typeRows = byType.entrySet().stream()
+                .map(e -> InstrumentTypeValuationDto.builder()
+                        .instrumentType(e.getKey())
+                        .marketValue(money(e.getValue()))
+                        .weight(valued.signum() == 0 ? null
+                                : e.getValue().divide(valued, WEIGHT_SCALE, RoundingMode.HALF_EVEN))
+                        .build())
+                .toList();
+        List<CurrencyValuationDto> currencyRows = nativeByCurrency.entrySet().stream()
+                .map(e -> {
+                    BigDecimal rate = rates.get(e.getKey());
+                    return CurrencyValuationDto.builder()
+                            .currencyId(e.getKey())
+                            .nativeMarketValue(money(e.getValue()))
+                            .fxRate(rate)
+                            .marketValue(rate == null ? null : money(e.getValue().multiply(rate)))
+                            .build();
+                })
+                .toList();
+
+        return PortfolioValuationDto.builder()
+                .portfolioId(portfolioId)
+                .baseCurrencyId(baseCurrencyId)
+                .totalMarketValue(money(total))
+                .accounts(accountRows)
+                .byInstrumentType(typeRows)
+                .byCurrency(currencyRows)
+                .partial(!warnings.isEmpty())
+                .warnings(warnings)
+                .valuedAt(DateTimeUtils.toOffsetDateTimeUTC(Instant.now()))
+                .build();
+    }
+
+    // ===== Helpers =====
+
+    /**
+     * Wait for a task until {@code until} (a {@link System#nanoTime()} instant). On timeout the
+     * task is cancelled; on timeout or failure a warning is recorded and {@code null} returned.
+     */
+    private static <T> T await(Future<T> task, long until, String dependency, List<String> warnings) {
+        try {
+            return task.get(Math.max(0, until - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            warnings.add(dependency + " timed out");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            warnings.add(dependency + " unavailable: "
+                    + (cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName()));
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            warnings.add(dependency + " interrupted");
+        }
+        return null;
+    }
+
+    /** End of a stage: its own budget from now, but never past the overall deadline. */
+    private static long stageEnd(Duration timeout, long deadline) {
+        return Math.min(System.nanoTime() + timeout.toNanos(), deadline);
+    }
+
+    private static BigDecimal money(BigDecimal value) {
+        return value.setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,74 @@
+package com.investment.portfolios.service.impl;
+
+import java.util.UUID;
+
+import com.investment.common.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.investment.portfolios.client.ProjectionClient;
+import com.investment.portfolios.dto.ProjectionRequestDto;
+import com.investment.portfolios.dto.ProjectionResponseDto;
+import com.investment.portfolios.exception.NotFoundException;
+import com.investment.portfolios.repository.PortfolioRepository;
+import com.investment.portfolios.service.ProjectionService;
+import com.investment.portfolios.utils.Constants;
+
+/**
+ * Implementation of the {@link ProjectionService} interface.
+ *
+ * <p>The simulation runs in accounts-ms, which holds the price history and the covariance
+ * matrices cached by the nightly risk run; this service checks the portfolio and relays the
+ * request with the caller's token. Downstream errors are translated to this service's
+ * exceptions so clients see a 404 or 400 rather than a 500.</p>
+ *
+ * @since October 18, 2026
+ */
+@Service
+public class ProjectionServiceImpl implements ProjectionService {
+
+    private final PortfolioRepository portfolioRepository;
+    private final ProjectionClient projectionClient;
+
+    /**
+     * Create a new instance of {@code ProjectionServiceImpl}.
+     *
+     * @param portfolioRepository portfolio repository, used to check the portfolio exists
+     * @param projectionClient    client of the accounts-ms projection API
+     * @since October 18, 2026
+     */
+    public ProjectionServiceImpl(PortfolioRepository portfolioRepository, ProjectionClient projectionClient) {
+        this.portfolioRepository = portfolioRepository;
+        this.projectionClient = projectionClient;
+    }
+
+    /**
+     * Project the current holdings; see {@link ProjectionService#project(UUID, ProjectionRequestDto)}.
+     *
+     * @param portfolioId the UUID of the portfolio
+     * @param request     simulation parameters, or {@code null} for the defaults
+     * @return the projection
+     * @since October 18, 2026
+     */
+    @Override
+    public ProjectionResponseDto project(UUID portfolioId, ProjectionRequestDto request) {
+        if (!portfolioRepository.existsById(portfolioId)) {
+            throw new NotFoundException(Constants.MESSAGE_NOT_FOUND);
+        }
+        try {
+            return projectionClient.project(portfolioId, request);
+        } catch (RestClientResponseException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                throw new NotFoundException(Constants.MESSAGE_NO_ACTIVE_ACCOUNTS);
+            }
+            if (e.getStatusCode().is4xxClientError()) {
+                throw new BusinessException("Projection not computed: " + e.getResponseBodyAsString());
+            }
+            throw new BusinessException("Projection failed in accounts-ms: " + e.getStatusCode());
+        } catch (ResourceAccessException e) {
+            throw new BusinessException("accounts-ms unavailable: " + e.getMessage());
+        }
+    }
+}
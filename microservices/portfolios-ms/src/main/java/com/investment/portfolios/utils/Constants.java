@@ -54,6 +54,15 @@ public final class Constants {
         public static final String API = "/api/**";
         public static final String CREATED_AT = "created_at";
         public static final String UUID = "uuid";
+        public static final String PORTFOLIO_DAILY_RETURNS = "portfolio_daily_returns";
+        public static final String UNIQUE_DAILY_RETURN = "uk_daily_returns_portfolio_date";
+        public static final String PORTFOLIO_ID = "portfolio_id";
+        public static final String AS_OF_DATE = "as_of_date";
+        public static final String CURRENCY_ID = "currency_id";
+        public static final String MARKET_VALUE = "market_value";
+        public static final String NET_FLOW = "net_flow";
+        public static final String DAILY_RETURN = "daily_return";
+        public static final String CUMULATIVE_INDEX = "cumulative_index";
 
         //Numbers
         public static final int TWENTY = 20;
@@ -62,6 +71,8 @@ public final class Constants {
         //Exceptions
         public static final String MESSAGE_NOT_FOUND = "Portfolio not found";
         public static final String MESSAGE_NOT_FOUND_USER = "Portfolio not found for this user";
+        public static final String MESSAGE_NO_SNAPSHOTS = "No performance snapshots for this portfolio";
+        public static final String MESSAGE_NO_ACTIVE_ACCOUNTS = "No active accounts for this portfolio";
         public static final String MESSAGE_BAD_REQUEST = "Bad Request";
         public static final String MESSAGE_INTERNAL_ERROR = "Internal Error";
         public static final String MESSAGE_ERROR_UTILITY = "Utility class - cannot be instantiated";
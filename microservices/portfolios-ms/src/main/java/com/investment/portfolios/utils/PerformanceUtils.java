@@ -0,0 +1,121 @@
+package com.investment.portfolios.utils;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Return arithmetic shared by the performance snapshots and the period queries.
+ *
+ * <p>Conventions: external flows of a day are assumed to arrive at the start of that day,
+ * so the daily time-weighted return is {@code V(t) / (V(t-1) + F(t)) - 1}; the money-weighted
+ * return is the internal rate of return of the investor's cash flows, solved per day.</p>
+ *
+ * @since October 18, 2026
+ */
+public final class PerformanceUtils {
+
+    public static final int RETURN_SCALE = 12;
+    public static final MathContext INDEX_CONTEXT = MathContext.DECIMAL64;
+
+    private static final int NEWTON_ITERATIONS = 50;
+    private static final int BISECTION_ITERATIONS = 200;
+    private static final double TOLERANCE = 1e-14;
+    private static final double LOWER_RATE = -0.9999;
+    private static final double UPPER_RATE = 1.0;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     *
+     * @throws UnsupportedOperationException always
+     * @since October 18, 2026
+     */
+    private PerformanceUtils() {
+        throw new UnsupportedOperationException(Constants.MESSAGE_ERROR_UTILITY);
+    }
+
+    /**
+     * Time-weighted return of one day.
+     *
+     * <p>When there is no invested capital at the start of the day (first snapshot before any
+     * deposit, or everything withdrawn) the return is zero: the day only re-bases the series.</p>
+     *
+     * @param previousValue market value at the previous snapshot
+     * @param netFlow       net external flow since the previous snapshot (deposits positive)
+     * @param value         market value now
+     * @return the daily return, scaled to {@link #RETURN_SCALE}
+     * @since October 18, 2026
+     */
+    public static BigDecimal dailyReturn(BigDecimal previousValue, BigDecimal netFlow, BigDecimal value) {
+        BigDecimal invested = previousValue.add(netFlow);
+        if (invested.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(RETURN_SCALE);
+        }
+        return value.divide(invested, RETURN_SCALE, RoundingMode.HALF_EVEN).subtract(BigDecimal.ONE);
+    }
+
+    /**
+     * Per-period internal rate of return of a series of cash flows.
+     *
+     * <p>Solves {@code sum(amounts[i] * (1 + r)^-times[i]) = 0} with Newton's method, falling
+     * back to bisection when Newton does not converge to a rate above -100%.</p>
+     *
+     * @param amounts cash flows from the investor's point of view (contributions negative)
+     * @param times   time of each flow in periods from the first one
+     * @return the rate per period, or {@link Double#NaN} when no rate solves the equation
+     * @since October 18, 2026
+     */
+    public static double internalRateOfReturn(double[] amounts, int[] times) {
+        double rate = 0.0;
+        for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+            double f = npv(amounts, times, rate);
+            double df = npvDerivative(amounts, times, rate);
+            if (df == 0 || !Double.isFinite(f) || !Double.isFinite(df)) {
+                break;
+            }
+            double next = rate - f / df;
+            if (!(next > -1)) {
+                break;
+            }
+            if (Math.abs(next - rate) < TOLERANCE) {
+                return next;
+            }
+            rate = next;
+        }
+
+        double lo = LOWER_RATE;
+        double hi = UPPER_RATE;
+        double fLo = npv(amounts, times, lo);
+        double fHi = npv(amounts, times, hi);
+        if (Double.isNaN(fLo) || Double.isNaN(fHi) || Math.signum(fLo) == Math.signum(fHi)) {
+            return Double.NaN;
+        }
+        for (int i = 0; i < BISECTION_ITERATIONS && hi - lo > TOLERANCE; i++) {
+            double mid = (lo + hi) / 2;
+            double fMid = npv(amounts, times, mid);
+            if (Math.signum(fMid) == Math.signum(fLo)) {
+                lo = mid;
+                fLo = fMid;
+            } else {
+                hi = mid;
+            }
+        }
+        return (lo + hi) / 2;
+    }
+
+    private static double npv(double[] amounts, int[] times, double rate) {
+        double sum = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            sum += amounts[i] * Math.pow(1 + rate, -times[i]);
+        }
+        return sum;
+    }
+
+    private static double npvDerivative(double[] amounts, int[] times, double rate) {
+        double sum = 0;
+        for (int i = 0; i < amounts.length; i++) {
+            sum -= times[i] * amounts[i] * Math.pow(1 + rate, -times[i] - 1);
+        }
+        return sum;
+    }
+}
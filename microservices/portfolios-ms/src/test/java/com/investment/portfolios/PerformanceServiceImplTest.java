@@ -0,0 +1,169 @@
+package com.investment.portfolios;
+
+import com.investment.common.exception.BusinessException;
+import com.investment.portfolios.client.AccountsClient;
+import com.investment.portfolios.client.AccountsClient.ExternalFlowRef;
+import com.investment.portfolios.client.RefDataClient;
+import com.investment.portfolios.client.RefDataClient.FxResult;
+import com.investment.portfolios.dto.PerformanceResponseDto;
+import com.investment.portfolios.dto.PerformanceSnapshotDto;
+import com.investment.portfolios.dto.PortfolioValuationDto;
+import com.investment.portfolios.entity.PortfolioDailyReturnEntity;
+import com.investment.portfolios.exception.NotFoundException;
+import com.investment.portfolios.repository.PortfolioDailyReturnRepository;
+import com.investment.portfolios.repository.PortfolioRepository;
+import com.investment.portfolios.service.PortfolioValuationService;
+import com.investment.portfolios.service.impl.PerformanceServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link PerformanceServiceImpl}.
+ * <p>
+ * Covers the daily time-weighted return recorded with each snapshot (including flows in
+ * another currency), the rejection of partial valuations, and period returns read from the
+ * cached cumulative index.
+ *
+ * @since October 18, 2026
+ */
+@ExtendWith(MockitoExtension.class)
+class PerformanceServiceImplTest {
+
+    @Mock
+    private PortfolioRepository portfolioRepository;
+    @Mock
+    private PortfolioDailyReturnRepository dailyReturnRepository;
+    @Mock
+    private PortfolioValuationService valuationService;
+    @Mock
+    private AccountsClient accountsClient;
+    @Mock
+    private RefDataClient refDataClient;
+
+    private PerformanceServiceImpl service;
+
+    private final UUID portfolioId = UUID.randomUUID();
+    private final UUID usd = UUID.randomUUID();
+    private final UUID eur = UUID.randomUUID();
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        service = new PerformanceServiceImpl(portfolioRepository, dailyReturnRepository, valuationService,
+                accountsClient, refDataClient);
+    }
+
+    private static PortfolioDailyReturnEntity snapshot(LocalDate date, UUID currencyId, String value,
+                                                       String flow, String index) {
+        return PortfolioDailyReturnEntity.builder()
+                .portfolioId(UUID.randomUUID())
+                .asOfDate(date)
+                .currencyId(currencyId)
+                .marketValue(new BigDecimal(value))
+                .netFlow(new BigDecimal(flow))
+                .dailyReturn(BigDecimal.ZERO)
+                .cumulativeIndex(new BigDecimal(index))
+                .build();
+    }
+
+    private static PortfolioValuationDto valuation(String total, boolean partial) {
+        return PortfolioValuationDto.builder()
+                .totalMarketValue(new BigDecimal(total))
+                .partial(partial)
+                .warnings(partial ? List.of("last prices timed out") : List.of())
+                .build();
+    }
+
+    @Test
+    void recordSnapshot_flowsSincePreviousSnapshot_chainIndex() {
+        PortfolioDailyReturnEntity previous = snapshot(today.minusDays(3), usd, "1000", "0", "1.2");
+        when(portfolioRepository.existsById(portfolioId)).thenReturn(true);
+        when(dailyReturnRepository.findFirstByPortfolioIdOrderByAsOfDateDesc(portfolioId)).thenReturn(Optional.of(previous));
+        when(valuationService.value(portfolioId, usd)).thenReturn(valuation("1650", false));
+        when(dailyReturnRepository.findFirstByPortfolioIdAndAsOfDateBeforeOrderByAsOfDateDesc(portfolioId, today))
+                .thenReturn(Optional.of(previous));
+        when(accountsClient.externalFlows(portfolioId, today.minusDays(2), today)).thenReturn(List.of(
+                new ExternalFlowRef(today.minusDays(2), usd, new BigDecimal("300")),
+                new ExternalFlowRef(today, eur, new BigDecimal("200"))));
+        when(refDataClient.convert(anyList())).thenReturn(List.of(
+                new FxResult(new BigDecimal("200"), new BigDecimal("1"), null, null)));
+        when(dailyReturnRepository.findByPortfolioIdAndAsOfDate(portfolioId, today)).thenReturn(Optional.empty());
+        when(dailyReturnRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        PerformanceSnapshotDto result = service.recordSnapshot(portfolioId, usd);
+
+        // 1650 / (1000 + 500) - 1 = 10%, index 1.2 * 1.1
+        assertThat(result.getNetFlow()).isEqualByComparingTo("500");
+        assertThat(result.getDailyReturn()).isEqualByComparingTo("0.1");
+        assertThat(result.getCumulativeIndex()).isEqualByComparingTo("1.32");
+        assertThat(result.getAsOfDate()).isEqualTo(today);
+    }
+
+    @Test
+    void recordSnapshot_partialValuation_isRejected() {
+        when(portfolioRepository.existsById(portfolioId)).thenReturn(true);
+        when(dailyReturnRepository.findFirstByPortfolioIdOrderByAsOfDateDesc(portfolioId)).thenReturn(Optional.empty());
+        when(valuationService.value(portfolioId, usd)).thenReturn(valuation("10", true));
+
+        assertThrows(BusinessException.class, () -> service.recordSnapshot(portfolioId, usd));
+        verify(dailyReturnRepository, never()).save(any());
+    }
+
+    @Test
+    void recordSnapshot_differentCurrency_isRejected() {
+        when(portfolioRepository.existsById(portfolioId)).thenReturn(true);
+        when(dailyReturnRepository.findFirstByPortfolioIdOrderByAsOfDateDesc(portfolioId))
+                .thenReturn(Optional.of(snapshot(today.minusDays(1), eur, "1", "0", "1")));
+
+        assertThrows(BusinessException.class, () -> service.recordSnapshot(portfolioId, usd));
+        verifyNoInteractions(valuationService);
+    }
+
+    @Test
+    void getPerformance_readsCachedIndex() {
+        LocalDate d1 = LocalDate.of(2026, 1, 1);
+        when(dailyReturnRepository.findAllByPortfolioIdOrderByAsOfDate(portfolioId)).thenReturn(List.of(
+                snapshot(d1, usd, "100", "100", "1"),
+                snapshot(d1.plusDays(1), usd, "110", "0", "1.1"),
+                snapshot(d1.plusDays(2), usd, "231", "110", "1.155"),
+                snapshot(d1.plusDays(4), usd, "254.1", "0", "1.2705")));
+
+        PerformanceResponseDto all = service.getPerformance(portfolioId, d1, d1.plusDays(9));
+        PerformanceResponseDto middle = service.getPerformance(portfolioId, d1.plusDays(1), d1.plusDays(2));
+
+        assertThat(all.getTimeWeightedReturn()).isEqualByComparingTo("0.2705");
+        assertThat(all.getNetFlows()).isEqualByComparingTo("210");
+        assertThat(all.getStartValue()).isEqualByComparingTo("0");
+        assertThat(all.getEndValue()).isEqualByComparingTo("254.1");
+        assertThat(all.getMoneyWeightedReturn()).isNotNull();
+        assertThat(middle.getTimeWeightedReturn()).isEqualByComparingTo("0.155");
+        assertThat(middle.getStartValue()).isEqualByComparingTo("100");
+        // the series is built once and then served from memory
+        verify(dailyReturnRepository, times(1)).findAllByPortfolioIdOrderByAsOfDate(eq(portfolioId));
+    }
+
+    @Test
+    void getPerformance_noSnapshots_throwsNotFound() {
+        when(dailyReturnRepository.findAllByPortfolioIdOrderByAsOfDate(portfolioId)).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class,
+                () -> service.getPerformance(portfolioId, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 1)));
+    }
+}
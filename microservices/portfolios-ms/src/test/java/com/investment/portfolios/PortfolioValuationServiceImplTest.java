@@ -0,0 +1,161 @@
+package com.investment.portfolios;
+
+import com.investment.portfolios.client.AccountsClient;
+import com.investment.portfolios.client.AccountsClient.AccountRef;
+import com.investment.portfolios.client.PositionsClient;
+import com.investment.portfolios.client.PositionsClient.PositionRef;
+import com.investment.portfolios.client.RefDataClient;
+import com.investment.portfolios.client.RefDataClient.FxResult;
+import com.investment.portfolios.client.RefDataClient.InstrumentRef;
+import com.investment.portfolios.client.RefDataClient.PriceRef;
+import com.investment.portfolios.configuration.ValuationProperties;
+import com.investment.portfolios.dto.AccountValuationDto;
+import com.investment.portfolios.dto.PortfolioValuationDto;
+import com.investment.portfolios.exception.NotFoundException;
+import com.investment.portfolios.repository.PortfolioRepository;
+import com.investment.portfolios.service.impl.PortfolioValuationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link PortfolioValuationServiceImpl}.
+ * <p>
+ * The downstream clients are mocked; the tests cover the aggregation, the batching of position
+ * requests and the partial result returned when a dependency exceeds its time budget.
+ *
+ * @since October 18, 2026
+ */
+@ExtendWith(MockitoExtension.class)
+class PortfolioValuationServiceImplTest {
+
+    @Mock
+    private PortfolioRepository repository;
+    @Mock
+    private AccountsClient accountsClient;
+    @Mock
+    private PositionsClient positionsClient;
+    @Mock
+    private RefDataClient refDataClient;
+
+    private PortfolioValuationServiceImpl service;
+
+    private final UUID portfolioId = UUID.randomUUID();
+    private final UUID usd = UUID.randomUUID();
+    private final UUID eur = UUID.randomUUID();
+    private final UUID account1 = UUID.randomUUID();
+    private final UUID account2 = UUID.randomUUID();
+    private final UUID stock = UUID.randomUUID();
+    private final UUID bond = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ValuationProperties properties = new ValuationProperties(null, null, null,
+                Duration.ofMillis(500), Duration.ofMillis(200), Duration.ofMillis(500),
+                Duration.ofMillis(500), Duration.ofSeconds(2), 1);
+        service = new PortfolioValuationServiceImpl(repository, accountsClient, positionsClient, refDataClient, properties);
+    }
+
+    private void stubPortfolio() {
+        when(repository.existsById(portfolioId)).thenReturn(true);
+        when(accountsClient.findByPortfolio(portfolioId)).thenReturn(List.of(
+                new AccountRef(account1, "ACC-1", usd, "USD"),
+                new AccountRef(account2, "ACC-2", eur, "EUR")));
+    }
+
+    private void stubRefData() {
+        when(refDataClient.instruments(anyCollection())).thenReturn(List.of(
+                new InstrumentRef(stock, "AAPL", "STOCK", usd),
+                new InstrumentRef(bond, "BUND", "BOND", eur)));
+        when(refDataClient.lastPrices(anyCollection())).thenReturn(List.of(
+                new PriceRef(stock, new BigDecimal("100"), null),
+                new PriceRef(bond, new BigDecimal("50"), null)));
+        when(refDataClient.convert(anyList())).thenReturn(List.of(
+                new FxResult(new BigDecimal("1.1"), new BigDecimal("1.1"), null, null)));
+    }
+
+    @Test
+    void value_aggregatesByAccountTypeAndCurrency() {
+        stubPortfolio();
+        stubRefData();
+        when(positionsClient.findByAccounts(List.of(account1)))
+                .thenReturn(List.of(new PositionRef(account1, stock, new BigDecimal("10"))));
+        when(positionsClient.findByAccounts(List.of(account2)))
+                .thenReturn(List.of(new PositionRef(account2, bond, new BigDecimal("20"))));
+
+        PortfolioValuationDto result = service.value(portfolioId, usd);
+
+        // 10 * 100 USD + 20 * 50 EUR * 1.1
+        assertThat(result.isPartial()).isFalse();
+        assertThat(result.getWarnings()).isEmpty();
+        assertThat(result.getTotalMarketValue()).isEqualByComparingTo("2100");
+        assertThat(result.getAccounts()).extracting(AccountValuationDto::getMarketValue)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("1000"), new BigDecimal("1100"));
+        assertThat(result.getByInstrumentType()).hasSize(2);
+        assertThat(result.getByCurrency()).hasSize(2);
+        assertThat(result.getByCurrency().get(1).getNativeMarketValue()).isEqualByComparingTo("1000");
+        // batch size 1: one positions request per account
+        verify(positionsClient, times(2)).findByAccounts(any());
+        verify(refDataClient).convert(anyList());
+    }
+
+    @Test
+    void value_slowPositionsBatch_returnsPartialValuation() {
+        stubPortfolio();
+        when(refDataClient.instruments(anyCollection())).thenReturn(List.of(new InstrumentRef(stock, "AAPL", "STOCK", usd)));
+        when(refDataClient.lastPrices(anyCollection())).thenReturn(List.of(new PriceRef(stock, new BigDecimal("100"), null)));
+        when(positionsClient.findByAccounts(List.of(account1)))
+                .thenReturn(List.of(new PositionRef(account1, stock, new BigDecimal("10"))));
+        when(positionsClient.findByAccounts(List.of(account2))).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return List.of();
+        });
+
+        long started = System.nanoTime();
+        PortfolioValuationDto result = service.value(portfolioId, usd);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getWarnings()).anyMatch(w -> w.contains("timed out"));
+        assertThat(result.getTotalMarketValue()).isEqualByComparingTo("1000");
+        assertThat(result.getAccounts().get(1).isAvailable()).isFalse();
+        assertThat(result.getAccounts().get(1).getMarketValue()).isNull();
+        verify(refDataClient, never()).convert(anyList());
+    }
+
+    @Test
+    void value_accountsFailure_returnsEmptyPartialValuation() {
+        when(repository.existsById(portfolioId)).thenReturn(true);
+        when(accountsClient.findByPortfolio(portfolioId)).thenThrow(new IllegalStateException("503"));
+
+        PortfolioValuationDto result = service.value(portfolioId, usd);
+
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getTotalMarketValue()).isNull();
+        assertThat(result.getWarnings()).containsExactly("accounts unavailable: 503");
+        verifyNoInteractions(positionsClient, refDataClient);
+    }
+
+    @Test
+    void value_missingPortfolio_throwsNotFound() {
+        when(repository.existsById(portfolioId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> service.value(portfolioId, usd));
+        verifyNoInteractions(accountsClient);
+    }
+}
@@ -0,0 +1,92 @@
+package com.investment.portfolios;
+
+import com.investment.common.exception.BusinessException;
+import com.investment.portfolios.client.ProjectionClient;
+import com.investment.portfolios.dto.ProjectionRequestDto;
+import com.investment.portfolios.dto.ProjectionResponseDto;
+import com.investment.portfolios.exception.NotFoundException;
+import com.investment.portfolios.repository.PortfolioRepository;
+import com.investment.portfolios.service.impl.ProjectionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ProjectionServiceImpl}.
+ * <p>
+ * The accounts-ms client is mocked; the tests cover the portfolio check and the translation of
+ * downstream errors into this service's exceptions.
+ *
+ * @since October 18, 2026
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectionServiceImplTest {
+
+    @Mock
+    private PortfolioRepository portfolioRepository;
+    @Mock
+    private ProjectionClient projectionClient;
+
+    private ProjectionServiceImpl service;
+
+    private final UUID portfolioId = UUID.randomUUID();
+    private final ProjectionRequestDto request = ProjectionRequestDto.builder().horizonYears(30).paths(100_000).build();
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectionServiceImpl(portfolioRepository, projectionClient);
+    }
+
+    @Test
+    void project_existingPortfolio_relaysRequest() {
+        ProjectionResponseDto response = ProjectionResponseDto.builder().portfolioId(portfolioId).paths(100_000).build();
+        when(portfolioRepository.existsById(portfolioId)).thenReturn(true);
+        when(projectionClient.project(portfolioId, request)).thenReturn(response);
+
+        assertThat(service.project(portfolioId, request)).isSameAs(response);
+    }
+
+    @Test
+    void project_missingPortfolio_throwsNotFound() {
+        when(portfolioRepository.existsById(portfolioId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> service.project(portfolioId, request));
+        verifyNoInteractions(projectionClient);
+    }
+
+    @Test
+    void project_noActiveAccounts_throwsNotFound() {
+        when(portfolioRepository.existsById(portfolioId)).thenReturn(true);
+        when(projectionClient.project(any(), any()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+        assertThrows(NotFoundException.class, () -> service.project(portfolioId, request));
+    }
+
+    @Test
+    void project_rejectedOrUnavailable_throwsBusinessException() {
+        when(portfolioRepository.existsById(portfolioId)).thenReturn(true);
+        when(projectionClient.project(any(), any()))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null,
+                        "{\"message\":\"Portfolio has no priced long exposure to project\"}".getBytes(StandardCharsets.UTF_8),
+                        StandardCharsets.UTF_8))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        BusinessException rejected = assertThrows(BusinessException.class, () -> service.project(portfolioId, request));
+        assertThat(rejected.getMessage()).contains("no priced long exposure");
+        assertThrows(BusinessException.class, () -> service.project(portfolioId, null));
+    }
+}
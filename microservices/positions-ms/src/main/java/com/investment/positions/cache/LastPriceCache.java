@@ -0,0 +1,44 @@
+package com.investment.positions.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Último precio conocido por instrumento, alimentado desde el topic de precios y sembrado (y
+ * refrescado) desde los precios de referencia de accounts-ms.
+ * Los ticks fuera de orden (ts anterior al guardado) se descartan.
+ */
+@Component
+public class LastPriceCache {
+
+    private record Quote(double price, long epochMillis) { }
+
+    private final ConcurrentHashMap<UUID, Quote> quotes = new ConcurrentHashMap<>();
+
+    /** Devuelve true si el tick se aplicó (no era más antiguo que el vigente). */
+    public boolean update(UUID instrumentId, double price, long epochMillis) {
+        Quote incoming = new Quote(price, epochMillis);
+        Quote stored = quotes.merge(instrumentId, incoming,
+                (current, next) -> next.epochMillis() >= current.epochMillis() ? next : current);
+        return stored == incoming;
+    }
+
+    /** Último precio o NaN si no hay ninguno. */
+    public double get(UUID instrumentId) {
+        Quote q = quotes.get(instrumentId);
+        return q == null ? Double.NaN : q.price();
+    }
+
+    /** Rellena {@code target[i]} con el precio de {@code instrumentIds[i]} (NaN si falta). */
+    public void fill(UUID[] instrumentIds, double[] target) {
+        for (int i = 0; i < instrumentIds.length; i++) {
+            target[i] = get(instrumentIds[i]);
+        }
+    }
+
+    public int size() {
+        return quotes.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.investment.positions.cache;
+
+import com.investment.positions.dto.PositionSummaryDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Foto inmutable de las posiciones de una cuenta en arrays paralelos de primitivos,
+ * para poder valorar la cuenta entera en un solo bucle.
+ */
+public record PositionBook(
+        UUID accountId,
+        UUID[] instrumentIds,
+        double[] quantities,
+        double[] avgCosts
+) {
+
+    public static PositionBook of(UUID accountId, List<PositionSummaryDto> rows) {
+        int n = rows.size();
+        UUID[] ids = new UUID[n];
+        double[] qty = new double[n];
+        double[] cost = new double[n];
+        for (int i = 0; i < n; i++) {
+            PositionSummaryDto row = rows.get(i);
+            ids[i] = row.instrumentId();
+            qty[i] = toDouble(row.quantity());
+            cost[i] = toDouble(row.avgCost());
+        }
+        return new PositionBook(accountId, ids, qty, cost);
+    }
+
+    public int size() {
+        return instrumentIds.length;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value == null ? 0d : value.doubleValue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.investment.positions.cache;
+
+import com.investment.positions.configuration.ValuationProperties;
+import com.investment.positions.event.PositionsChangedEvent;
+import com.investment.positions.repository.PositionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cache LRU acotada de {@link PositionBook} por cuenta.
+ * Se carga en el primer acceso (warm-up) y se invalida cuando cambia alguna posición de la cuenta;
+ * tras invalidar publica {@link PositionsChangedEvent} para quien siga la cuenta en tiempo real.
+ */
+@Component
+@RequiredArgsConstructor
+public class PositionBookCache {
+
+    private final PositionRepository repository;
+    private final ValuationProperties properties;
+    private final ApplicationEventPublisher events;
+
+    private final Object lock = new Object();
+    private Map<UUID, PositionBook> books;
+    private long generation; // se incrementa en cada invalidación
+
+    public PositionBook get(UUID accountId) {
+        long loadGeneration;
+        synchronized (lock) {
+            PositionBook cached = lru().get(accountId);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        // La carga se hace fuera del lock para no bloquear lecturas de otras cuentas
+        PositionBook loaded = PositionBook.of(accountId, repository.findSummariesByAccountId(accountId));
+        synchronized (lock) {
+            // Si hubo una invalidación durante la carga, no se cachea un libro posiblemente viejo
+            if (loadGeneration == generation) {
+                lru().put(accountId, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    /** Invalida la cuenta; dentro de una transacción, espera al commit para no recargar datos viejos. */
+    public void evict(UUID accountId) {
+        runAfterCommit(() -> {
+            synchronized (lock) {
+                generation++;
+                lru().remove(accountId);
+            }
+            events.publishEvent(new PositionsChangedEvent(accountId));
+        });
+    }
+
+    public void evictAll() {
+        runAfterCommit(() -> {
+            synchronized (lock) {
+                generation++;
+                lru().clear();
+            }
+            events.publishEvent(new PositionsChangedEvent(null));
+        });
+    }
+
+    private Map<UUID, PositionBook> lru() {
+        if (books == null) {
+            int max = properties.maxCachedAccounts();
+            books = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, PositionBook> eldest) {
+                    return size() > max;
+                }
+            };
+        }
+        return books;
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
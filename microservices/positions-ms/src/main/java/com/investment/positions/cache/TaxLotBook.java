@@ -0,0 +1,197 @@
+package com.investment.positions.cache;
+
+import com.investment.common.exception.BusinessException;
+import com.investment.positions.entity.TaxLotEntity;
+import com.investment.positions.util.LotMethodEnum;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Lotes abiertos de una posición (account, instrument) en una deque ordenada por apertura.
+ * FIFO consume por la cabeza y LIFO por la cola; SPECIFIC_ID usa el índice por id y deja
+ * el lote agotado como lápida que se limpia al llegar a un extremo. Así una venta cuesta
+ * O(lotes consumidos), sin recorrer el histórico.
+ *
+ * <p>No es thread-safe: se accede con el lock de la posición tomado ({@code TaxLotBookCache#lockUntilCompletion}).</p>
+ */
+public final class TaxLotBook {
+
+    /** Lote abierto en memoria; remaining es lo único que cambia. */
+    public static final class OpenLot {
+        private final UUID lotId;
+        private final long seq;
+        private final BigDecimal costPerUnit;
+        private final OffsetDateTime openedAt;
+        private BigDecimal remaining;
+
+        OpenLot(UUID lotId, long seq, BigDecimal remaining, BigDecimal costPerUnit, OffsetDateTime openedAt) {
+            this.lotId = lotId;
+            this.seq = seq;
+            this.remaining = remaining;
+            this.costPerUnit = costPerUnit;
+            this.openedAt = openedAt;
+        }
+
+        public UUID lotId() { return lotId; }
+        public long seq() { return seq; }
+        public BigDecimal costPerUnit() { return costPerUnit; }
+        public OffsetDateTime openedAt() { return openedAt; }
+        public BigDecimal remaining() { return remaining; }
+        boolean isExhausted() { return remaining.signum() == 0; }
+    }
+
+    /** Cantidad tomada de un lote por una venta y el remanente que le queda. */
+    public record Consumption(OpenLot lot, BigDecimal quantity, BigDecimal remainingAfter) { }
+
+    private final ArrayDeque<OpenLot> lots = new ArrayDeque<>();
+    private final Map<UUID, OpenLot> byId = new HashMap<>();
+    private BigDecimal openQuantity = BigDecimal.ZERO;
+    private BigDecimal openCost = BigDecimal.ZERO;
+    private long lastSeq;
+
+    /** Construye el libro con los lotes abiertos ya ordenados por lot_seq. */
+    public static TaxLotBook of(List<TaxLotEntity> openLots, long lastSeq) {
+        TaxLotBook book = new TaxLotBook();
+        book.lastSeq = lastSeq;
+        for (TaxLotEntity e : openLots) {
+            book.append(new OpenLot(e.getLotId(), e.getLotSeq(), e.getRemainingQuantity(),
+                    e.getCostPerUnit(), e.getOpenedAt()));
+        }
+        return book;
+    }
+
+    public long nextSeq() {
+        return lastSeq + 1;
+    }
+
+    public OpenLot open(UUID lotId, long seq, BigDecimal quantity, BigDecimal costPerUnit,
+                        OffsetDateTime openedAt) {
+        OpenLot lot = new OpenLot(lotId, seq, quantity, costPerUnit, openedAt);
+        lastSeq = Math.max(lastSeq, seq);
+        append(lot);
+        return lot;
+    }
+
+    /**
+     * Consume {@code quantity} según el método. Valida antes de mutar: si no hay
+     * cantidad suficiente (o faltan lotes indicados) el libro queda intacto.
+     */
+    public List<Consumption> consume(BigDecimal quantity, LotMethodEnum method, List<UUID> lotIds) {
+        if (quantity.compareTo(openQuantity) > 0) {
+            throw new BusinessException("Insufficient open lots: requested " + quantity + ", open " + openQuantity);
+        }
+        return switch (method) {
+            case FIFO -> consumeFromEnd(quantity, true);
+            case LIFO -> consumeFromEnd(quantity, false);
+            case SPECIFIC_ID -> consumeSpecific(quantity, lotIds);
+        };
+    }
+
+    public BigDecimal openQuantity() {
+        return openQuantity;
+    }
+
+    /** Coste medio ponderado de los lotes abiertos, o null si no hay cantidad. */
+    public BigDecimal averageCost(int scale) {
+        return openQuantity.signum() == 0
+                ? null
+                : openCost.divide(openQuantity, scale, RoundingMode.HALF_UP);
+    }
+
+    /** Lotes abiertos en orden de apertura (copia). */
+    public List<OpenLot> openLots() {
+        List<OpenLot> result = new ArrayList<>(byId.size());
+        for (OpenLot lot : lots) {
+            if (!lot.isExhausted()) {
+                result.add(lot);
+            }
+        }
+        return result;
+    }
+
+    private List<Consumption> consumeFromEnd(BigDecimal quantity, boolean head) {
+        List<Consumption> result = new ArrayList<>();
+        BigDecimal left = quantity;
+        while (left.signum() > 0) {
+            OpenLot lot = head ? lots.peekFirst() : lots.peekLast();
+            if (!lot.isExhausted()) { // si está agotado es la lápida de un SPECIFIC_ID anterior
+                BigDecimal take = left.min(lot.remaining);
+                result.add(take(lot, take));
+                left = left.subtract(take);
+            }
+            if (lot.isExhausted()) {
+                removeEnd(head);
+            }
+        }
+        return result;
+    }
+
+    private List<Consumption> consumeSpecific(BigDecimal quantity, List<UUID> lotIds) {
+        if (lotIds == null || lotIds.isEmpty()) {
+            throw new BusinessException("SPECIFIC_ID requires the lot ids to sell");
+        }
+        // Un id repetido contaría dos veces en available y después encontraría el lote ya agotado
+        Set<UUID> ids = new LinkedHashSet<>(lotIds);
+        BigDecimal available = BigDecimal.ZERO;
+        for (UUID id : ids) {
+            OpenLot lot = byId.get(id);
+            if (lot == null) {
+                throw new BusinessException("Lot not open in this position: " + id);
+            }
+            available = available.add(lot.remaining);
+        }
+        if (available.compareTo(quantity) < 0) {
+            throw new BusinessException("Selected lots hold " + available + ", requested " + quantity);
+        }
+        List<Consumption> result = new ArrayList<>();
+        BigDecimal left = quantity;
+        for (UUID id : ids) {
+            if (left.signum() == 0) {
+                break;
+            }
+            OpenLot lot = byId.get(id);
+            BigDecimal take = left.min(lot.remaining);
+            result.add(take(lot, take));
+            left = left.subtract(take);
+        }
+        trimEnds();
+        return result;
+    }
+
+    private Consumption take(OpenLot lot, BigDecimal qty) {
+        lot.remaining = lot.remaining.subtract(qty);
+        openQuantity = openQuantity.subtract(qty);
+        openCost = openCost.subtract(qty.multiply(lot.costPerUnit));
+        if (lot.isExhausted()) {
+            byId.remove(lot.lotId);
+        }
+        return new Consumption(lot, qty, lot.remaining);
+    }
+
+    private void append(OpenLot lot) {
+        lots.addLast(lot);
+        byId.put(lot.lotId, lot);
+        openQuantity = openQuantity.add(lot.remaining);
+        openCost = openCost.add(lot.remaining.multiply(lot.costPerUnit));
+    }
+
+    private void removeEnd(boolean head) {
+        if (head) {
+            lots.pollFirst();
+        } else {
+            lots.pollLast();
+        }
+    }
+
+    private void trimEnds() {
+        while (!lots.isEmpty() && lots.peekFirst().isExhausted()) {
+            lots.pollFirst();
+        }
+        while (!lots.isEmpty() && lots.peekLast().isExhausted()) {
+            lots.pollLast();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.investment.positions.cache;
+
+import com.investment.positions.configuration.TaxLotProperties;
+import com.investment.positions.repository.TaxLotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache LRU acotada de {@link TaxLotBook} por posición. El libro se carga con los lotes
+ * abiertos la primera vez y después se mantiene en memoria. Quien lo usa lo toma con
+ * {@link #lockUntilCompletion}, que retiene la posición hasta el commit/rollback; si la
+ * transacción que lo modificó hace rollback se descarta para recargarlo desde la base de datos.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaxLotBookCache {
+
+    private record PositionKey(UUID accountId, UUID instrumentId) { }
+
+    private final TaxLotRepository repository;
+    private final TaxLotProperties properties;
+
+    private static final int POSITION_LOCK_STRIPES = 1024;
+
+    private final Object lock = new Object();
+    // Locks por posición con striping: memoria fija aunque haya millones de posiciones
+    private final ReentrantLock[] positionLocks = newLocks();
+    private Map<PositionKey, TaxLotBook> books;
+    private long generation; // se incrementa al invalidar un instrumento completo
+
+    public TaxLotBook get(UUID accountId, UUID instrumentId) {
+        PositionKey key = new PositionKey(accountId, instrumentId);
+        long loadGeneration;
+        synchronized (lock) {
+            TaxLotBook cached = lru().get(key);
+            if (cached != null) {
+                return cached;
+            }
+            loadGeneration = generation;
+        }
+        TaxLotBook loaded = TaxLotBook.of(
+                repository.findOpenLots(accountId, instrumentId),
+                repository.maxLotSeq(accountId, instrumentId));
+        synchronized (lock) {
+            if (loadGeneration != generation) {
+                return loaded; // se invalidó durante la carga: no se cachea un libro posiblemente viejo
+            }
+            // Si otro hilo lo cargó a la vez, todos usan la misma instancia
+            TaxLotBook existing = lru().putIfAbsent(key, loaded);
+            return existing != null ? existing : loaded;
+        }
+    }
+
+    /**
+     * Bloquea la posición hasta que termine la transacción en curso y devuelve su libro. El lock se
+     * toma antes de cargar el libro, así ninguna otra transacción lo lee (ni lo recarga desde la base)
+     * mientras tenga cambios en memoria sin commit. Si la transacción no llega a commit se descarta
+     * el libro para recargarlo desde la base de datos.
+     */
+    public TaxLotBook lockUntilCompletion(UUID accountId, UUID instrumentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Tax lot book access requires an active transaction");
+        }
+        PositionKey key = new PositionKey(accountId, instrumentId);
+        ReentrantLock positionLock = positionLocks[Math.floorMod(key.hashCode(), POSITION_LOCK_STRIPES)];
+        positionLock.lock();
+        TaxLotBook book;
+        try {
+            book = get(accountId, instrumentId);
+        } catch (RuntimeException e) {
+            positionLock.unlock();
+            throw e;
+        }
+        // afterCompletion corre en el mismo hilo que hizo commit/rollback, dueño del lock
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (lock) {
+                            lru().remove(key);
+                        }
+                    }
+                } finally {
+                    positionLock.unlock();
+                }
+            }
+        });
+        return book;
+    }
+
+    /**
+     * Bloquea todas las posiciones hasta que termine la transacción en curso, para cambios cuyas
+     * posiciones no se conocen de antemano (p. ej. un split): espera a las transacciones que tienen
+     * un libro tomado y no deja que otra tome uno hasta el commit/rollback. Los stripes se toman
+     * siempre en el mismo orden, así dos llamadas concurrentes no se bloquean entre sí.
+     */
+    public void lockAllUntilCompletion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Tax lot book access requires an active transaction");
+        }
+        for (ReentrantLock positionLock : positionLocks) {
+            positionLock.lock();
+        }
+        // afterCompletion corre después de los afterCommit (p. ej. evictInstrument): nadie lee un libro viejo
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = positionLocks.length - 1; i >= 0; i--) {
+                    positionLocks[i].unlock();
+                }
+            }
+        });
+    }
+
+    /** Descarta el libro de la posición después del commit (p. ej. al cerrar sus lotes en la base). */
+    public void evict(UUID accountId, UUID instrumentId) {
+        PositionKey key = new PositionKey(accountId, instrumentId);
+        runAfterCommit(() -> {
+            synchronized (lock) {
+                generation++;
+                lru().remove(key);
+            }
+        });
+    }
+
+    /** Descarta los libros de todas las cuentas del instrumento después del commit (p. ej. tras un split). */
+    public void evictInstrument(UUID instrumentId) {
+        runAfterCommit(() -> {
+            synchronized (lock) {
+                generation++;
+                lru().keySet().removeIf(k -> k.instrumentId().equals(instrumentId));
+            }
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[POSITION_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private Map<PositionKey, TaxLotBook> lru() {
+        if (books == null) {
+            int max = properties.maxCachedPositions();
+            books = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PositionKey, TaxLotBook> eldest) {
+                    return size() > max;
+                }
+            };
+        }
+        return books;
+    }
+}
@@ -0,0 +1,37 @@
+package com.investment.positions.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/** Lectura de precios de referencia de accounts-ms en un único request por lote. */
+@Component
+public class RefDataClient {
+
+    private static final ParameterizedTypeReference<List<LastPrice>> PRICES = new ParameterizedTypeReference<>() {};
+
+    private final RestClient restClient;
+
+    public RefDataClient(@Qualifier("refdataRestClient") RestClient restClient) {
+        this.restClient = restClient;
+    }
+
+    /** Último cierre de cada instrumento; los que no tienen precio no vienen en la respuesta. */
+    public List<LastPrice> lastPrices(Collection<UUID> instrumentIds) {
+        List<LastPrice> result = restClient.post()
+                .uri("/api/refdata/prices/last/bulk")
+                .body(instrumentIds)
+                .retrieve()
+                .body(PRICES);
+        return result == null ? List.of() : result;
+    }
+
+    public record LastPrice(UUID instrumentId, BigDecimal close, OffsetDateTime ts) {}
+}
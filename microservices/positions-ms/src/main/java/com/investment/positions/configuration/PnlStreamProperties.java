@@ -0,0 +1,29 @@
+package com.investment.positions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Parámetros del stream SSE de P&L intradía. */
+@ConfigurationProperties(prefix = "app.pnl-stream")
+public record PnlStreamProperties(
+        Duration minInterval,      // intervalo mínimo de conflación (y periodo del flush)
+        Duration defaultInterval,  // intervalo por suscriptor si el cliente no indica otro
+        Duration emitterTimeout,   // vida máxima de una conexión SSE
+        Integer maxSubscribers
+) {
+    public PnlStreamProperties {
+        if (minInterval == null || minInterval.isZero() || minInterval.isNegative()) {
+            minInterval = Duration.ofMillis(100);
+        }
+        if (defaultInterval == null || defaultInterval.compareTo(minInterval) < 0) {
+            defaultInterval = Duration.ofSeconds(1);
+        }
+        if (emitterTimeout == null || emitterTimeout.isNegative()) {
+            emitterTimeout = Duration.ofMinutes(30);
+        }
+        if (maxSubscribers == null || maxSubscribers <= 0) {
+            maxSubscribers = 50_000;
+        }
+    }
+}
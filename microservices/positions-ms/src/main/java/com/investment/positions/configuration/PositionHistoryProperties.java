@@ -0,0 +1,17 @@
+package com.investment.positions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Parámetros del histórico bitemporal de posiciones. */
+@ConfigurationProperties(prefix = "app.position-history")
+public record PositionHistoryProperties(
+        Duration intradayRetention // ventana con resolución intradía; lo anterior se compacta a fin de día
+) {
+    public PositionHistoryProperties {
+        if (intradayRetention == null || intradayRetention.isNegative()) {
+            intradayRetention = Duration.ofDays(30);
+        }
+    }
+}
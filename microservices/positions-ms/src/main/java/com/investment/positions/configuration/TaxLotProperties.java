@@ -0,0 +1,15 @@
+package com.investment.positions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Parámetros del seguimiento de lotes fiscales. */
+@ConfigurationProperties(prefix = "app.tax-lots")
+public record TaxLotProperties(
+        Integer maxCachedPositions
+) {
+    public TaxLotProperties {
+        if (maxCachedPositions == null || maxCachedPositions <= 0) {
+            maxCachedPositions = 50_000;
+        }
+    }
+}
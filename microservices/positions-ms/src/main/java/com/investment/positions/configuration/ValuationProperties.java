@@ -0,0 +1,29 @@
+package com.investment.positions.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Parámetros del motor de valoración mark-to-market. */
+@ConfigurationProperties(prefix = "app.valuation")
+public record ValuationProperties(
+        Integer maxCachedAccounts,
+        String refdataBaseUrl,     // accounts-ms, dueño de los precios de referencia
+        Duration refdataTimeout,
+        Integer priceBatchSize     // instrumentos por request a /prices/last/bulk
+) {
+    public ValuationProperties {
+        if (maxCachedAccounts == null || maxCachedAccounts <= 0) {
+            maxCachedAccounts = 10_000;
+        }
+        if (refdataBaseUrl == null || refdataBaseUrl.isBlank()) {
+            refdataBaseUrl = "http://localhost:8082";
+        }
+        if (refdataTimeout == null || refdataTimeout.isZero() || refdataTimeout.isNegative()) {
+            refdataTimeout = Duration.ofSeconds(5);
+        }
+        if (priceBatchSize == null || priceBatchSize <= 0) {
+            priceBatchSize = 500;
+        }
+    }
+}
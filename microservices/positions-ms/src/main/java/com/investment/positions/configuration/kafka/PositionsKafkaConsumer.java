@@ -1,6 +1,9 @@
 package com.investment.positions.configuration.kafka;
 
+import com.investment.positions.service.CorporateActionService;
 import com.investment.positions.service.RecalculationService;
+import com.investment.positions.service.TaxLotService;
+import com.investment.positions.service.ValuationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -13,6 +16,9 @@ public class PositionsKafkaConsumer {
 
     private final TopicsProperties topicsProperties;
     private final RecalculationService recalculationService;
+    private final ValuationService valuationService;
+    private final TaxLotService taxLotService;
+    private final CorporateActionService corporateActionService;
 
     @KafkaListener(
             topics = "#{@topicsProperties.positionsRecalculateRequested()}",
@@ -23,4 +29,33 @@ public class PositionsKafkaConsumer {
                 topicsProperties.positionsRecalculateRequested(), message);
         recalculationService.processRecalculation(message); // ✅ ahora sí se usa
     }
+
+    @KafkaListener(
+            topics = "#{@topicsProperties.priceUpdated()}",
+            groupId = "${spring.kafka.consumer.group-id}"
+    )
+    public void handlePriceUpdated(String message) {
+        log.debug("Received price tick on topic '{}': {}", topicsProperties.priceUpdated(), message);
+        valuationService.processPriceTick(message);
+    }
+
+    // Con su propio contenedor: un trade que no se puede aplicar se reintenta y termina en la DLT
+    @KafkaListener(
+            topics = "#{@topicsProperties.tradeExecuted()}",
+            groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "tradeListenerContainerFactory"
+    )
+    public void handleTradeExecuted(String message) {
+        log.info("Received trade executed on topic '{}': {}", topicsProperties.tradeExecuted(), message);
+        taxLotService.processTradeExecuted(message);
+    }
+
+    @KafkaListener(
+            topics = "#{@topicsProperties.corporateActions()}",
+            groupId = "${spring.kafka.consumer.group-id}"
+    )
+    public void handleCorporateAction(String message) {
+        log.info("Received corporate action on topic '{}': {}", topicsProperties.corporateActions(), message);
+        corporateActionService.processCorporateAction(message);
+    }
 }
\ No newline at end of file
@@ -5,5 +5,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "app.kafka.topics")
 public record TopicsProperties(
         String tradeExecuted,
-        String positionsRecalculateRequested
+        String positionsRecalculateRequested,
+        String priceUpdated,
+        String corporateActions
 ) {}
\ No newline at end of file
@@ -1,18 +1,32 @@
 package com.investment.positions.controller;
 
+import com.investment.positions.dto.AccountValuationDto;
+import com.investment.positions.dto.HistoricalPositionDto;
 import com.investment.positions.dto.PositionRequestDto;
 import com.investment.positions.dto.PositionResponseDto;
+import com.investment.positions.service.PnlStreamService;
+import com.investment.positions.service.PositionHistoryService;
 import com.investment.positions.service.PositionService;
 import com.investment.positions.service.RecalculationService;
+import com.investment.positions.service.ValuationService;
+import com.investment.positions.util.Constants;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Tag(name = "Positions", description = "Operations for positions read/recalculate/delete")
@@ -24,6 +38,9 @@ public class PositionsController {
 
     private final PositionService positionService;
     private final RecalculationService recalculationService;
+    private final ValuationService valuationService;
+    private final PnlStreamService pnlStreamService;
+    private final PositionHistoryService historyService;
 
     @Operation(summary = "Recalculate a position (upsert by accountId + instrumentId)")
     @PostMapping(value = "/recalculate", consumes = "application/json", produces = "application/json")
@@ -48,6 +65,42 @@ public class PositionsController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "List all positions of an account (streamed JSON array)")
+    @GetMapping(value = "/accounts/{accountId}", produces = "application/json")
+    public ResponseEntity<StreamingResponseBody> getByAccount(@PathVariable("accountId") @NotNull UUID accountId) {
+        StreamingResponseBody body = out -> positionService.writeAccountPositions(accountId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(summary = "List positions of several accounts (streamed JSON array)")
+    @GetMapping(value = "/accounts", produces = "application/json")
+    public ResponseEntity<StreamingResponseBody> getByAccounts(@RequestParam @NotEmpty @Size(max = Constants.MAX_ACCOUNTS_PER_QUERY) List<UUID> accountIds) {
+        StreamingResponseBody body = out -> positionService.writeAccountsPositions(accountIds, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(summary = "Mark-to-market valuation of an account against last known prices")
+    @GetMapping(value = "/accounts/{accountId}/valuation", produces = "application/json")
+    public ResponseEntity<AccountValuationDto> getAccountValuation(@PathVariable("accountId") @NotNull UUID accountId) {
+        return ResponseEntity.ok(valuationService.valueAccount(accountId));
+    }
+
+    @Operation(summary = "Stream intraday P&L deltas of an account (Server-Sent Events)")
+    @GetMapping(value = "/accounts/{accountId}/pnl/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAccountPnl(@PathVariable("accountId") @NotNull UUID accountId,
+                                       @RequestParam(required = false) Long intervalMs) {
+        return pnlStreamService.subscribe(accountId, intervalMs);
+    }
+
+    @Operation(summary = "Holdings of an account as of a valid time, optionally as known at a past transaction time")
+    @GetMapping(value = "/accounts/{accountId}/as-of", produces = "application/json")
+    public ResponseEntity<List<HistoricalPositionDto>> getAccountAsOf(
+            @PathVariable("accountId") @NotNull UUID accountId,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime validAt,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime knownAt) {
+        return ResponseEntity.ok(historyService.findAsOf(accountId, validAt, knownAt));
+    }
+
     @Operation(summary = "Delete a position by ID")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable("id") @NotNull UUID id) {
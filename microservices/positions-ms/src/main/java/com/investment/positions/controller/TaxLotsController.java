@@ -0,0 +1,58 @@
+package com.investment.positions.controller;
+
+import com.investment.positions.dto.RealizedLotResponseDto;
+import com.investment.positions.dto.TaxLotResponseDto;
+import com.investment.positions.service.TaxLotService;
+import com.investment.positions.util.LotMethodEnum;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Tag(name = "Tax lots", description = "Open lots, realized P&L per lot and lot method per account")
+@RestController
+@RequestMapping("/v1/positions/lots")
+@RequiredArgsConstructor
+@Validated
+public class TaxLotsController {
+
+    private final TaxLotService taxLotService;
+
+    @Operation(summary = "Open lots of a position, in opening order")
+    @GetMapping(produces = "application/json")
+    public ResponseEntity<List<TaxLotResponseDto>> getOpenLots(
+            @RequestParam @NotNull UUID accountId,
+            @RequestParam @NotNull UUID instrumentId) {
+        return ResponseEntity.ok(taxLotService.findOpenLots(accountId, instrumentId));
+    }
+
+    @Operation(summary = "Realized P&L per consumed lot of an account (most recent first)")
+    @GetMapping(value = "/realized", produces = "application/json")
+    public ResponseEntity<Page<RealizedLotResponseDto>> getRealized(
+            @RequestParam @NotNull UUID accountId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(taxLotService.findRealized(accountId, page, size));
+    }
+
+    @Operation(summary = "Get the lot method of an account (FIFO by default)")
+    @GetMapping(value = "/method", produces = "application/json")
+    public ResponseEntity<LotMethodEnum> getLotMethod(@RequestParam @NotNull UUID accountId) {
+        return ResponseEntity.ok(taxLotService.getLotMethod(accountId));
+    }
+
+    @Operation(summary = "Set the lot method of an account")
+    @PutMapping(value = "/method", produces = "application/json")
+    public ResponseEntity<LotMethodEnum> setLotMethod(
+            @RequestParam @NotNull UUID accountId,
+            @RequestParam @NotNull LotMethodEnum method) {
+        return ResponseEntity.ok(taxLotService.setLotMethod(accountId, method));
+    }
+}
@@ -0,0 +1,20 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/** Valoración agregada de una cuenta; los totales solo incluyen posiciones con precio. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AccountValuationDto(
+        UUID accountId,
+        BigDecimal marketValue,
+        BigDecimal costBasis,
+        BigDecimal unrealizedPnl,
+        BigDecimal unrealizedPnlPct,
+        int pricedPositions,
+        int unpricedPositions,
+        List<PositionValuationDto> positions
+) { }
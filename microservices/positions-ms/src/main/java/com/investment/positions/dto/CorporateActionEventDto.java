@@ -0,0 +1,21 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.investment.positions.util.CorporateActionTypeEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Evento corporate-actions publicado por accounts-ms el día ex.
+ * ratio es acciones nuevas por acción vieja (2 en un split 2:1, 0.1 en un contra-split 1:10).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CorporateActionEventDto(
+        UUID actionId,
+        UUID instrumentId,
+        CorporateActionTypeEnum type,
+        LocalDate exDate,
+        BigDecimal ratio
+) { }
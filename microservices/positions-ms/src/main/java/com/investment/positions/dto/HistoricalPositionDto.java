@@ -0,0 +1,17 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Posición de una cuenta tal como era (o se conocía) en un instante dado. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record HistoricalPositionDto(
+        UUID instrumentId,
+        BigDecimal quantity,
+        BigDecimal avgCost,
+        OffsetDateTime validFrom,
+        OffsetDateTime recordedAt
+) { }
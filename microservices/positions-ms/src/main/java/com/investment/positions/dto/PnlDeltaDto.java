@@ -0,0 +1,26 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evento SSE de P&L. El primero de cada suscripción es un snapshot completo;
+ * los siguientes solo traen las posiciones que cambiaron o desaparecieron.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record PnlDeltaDto(
+        UUID accountId,
+        long seq,
+        boolean snapshot,
+        BigDecimal marketValue,
+        BigDecimal costBasis,
+        BigDecimal unrealizedPnl,
+        BigDecimal unrealizedPnlPct,
+        List<PositionValuationDto> changed,
+        List<UUID> removed,
+        OffsetDateTime asOf
+) { }
@@ -5,13 +5,22 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
-/** Petición para crear/actualizar una posición. */
+/**
+ * Petición para crear/actualizar una posición.
+ * validFrom (opcional) es el instante desde el que la posición es válida; por defecto, ahora.
+ */
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public record PositionRequestDto(
         @NotNull UUID accountId,
         @NotNull UUID instrumentId,
         @NotNull @PositiveOrZero BigDecimal quantity,
-        BigDecimal avgCost
-) { }
\ No newline at end of file
+        BigDecimal avgCost,
+        OffsetDateTime validFrom
+) {
+    public PositionRequestDto(UUID accountId, UUID instrumentId, BigDecimal quantity, BigDecimal avgCost) {
+        this(accountId, instrumentId, quantity, avgCost, null);
+    }
+}
\ No newline at end of file
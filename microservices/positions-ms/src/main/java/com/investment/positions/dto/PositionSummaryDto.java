@@ -0,0 +1,18 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Proyección ligera de una posición para listados por cuenta.
+ * Solo contiene columnas del índice de cobertura, así que se resuelve sin hidratar la entidad.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PositionSummaryDto(
+        UUID accountId,
+        UUID instrumentId,
+        BigDecimal quantity,
+        BigDecimal avgCost
+) { }
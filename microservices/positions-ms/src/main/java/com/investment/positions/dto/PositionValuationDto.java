@@ -0,0 +1,18 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Valoración mark-to-market de una posición. Sin precio conocido, los campos de valor van a null. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PositionValuationDto(
+        UUID instrumentId,
+        BigDecimal quantity,
+        BigDecimal avgCost,
+        BigDecimal lastPrice,
+        BigDecimal marketValue,
+        BigDecimal unrealizedPnl,
+        BigDecimal unrealizedPnlPct
+) { }
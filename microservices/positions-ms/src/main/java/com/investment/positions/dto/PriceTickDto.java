@@ -0,0 +1,15 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Último precio de un instrumento recibido por el topic de precios. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PriceTickDto(
+        UUID instrumentId,
+        BigDecimal price,
+        OffsetDateTime ts
+) { }
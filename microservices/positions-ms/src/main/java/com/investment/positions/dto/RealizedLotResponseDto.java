@@ -0,0 +1,22 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** P&L realizado por lote, base del reporte fiscal. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RealizedLotResponseDto(
+        UUID realizationId,
+        UUID lotId,
+        UUID instrumentId,
+        UUID closeTradeId,
+        BigDecimal quantity,
+        BigDecimal costPerUnit,
+        BigDecimal proceedsPerUnit,
+        BigDecimal realizedPnl,
+        OffsetDateTime openedAt,
+        OffsetDateTime realizedAt
+) { }
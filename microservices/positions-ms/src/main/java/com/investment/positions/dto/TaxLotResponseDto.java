@@ -0,0 +1,17 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Lote abierto de una posición. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaxLotResponseDto(
+        UUID lotId,
+        long lotSeq,
+        BigDecimal remainingQuantity,
+        BigDecimal costPerUnit,
+        OffsetDateTime openedAt
+) { }
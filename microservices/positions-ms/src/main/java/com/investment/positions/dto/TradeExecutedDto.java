@@ -0,0 +1,29 @@
+package com.investment.positions.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.investment.positions.util.SideEnum;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Evento trade-executed publicado por orders-ms (ExecutionResponseDto).
+ * lotIds solo se usa con SPECIFIC_ID para indicar qué lotes vende.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record TradeExecutedDto(
+        UUID id,
+        UUID instrumentId,
+        UUID accountId,
+        SideEnum side,
+        BigDecimal quantity,
+        BigDecimal price,
+        BigDecimal fees,
+        BigDecimal taxes,
+        OffsetDateTime executedAt,
+        List<UUID> lotIds
+) { }
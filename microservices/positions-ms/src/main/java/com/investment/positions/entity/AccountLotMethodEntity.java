@@ -0,0 +1,26 @@
+package com.investment.positions.entity;
+
+import com.investment.positions.util.LotMethodEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/** Método de consumo de lotes configurado por cuenta (FIFO si no hay fila). */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "account_lot_methods", schema = "positions")
+public class AccountLotMethodEntity {
+
+    @Id
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "lot_method", nullable = false, length = 16)
+    private LotMethodEnum lotMethod;
+}
@@ -0,0 +1,47 @@
+package com.investment.positions.entity;
+
+import com.investment.positions.util.CorporateActionTypeEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Registro de eventos corporativos ya aplicados: hace idempotente la re-entrega del evento. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "applied_corporate_actions", schema = "positions")
+public class AppliedCorporateActionEntity {
+
+    @Id
+    @Column(name = "action_id", nullable = false, updatable = false)
+    private UUID actionId; // id del evento en accounts-ms
+
+    @Column(name = "instrument_id", nullable = false, updatable = false)
+    private UUID instrumentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 16, updatable = false)
+    private CorporateActionTypeEnum type;
+
+    @Column(name = "ex_date", nullable = false, updatable = false)
+    private LocalDate exDate;
+
+    @Column(name = "ratio", nullable = false, precision = 20, scale = 10, updatable = false)
+    private BigDecimal ratio;
+
+    @Column(name = "positions_adjusted", nullable = false, updatable = false)
+    private Integer positionsAdjusted;
+
+    @Column(name = "lots_adjusted", nullable = false, updatable = false)
+    private Integer lotsAdjusted;
+
+    @Column(name = "applied_at", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime appliedAt;
+}
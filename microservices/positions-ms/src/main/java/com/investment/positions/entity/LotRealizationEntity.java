@@ -0,0 +1,63 @@
+package com.investment.positions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** P&L realizado al consumir (total o parcialmente) un lote en una venta. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "lot_realizations",
+        schema = "positions",
+        indexes = {
+                @Index(name = "ix_lot_realizations_account_time", columnList = "account_id, realized_at"),
+                @Index(name = "ix_lot_realizations_trade", columnList = "close_trade_id")
+        }
+)
+public class LotRealizationEntity {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator
+    @Column(name = "realization_id", nullable = false, updatable = false)
+    private UUID realizationId;
+
+    @Column(name = "lot_id", nullable = false, updatable = false)
+    private UUID lotId;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "instrument_id", nullable = false, updatable = false)
+    private UUID instrumentId;
+
+    @Column(name = "close_trade_id", nullable = false, updatable = false)
+    private UUID closeTradeId;
+
+    @Column(name = "quantity", nullable = false, precision = 28, scale = 10, updatable = false)
+    private BigDecimal quantity;
+
+    @Column(name = "cost_per_unit", nullable = false, precision = 18, scale = 6, updatable = false)
+    private BigDecimal costPerUnit;
+
+    @Column(name = "proceeds_per_unit", nullable = false, precision = 18, scale = 6, updatable = false)
+    private BigDecimal proceedsPerUnit; // neto de comisiones e impuestos de la venta
+
+    @Column(name = "realized_pnl", nullable = false, precision = 18, scale = 6, updatable = false)
+    private BigDecimal realizedPnl;
+
+    @Column(name = "opened_at", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime openedAt; // para distinguir corto/largo plazo en el reporte fiscal
+
+    @Column(name = "realized_at", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime realizedAt;
+}
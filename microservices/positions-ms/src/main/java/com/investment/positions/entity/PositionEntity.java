@@ -23,6 +23,17 @@ import java.util.UUID;
                         name = "uk_positions_account_instrument",
                         columnNames = {"account_id", "instrument_id"}
                 )
+        },
+        indexes = {
+                // En Postgres: CREATE INDEX ix_positions_account_covering
+                //   ON positions.positions (account_id) INCLUDE (instrument_id, quantity, avg_cost);
+                // JPA no soporta INCLUDE, así que aquí se declara como índice compuesto equivalente.
+                // No duplica uk_positions_account_instrument: con quantity y avg_cost en el índice el
+                // listado por cuenta es un index-only scan y no visita el heap por cada fila.
+                @Index(
+                        name = "ix_positions_account_covering",
+                        columnList = "account_id, instrument_id, quantity, avg_cost"
+                )
         }
 )
 public class PositionEntity {
@@ -0,0 +1,58 @@
+package com.investment.positions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Versión histórica (append-only) de una posición.
+ * valid_from es el tiempo de validez (desde cuándo la posición era así) y
+ * recorded_at el tiempo de transacción (cuándo lo supo el sistema).
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "position_history",
+        schema = "positions",
+        indexes = {
+                // Búsqueda as-of: última versión por instrumento con valid_from/recorded_at acotados
+                @Index(
+                        name = "ix_position_history_asof",
+                        columnList = "account_id, instrument_id, valid_from DESC, recorded_at DESC"
+                )
+        }
+)
+public class PositionHistoryEntity {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator
+    @Column(name = "history_id", nullable = false, updatable = false)
+    private UUID historyId;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "instrument_id", nullable = false, updatable = false)
+    private UUID instrumentId;
+
+    @Column(name = "quantity", nullable = false, precision = 28, scale = 10, updatable = false)
+    private BigDecimal quantity;
+
+    @Column(name = "avg_cost", precision = 18, scale = 6, updatable = false)
+    private BigDecimal avgCost;
+
+    @Column(name = "valid_from", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime validFrom;
+
+    @Column(name = "recorded_at", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime recordedAt;
+}
@@ -0,0 +1,63 @@
+package com.investment.positions.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** Lote fiscal: lo abre cada compra y lo van consumiendo las ventas. */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "tax_lots",
+        schema = "positions",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_tax_lots_open_trade", columnNames = {"open_trade_id"})
+        },
+        indexes = {
+                // Lotes de una posición en orden de apertura (se filtra remaining_quantity > 0)
+                @Index(name = "ix_tax_lots_position_seq", columnList = "account_id, instrument_id, lot_seq")
+        }
+)
+public class TaxLotEntity {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator
+    @Column(name = "lot_id", nullable = false, updatable = false)
+    private UUID lotId;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Column(name = "instrument_id", nullable = false, updatable = false)
+    private UUID instrumentId;
+
+    @Column(name = "open_trade_id", nullable = false, updatable = false)
+    private UUID openTradeId;
+
+    @Column(name = "lot_seq", nullable = false, updatable = false)
+    private Long lotSeq; // orden de apertura dentro de la posición
+
+    @Column(name = "opened_at", nullable = false, updatable = false, columnDefinition = "timestamptz")
+    private OffsetDateTime openedAt;
+
+    @Column(name = "original_quantity", nullable = false, precision = 28, scale = 10, updatable = false)
+    private BigDecimal originalQuantity;
+
+    @Column(name = "remaining_quantity", nullable = false, precision = 28, scale = 10)
+    private BigDecimal remainingQuantity;
+
+    @Column(name = "cost_per_unit", nullable = false, precision = 18, scale = 6, updatable = false)
+    private BigDecimal costPerUnit; // incluye comisiones e impuestos de la compra
+
+    @Column(name = "closed_at", columnDefinition = "timestamptz")
+    private OffsetDateTime closedAt;
+}
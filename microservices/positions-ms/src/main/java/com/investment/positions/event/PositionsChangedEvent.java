@@ -0,0 +1,6 @@
+package com.investment.positions.event;
+
+import java.util.UUID;
+
+/** Evento interno (tras commit): cambiaron posiciones de la cuenta. accountId null = todas las cuentas. */
+public record PositionsChangedEvent(UUID accountId) { }
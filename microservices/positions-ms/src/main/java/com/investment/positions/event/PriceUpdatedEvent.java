@@ -0,0 +1,6 @@
+package com.investment.positions.event;
+
+import java.util.UUID;
+
+/** Evento interno: se aplicó un nuevo último precio para el instrumento. */
+public record PriceUpdatedEvent(UUID instrumentId) { }
@@ -0,0 +1,11 @@
+package com.investment.positions.repository;
+
+import com.investment.positions.entity.AccountLotMethodEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface AccountLotMethodRepository extends JpaRepository<AccountLotMethodEntity, UUID> {
+}
@@ -0,0 +1,17 @@
+package com.investment.positions.repository;
+
+import com.investment.positions.entity.LotRealizationEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LotRealizationRepository extends JpaRepository<LotRealizationEntity, UUID> {
+
+    Page<LotRealizationEntity> findAllByAccountId(UUID accountId, Pageable pageable);
+
+    boolean existsByCloseTradeId(UUID closeTradeId);
+}
@@ -0,0 +1,82 @@
+package com.investment.positions.repository;
+
+import com.investment.positions.dto.HistoricalPositionDto;
+import com.investment.positions.entity.PositionHistoryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PositionHistoryRepository extends JpaRepository<PositionHistoryEntity, UUID> {
+
+    /**
+     * Última versión de cada instrumento de la cuenta con valid_from <= validAt y recorded_at <= knownAt.
+     * El NOT EXISTS se resuelve con ix_position_history_asof sin reproducir trades.
+     */
+    @Query("""
+         select new com.investment.positions.dto.HistoricalPositionDto(h.instrumentId, h.quantity, h.avgCost, h.validFrom, h.recordedAt)
+         from PositionHistoryEntity h
+         where h.accountId = :accountId
+           and h.validFrom <= :validAt
+           and h.recordedAt <= :knownAt
+           and not exists (
+               select 1
+               from PositionHistoryEntity n
+               where n.accountId = h.accountId
+                 and n.instrumentId = h.instrumentId
+                 and n.validFrom <= :validAt
+                 and n.recordedAt <= :knownAt
+                 and (n.validFrom > h.validFrom
+                      or (n.validFrom = h.validFrom and n.recordedAt > h.recordedAt))
+           )
+         order by h.instrumentId
+         """)
+    List<HistoricalPositionDto> findAsOf(@Param("accountId") UUID accountId,
+                                         @Param("validAt") OffsetDateTime validAt,
+                                         @Param("knownAt") OffsetDateTime knownAt);
+
+    /**
+     * Compacta el histórico anterior a {@code horizon}: de cada día (UTC) y posición
+     * se conserva solo la última versión, así el almacenamiento crece con los cambios
+     * de fin de día y no con los intradía.
+     */
+    @Modifying
+    @Query(value = """
+         delete from positions.position_history h
+         where h.valid_from < :horizon
+           and exists (
+               select 1
+               from positions.position_history n
+               where n.account_id = h.account_id
+                 and n.instrument_id = h.instrument_id
+                 and n.valid_from < :horizon
+                 and date_trunc('day', n.valid_from at time zone 'UTC') = date_trunc('day', h.valid_from at time zone 'UTC')
+                 and (n.valid_from > h.valid_from
+                      or (n.valid_from = h.valid_from and n.recorded_at > h.recorded_at))
+           )
+         """, nativeQuery = true)
+    int compactBefore(@Param("horizon") OffsetDateTime horizon);
+
+    /**
+     * Versión histórica de cada posición del instrumento tocada en {@code updatedAt}
+     * (mismo valor que se escribió en last_updated al ajustarlas).
+     */
+    @Modifying
+    @Query(value = """
+         insert into positions.position_history
+             (history_id, account_id, instrument_id, quantity, avg_cost, valid_from, recorded_at)
+         select gen_random_uuid(), p.account_id, p.instrument_id, p.quantity, p.avg_cost, :validFrom, :updatedAt
+         from positions.positions p
+         where p.instrument_id = :instrumentId
+           and p.last_updated = :updatedAt
+         """, nativeQuery = true)
+    int recordInstrumentVersions(@Param("instrumentId") UUID instrumentId,
+                                 @Param("validFrom") OffsetDateTime validFrom,
+                                 @Param("updatedAt") OffsetDateTime updatedAt);
+}
@@ -1,14 +1,111 @@
 package com.investment.positions.repository;
 
+import com.investment.positions.dto.PositionSummaryDto;
 import com.investment.positions.entity.PositionEntity;
+import com.investment.positions.util.Constants;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PositionRepository extends JpaRepository<PositionEntity, UUID> {
 
     Optional<PositionEntity> findByAccountIdAndInstrumentId(UUID accountId, UUID instrumentId);
-}
\ No newline at end of file
+
+    /** Instrumentos con alguna posición abierta: los que la valoración necesita tener con precio. */
+    @Query("""
+         select distinct p.instrumentId
+         from PositionEntity p
+         where p.quantity <> 0
+         """)
+    List<UUID> findHeldInstrumentIds();
+
+    /** Posiciones de una cuenta como proyección materializada (para el libro en memoria de valoración). */
+    @Query("""
+         select new com.investment.positions.dto.PositionSummaryDto(p.accountId, p.instrumentId, p.quantity, p.avgCost)
+         from PositionEntity p
+         where p.accountId = :accountId
+         """)
+    List<PositionSummaryDto> findSummariesByAccountId(@Param("accountId") UUID accountId);
+
+    /** Posiciones de una cuenta como proyección; cubierto por ix_positions_account_covering. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.STREAM_FETCH_SIZE))
+    @Query("""
+         select new com.investment.positions.dto.PositionSummaryDto(p.accountId, p.instrumentId, p.quantity, p.avgCost)
+         from PositionEntity p
+         where p.accountId = :accountId
+         order by p.instrumentId
+         """)
+    Stream<PositionSummaryDto> streamSummariesByAccountId(@Param("accountId") UUID accountId);
+
+    /** Variante multi-cuenta; ordenada por cuenta para que el cliente pueda agrupar en un solo pase. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = Constants.STREAM_FETCH_SIZE))
+    @Query("""
+         select new com.investment.positions.dto.PositionSummaryDto(p.accountId, p.instrumentId, p.quantity, p.avgCost)
+         from PositionEntity p
+         where p.accountId in :accountIds
+         order by p.accountId, p.instrumentId
+         """)
+    Stream<PositionSummaryDto> streamSummariesByAccountIdIn(@Param("accountIds") Collection<UUID> accountIds);
+
+    /**
+     * Split sobre posiciones con lotes: suma a la cantidad las acciones nuevas de los lotes abiertos
+     * antes del día ex y reparte el mismo coste total entre la cantidad nueva.
+     * Tiene que correr antes de {@link TaxLotRepository#applySplit}, que cambia los remanentes.
+     */
+    @Modifying
+    @Query(value = """
+         update positions.positions p
+         set quantity = p.quantity + d.extra,
+             avg_cost = case when p.avg_cost is null or p.quantity + d.extra = 0 then p.avg_cost
+                             else round(p.avg_cost * p.quantity / (p.quantity + d.extra), 6) end,
+             last_updated = :now
+         from (
+             select l.account_id, round(sum(l.remaining_quantity) * (:ratio - 1), 10) as extra
+             from positions.tax_lots l
+             where l.instrument_id = :instrumentId
+               and l.remaining_quantity > 0
+               and l.opened_at < :exStart
+             group by l.account_id
+         ) d
+         where p.instrument_id = :instrumentId
+           and p.account_id = d.account_id
+         """, nativeQuery = true)
+    int applySplitFromLots(@Param("instrumentId") UUID instrumentId,
+                           @Param("ratio") BigDecimal ratio,
+                           @Param("exStart") OffsetDateTime exStart,
+                           @Param("now") OffsetDateTime now);
+
+    /** Split sobre posiciones sin historial de lotes (cargadas por recálculo): se escala el agregado. */
+    @Modifying
+    @Query(value = """
+         update positions.positions p
+         set quantity = round(p.quantity * :ratio, 10),
+             avg_cost = round(p.avg_cost / :ratio, 6),
+             last_updated = :now
+         where p.instrument_id = :instrumentId
+           and p.quantity <> 0
+           and not exists (
+               select 1
+               from positions.tax_lots l
+               where l.account_id = p.account_id
+                 and l.instrument_id = p.instrument_id
+           )
+         """, nativeQuery = true)
+    int applySplitWithoutLots(@Param("instrumentId") UUID instrumentId,
+                              @Param("ratio") BigDecimal ratio,
+                              @Param("now") OffsetDateTime now);
+}
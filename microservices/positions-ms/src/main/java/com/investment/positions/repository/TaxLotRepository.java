@@ -0,0 +1,86 @@
+package com.investment.positions.repository;
+
+import com.investment.positions.entity.TaxLotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaxLotRepository extends JpaRepository<TaxLotEntity, UUID> {
+
+    @Query("""
+         select l
+         from TaxLotEntity l
+         where l.accountId = :accountId
+           and l.instrumentId = :instrumentId
+           and l.remainingQuantity > 0
+         order by l.lotSeq
+         """)
+    List<TaxLotEntity> findOpenLots(@Param("accountId") UUID accountId,
+                                    @Param("instrumentId") UUID instrumentId);
+
+    @Query("""
+         select coalesce(max(l.lotSeq), 0)
+         from TaxLotEntity l
+         where l.accountId = :accountId
+           and l.instrumentId = :instrumentId
+         """)
+    long maxLotSeq(@Param("accountId") UUID accountId, @Param("instrumentId") UUID instrumentId);
+
+    boolean existsByOpenTradeId(UUID openTradeId);
+
+    /**
+     * Descuenta lo consumido del remanente sin re-hidratar el lote y lo cierra si queda en cero. Es
+     * relativo a la fila actual, así no pisa un remanente ya ajustado por un split; devuelve 0 si el
+     * lote no tiene cantidad suficiente.
+     */
+    @Modifying
+    @Query("""
+         update TaxLotEntity l
+         set l.remainingQuantity = l.remainingQuantity - :consumed,
+             l.closedAt = case when l.remainingQuantity = :consumed then :closedAt else l.closedAt end
+         where l.lotId = :lotId and l.remainingQuantity >= :consumed
+         """)
+    int consumeRemaining(@Param("lotId") UUID lotId,
+                         @Param("consumed") BigDecimal consumed,
+                         @Param("closedAt") OffsetDateTime closedAt);
+
+    /** Cierra los lotes que quedan abiertos en la posición (p. ej. al borrarla); devuelve cuántos cerró. */
+    @Modifying
+    @Query("""
+         update TaxLotEntity l
+         set l.remainingQuantity = 0,
+             l.closedAt = :closedAt
+         where l.accountId = :accountId
+           and l.instrumentId = :instrumentId
+           and l.remainingQuantity > 0
+         """)
+    int closeOpenLots(@Param("accountId") UUID accountId,
+                      @Param("instrumentId") UUID instrumentId,
+                      @Param("closedAt") OffsetDateTime closedAt);
+
+    /**
+     * Split sobre los lotes abiertos antes del día ex: cantidades por ratio y coste unitario entre ratio,
+     * así el coste total y la fecha de apertura del lote se conservan. Los lotes cerrados no se tocan.
+     */
+    @Modifying
+    @Query(value = """
+         update positions.tax_lots l
+         set original_quantity = round(l.original_quantity * :ratio, 10),
+             remaining_quantity = round(l.remaining_quantity * :ratio, 10),
+             cost_per_unit = round(l.cost_per_unit / :ratio, 6)
+         where l.instrument_id = :instrumentId
+           and l.remaining_quantity > 0
+           and l.opened_at < :exStart
+         """, nativeQuery = true)
+    int applySplit(@Param("instrumentId") UUID instrumentId,
+                   @Param("ratio") BigDecimal ratio,
+                   @Param("exStart") OffsetDateTime exStart);
+}
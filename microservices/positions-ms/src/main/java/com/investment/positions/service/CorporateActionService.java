@@ -0,0 +1,14 @@
+package com.investment.positions.service;
+
+import com.investment.positions.dto.CorporateActionEventDto;
+
+/**
+ * Eventos corporativos: los splits y dividendos en acciones ajustan posiciones y lotes abiertos.
+ */
+public interface CorporateActionService {
+
+    /** Aplica el evento en un único pase por instrumento; false si no aplica o ya estaba aplicado. */
+    boolean apply(CorporateActionEventDto event);
+
+    void processCorporateAction(String message);
+}
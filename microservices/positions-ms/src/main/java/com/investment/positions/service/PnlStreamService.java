@@ -0,0 +1,19 @@
+package com.investment.positions.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Stream SSE de P&L por cuenta, con conflación por suscriptor y backpressure
+ * (como mucho un evento pendiente por suscriptor).
+ */
+public interface PnlStreamService {
+
+    SseEmitter subscribe(UUID accountId, Long intervalMs);
+
+    /** Recalcula las cuentas marcadas y despacha a los suscriptores que toque. */
+    void flush();
+
+    int subscriberCount();
+}
@@ -0,0 +1,24 @@
+package com.investment.positions.service;
+
+import com.investment.positions.dto.HistoricalPositionDto;
+import com.investment.positions.entity.PositionEntity;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Histórico bitemporal (valid-time + transaction-time) de posiciones.
+ */
+public interface PositionHistoryService {
+
+    /** Añade una versión si la cantidad o el coste cambiaron respecto a los valores previos. */
+    void record(PositionEntity position, BigDecimal previousQuantity, BigDecimal previousAvgCost,
+                OffsetDateTime validFrom);
+
+    /** Posiciones abiertas de la cuenta válidas en validAt según lo conocido en knownAt (null = ahora). */
+    List<HistoricalPositionDto> findAsOf(UUID accountId, OffsetDateTime validAt, OffsetDateTime knownAt);
+
+    int compact();
+}
@@ -2,10 +2,12 @@ package com.investment.positions.service;
 
 import com.investment.positions.dto.PositionResponseDto;
 
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.UUID;
 
 /** * Lectura y borrado de posiciones.
- * Mantener mínimo: read, read por (account,instrument) y delete.
+ * Mantener mínimo: read, read por (account,instrument), listados por cuenta y delete.
  */
 public interface PositionService {
 
@@ -13,5 +15,11 @@ public interface PositionService {
 
     PositionResponseDto findByAccountAndInstrument(UUID accountId, UUID instrumentId);
 
+    /** Escribe como array JSON las posiciones de una cuenta, fila a fila desde el cursor. */
+    void writeAccountPositions(UUID accountId, OutputStream out);
+
+    /** Igual que {@link #writeAccountPositions(UUID, OutputStream)} para varias cuentas. */
+    void writeAccountsPositions(Collection<UUID> accountIds, OutputStream out);
+
     void delete(UUID positionId);
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.investment.positions.service;
+
+import com.investment.positions.dto.RealizedLotResponseDto;
+import com.investment.positions.dto.TaxLotResponseDto;
+import com.investment.positions.dto.TradeExecutedDto;
+import com.investment.positions.util.LotMethodEnum;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lotes fiscales: cada compra abre un lote y cada venta consume lotes según el método de la cuenta.
+ */
+public interface TaxLotService {
+
+    /** Aplica un trade a los lotes y devuelve el P&L realizado (cero en compras). */
+    BigDecimal applyTrade(TradeExecutedDto trade);
+
+    /** Mensaje trade-executed de Kafka; si no se puede aplicar lanza para que el contenedor reintente o lo mande a la DLT. */
+    void processTradeExecuted(String message);
+
+    List<TaxLotResponseDto> findOpenLots(UUID accountId, UUID instrumentId);
+
+    Page<RealizedLotResponseDto> findRealized(UUID accountId, int page, int size);
+
+    LotMethodEnum getLotMethod(UUID accountId);
+
+    /** SPECIFIC_ID se rechaza mientras los trades no traigan los lotes a vender. */
+    LotMethodEnum setLotMethod(UUID accountId, LotMethodEnum method);
+}
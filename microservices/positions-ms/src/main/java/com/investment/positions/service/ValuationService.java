@@ -0,0 +1,24 @@
+package com.investment.positions.service;
+
+import com.investment.positions.dto.AccountValuationDto;
+import com.investment.positions.dto.PriceTickDto;
+
+import java.util.UUID;
+
+/**
+ * Valoración mark-to-market de posiciones contra el último precio en memoria.
+ */
+public interface ValuationService {
+
+    AccountValuationDto valueAccount(UUID accountId);
+
+    void onPriceTick(PriceTickDto tick);
+
+    void processPriceTick(String message);
+
+    /**
+     * Trae de accounts-ms el último precio de los instrumentos con posición abierta y lo carga en
+     * memoria como un tick más (uno más viejo que el vigente se descarta). Devuelve cuántos aplicó.
+     */
+    int refreshPrices();
+}
@@ -0,0 +1,109 @@
+package com.investment.positions.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.cache.TaxLotBookCache;
+import com.investment.positions.dto.CorporateActionEventDto;
+import com.investment.positions.entity.AppliedCorporateActionEntity;
+import com.investment.positions.repository.AppliedCorporateActionRepository;
+import com.investment.positions.repository.PositionHistoryRepository;
+import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.repository.TaxLotRepository;
+import com.investment.positions.service.CorporateActionService;
+import com.investment.positions.util.DateTimeUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CorporateActionServiceImpl implements CorporateActionService {
+
+    private final PositionRepository positionRepository;
+    private final TaxLotRepository lotRepository;
+    private final PositionHistoryRepository historyRepository;
+    private final AppliedCorporateActionRepository appliedRepository;
+    private final PositionBookCache positionBooks;
+    private final TaxLotBookCache lotBooks;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional
+    public boolean apply(CorporateActionEventDto event) {
+        validate(event);
+        if (!event.type().changesQuantity()) {
+            return false; // los dividendos en efectivo solo ajustan la serie de precios
+        }
+        if (appliedRepository.existsById(event.actionId())) {
+            log.info("Corporate action {} already applied, skipping", event.actionId());
+            return false;
+        }
+
+        // Se serializa con applyTrade antes de tocar nada: un trade a medias no ve remanentes sin
+        // split ni su libro en memoria sobrevive a la invalidación del instrumento
+        lotBooks.lockAllUntilCompletion();
+
+        // El día ex se toma en UTC: los lotes abiertos antes de esa medianoche reciben las acciones nuevas
+        OffsetDateTime exStart = event.exDate().atStartOfDay().atOffset(ZoneOffset.UTC);
+        // Misma precisión que timestamptz: el histórico identifica las filas tocadas por last_updated
+        OffsetDateTime now = DateTimeUtils.nowUtc().truncatedTo(ChronoUnit.MICROS);
+
+        // Orden obligatorio: las posiciones con lotes se calculan con los remanentes previos al split
+        int positions = positionRepository.applySplitFromLots(event.instrumentId(), event.ratio(), exStart, now)
+                + positionRepository.applySplitWithoutLots(event.instrumentId(), event.ratio(), now);
+        int lots = lotRepository.applySplit(event.instrumentId(), event.ratio(), exStart);
+        historyRepository.recordInstrumentVersions(event.instrumentId(), exStart, now);
+
+        appliedRepository.save(AppliedCorporateActionEntity.builder()
+                .actionId(event.actionId())
+                .instrumentId(event.instrumentId())
+                .type(event.type())
+                .exDate(event.exDate())
+                .ratio(event.ratio())
+                .positionsAdjusted(positions)
+                .lotsAdjusted(lots)
+                .appliedAt(now)
+                .build());
+
+        // Los libros en memoria se descartan al commit: el split toca cuentas que no se conocen de antemano
+        positionBooks.evictAll();
+        lotBooks.evictInstrument(event.instrumentId());
+        log.info("Applied {} {} x{} on {}: {} positions, {} lots adjusted",
+                event.type(), event.instrumentId(), event.ratio(), event.exDate(), positions, lots);
+        return true;
+    }
+
+    @Override
+    public void processCorporateAction(String message) {
+        try {
+            CorporateActionEventDto event = objectMapper.readValue(message, CorporateActionEventDto.class);
+            // Se pasa por TransactionTemplate porque la llamada interna no atraviesa el proxy @Transactional
+            transactionTemplate.execute(status -> apply(event));
+        } catch (Exception e) {
+            log.error("Failed to process corporate action message: {}", e.getMessage(), e);
+        }
+    }
+
+    // --- helpers ---
+
+    private static void validate(CorporateActionEventDto event) {
+        if (event == null || event.actionId() == null || event.instrumentId() == null
+                || event.type() == null || event.exDate() == null) {
+            throw new BadRequestException("Corporate action requires actionId, instrumentId, type and exDate");
+        }
+        if (event.type().changesQuantity()
+                && (event.ratio() == null || event.ratio().signum() <= 0 || event.ratio().compareTo(BigDecimal.ONE) == 0)) {
+            throw new BadRequestException("Corporate action ratio must be greater than 0 and different from 1");
+        }
+    }
+}
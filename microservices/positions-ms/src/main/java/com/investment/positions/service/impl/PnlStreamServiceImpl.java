@@ -0,0 +1,312 @@
+package com.investment.positions.service.impl;
+
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.configuration.PnlStreamProperties;
+import com.investment.positions.dto.AccountValuationDto;
+import com.investment.positions.dto.PnlDeltaDto;
+import com.investment.positions.dto.PositionValuationDto;
+import com.investment.positions.event.PositionsChangedEvent;
+import com.investment.positions.event.PriceUpdatedEvent;
+import com.investment.positions.service.PnlStreamService;
+import com.investment.positions.service.ValuationService;
+import com.investment.positions.util.DateTimeUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PnlStreamServiceImpl implements PnlStreamService {
+
+    private final ValuationService valuationService;
+    private final PositionBookCache positionBooks;
+    private final PnlStreamProperties properties;
+
+    /** Suscripciones agrupadas por cuenta: una sola valoración por cuenta y flush. */
+    private final ConcurrentHashMap<UUID, AccountSubscriptions> byAccount = new ConcurrentHashMap<>();
+    /** Índice inverso para saber qué cuentas suscritas tienen un instrumento que cambió de precio. */
+    private final ConcurrentHashMap<UUID, Set<UUID>> accountsByInstrument = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyAccounts = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> ready = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    // Un virtual thread por envío: un cliente lento solo bloquea su propio hilo
+    private final ExecutorService senders =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("pnl-send-", 0).factory());
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("pnl-flush").daemon().factory());
+        long period = properties.minInterval().toMillis();
+        flusher.scheduleAtFixedRate(this::safeFlush, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        senders.shutdownNow();
+        byAccount.values().forEach(subs -> subs.members.forEach(s -> s.emitter.complete()));
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID accountId, Long intervalMs) {
+        if (accountId == null) {
+            throw new BadRequestException("accountId cannot be null");
+        }
+        if (subscribers.incrementAndGet() > properties.maxSubscribers()) {
+            subscribers.decrementAndGet();
+            throw new BusinessException("Subscriber limit reached");
+        }
+
+        long minMillis = properties.minInterval().toMillis();
+        long interval = intervalMs == null ? properties.defaultInterval().toMillis() : Math.max(intervalMs, minMillis);
+        SseEmitter emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        Subscriber sub = new Subscriber(accountId, emitter, TimeUnit.MILLISECONDS.toNanos(interval));
+
+        emitter.onCompletion(() -> unsubscribe(sub));
+        emitter.onTimeout(() -> unsubscribe(sub));
+        emitter.onError(e -> unsubscribe(sub));
+
+        AccountSubscriptions subs = byAccount.compute(accountId, (id, current) -> {
+            AccountSubscriptions target = current != null ? current : new AccountSubscriptions();
+            target.members.add(sub);
+            return target;
+        });
+        try {
+            if (subs.instruments.isEmpty()) {
+                indexInstruments(accountId);
+            }
+        } catch (RuntimeException e) {
+            // Sin libro no hay stream: se deshace el alta (contador, cuenta e índice) antes de propagar
+            unsubscribe(sub);
+            throw e;
+        }
+
+        // Snapshot inicial: se despacha en el próximo flush sin esperar a un tick
+        dirtyAccounts.add(accountId);
+        return emitter;
+    }
+
+    @Override
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @EventListener
+    public void onPriceUpdated(PriceUpdatedEvent event) {
+        Set<UUID> accounts = accountsByInstrument.get(event.instrumentId());
+        if (accounts != null) {
+            dirtyAccounts.addAll(accounts);
+        }
+    }
+
+    @EventListener
+    public void onPositionsChanged(PositionsChangedEvent event) {
+        if (event.accountId() == null) {
+            byAccount.keySet().forEach(accountId -> {
+                indexInstruments(accountId);
+                dirtyAccounts.add(accountId);
+            });
+            return;
+        }
+        if (byAccount.containsKey(event.accountId())) {
+            indexInstruments(event.accountId());
+            dirtyAccounts.add(event.accountId());
+        }
+    }
+
+    @Override
+    public void flush() {
+        // 1) Una valoración por cuenta sucia; el resultado se comparte entre sus suscriptores
+        Iterator<UUID> it = dirtyAccounts.iterator();
+        while (it.hasNext()) {
+            UUID accountId = it.next();
+            it.remove();
+            AccountSubscriptions subs = byAccount.get(accountId);
+            if (subs == null || subs.members.isEmpty()) {
+                continue;
+            }
+            AccountValuationDto valuation = valuationService.valueAccount(accountId);
+            for (Subscriber sub : subs.members) {
+                sub.pending.set(valuation); // conflación: solo cuenta la última
+                ready.add(sub);
+            }
+        }
+
+        // 2) Despacho de los suscriptores cuyo intervalo venció y que no tienen un envío en curso
+        long now = System.nanoTime();
+        Iterator<Subscriber> readyIt = ready.iterator();
+        while (readyIt.hasNext()) {
+            Subscriber sub = readyIt.next();
+            if (now - sub.lastSentNanos < sub.intervalNanos) {
+                continue;
+            }
+            if (sub.sending.compareAndSet(false, true)) {
+                readyIt.remove();
+                senders.execute(() -> drain(sub));
+            }
+            // si hay un envío en curso (cliente lento) se queda en ready con el último valor pendiente
+        }
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("P&L stream flush failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        try {
+            AccountValuationDto valuation = sub.pending.getAndSet(null);
+            if (valuation != null) {
+                PnlDeltaDto delta = sub.delta(valuation);
+                if (delta != null) {
+                    sub.emitter.send(SseEmitter.event()
+                            .name("pnl")
+                            .id(Long.toString(delta.seq()))
+                            .data(delta, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Dropping P&L subscriber for account {}: {}", sub.accountId, e.getMessage());
+            sub.emitter.completeWithError(e);
+            unsubscribe(sub);
+        } finally {
+            sub.lastSentNanos = System.nanoTime();
+            sub.sending.set(false);
+            if (sub.pending.get() != null && !sub.closed.get()) {
+                ready.add(sub);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber sub) {
+        if (!sub.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.decrementAndGet();
+        ready.remove(sub);
+        byAccount.computeIfPresent(sub.accountId, (id, subs) -> {
+            subs.members.remove(sub);
+            if (subs.members.isEmpty()) {
+                subs.instruments.forEach(instrumentId -> unindex(instrumentId, id));
+                return null;
+            }
+            return subs;
+        });
+    }
+
+    /**
+     * Sincroniza el índice inverso con los instrumentos que la cuenta tiene hoy: agrega los nuevos y quita
+     * los que ya no tiene. El libro se lee fuera del compute; el diff se aplica dentro de computeIfPresent,
+     * serializado con unsubscribe, para no dejar entradas de una cuenta que ya se fue.
+     */
+    private void indexInstruments(UUID accountId) {
+        Set<UUID> held = new HashSet<>(Arrays.asList(positionBooks.get(accountId).instrumentIds()));
+        byAccount.computeIfPresent(accountId, (id, subs) -> {
+            for (UUID instrumentId : held) {
+                if (subs.instruments.add(instrumentId)) {
+                    accountsByInstrument.compute(instrumentId, (k, accounts) -> {
+                        Set<UUID> target = accounts != null ? accounts : ConcurrentHashMap.newKeySet();
+                        target.add(id);
+                        return target;
+                    });
+                }
+            }
+            subs.instruments.removeIf(instrumentId -> {
+                if (held.contains(instrumentId)) {
+                    return false;
+                }
+                unindex(instrumentId, id);
+                return true;
+            });
+            return subs;
+        });
+    }
+
+    private void unindex(UUID instrumentId, UUID accountId) {
+        accountsByInstrument.computeIfPresent(instrumentId, (k, accounts) -> {
+            accounts.remove(accountId);
+            return accounts.isEmpty() ? null : accounts;
+        });
+    }
+
+    private static final class AccountSubscriptions {
+        final Set<Subscriber> members = ConcurrentHashMap.newKeySet();
+        final Set<UUID> instruments = ConcurrentHashMap.newKeySet();
+    }
+
+    private static final class Subscriber {
+        final UUID accountId;
+        final SseEmitter emitter;
+        final long intervalNanos;
+        final AtomicReference<AccountValuationDto> pending = new AtomicReference<>();
+        final AtomicBoolean sending = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile long lastSentNanos;
+
+        // Solo se tocan desde drain(), serializado por el flag sending
+        private final Map<UUID, PositionValuationDto> lastSent = new HashMap<>();
+        private PnlDeltaDto lastTotals;
+        private long seq;
+
+        Subscriber(UUID accountId, SseEmitter emitter, long intervalNanos) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+            this.intervalNanos = intervalNanos;
+            this.lastSentNanos = System.nanoTime() - intervalNanos;
+        }
+
+        /** Diferencia contra lo último enviado; null si no hay nada nuevo que contar. */
+        PnlDeltaDto delta(AccountValuationDto v) {
+            boolean snapshot = seq == 0;
+            List<PositionValuationDto> changed = new ArrayList<>();
+            Set<UUID> current = new HashSet<>();
+            for (PositionValuationDto p : v.positions()) {
+                current.add(p.instrumentId());
+                if (!p.equals(lastSent.get(p.instrumentId()))) {
+                    changed.add(p);
+                    lastSent.put(p.instrumentId(), p);
+                }
+            }
+            List<UUID> removed = new ArrayList<>();
+            lastSent.keySet().removeIf(id -> {
+                if (current.contains(id)) {
+                    return false;
+                }
+                removed.add(id);
+                return true;
+            });
+
+            boolean sameTotals = lastTotals != null
+                    && Objects.equals(lastTotals.marketValue(), v.marketValue())
+                    && Objects.equals(lastTotals.unrealizedPnl(), v.unrealizedPnl());
+            if (!snapshot && changed.isEmpty() && removed.isEmpty() && sameTotals) {
+                return null;
+            }
+            lastTotals = new PnlDeltaDto(accountId, ++seq, snapshot,
+                    v.marketValue(), v.costBasis(), v.unrealizedPnl(), v.unrealizedPnlPct(),
+                    changed, removed, DateTimeUtils.nowUtc());
+            return lastTotals;
+        }
+    }
+}
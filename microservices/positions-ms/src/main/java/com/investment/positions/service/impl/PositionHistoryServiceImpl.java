@@ -0,0 +1,79 @@
+package com.investment.positions.service.impl;
+
+import com.investment.common.exception.BadRequestException;
+import com.investment.positions.configuration.PositionHistoryProperties;
+import com.investment.positions.dto.HistoricalPositionDto;
+import com.investment.positions.entity.PositionEntity;
+import com.investment.positions.entity.PositionHistoryEntity;
+import com.investment.positions.repository.PositionHistoryRepository;
+import com.investment.positions.service.PositionHistoryService;
+import com.investment.positions.util.DateTimeUtils;
+import com.investment.positions.util.NumberUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PositionHistoryServiceImpl implements PositionHistoryService {
+
+    private final PositionHistoryRepository repository;
+    private final PositionHistoryProperties properties;
+
+    @Override
+    @Transactional
+    public void record(PositionEntity position, BigDecimal previousQuantity, BigDecimal previousAvgCost,
+                       OffsetDateTime validFrom) {
+        // Solo se guardan cambios reales: el histórico crece con cambios, no con recálculos idénticos
+        if (sameValue(position.getQuantity(), previousQuantity) && sameValue(position.getAvgCost(), previousAvgCost)) {
+            return;
+        }
+        OffsetDateTime now = DateTimeUtils.nowUtc();
+        repository.save(PositionHistoryEntity.builder()
+                .accountId(position.getAccountId())
+                .instrumentId(position.getInstrumentId())
+                .quantity(position.getQuantity())
+                .avgCost(position.getAvgCost())
+                .validFrom(validFrom != null ? validFrom : now)
+                .recordedAt(now)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HistoricalPositionDto> findAsOf(UUID accountId, OffsetDateTime validAt, OffsetDateTime knownAt) {
+        if (accountId == null || validAt == null) {
+            throw new BadRequestException("accountId and validAt are required");
+        }
+        OffsetDateTime known = knownAt != null ? knownAt : DateTimeUtils.nowUtc();
+        return repository.findAsOf(accountId, validAt, known).stream()
+                .filter(p -> !NumberUtils.isNullOrZero(p.quantity())) // posición cerrada en esa fecha
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.position-history.compaction-cron:0 30 2 * * *}", zone = "UTC")
+    public int compact() {
+        OffsetDateTime horizon = DateTimeUtils.nowUtc().minus(properties.intradayRetention());
+        int removed = repository.compactBefore(horizon);
+        log.info("Position history compaction before {} removed {} intraday versions", horizon, removed);
+        return removed;
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return Objects.equals(a, b);
+        }
+        return a.compareTo(b) == 0;
+    }
+}
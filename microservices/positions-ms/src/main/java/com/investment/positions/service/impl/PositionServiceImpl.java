@@ -1,15 +1,32 @@
 package com.investment.positions.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
 import com.investment.common.exception.NotFoundException;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.cache.TaxLotBookCache;
 import com.investment.positions.dto.PositionResponseDto;
+import com.investment.positions.dto.PositionSummaryDto;
 import com.investment.positions.entity.PositionEntity;
 import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.repository.TaxLotRepository;
+import com.investment.positions.service.PositionHistoryService;
 import com.investment.positions.service.PositionService;
+import com.investment.positions.util.Constants;
+import com.investment.positions.util.DateTimeUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -17,6 +34,11 @@ import java.util.UUID;
 public class PositionServiceImpl implements PositionService {
 
     private final PositionRepository repository;
+    private final ObjectMapper objectMapper;
+    private final PositionBookCache positionBooks;
+    private final PositionHistoryService historyService;
+    private final TaxLotRepository lotRepository;
+    private final TaxLotBookCache lotBooks;
 
     @Override
     public PositionResponseDto findById(UUID positionId) {
@@ -33,13 +55,68 @@ public class PositionServiceImpl implements PositionService {
         return toResponse(entity);
     }
 
+    @Override
+    public void writeAccountPositions(UUID accountId, OutputStream out) {
+        if (accountId == null) {
+            throw new BadRequestException("accountId cannot be null");
+        }
+        try (Stream<PositionSummaryDto> rows = repository.streamSummariesByAccountId(accountId)) {
+            writeJsonArray(rows, out);
+        }
+    }
+
+    @Override
+    public void writeAccountsPositions(Collection<UUID> accountIds, OutputStream out) {
+        if (accountIds == null || accountIds.isEmpty()) {
+            throw new BadRequestException("accountIds cannot be empty");
+        }
+        // Dedup preservando orden para no inflar la lista IN
+        Collection<UUID> ids = new LinkedHashSet<>(accountIds);
+        if (ids.size() > Constants.MAX_ACCOUNTS_PER_QUERY) {
+            throw new BadRequestException("Too many accounts, max " + Constants.MAX_ACCOUNTS_PER_QUERY);
+        }
+        try (Stream<PositionSummaryDto> rows = repository.streamSummariesByAccountIdIn(ids)) {
+            writeJsonArray(rows, out);
+        }
+    }
+
     @Override
     @Transactional
     public void delete(UUID positionId) {
-        if (!repository.existsById(positionId)) {
-            throw new NotFoundException("Position not found: " + positionId);
-        }
+        PositionEntity entity = repository.findById(positionId)
+                .orElseThrow(() -> new NotFoundException("Position not found: " + positionId));
+        // Mismo lock que applyTrade: un trade en curso no consume lotes que se están cerrando
+        lotBooks.lockUntilCompletion(entity.getAccountId(), entity.getInstrumentId());
+        // Versión en cero en la misma transacción: sin ella findAsOf seguiría viendo la posición borrada
+        PositionEntity closed = PositionEntity.builder()
+                .accountId(entity.getAccountId())
+                .instrumentId(entity.getInstrumentId())
+                .quantity(BigDecimal.ZERO)
+                .avgCost(entity.getAvgCost())
+                .build();
+        historyService.record(closed, entity.getQuantity(), entity.getAvgCost(), null);
+        // Sin posición no quedan lotes abiertos: la próxima compra abre desde cero
+        lotRepository.closeOpenLots(entity.getAccountId(), entity.getInstrumentId(), DateTimeUtils.nowUtc());
         repository.deleteById(positionId);
+        lotBooks.evict(entity.getAccountId(), entity.getInstrumentId());
+        positionBooks.evict(entity.getAccountId());
+    }
+
+    // Las proyecciones no son entidades gestionadas: el contexto de persistencia no crece con el cursor
+    private void writeJsonArray(Stream<PositionSummaryDto> rows, OutputStream out) {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.writeStartArray();
+            rows.forEach(row -> {
+                try {
+                    gen.writeObject(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            gen.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     private PositionResponseDto toResponse(PositionEntity e) {
@@ -2,10 +2,12 @@ package com.investment.positions.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.investment.common.exception.BadRequestException;
+import com.investment.positions.cache.PositionBookCache;
 import com.investment.positions.dto.PositionRequestDto;
 import com.investment.positions.dto.PositionResponseDto;
 import com.investment.positions.entity.PositionEntity;
 import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.service.PositionHistoryService;
 import com.investment.positions.service.RecalculationService;
 import com.investment.positions.util.DateTimeUtils;
 import com.investment.positions.util.NumberUtils;
@@ -26,6 +28,8 @@ public class RecalculationServiceImpl implements RecalculationService {
 
     private final PositionRepository repository;
     private final ObjectMapper objectMapper;
+    private final PositionBookCache positionBooks;
+    private final PositionHistoryService historyService;
 
     @Override
     @Transactional
@@ -50,11 +54,15 @@ public class RecalculationServiceImpl implements RecalculationService {
                         .instrumentId(request.instrumentId())
                         .build());
 
+        BigDecimal previousQty = entity.getQuantity();
+        BigDecimal previousAvgCost = entity.getAvgCost();
         entity.setQuantity(qty);
         entity.setAvgCost(avgCost);
         entity.setLastUpdated(DateTimeUtils.nowUtc()); // uso de DateTimeUtils
 
         PositionEntity saved = repository.save(entity);
+        positionBooks.evict(saved.getAccountId());
+        historyService.record(saved, previousQty, previousAvgCost, request.validFrom());
         return new PositionResponseDto(
                 saved.getPositionId(),
                 saved.getAccountId(),
@@ -0,0 +1,276 @@
+package com.investment.positions.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.positions.cache.TaxLotBook;
+import com.investment.positions.cache.TaxLotBookCache;
+import com.investment.positions.dto.PositionRequestDto;
+import com.investment.positions.dto.RealizedLotResponseDto;
+import com.investment.positions.dto.TaxLotResponseDto;
+import com.investment.positions.dto.TradeExecutedDto;
+import com.investment.positions.entity.AccountLotMethodEntity;
+import com.investment.positions.entity.LotRealizationEntity;
+import com.investment.positions.entity.PositionEntity;
+import com.investment.positions.entity.TaxLotEntity;
+import com.investment.positions.repository.AccountLotMethodRepository;
+import com.investment.positions.repository.LotRealizationRepository;
+import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.repository.TaxLotRepository;
+import com.investment.positions.service.RecalculationService;
+import com.investment.positions.service.TaxLotService;
+import com.investment.positions.util.DateTimeUtils;
+import com.investment.positions.util.LotMethodEnum;
+import com.investment.positions.util.NumberUtils;
+import com.investment.positions.util.SideEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaxLotServiceImpl implements TaxLotService {
+
+    private static final int QTY_SCALE = 10;  // quantity numeric(28,10)
+    private static final int COST_SCALE = 6;  // cost/pnl numeric(18,6)
+
+    private final TaxLotRepository lotRepository;
+    private final LotRealizationRepository realizationRepository;
+    private final AccountLotMethodRepository lotMethodRepository;
+    private final PositionRepository positionRepository;
+    private final TaxLotBookCache lotBooks;
+    private final RecalculationService recalculationService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional
+    public BigDecimal applyTrade(TradeExecutedDto trade) {
+        validate(trade);
+        if (alreadyApplied(trade)) {
+            log.info("Trade {} already applied to tax lots, skipping", trade.id());
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal qty = NumberUtils.scale(trade.quantity(), QTY_SCALE);
+        OffsetDateTime executedAt = trade.executedAt() != null ? trade.executedAt() : DateTimeUtils.nowUtc();
+        BigDecimal charges = nvl(trade.fees()).add(nvl(trade.taxes()));
+        BigDecimal gross = qty.multiply(trade.price());
+
+        // La posición queda bloqueada hasta el commit: nadie ve el libro con cambios sin confirmar
+        TaxLotBook book = lotBooks.lockUntilCompletion(trade.accountId(), trade.instrumentId());
+        if (book.openLots().isEmpty()) {
+            seedOpeningLot(book, trade.accountId(), trade.instrumentId());
+        }
+        BigDecimal realized = trade.side() == SideEnum.BUY
+                ? openLot(book, trade, qty, executedAt, gross.add(charges))
+                : closeLots(book, trade, qty, executedAt, gross.subtract(charges));
+
+        // El agregado de la posición pasa a ser el resumen de los lotes abiertos
+        recalculationService.recalculate(new PositionRequestDto(
+                trade.accountId(), trade.instrumentId(),
+                book.openQuantity(), book.averageCost(COST_SCALE), executedAt));
+        return realized;
+    }
+
+    @Override
+    public void processTradeExecuted(String message) {
+        TradeExecutedDto trade;
+        try {
+            trade = objectMapper.readValue(message, TradeExecutedDto.class);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Invalid trade executed message: " + e.getOriginalMessage());
+        }
+        // Se pasa por TransactionTemplate porque la llamada interna no atraviesa el proxy @Transactional.
+        // Si falla la excepción sube: el contenedor reintenta o manda el trade a la DLT, no se pierde
+        transactionTemplate.execute(status -> applyTrade(trade));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaxLotResponseDto> findOpenLots(UUID accountId, UUID instrumentId) {
+        if (accountId == null || instrumentId == null) {
+            throw new BadRequestException("accountId and instrumentId are required");
+        }
+        TaxLotBook book = lotBooks.lockUntilCompletion(accountId, instrumentId);
+        List<TaxLotResponseDto> result = new ArrayList<>();
+        for (TaxLotBook.OpenLot lot : book.openLots()) {
+            result.add(new TaxLotResponseDto(lot.lotId(), lot.seq(), lot.remaining(),
+                    lot.costPerUnit(), lot.openedAt()));
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<RealizedLotResponseDto> findRealized(UUID accountId, int page, int size) {
+        if (size <= 0) {
+            throw new BadRequestException("size must be greater than 0");
+        }
+        return realizationRepository
+                .findAllByAccountId(accountId, PageRequest.of(page, size, Sort.by("realizedAt").descending()))
+                .map(this::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LotMethodEnum getLotMethod(UUID accountId) {
+        return lotMethodRepository.findById(accountId)
+                .map(AccountLotMethodEntity::getLotMethod)
+                .orElse(LotMethodEnum.FIFO);
+    }
+
+    @Override
+    @Transactional
+    public LotMethodEnum setLotMethod(UUID accountId, LotMethodEnum method) {
+        if (accountId == null || method == null) {
+            throw new BadRequestException("accountId and method are required");
+        }
+        // Ni orders-ms ni ningún endpoint mandan todavía los lotes a vender: cada venta fallaría
+        if (method == LotMethodEnum.SPECIFIC_ID) {
+            throw new BusinessException("SPECIFIC_ID is not available until trades carry the lot ids to sell");
+        }
+        AccountLotMethodEntity entity = lotMethodRepository.findById(accountId)
+                .orElseGet(() -> AccountLotMethodEntity.builder().accountId(accountId).build());
+        entity.setLotMethod(method);
+        return lotMethodRepository.save(entity).getLotMethod();
+    }
+
+    // --- helpers ---
+
+    /**
+     * Posiciones anteriores a los lotes fiscales: la primera vez que se tocan se abre un lote de
+     * apertura con el agregado actual, así ni la compra pisa la cantidad previa ni la venta falla.
+     */
+    private void seedOpeningLot(TaxLotBook book, UUID accountId, UUID instrumentId) {
+        PositionEntity position = positionRepository.findByAccountIdAndInstrumentId(accountId, instrumentId)
+                .orElse(null);
+        if (position == null || position.getQuantity().signum() <= 0) {
+            return;
+        }
+        BigDecimal qty = NumberUtils.scale(position.getQuantity(), QTY_SCALE);
+        BigDecimal costPerUnit = position.getAvgCost() != null ? position.getAvgCost() : BigDecimal.ZERO;
+        long seq = book.nextSeq();
+        TaxLotEntity saved = lotRepository.save(TaxLotEntity.builder()
+                .accountId(accountId)
+                .instrumentId(instrumentId)
+                // Id determinista: no hay trade de apertura y uk_tax_lots_open_trade impide sembrar dos veces
+                .openTradeId(UUID.nameUUIDFromBytes(("opening-lot:" + accountId + ":" + instrumentId)
+                        .getBytes(StandardCharsets.UTF_8)))
+                .lotSeq(seq)
+                .openedAt(position.getLastUpdated())
+                .originalQuantity(qty)
+                .remainingQuantity(qty)
+                .costPerUnit(costPerUnit)
+                .build());
+        book.open(saved.getLotId(), seq, qty, costPerUnit, position.getLastUpdated());
+        log.info("Seeded opening tax lot of {} for pre-existing position {}/{}", qty, accountId, instrumentId);
+    }
+
+    private BigDecimal openLot(TaxLotBook book, TradeExecutedDto trade, BigDecimal qty,
+                               OffsetDateTime executedAt, BigDecimal totalCost) {
+        // Comisiones e impuestos de la compra se capitalizan en el coste del lote
+        BigDecimal costPerUnit = totalCost.divide(qty, COST_SCALE, RoundingMode.HALF_UP);
+        long seq = book.nextSeq();
+        TaxLotEntity saved = lotRepository.save(TaxLotEntity.builder()
+                .accountId(trade.accountId())
+                .instrumentId(trade.instrumentId())
+                .openTradeId(trade.id())
+                .lotSeq(seq)
+                .openedAt(executedAt)
+                .originalQuantity(qty)
+                .remainingQuantity(qty)
+                .costPerUnit(costPerUnit)
+                .build());
+        book.open(saved.getLotId(), seq, qty, costPerUnit, executedAt);
+        return BigDecimal.ZERO;
+    }
+
+    private BigDecimal closeLots(TaxLotBook book, TradeExecutedDto trade, BigDecimal qty,
+                                 OffsetDateTime executedAt, BigDecimal netProceeds) {
+        BigDecimal proceedsPerUnit = netProceeds.divide(qty, COST_SCALE, RoundingMode.HALF_UP);
+        LotMethodEnum method = getLotMethod(trade.accountId());
+
+        // O(lotes consumidos): un UPDATE de remanente y una realización por lote tocado
+        List<LotRealizationEntity> realizations = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (TaxLotBook.Consumption c : book.consume(qty, method, trade.lotIds())) {
+            // Se descuenta lo consumido en vez de escribir el remanente absoluto del libro
+            int updated = lotRepository.consumeRemaining(c.lot().lotId(), c.quantity(), executedAt);
+            if (updated != 1) {
+                throw new IllegalStateException("Tax lot " + c.lot().lotId() + " changed concurrently");
+            }
+
+            BigDecimal pnl = NumberUtils.scale(
+                    c.quantity().multiply(proceedsPerUnit.subtract(c.lot().costPerUnit())), COST_SCALE);
+            total = total.add(pnl);
+            realizations.add(LotRealizationEntity.builder()
+                    .lotId(c.lot().lotId())
+                    .accountId(trade.accountId())
+                    .instrumentId(trade.instrumentId())
+                    .closeTradeId(trade.id())
+                    .quantity(c.quantity())
+                    .costPerUnit(c.lot().costPerUnit())
+                    .proceedsPerUnit(proceedsPerUnit)
+                    .realizedPnl(pnl)
+                    .openedAt(c.lot().openedAt())
+                    .realizedAt(executedAt)
+                    .build());
+        }
+        realizationRepository.saveAll(realizations);
+        return total;
+    }
+
+    private boolean alreadyApplied(TradeExecutedDto trade) {
+        return trade.side() == SideEnum.BUY
+                ? lotRepository.existsByOpenTradeId(trade.id())
+                : realizationRepository.existsByCloseTradeId(trade.id());
+    }
+
+    private void validate(TradeExecutedDto trade) {
+        if (trade == null || trade.id() == null || trade.accountId() == null
+                || trade.instrumentId() == null || trade.side() == null) {
+            throw new BadRequestException("Trade requires id, accountId, instrumentId and side");
+        }
+        if (trade.quantity() == null || trade.quantity().signum() <= 0) {
+            throw new BadRequestException("Trade quantity must be greater than 0");
+        }
+        if (trade.price() == null || trade.price().signum() <= 0) {
+            throw new BadRequestException("Trade price must be greater than 0");
+        }
+    }
+
+    private RealizedLotResponseDto toResponse(LotRealizationEntity e) {
+        return new RealizedLotResponseDto(
+                e.getRealizationId(),
+                e.getLotId(),
+                e.getInstrumentId(),
+                e.getCloseTradeId(),
+                e.getQuantity(),
+                e.getCostPerUnit(),
+                e.getProceedsPerUnit(),
+                e.getRealizedPnl(),
+                e.getOpenedAt(),
+                e.getRealizedAt()
+        );
+    }
+
+    private static BigDecimal nvl(BigDecimal v) {
+        return v == null ? BigDecimal.ZERO : v;
+    }
+}
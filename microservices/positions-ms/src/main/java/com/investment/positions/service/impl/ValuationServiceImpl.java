@@ -0,0 +1,167 @@
+package com.investment.positions.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
+import com.investment.positions.cache.LastPriceCache;
+import com.investment.positions.cache.PositionBook;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.client.RefDataClient;
+import com.investment.positions.client.RefDataClient.LastPrice;
+import com.investment.positions.configuration.ValuationProperties;
+import com.investment.positions.dto.AccountValuationDto;
+import com.investment.positions.dto.PositionValuationDto;
+import com.investment.positions.dto.PriceTickDto;
+import com.investment.positions.event.PriceUpdatedEvent;
+import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.service.ValuationService;
+import com.investment.positions.util.DateTimeUtils;
+import com.investment.positions.util.NumberUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ValuationServiceImpl implements ValuationService {
+
+    private static final int QTY_SCALE = 10;   // quantity numeric(28,10)
+    private static final int PRICE_SCALE = 6;  // avg_cost numeric(18,6)
+    private static final int AMOUNT_SCALE = 2;
+    private static final int PCT_SCALE = 4;
+
+    private final PositionBookCache positionBooks;
+    private final LastPriceCache lastPrices;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher events;
+    private final PositionRepository positionRepository;
+    private final RefDataClient refDataClient;
+    private final ValuationProperties properties;
+
+    @Override
+    public AccountValuationDto valueAccount(UUID accountId) {
+        if (accountId == null) {
+            throw new BadRequestException("accountId cannot be null");
+        }
+        PositionBook book = positionBooks.get(accountId);
+        int n = book.size();
+        double[] qty = book.quantities();
+        double[] cost = book.avgCosts();
+        double[] px = new double[n];
+        lastPrices.fill(book.instrumentIds(), px);
+
+        // Un único pase sobre arrays primitivos; los NaN (sin precio) no suman a los totales
+        double[] mv = new double[n];
+        double[] pnl = new double[n];
+        double totalMv = 0d;
+        double totalCost = 0d;
+        int priced = 0;
+        for (int i = 0; i < n; i++) {
+            double basis = qty[i] * cost[i];
+            mv[i] = qty[i] * px[i];
+            pnl[i] = mv[i] - basis;
+            if (!Double.isNaN(px[i])) {
+                totalMv += mv[i];
+                totalCost += basis;
+                priced++;
+            }
+        }
+
+        List<PositionValuationDto> positions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            boolean hasPrice = !Double.isNaN(px[i]);
+            positions.add(new PositionValuationDto(
+                    book.instrumentIds()[i],
+                    decimal(qty[i], QTY_SCALE),
+                    cost[i] == 0d ? null : decimal(cost[i], PRICE_SCALE),
+                    hasPrice ? decimal(px[i], PRICE_SCALE) : null,
+                    hasPrice ? decimal(mv[i], AMOUNT_SCALE) : null,
+                    hasPrice ? decimal(pnl[i], AMOUNT_SCALE) : null,
+                    hasPrice ? pct(pnl[i], qty[i] * cost[i]) : null
+            ));
+        }
+
+        double totalPnl = totalMv - totalCost;
+        return new AccountValuationDto(
+                accountId,
+                decimal(totalMv, AMOUNT_SCALE),
+                decimal(totalCost, AMOUNT_SCALE),
+                decimal(totalPnl, AMOUNT_SCALE),
+                pct(totalPnl, totalCost),
+                priced,
+                n - priced,
+                positions
+        );
+    }
+
+    @Override
+    public void onPriceTick(PriceTickDto tick) {
+        if (tick == null || tick.instrumentId() == null || tick.price() == null) {
+            throw new BadRequestException("Price tick requires instrumentId and price");
+        }
+        long ts = (tick.ts() != null ? tick.ts() : DateTimeUtils.nowUtc()).toInstant().toEpochMilli();
+        if (lastPrices.update(tick.instrumentId(), tick.price().doubleValue(), ts)) {
+            events.publishEvent(new PriceUpdatedEvent(tick.instrumentId()));
+        }
+    }
+
+    @Override
+    public void processPriceTick(String message) {
+        try {
+            onPriceTick(objectMapper.readValue(message, PriceTickDto.class));
+        } catch (Exception e) {
+            log.error("Failed to process price tick: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.valuation.price-refresh-cron:0 */5 * * * *}", zone = "UTC")
+    public int refreshPrices() {
+        List<UUID> instrumentIds = positionRepository.findHeldInstrumentIds();
+        int batch = properties.priceBatchSize();
+        int applied = 0;
+        for (int from = 0; from < instrumentIds.size(); from += batch) {
+            List<UUID> slice = instrumentIds.subList(from, Math.min(from + batch, instrumentIds.size()));
+            for (LastPrice p : refDataClient.lastPrices(slice)) {
+                if (p.instrumentId() == null || p.close() == null) {
+                    continue;
+                }
+                long ts = (p.ts() != null ? p.ts() : DateTimeUtils.nowUtc()).toInstant().toEpochMilli();
+                if (lastPrices.update(p.instrumentId(), p.close().doubleValue(), ts)) {
+                    events.publishEvent(new PriceUpdatedEvent(p.instrumentId()));
+                    applied++;
+                }
+            }
+        }
+        log.info("Refreshed {} last prices for {} held instruments", applied, instrumentIds.size());
+        return applied;
+    }
+
+    // Sin semilla la valoración queda en NaN hasta el primer tick de cada instrumento; si accounts-ms
+    // no responde al arrancar, el refresco programado vuelve a intentarlo
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedPrices() {
+        try {
+            refreshPrices();
+        } catch (Exception e) {
+            log.warn("Could not seed last prices at startup: {}", e.getMessage());
+        }
+    }
+
+    private static BigDecimal pct(double pnl, double basis) {
+        return basis == 0d ? null : decimal(pnl / basis * 100d, PCT_SCALE);
+    }
+
+    private static BigDecimal decimal(double value, int scale) {
+        return NumberUtils.scale(BigDecimal.valueOf(value), scale);
+    }
+}
@@ -1,4 +1,14 @@
 package com.investment.positions.util;
 
-public class Constants {
+public final class Constants {
+
+    private Constants() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /** Fetch size JDBC para consultas que se recorren como Stream (cursor de servidor). */
+    public static final String STREAM_FETCH_SIZE = "500";
+
+    /** Máximo de cuentas aceptadas en una consulta multi-cuenta. */
+    public static final int MAX_ACCOUNTS_PER_QUERY = 500;
 }
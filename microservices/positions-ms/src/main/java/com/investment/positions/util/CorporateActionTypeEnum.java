@@ -0,0 +1,11 @@
+package com.investment.positions.util;
+
+/** Tipos de evento corporativo publicados por accounts-ms (mismos nombres que allí). */
+public enum CorporateActionTypeEnum {
+    SPLIT, REVERSE_SPLIT, CASH_DIVIDEND, STOCK_DIVIDEND;
+
+    /** Solo los que cambian la cantidad de acciones afectan a posiciones y lotes. */
+    public boolean changesQuantity() {
+        return this != CASH_DIVIDEND;
+    }
+}
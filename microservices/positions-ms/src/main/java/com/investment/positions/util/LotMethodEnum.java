@@ -0,0 +1,6 @@
+package com.investment.positions.util;
+
+/** Criterio con el que una venta consume lotes abiertos. */
+public enum LotMethodEnum {
+    FIFO, LIFO, SPECIFIC_ID
+}
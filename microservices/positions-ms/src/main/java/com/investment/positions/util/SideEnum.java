@@ -0,0 +1,5 @@
+package com.investment.positions.util;
+
+public enum SideEnum {
+    BUY, SELL
+}
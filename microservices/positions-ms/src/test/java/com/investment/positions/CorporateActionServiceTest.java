@@ -0,0 +1,137 @@
+package com.investment.positions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.cache.TaxLotBookCache;
+import com.investment.positions.dto.CorporateActionEventDto;
+import com.investment.positions.entity.AppliedCorporateActionEntity;
+import com.investment.positions.repository.AppliedCorporateActionRepository;
+import com.investment.positions.repository.PositionHistoryRepository;
+import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.repository.TaxLotRepository;
+import com.investment.positions.service.impl.CorporateActionServiceImpl;
+import com.investment.positions.util.CorporateActionTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad para CorporateActionServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class CorporateActionServiceTest {
+
+    @Mock
+    private PositionRepository positionRepository;
+
+    @Mock
+    private TaxLotRepository lotRepository;
+
+    @Mock
+    private PositionHistoryRepository historyRepository;
+
+    @Mock
+    private AppliedCorporateActionRepository appliedRepository;
+
+    @Mock
+    private PositionBookCache positionBooks;
+
+    @Mock
+    private TaxLotBookCache lotBooks;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private CorporateActionServiceImpl service;
+
+    private UUID instrumentId;
+    private LocalDate exDate;
+
+    @BeforeEach
+    void setUp() {
+        instrumentId = UUID.randomUUID();
+        exDate = LocalDate.of(2026, 6, 15);
+    }
+
+    private CorporateActionEventDto event(CorporateActionTypeEnum type, String ratio) {
+        return new CorporateActionEventDto(UUID.randomUUID(), instrumentId, type, exDate,
+                ratio == null ? null : new BigDecimal(ratio));
+    }
+
+    @Test
+    void split_ajustaPosicionesAntesQueLotesYRegistraElEvento() {
+        CorporateActionEventDto split = event(CorporateActionTypeEnum.SPLIT, "2");
+        OffsetDateTime exStart = exDate.atStartOfDay().atOffset(ZoneOffset.UTC);
+        when(positionRepository.applySplitFromLots(eq(instrumentId), eq(split.ratio()), eq(exStart), any()))
+                .thenReturn(3);
+        when(positionRepository.applySplitWithoutLots(eq(instrumentId), eq(split.ratio()), any())).thenReturn(1);
+        when(lotRepository.applySplit(instrumentId, split.ratio(), exStart)).thenReturn(7);
+
+        assertThat(service.apply(split)).isTrue();
+
+        // Las posiciones se calculan con los remanentes previos al split, con todas las posiciones bloqueadas
+        InOrder order = inOrder(lotBooks, positionRepository, lotRepository, historyRepository);
+        order.verify(lotBooks).lockAllUntilCompletion();
+        order.verify(positionRepository).applySplitFromLots(eq(instrumentId), eq(split.ratio()), eq(exStart), any());
+        order.verify(lotRepository).applySplit(instrumentId, split.ratio(), exStart);
+        order.verify(historyRepository).recordInstrumentVersions(eq(instrumentId), eq(exStart), any());
+
+        ArgumentCaptor<AppliedCorporateActionEntity> captor = ArgumentCaptor.forClass(AppliedCorporateActionEntity.class);
+        verify(appliedRepository).save(captor.capture());
+        assertThat(captor.getValue().getActionId()).isEqualTo(split.actionId());
+        assertThat(captor.getValue().getPositionsAdjusted()).isEqualTo(4);
+        assertThat(captor.getValue().getLotsAdjusted()).isEqualTo(7);
+        verify(positionBooks).evictAll();
+        verify(lotBooks).evictInstrument(instrumentId);
+    }
+
+    @Test
+    void eventoRepetido_seIgnora() {
+        CorporateActionEventDto split = event(CorporateActionTypeEnum.REVERSE_SPLIT, "0.1");
+        when(appliedRepository.existsById(split.actionId())).thenReturn(true);
+
+        assertThat(service.apply(split)).isFalse();
+
+        verifyNoInteractions(positionRepository, lotRepository, historyRepository, positionBooks, lotBooks);
+        verify(appliedRepository, never()).save(any());
+    }
+
+    @Test
+    void dividendoEnEfectivo_noTocaPosiciones() {
+        assertThat(service.apply(event(CorporateActionTypeEnum.CASH_DIVIDEND, null))).isFalse();
+
+        verifyNoInteractions(positionRepository, lotRepository, appliedRepository);
+    }
+
+    @Test
+    void ratioInvalido_lanzaBadRequest() {
+        assertThatThrownBy(() -> service.apply(event(CorporateActionTypeEnum.SPLIT, "1")))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> service.apply(event(CorporateActionTypeEnum.STOCK_DIVIDEND, "0")))
+                .isInstanceOf(BadRequestException.class);
+
+        verifyNoInteractions(positionRepository, lotRepository);
+    }
+}
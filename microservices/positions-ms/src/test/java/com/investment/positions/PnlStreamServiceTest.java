@@ -0,0 +1,162 @@
+package com.investment.positions;
+
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.positions.cache.PositionBook;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.configuration.PnlStreamProperties;
+import com.investment.positions.dto.AccountValuationDto;
+import com.investment.positions.dto.PositionSummaryDto;
+import com.investment.positions.event.PositionsChangedEvent;
+import com.investment.positions.event.PriceUpdatedEvent;
+import com.investment.positions.service.ValuationService;
+import com.investment.positions.service.impl.PnlStreamServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad para PnlStreamServiceImpl (conflación y enrutado de eventos).
+ */
+@ExtendWith(MockitoExtension.class)
+class PnlStreamServiceTest {
+
+    @Mock
+    private ValuationService valuationService;
+
+    @Mock
+    private PositionBookCache positionBooks;
+
+    private PnlStreamServiceImpl service;
+
+    private UUID accountId;
+    private UUID instrumentId;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        instrumentId = UUID.randomUUID();
+        PnlStreamProperties props = new PnlStreamProperties(
+                Duration.ofMillis(10), Duration.ofMillis(10), Duration.ofMinutes(1), 2);
+        service = new PnlStreamServiceImpl(valuationService, positionBooks, props);
+
+        lenient().when(positionBooks.get(accountId)).thenReturn(PositionBook.of(accountId, List.of(
+                new PositionSummaryDto(accountId, instrumentId, BigDecimal.TEN, BigDecimal.ONE))));
+        lenient().when(valuationService.valueAccount(accountId)).thenReturn(new AccountValuationDto(
+                accountId, BigDecimal.TEN, BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.ZERO, 1, 0, List.of()));
+    }
+
+    @Nested
+    @DisplayName("subscribe()")
+    class SubscribeTests {
+
+        @Test
+        void primerFlush_valoraLaCuentaUnaSolaVezParaVariosSuscriptores() {
+            service.subscribe(accountId, null);
+            service.subscribe(accountId, null);
+
+            service.flush();
+
+            verify(valuationService, times(1)).valueAccount(accountId);
+            assertThat(service.subscriberCount()).isEqualTo(2);
+        }
+
+        @Test
+        void lanzaBusiness_siSeSuperaElMaximoDeSuscriptores() {
+            service.subscribe(accountId, null);
+            service.subscribe(accountId, null);
+
+            assertThatThrownBy(() -> service.subscribe(accountId, null))
+                    .isInstanceOf(BusinessException.class);
+            assertThat(service.subscriberCount()).isEqualTo(2);
+        }
+
+        @Test
+        void siFallaLaCargaDelLibro_noQuedaElSuscriptorContado() {
+            when(positionBooks.get(accountId)).thenThrow(new IllegalStateException("db down"))
+                    .thenReturn(PositionBook.of(accountId, List.of(
+                            new PositionSummaryDto(accountId, instrumentId, BigDecimal.TEN, BigDecimal.ONE))));
+
+            assertThatThrownBy(() -> service.subscribe(accountId, null))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(service.subscriberCount()).isZero();
+
+            service.subscribe(accountId, null);
+            service.subscribe(accountId, null);
+            assertThat(service.subscriberCount()).isEqualTo(2);
+        }
+
+        @Test
+        void lanzaBadRequest_siAccountIdEsNull() {
+            assertThatThrownBy(() -> service.subscribe(null, null))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("eventos")
+    class EventTests {
+
+        @Test
+        void variosTicksEntreFlushes_seConflanEnUnaValoracion() {
+            service.subscribe(accountId, null);
+            service.flush();
+
+            service.onPriceUpdated(new PriceUpdatedEvent(instrumentId));
+            service.onPriceUpdated(new PriceUpdatedEvent(instrumentId));
+            service.onPriceUpdated(new PriceUpdatedEvent(instrumentId));
+            service.flush();
+
+            verify(valuationService, times(2)).valueAccount(accountId);
+        }
+
+        @Test
+        void tickDeInstrumentoNoSeguido_noRevalora() {
+            service.subscribe(accountId, null);
+            service.flush();
+
+            service.onPriceUpdated(new PriceUpdatedEvent(UUID.randomUUID()));
+            service.flush();
+
+            verify(valuationService, times(1)).valueAccount(accountId);
+        }
+
+        @Test
+        void cambioDePosiciones_revaloraLaCuenta() {
+            service.subscribe(accountId, null);
+            service.flush();
+
+            service.onPositionsChanged(new PositionsChangedEvent(accountId));
+            service.flush();
+
+            verify(valuationService, times(2)).valueAccount(accountId);
+        }
+
+        @Test
+        void instrumentoQueLaCuentaYaNoTiene_dejaDeRevalorar() {
+            service.subscribe(accountId, null);
+            service.flush();
+
+            when(positionBooks.get(accountId)).thenReturn(PositionBook.of(accountId, List.of()));
+            service.onPositionsChanged(new PositionsChangedEvent(accountId));
+            service.flush();
+
+            service.onPriceUpdated(new PriceUpdatedEvent(instrumentId));
+            service.flush();
+
+            verify(valuationService, times(2)).valueAccount(accountId);
+        }
+    }
+}
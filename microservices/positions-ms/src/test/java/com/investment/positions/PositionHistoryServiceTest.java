@@ -0,0 +1,107 @@
+package com.investment.positions;
+
+import com.investment.common.exception.BadRequestException;
+import com.investment.positions.configuration.PositionHistoryProperties;
+import com.investment.positions.dto.HistoricalPositionDto;
+import com.investment.positions.entity.PositionEntity;
+import com.investment.positions.entity.PositionHistoryEntity;
+import com.investment.positions.repository.PositionHistoryRepository;
+import com.investment.positions.service.impl.PositionHistoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad para PositionHistoryServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class PositionHistoryServiceTest {
+
+    @Mock
+    private PositionHistoryRepository repository;
+
+    private PositionHistoryServiceImpl service;
+
+    private UUID accountId;
+    private UUID instrumentId;
+    private PositionEntity position;
+
+    @BeforeEach
+    void setUp() {
+        service = new PositionHistoryServiceImpl(repository, new PositionHistoryProperties(Duration.ofDays(7)));
+        accountId = UUID.randomUUID();
+        instrumentId = UUID.randomUUID();
+        position = PositionEntity.builder()
+                .accountId(accountId)
+                .instrumentId(instrumentId)
+                .quantity(new BigDecimal("10.0000000000"))
+                .avgCost(new BigDecimal("5.000000"))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("record()")
+    class RecordTests {
+
+        @Test
+        void cambioReal_anadeVersionConValidFromIndicado() {
+            OffsetDateTime validFrom = OffsetDateTime.parse("2026-01-05T15:30:00Z");
+
+            service.record(position, new BigDecimal("4"), new BigDecimal("5"), validFrom);
+
+            ArgumentCaptor<PositionHistoryEntity> captor = ArgumentCaptor.forClass(PositionHistoryEntity.class);
+            verify(repository).save(captor.capture());
+            assertThat(captor.getValue().getValidFrom()).isEqualTo(validFrom);
+            assertThat(captor.getValue().getRecordedAt()).isNotNull();
+            assertThat(captor.getValue().getQuantity()).isEqualByComparingTo("10");
+        }
+
+        @Test
+        void mismosValoresConOtraEscala_noAnadeVersion() {
+            service.record(position, new BigDecimal("10"), new BigDecimal("5.0"), null);
+
+            verifyNoInteractions(repository);
+        }
+    }
+
+    @Nested
+    @DisplayName("findAsOf()")
+    class FindAsOfTests {
+
+        @Test
+        void descartaPosicionesCerradasEnEsaFecha() {
+            OffsetDateTime validAt = OffsetDateTime.parse("2026-01-05T00:00:00Z");
+            UUID closed = UUID.randomUUID();
+            when(repository.findAsOf(eq(accountId), eq(validAt), any())).thenReturn(List.of(
+                    new HistoricalPositionDto(instrumentId, BigDecimal.TEN, BigDecimal.ONE, validAt, validAt),
+                    new HistoricalPositionDto(closed, BigDecimal.ZERO, null, validAt, validAt)
+            ));
+
+            List<HistoricalPositionDto> result = service.findAsOf(accountId, validAt, null);
+
+            assertThat(result).extracting(HistoricalPositionDto::instrumentId).containsExactly(instrumentId);
+        }
+
+        @Test
+        void lanzaBadRequest_sinValidAt() {
+            assertThatThrownBy(() -> service.findAsOf(accountId, null, null))
+                    .isInstanceOf(BadRequestException.class);
+            verifyNoInteractions(repository);
+        }
+    }
+}
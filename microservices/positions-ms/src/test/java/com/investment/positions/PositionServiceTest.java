@@ -1,9 +1,16 @@
 package com.investment.positions;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
 import com.investment.common.exception.NotFoundException;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.cache.TaxLotBookCache;
 import com.investment.positions.dto.PositionResponseDto;
+import com.investment.positions.dto.PositionSummaryDto;
 import com.investment.positions.entity.PositionEntity;
 import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.repository.TaxLotRepository;
+import com.investment.positions.service.PositionHistoryService;
 import com.investment.positions.service.impl.PositionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,14 +18,20 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -30,6 +43,21 @@ class PositionServiceTest {
     @Mock
     private PositionRepository repository;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private PositionBookCache positionBooks;
+
+    @Mock
+    private PositionHistoryService historyService;
+
+    @Mock
+    private TaxLotRepository lotRepository;
+
+    @Mock
+    private TaxLotBookCache lotBooks;
+
     @InjectMocks
     private PositionServiceImpl service; // SUT
 
@@ -119,32 +147,107 @@ class PositionServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("writeAccountPositions")
+    class WriteAccountPositions {
+
+        @Test
+        void writesJsonArray_fromProjectionStream() throws Exception {
+            UUID otherInstrument = UUID.randomUUID();
+            when(repository.streamSummariesByAccountId(accountId)).thenReturn(Stream.of(
+                    new PositionSummaryDto(accountId, instrumentId, new BigDecimal("10"), new BigDecimal("1.5")),
+                    new PositionSummaryDto(accountId, otherInstrument, new BigDecimal("3"), null)
+            ));
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            service.writeAccountPositions(accountId, out);
+
+            var json = objectMapper.readTree(out.toString(StandardCharsets.UTF_8));
+            assertThat(json.isArray()).isTrue();
+            assertThat(json).hasSize(2);
+            assertThat(json.get(0).get("instrumentId").asText()).isEqualTo(instrumentId.toString());
+            assertThat(json.get(1).has("avgCost")).isFalse();
+
+            verify(repository).streamSummariesByAccountId(accountId);
+            verifyNoMoreInteractions(repository);
+        }
+
+        @Test
+        void writesEmptyArray_whenAccountHasNoPositions() {
+            when(repository.streamSummariesByAccountId(accountId)).thenReturn(Stream.empty());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            service.writeAccountPositions(accountId, out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+        }
+
+        @Test
+        void multiAccount_deduplicatesIds() {
+            when(repository.streamSummariesByAccountIdIn(any())).thenReturn(Stream.empty());
+
+            service.writeAccountsPositions(List.of(accountId, accountId), new ByteArrayOutputStream());
+
+            verify(repository).streamSummariesByAccountIdIn(argThat(ids -> ids.size() == 1));
+        }
+
+        @Test
+        void multiAccount_throwsBadRequest_whenEmpty() {
+            assertThatThrownBy(() -> service.writeAccountsPositions(List.of(), new ByteArrayOutputStream()))
+                    .isInstanceOf(BadRequestException.class);
+            verifyNoInteractions(repository);
+        }
+    }
+
     @Nested
     @DisplayName("delete")
     class DeleteById {
 
         @Test
-        void deletes_whenExists() {
-            when(repository.existsById(positionId)).thenReturn(true);
+        void deletes_whenExists_andClosesHistory() {
+            when(repository.findById(positionId)).thenReturn(Optional.of(entity));
 
             service.delete(positionId);
 
             ArgumentCaptor<UUID> captor = ArgumentCaptor.forClass(UUID.class);
-            verify(repository).existsById(positionId);
+            verify(repository).findById(positionId);
             verify(repository).deleteById(captor.capture());
             assertThat(captor.getValue()).isEqualTo(positionId);
             verifyNoMoreInteractions(repository);
+
+            // versión en cero para que las consultas as-of dejen de verla
+            ArgumentCaptor<PositionEntity> closed = ArgumentCaptor.forClass(PositionEntity.class);
+            verify(historyService).record(closed.capture(), eq(entity.getQuantity()), eq(entity.getAvgCost()), isNull());
+            assertThat(closed.getValue().getAccountId()).isEqualTo(accountId);
+            assertThat(closed.getValue().getInstrumentId()).isEqualTo(instrumentId);
+            assertThat(closed.getValue().getQuantity()).isEqualByComparingTo("0");
+        }
+
+        @Test
+        void closesOpenLots_underThePositionLock_andEvictsOnlyThatAccount() {
+            when(repository.findById(positionId)).thenReturn(Optional.of(entity));
+
+            service.delete(positionId);
+
+            InOrder order = inOrder(lotBooks, lotRepository, repository);
+            order.verify(lotBooks).lockUntilCompletion(accountId, instrumentId);
+            order.verify(lotRepository).closeOpenLots(eq(accountId), eq(instrumentId), any());
+            order.verify(repository).deleteById(positionId);
+            verify(lotBooks).evict(accountId, instrumentId);
+            verify(positionBooks).evict(accountId);
+            verify(positionBooks, never()).evictAll();
         }
 
         @Test
         void throwsNotFound_whenMissing() {
-            when(repository.existsById(positionId)).thenReturn(false);
+            when(repository.findById(positionId)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> service.delete(positionId))
                     .isInstanceOf(NotFoundException.class); // no validamos mensaje
 
-            verify(repository).existsById(positionId);
+            verify(repository).findById(positionId);
             verifyNoMoreInteractions(repository);
+            verifyNoInteractions(historyService, lotRepository, lotBooks);
         }
     }
 }
\ No newline at end of file
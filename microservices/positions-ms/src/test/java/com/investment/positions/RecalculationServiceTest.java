@@ -2,10 +2,12 @@ package com.investment.positions;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.investment.common.exception.BadRequestException;
+import com.investment.positions.cache.PositionBookCache;
 import com.investment.positions.dto.PositionRequestDto;
 import com.investment.positions.dto.PositionResponseDto;
 import com.investment.positions.entity.PositionEntity;
 import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.service.PositionHistoryService;
 import com.investment.positions.service.impl.RecalculationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +37,12 @@ class RecalculationServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private PositionBookCache positionBooks;
+
+    @Mock
+    private PositionHistoryService historyService;
+
     @InjectMocks
     private RecalculationServiceImpl service;
 
@@ -95,6 +103,9 @@ class RecalculationServiceTest {
 
             verify(repository).findByAccountIdAndInstrumentId(accountId, instrumentId);
             verifyNoMoreInteractions(repository);
+
+            // posición nueva: se registra la versión con valores previos nulos
+            verify(historyService).record(saved, null, null, null);
         }
 
         @Test
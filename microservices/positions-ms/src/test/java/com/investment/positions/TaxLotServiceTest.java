@@ -0,0 +1,285 @@
+package com.investment.positions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
+import com.investment.common.exception.BusinessException;
+import com.investment.positions.cache.TaxLotBook;
+import com.investment.positions.cache.TaxLotBookCache;
+import com.investment.positions.dto.PositionRequestDto;
+import com.investment.positions.dto.TradeExecutedDto;
+import com.investment.positions.entity.AccountLotMethodEntity;
+import com.investment.positions.entity.LotRealizationEntity;
+import com.investment.positions.entity.PositionEntity;
+import com.investment.positions.entity.TaxLotEntity;
+import com.investment.positions.repository.AccountLotMethodRepository;
+import com.investment.positions.repository.LotRealizationRepository;
+import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.repository.TaxLotRepository;
+import com.investment.positions.service.RecalculationService;
+import com.investment.positions.service.impl.TaxLotServiceImpl;
+import com.investment.positions.util.LotMethodEnum;
+import com.investment.positions.util.SideEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad para TaxLotServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaxLotServiceTest {
+
+    @Mock
+    private TaxLotRepository lotRepository;
+
+    @Mock
+    private LotRealizationRepository realizationRepository;
+
+    @Mock
+    private AccountLotMethodRepository lotMethodRepository;
+
+    @Mock
+    private PositionRepository positionRepository;
+
+    @Mock
+    private TaxLotBookCache lotBooks;
+
+    @Mock
+    private RecalculationService recalculationService;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TaxLotServiceImpl service;
+
+    private UUID accountId;
+    private UUID instrumentId;
+    private TaxLotBook book;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        instrumentId = UUID.randomUUID();
+        book = TaxLotBook.of(List.of(), 0);
+        lenient().when(lotBooks.lockUntilCompletion(accountId, instrumentId)).thenReturn(book);
+        lenient().when(lotRepository.consumeRemaining(any(), any(), any())).thenReturn(1);
+        lenient().when(lotRepository.save(any(TaxLotEntity.class))).thenAnswer(inv -> {
+            TaxLotEntity e = inv.getArgument(0);
+            e.setLotId(UUID.randomUUID());
+            return e;
+        });
+    }
+
+    private TradeExecutedDto trade(SideEnum side, String qty, String price, List<UUID> lotIds) {
+        return new TradeExecutedDto(UUID.randomUUID(), instrumentId, accountId, side,
+                new BigDecimal(qty), new BigDecimal(price), null, null, OffsetDateTime.now(), lotIds);
+    }
+
+    private void useMethod(LotMethodEnum method) {
+        when(lotMethodRepository.findById(accountId))
+                .thenReturn(Optional.of(new AccountLotMethodEntity(accountId, method)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LotRealizationEntity> capturedRealizations() {
+        ArgumentCaptor<List<LotRealizationEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(realizationRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("compras")
+    class BuyTests {
+
+        @Test
+        void compra_abreLoteYCapitalizaComisiones() {
+            TradeExecutedDto buy = new TradeExecutedDto(UUID.randomUUID(), instrumentId, accountId, SideEnum.BUY,
+                    new BigDecimal("10"), new BigDecimal("100"), new BigDecimal("5"), new BigDecimal("5"),
+                    OffsetDateTime.now(), null);
+
+            BigDecimal realized = service.applyTrade(buy);
+
+            assertThat(realized).isEqualByComparingTo("0");
+            ArgumentCaptor<TaxLotEntity> captor = ArgumentCaptor.forClass(TaxLotEntity.class);
+            verify(lotRepository).save(captor.capture());
+            assertThat(captor.getValue().getCostPerUnit()).isEqualByComparingTo("101"); // (1000 + 10) / 10
+            assertThat(captor.getValue().getLotSeq()).isEqualTo(1L);
+
+            ArgumentCaptor<PositionRequestDto> pos = ArgumentCaptor.forClass(PositionRequestDto.class);
+            verify(recalculationService).recalculate(pos.capture());
+            assertThat(pos.getValue().quantity()).isEqualByComparingTo("10");
+            assertThat(pos.getValue().avgCost()).isEqualByComparingTo("101");
+        }
+
+        @Test
+        void tradeRepetido_seIgnora() {
+            TradeExecutedDto buy = trade(SideEnum.BUY, "1", "1", null);
+            when(lotRepository.existsByOpenTradeId(buy.id())).thenReturn(true);
+
+            service.applyTrade(buy);
+
+            verify(lotRepository, never()).save(any());
+            verifyNoInteractions(recalculationService);
+        }
+    }
+
+    @Nested
+    @DisplayName("ventas")
+    class SellTests {
+
+        @BeforeEach
+        void twoLots() {
+            service.applyTrade(trade(SideEnum.BUY, "10", "100", null));
+            service.applyTrade(trade(SideEnum.BUY, "10", "120", null));
+        }
+
+        @Test
+        void fifo_consumeElLoteMasAntiguo() {
+            useMethod(LotMethodEnum.FIFO);
+
+            BigDecimal realized = service.applyTrade(trade(SideEnum.SELL, "15", "130", null));
+
+            // 10 * (130 - 100) + 5 * (130 - 120)
+            assertThat(realized).isEqualByComparingTo("350");
+            List<LotRealizationEntity> rows = capturedRealizations();
+            assertThat(rows).hasSize(2);
+            assertThat(rows.get(0).getCostPerUnit()).isEqualByComparingTo("100");
+            assertThat(book.openQuantity()).isEqualByComparingTo("5");
+            // Se descuenta lo consumido de cada lote, no se escribe el remanente del libro
+            ArgumentCaptor<BigDecimal> consumed = ArgumentCaptor.forClass(BigDecimal.class);
+            verify(lotRepository, times(2)).consumeRemaining(any(), consumed.capture(), any());
+            assertThat(consumed.getAllValues()).usingElementComparator(BigDecimal::compareTo)
+                    .containsExactly(new BigDecimal("10"), new BigDecimal("5"));
+        }
+
+        @Test
+        void loteModificadoEnLaBase_lanzaYNoRegistraRealizaciones() {
+            useMethod(LotMethodEnum.FIFO);
+            when(lotRepository.consumeRemaining(any(), any(), any())).thenReturn(0);
+
+            assertThatThrownBy(() -> service.applyTrade(trade(SideEnum.SELL, "5", "130", null)))
+                    .isInstanceOf(IllegalStateException.class);
+
+            verify(realizationRepository, never()).saveAll(anyList());
+        }
+
+        @Test
+        void lifo_consumeElLoteMasReciente() {
+            useMethod(LotMethodEnum.LIFO);
+
+            BigDecimal realized = service.applyTrade(trade(SideEnum.SELL, "5", "130", null));
+
+            assertThat(realized).isEqualByComparingTo("50"); // 5 * (130 - 120)
+            assertThat(book.openLots()).hasSize(2);
+            assertThat(book.openLots().get(1).remaining()).isEqualByComparingTo("5");
+        }
+
+        @Test
+        void specificId_consumeSoloLosLotesIndicados() {
+            useMethod(LotMethodEnum.SPECIFIC_ID);
+            UUID firstLot = book.openLots().get(0).lotId();
+
+            BigDecimal realized = service.applyTrade(trade(SideEnum.SELL, "10", "90", List.of(firstLot)));
+
+            assertThat(realized).isEqualByComparingTo("-100"); // 10 * (90 - 100)
+            assertThat(book.openLots()).hasSize(1);
+            assertThat(book.openLots().get(0).costPerUnit()).isEqualByComparingTo("120");
+        }
+
+        @Test
+        void specificId_idRepetidoCuentaUnaSolaVez() {
+            useMethod(LotMethodEnum.SPECIFIC_ID);
+            UUID firstLot = book.openLots().get(0).lotId();
+
+            // el lote tiene 10: repetido no puede cubrir 15 ni dejar el libro a medio consumir
+            assertThatThrownBy(() -> service.applyTrade(trade(SideEnum.SELL, "15", "90", List.of(firstLot, firstLot))))
+                    .isInstanceOf(BusinessException.class);
+
+            assertThat(book.openQuantity()).isEqualByComparingTo("20");
+            verify(lotRepository, never()).consumeRemaining(any(), any(), any());
+        }
+
+        @Test
+        void ventaMayorQueLoAbierto_lanzaBusinessYNoToca() {
+            useMethod(LotMethodEnum.FIFO);
+
+            assertThatThrownBy(() -> service.applyTrade(trade(SideEnum.SELL, "25", "130", null)))
+                    .isInstanceOf(BusinessException.class);
+
+            assertThat(book.openQuantity()).isEqualByComparingTo("20");
+            verify(realizationRepository, never()).saveAll(anyList());
+        }
+    }
+
+    @Test
+    void tradeSinLado_lanzaBadRequest() {
+        assertThatThrownBy(() -> service.applyTrade(trade(null, "1", "1", null)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(lotBooks);
+    }
+
+    @Test
+    void posicionPrevia_siembraLoteDeAperturaConElAgregado() {
+        PositionEntity legacy = PositionEntity.builder().accountId(accountId).instrumentId(instrumentId)
+                .quantity(new BigDecimal("8")).avgCost(new BigDecimal("50")).lastUpdated(OffsetDateTime.now()).build();
+        when(positionRepository.findByAccountIdAndInstrumentId(accountId, instrumentId)).thenReturn(Optional.of(legacy));
+        when(lotMethodRepository.findById(accountId)).thenReturn(Optional.empty());
+
+        BigDecimal realized = service.applyTrade(trade(SideEnum.SELL, "3", "60", null));
+
+        assertThat(realized).isEqualByComparingTo("30"); // 3 * (60 - 50)
+        ArgumentCaptor<PositionRequestDto> pos = ArgumentCaptor.forClass(PositionRequestDto.class);
+        verify(recalculationService).recalculate(pos.capture());
+        assertThat(pos.getValue().quantity()).isEqualByComparingTo("5");
+        assertThat(pos.getValue().avgCost()).isEqualByComparingTo("50");
+    }
+
+    @Test
+    void specificId_seRechazaMientrasLosTradesNoTraiganLotes() {
+        assertThatThrownBy(() -> service.setLotMethod(accountId, LotMethodEnum.SPECIFIC_ID))
+                .isInstanceOf(BusinessException.class);
+        verify(lotMethodRepository, never()).save(any());
+    }
+
+    @Test
+    void mensajeQueNoSePuedeAplicar_propagaLaExcepcion() throws Exception {
+        TradeExecutedDto sell = trade(SideEnum.SELL, "1", "1", null);
+        when(objectMapper.readValue("sell", TradeExecutedDto.class)).thenReturn(sell);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(lotMethodRepository.findById(accountId)).thenReturn(Optional.empty());
+
+        // sin lotes abiertos: el contenedor tiene que verlo para mandarlo a la DLT
+        assertThatThrownBy(() -> service.processTradeExecuted("sell"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void metodoPorDefecto_esFifo() {
+        when(lotMethodRepository.findById(accountId)).thenReturn(Optional.empty());
+        assertThat(service.getLotMethod(accountId)).isEqualTo(LotMethodEnum.FIFO);
+    }
+}
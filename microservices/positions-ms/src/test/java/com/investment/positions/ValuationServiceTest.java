@@ -0,0 +1,215 @@
+package com.investment.positions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.investment.common.exception.BadRequestException;
+import com.investment.positions.cache.LastPriceCache;
+import com.investment.positions.cache.PositionBook;
+import com.investment.positions.cache.PositionBookCache;
+import com.investment.positions.client.RefDataClient;
+import com.investment.positions.client.RefDataClient.LastPrice;
+import com.investment.positions.configuration.ValuationProperties;
+import com.investment.positions.dto.AccountValuationDto;
+import com.investment.positions.dto.PositionSummaryDto;
+import com.investment.positions.dto.PositionValuationDto;
+import com.investment.positions.dto.PriceTickDto;
+import com.investment.positions.event.PriceUpdatedEvent;
+import com.investment.positions.repository.PositionRepository;
+import com.investment.positions.service.impl.ValuationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de unidad para ValuationServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class ValuationServiceTest {
+
+    @Mock
+    private PositionBookCache positionBooks;
+
+    @Spy
+    private LastPriceCache lastPrices = new LastPriceCache();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private PositionRepository positionRepository;
+
+    @Mock
+    private RefDataClient refDataClient;
+
+    @Mock
+    private ValuationProperties properties;
+
+    @InjectMocks
+    private ValuationServiceImpl service;
+
+    private UUID accountId;
+    private UUID aapl;
+    private UUID msft;
+
+    @BeforeEach
+    void setUp() {
+        accountId = UUID.randomUUID();
+        aapl = UUID.randomUUID();
+        msft = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("valueAccount()")
+    class ValueAccountTests {
+
+        @Test
+        void calculaValorDeMercadoYPnl() {
+            when(positionBooks.get(accountId)).thenReturn(PositionBook.of(accountId, List.of(
+                    new PositionSummaryDto(accountId, aapl, new BigDecimal("10"), new BigDecimal("100")),
+                    new PositionSummaryDto(accountId, msft, new BigDecimal("5"), new BigDecimal("200"))
+            )));
+            lastPrices.update(aapl, 110d, 1L);
+            lastPrices.update(msft, 180d, 1L);
+
+            AccountValuationDto dto = service.valueAccount(accountId);
+
+            // 10*110 + 5*180 = 2000; coste 1000 + 1000 = 2000
+            assertThat(dto.marketValue()).isEqualByComparingTo("2000");
+            assertThat(dto.costBasis()).isEqualByComparingTo("2000");
+            assertThat(dto.unrealizedPnl()).isEqualByComparingTo("0");
+            assertThat(dto.pricedPositions()).isEqualTo(2);
+
+            PositionValuationDto first = dto.positions().get(0);
+            assertThat(first.marketValue()).isEqualByComparingTo("1100");
+            assertThat(first.unrealizedPnl()).isEqualByComparingTo("100");
+            assertThat(first.unrealizedPnlPct()).isEqualByComparingTo("10");
+
+            PositionValuationDto second = dto.positions().get(1);
+            assertThat(second.unrealizedPnl()).isEqualByComparingTo("-100");
+            assertThat(second.unrealizedPnlPct()).isEqualByComparingTo("-10");
+        }
+
+        @Test
+        void posicionSinPrecio_noSumaALosTotales() {
+            when(positionBooks.get(accountId)).thenReturn(PositionBook.of(accountId, List.of(
+                    new PositionSummaryDto(accountId, aapl, new BigDecimal("10"), new BigDecimal("100")),
+                    new PositionSummaryDto(accountId, msft, new BigDecimal("5"), new BigDecimal("200"))
+            )));
+            lastPrices.update(aapl, 120d, 1L);
+
+            AccountValuationDto dto = service.valueAccount(accountId);
+
+            assertThat(dto.marketValue()).isEqualByComparingTo("1200");
+            assertThat(dto.pricedPositions()).isEqualTo(1);
+            assertThat(dto.unpricedPositions()).isEqualTo(1);
+            assertThat(dto.positions().get(1).marketValue()).isNull();
+            assertThat(dto.positions().get(1).unrealizedPnl()).isNull();
+        }
+
+        @Test
+        void cuentaVacia_devuelveTotalesACero() {
+            when(positionBooks.get(accountId)).thenReturn(PositionBook.of(accountId, List.of()));
+
+            AccountValuationDto dto = service.valueAccount(accountId);
+
+            assertThat(dto.marketValue()).isEqualByComparingTo("0");
+            assertThat(dto.unrealizedPnlPct()).isNull();
+            assertThat(dto.positions()).isEmpty();
+        }
+
+        @Test
+        void lanzaBadRequest_siAccountIdEsNull() {
+            assertThatThrownBy(() -> service.valueAccount(null))
+                    .isInstanceOf(BadRequestException.class);
+            verifyNoInteractions(positionBooks);
+        }
+    }
+
+    @Nested
+    @DisplayName("onPriceTick()")
+    class PriceTickTests {
+
+        @Test
+        void ignoraTicksFueraDeOrden() {
+            OffsetDateTime now = OffsetDateTime.now();
+            service.onPriceTick(new PriceTickDto(aapl, new BigDecimal("101"), now));
+            service.onPriceTick(new PriceTickDto(aapl, new BigDecimal("99"), now.minusSeconds(5)));
+
+            assertThat(lastPrices.get(aapl)).isEqualTo(101d);
+            // solo el tick aplicado genera evento
+            verify(events, times(1)).publishEvent(new PriceUpdatedEvent(aapl));
+        }
+
+        @Test
+        void siFallaElParseo_noLanzaExcepcion() {
+            assertThatCode(() -> service.processPriceTick("{ malformed json"))
+                    .doesNotThrowAnyException();
+            assertThat(lastPrices.size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("refreshPrices()")
+    class RefreshPricesTests {
+
+        @Test
+        void cargaPreciosDeInstrumentosConPosicion_enLotes() {
+            UUID nvda = UUID.randomUUID();
+            OffsetDateTime ts = OffsetDateTime.now();
+            when(positionRepository.findHeldInstrumentIds()).thenReturn(List.of(aapl, msft, nvda));
+            when(properties.priceBatchSize()).thenReturn(2);
+            when(refDataClient.lastPrices(List.of(aapl, msft)))
+                    .thenReturn(List.of(new LastPrice(aapl, new BigDecimal("110"), ts)));
+            when(refDataClient.lastPrices(List.of(nvda)))
+                    .thenReturn(List.of(new LastPrice(nvda, new BigDecimal("500"), ts)));
+
+            assertThat(service.refreshPrices()).isEqualTo(2);
+
+            assertThat(lastPrices.get(aapl)).isEqualTo(110d);
+            assertThat(lastPrices.get(msft)).isNaN();
+            assertThat(lastPrices.get(nvda)).isEqualTo(500d);
+            verify(events).publishEvent(new PriceUpdatedEvent(aapl));
+            verify(events).publishEvent(new PriceUpdatedEvent(nvda));
+        }
+
+        @Test
+        void noPisaUnTickMasNuevo() {
+            OffsetDateTime now = OffsetDateTime.now();
+            service.onPriceTick(new PriceTickDto(aapl, new BigDecimal("112"), now));
+            when(positionRepository.findHeldInstrumentIds()).thenReturn(List.of(aapl));
+            when(properties.priceBatchSize()).thenReturn(500);
+            when(refDataClient.lastPrices(List.of(aapl)))
+                    .thenReturn(List.of(new LastPrice(aapl, new BigDecimal("110"), now.minusMinutes(1))));
+
+            assertThat(service.refreshPrices()).isZero();
+            assertThat(lastPrices.get(aapl)).isEqualTo(112d);
+        }
+
+        @Test
+        void siAccountsNoResponde_laSemillaNoTumbaElArranque() {
+            when(positionRepository.findHeldInstrumentIds()).thenReturn(List.of(aapl));
+            when(properties.priceBatchSize()).thenReturn(500);
+            when(refDataClient.lastPrices(anyList())).thenThrow(new IllegalStateException("connection refused"));
+
+            assertThatCode(() -> service.seedPrices()).doesNotThrowAnyException();
+            assertThat(lastPrices.size()).isZero();
+        }
+    }
+}